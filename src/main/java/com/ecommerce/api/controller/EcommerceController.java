@@ -2,9 +2,18 @@ package com.ecommerce.api.controller;
 
 import com.ecommerce.application.service.EcommerceService;
 import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.ProductService.ProductPage;
+import com.ecommerce.application.service.PurchasePipeline;
+import com.ecommerce.application.service.ReservationService;
+import com.ecommerce.application.dto.BatchPurchaseRequest;
+import com.ecommerce.application.dto.BatchPurchaseResponse;
+import com.ecommerce.application.dto.CartPurchaseRequest;
+import com.ecommerce.application.dto.CartPurchaseResponse;
 import com.ecommerce.application.dto.PurchaseRequest;
 import com.ecommerce.application.dto.PurchaseResponse;
 import com.ecommerce.api.dto.Result;
+import com.ecommerce.domain.product.InventoryReservation;
+import com.ecommerce.infrastructure.idempotency.IdempotencyStore;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.api.annotation.ApiVersion;
 import com.ecommerce.api.annotation.ApiTimeout;
@@ -14,7 +23,9 @@ import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +38,9 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import com.ecommerce.api.dto.ErrorResponse;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,10 +61,18 @@ public class EcommerceController {
     
     private final EcommerceService ecommerceService;
     private final ProductService productService;
+    private final ReservationService reservationService;
+    private final PurchasePipeline purchasePipeline;
+    private final IdempotencyStore idempotencyStore;
     
-    public EcommerceController(EcommerceService ecommerceService, ProductService productService) {
+    public EcommerceController(EcommerceService ecommerceService, ProductService productService,
+                               ReservationService reservationService, PurchasePipeline purchasePipeline,
+                               IdempotencyStore idempotencyStore) {
         this.ecommerceService = ecommerceService;
         this.productService = productService;
+        this.reservationService = reservationService;
+        this.purchasePipeline = purchasePipeline;
+        this.idempotencyStore = idempotencyStore;
     }
     
     /**
@@ -80,16 +102,85 @@ public class EcommerceController {
                                          name = "Product Not Found",
                                          value = "{\"code\":\"RESOURCE_NOT_FOUND\",\"message\":\"Product not found\",\"timestamp\":\"2025-07-11T12:00:00\"}")))
     })
-    public ResponseEntity<Result<PurchaseResponse>> purchaseProduct(@Valid @RequestBody PurchaseRequest request) {
+    public ResponseEntity<Result<PurchaseResponse>> purchaseProduct(
+            @Parameter(description = "Client-generated key; retries with the same key replay the first result instead of buying again")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PurchaseRequest request) {
         logger.info("Processing purchase request: {}", request);
         
         // Process purchase - exceptions will be handled by GlobalExceptionHandler
-        PurchaseResponse response = ecommerceService.processPurchase(request);
+        // With the pipeline enabled, the purchase is applied by its SKU partition's writer thread
+        PurchaseResponse response = idempotencyStore.execute("purchase", idempotencyKey,
+            Arrays.asList(request.getUserId(), request.getSku(), request.getQuantity()),
+            () -> purchasePipeline.isEnabled()
+                ? purchasePipeline.purchase(request)
+                : ecommerceService.processPurchase(request));
         
         logger.info("Purchase completed successfully: {}", response.getOrderNumber());
         return ResponseEntity.ok(Result.successWithMessage("Purchase completed successfully", response));
     }
     
+    /**
+     * Batch Purchase (API v1)
+     * POST /api/v1/ecommerce/purchase/batch
+     */
+    @PostMapping("/purchase/batch")
+    @ApiTimeout(value = 30, unit = TimeUnit.SECONDS, message = "Batch purchase operation timeout")
+    @Operation(summary = "Batch Purchase", description = "Process up to " + BatchPurchaseRequest.MAX_PURCHASES + " independent purchases in submission order; each gets its own result and a rejected purchase doesn't affect the others")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see each result for its outcome",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = Result.class),
+                                     examples = @ExampleObject(
+                                         name = "Partial Success",
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Batch processed: 1 succeeded, 1 failed\",\"data\":{\"results\":[{\"index\":0,\"success\":true,\"purchase\":{\"orderNumber\":\"ORD202507110001\",\"userId\":1,\"merchantId\":1,\"sku\":\"PHONE-001\",\"quantity\":1}},{\"index\":1,\"success\":false,\"errorCode\":\"INSUFFICIENT_BALANCE\",\"errorMessage\":\"Insufficient balance\"}],\"succeeded\":1,\"failed\":1},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Result<BatchPurchaseResponse>> purchaseBatch(@Valid @RequestBody BatchPurchaseRequest request) {
+        logger.info("Processing batch purchase request: {}", request);
+        
+        BatchPurchaseResponse response = ecommerceService.processBatchPurchase(request);
+        
+        logger.info("Batch purchase processed: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return ResponseEntity.ok(Result.successWithMessage(
+            "Batch processed: " + response.getSucceeded() + " succeeded, " + response.getFailed() + " failed", response));
+    }
+    
+    /**
+     * Purchase Cart (API v1)
+     * POST /api/v1/ecommerce/cart/purchase
+     */
+    @PostMapping("/cart/purchase")
+    @ApiTimeout(value = 10, unit = TimeUnit.SECONDS, message = "Cart purchase operation timeout")
+    @Operation(summary = "Purchase Cart", description = "Buy several products in one transaction; one order is created per merchant and the cart is bought completely or not at all")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cart purchased successfully",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = Result.class),
+                                     examples = @ExampleObject(
+                                         name = "Success Response",
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Cart purchased successfully\",\"data\":{\"userId\":1,\"orders\":[{\"orderNumber\":\"ORD202507110001\",\"merchantId\":1,\"items\":[{\"sku\":\"PHONE-001\",\"productName\":\"iPhone 15 Pro\",\"quantity\":1,\"totalPrice\":{\"amount\":999.00,\"currency\":\"CNY\"}}],\"totalAmount\":{\"amount\":999.00,\"currency\":\"CNY\"}}],\"totalAmount\":{\"amount\":999.00,\"currency\":\"CNY\"}},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data or business validation failed for any item",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class),
+                                     examples = @ExampleObject(
+                                         name = "Insufficient Inventory",
+                                         value = "{\"code\":\"INSUFFICIENT_INVENTORY\",\"message\":\"Insufficient product inventory\",\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "404", description = "User, product, or merchant not found",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Result<CartPurchaseResponse>> purchaseCart(@Valid @RequestBody CartPurchaseRequest request) {
+        logger.info("Processing cart purchase request: {}", request);
+        
+        CartPurchaseResponse response = ecommerceService.processCartPurchase(request);
+        
+        logger.info("Cart purchase completed successfully: {} orders", response.getOrders().size());
+        return ResponseEntity.ok(Result.successWithMessage("Cart purchased successfully", response));
+    }
+    
     /**
      * Cancel Order (API v1)
      * POST /api/v1/ecommerce/orders/{orderNumber}/cancel
@@ -187,47 +278,42 @@ public class EcommerceController {
      * - Global search: ?search=iPhone
      * - Merchant filtering: ?merchantId=1  
      * - Combined search: ?search=iPhone&merchantId=1
+     * - Paging: ?limit=20&sort=price, then ?cursor={nextCursor} with the same filters and sort
+     *   (a product whose price or stock changes between two pages may be skipped or listed twice;
+     *   with sort=inventory every sale moves a product, so expect this there)
+     * 
+     * Pages are picked without loading or sorting the whole result, so a page costs the same
+     * whatever the size of the catalog; totalCount counts every matching product.
      * 
      * For merchant product management, use /api/v1/merchants/{merchantId}/products instead.
      */
     @GetMapping("/products")
-    @Operation(summary = "Get Available Products", description = "Retrieve all available products with optional search and merchant filtering")
+    @Operation(summary = "Get Available Products", description = "Retrieve a page of available products with optional search and merchant filtering")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit, sort or cursor",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<Result<ProductListResponse>> getAvailableProducts(
             @Parameter(description = "Search term for product name/description", required = false, example = "iPhone")
             @RequestParam(value = "search", required = false) String searchTerm,
             @Parameter(description = "Filter by merchant ID", required = false, example = "1")
-            @RequestParam(value = "merchantId", required = false) Long merchantId) {
-        logger.info("Getting available products with search: {}, merchantId: {}", searchTerm, merchantId);
-        
-        List<Product> products;
-        
-        // Apply search and merchant filtering logic
-        if (searchTerm != null && !searchTerm.trim().isEmpty() && merchantId != null) {
-            // Combined search: search within specific merchant's products
-            products = productService.getProductsByMerchant(merchantId)
-                .stream()
-                .filter(Product::isAvailable)
-                .filter(product -> product.getName().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                                 product.getDescription().toLowerCase().contains(searchTerm.toLowerCase()))
-                .collect(Collectors.toList());
-        } else if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            // Global search: search across all merchants
-            products = productService.searchAvailableProducts(searchTerm);
-        } else if (merchantId != null) {
-            // Merchant filter: get all available products from specific merchant
-            products = productService.getProductsByMerchant(merchantId)
-                .stream()
-                .filter(Product::isAvailable)
-                .collect(Collectors.toList());
-        } else {
-            // No filters: get all available products
-            products = productService.getAllAvailableProducts();
-        }
+            @RequestParam(value = "merchantId", required = false) Long merchantId,
+            @Parameter(description = "Sort order: id, price, name or inventory (ascending)", required = false, example = "price")
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "Cursor of the page to return, as nextCursor of the previous page", required = false)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of products (1-100)", required = false, example = "20")
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        logger.info("Getting available products with search: {}, merchantId: {}, sort: {}, limit: {}",
+            searchTerm, merchantId, sort, limit);
+        
+        // Search term and merchant are both optional filters of the same page query
+        ProductPage page = productService.getAvailableProductsPage(
+            searchTerm, merchantId, sort, cursor, limit);
 
-        List<ProductSummaryResponse> productSummaries = products.stream()
+        List<ProductSummaryResponse> productSummaries = page.products().stream()
             .map(product -> new ProductSummaryResponse(
                 product.getId(),
                 product.getSku(),
@@ -242,14 +328,49 @@ public class EcommerceController {
         
         ProductListResponse response = new ProductListResponse(
             productSummaries,
-            productSummaries.size(),
+            page.totalCount(),
             searchTerm,
-            merchantId
+            merchantId,
+            page.nextCursor()
         );
         
         return ResponseEntity.ok(Result.success(response));
     }
     
+    /**
+     * Autocomplete Products (API v1)
+     * GET /api/v1/ecommerce/products/autocomplete
+     * 
+     * Suggests active products whose name or SKU starts with the typed prefix,
+     * for search boxes that query on every keystroke.
+     */
+    @GetMapping("/products/autocomplete")
+    @Operation(summary = "Autocomplete Products", description = "Suggest active products whose name or SKU starts with a prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = Result.class),
+                                     examples = @ExampleObject(
+                                         name = "Success Response",
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Operation completed successfully\",\"data\":{\"prefix\":\"iph\",\"suggestions\":[{\"id\":1,\"sku\":\"PHONE-001\",\"name\":\"iPhone 15 Pro\"}],\"count\":1},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "400", description = "Limit out of range",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Result<AutocompleteResponse>> autocompleteProducts(
+            @Parameter(description = "Start of a product name or SKU", required = true, example = "iph")
+            @RequestParam("prefix") String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-50)", required = false, example = "10")
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        logger.debug("Autocompleting products for prefix: {}, limit: {}", prefix, limit);
+        
+        List<SuggestionResponse> suggestions = productService.autocomplete(prefix, limit).stream()
+            .map(suggestion -> new SuggestionResponse(suggestion.id(), suggestion.sku(), suggestion.name()))
+            .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(Result.success(new AutocompleteResponse(prefix, suggestions)));
+    }
+    
     /**
      * Get Product Inventory (API v1)
      * GET /api/v1/ecommerce/products/{sku}/inventory
@@ -281,12 +402,111 @@ public class EcommerceController {
             product.getSku(),
             product.getName(),
             product.getAvailableInventory(),
+            product.getReservedInventory(),
             product.isAvailable(),
             product.getStatus().toString()
         );
         
         return ResponseEntity.ok(Result.success(response));
     }
+    
+    /**
+     * Reserve Inventory (API v1)
+     * POST /api/v1/ecommerce/reservations
+     */
+    @PostMapping("/reservations")
+    @Operation(summary = "Reserve Inventory", description = "Hold product stock until the reservation is confirmed, released or expires")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Inventory reserved successfully",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = Result.class),
+                                     examples = @ExampleObject(
+                                         name = "Success Response",
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Inventory reserved successfully\",\"data\":{\"reservationId\":\"RSV-6f1c2a9e\",\"sku\":\"PHONE-001\",\"quantity\":2,\"status\":\"ACTIVE\",\"createdAt\":\"2025-07-11 12:00:00\",\"expiresAt\":\"2025-07-11 12:15:00\"},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data or insufficient inventory",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class),
+                                     examples = @ExampleObject(
+                                         name = "Insufficient Inventory",
+                                         value = "{\"code\":\"INSUFFICIENT_INVENTORY\",\"message\":\"Insufficient product inventory\",\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class),
+                                     examples = @ExampleObject(
+                                         name = "Product Not Found",
+                                         value = "{\"code\":\"RESOURCE_NOT_FOUND\",\"message\":\"Product not found\",\"timestamp\":\"2025-07-11T12:00:00\"}")))
+    })
+    public ResponseEntity<Result<ReservationResponse>> reserveInventory(@Valid @RequestBody ReserveInventoryRequest request) {
+        logger.info("Reserving {} units of product {}", request.getQuantity(), request.getSku());
+        
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : null;
+        InventoryReservation reservation = reservationService.reserve(request.getSku(), request.getQuantity(), ttl);
+        
+        return ResponseEntity.ok(Result.successWithMessage("Inventory reserved successfully", ReservationResponse.from(reservation)));
+    }
+    
+    /**
+     * Get Reservation (API v1)
+     * GET /api/v1/ecommerce/reservations/{reservationId}
+     */
+    @GetMapping("/reservations/{reservationId}")
+    @Operation(summary = "Get Reservation", description = "Get an active inventory reservation")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Reservation not found or no longer active",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Result<ReservationResponse>> getReservation(
+            @Parameter(description = "Reservation ID", required = true, example = "RSV-6f1c2a9e")
+            @PathVariable String reservationId) {
+        InventoryReservation reservation = reservationService.getReservation(reservationId);
+        return ResponseEntity.ok(Result.success(ReservationResponse.from(reservation)));
+    }
+    
+    /**
+     * Confirm Reservation (API v1)
+     * POST /api/v1/ecommerce/reservations/{reservationId}/confirm
+     */
+    @PostMapping("/reservations/{reservationId}/confirm")
+    @Operation(summary = "Confirm Reservation", description = "Mark the reserved stock as sold")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation confirmed successfully"),
+        @ApiResponse(responseCode = "404", description = "Reservation not found or no longer active",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Result<ReservationResponse>> confirmReservation(
+            @Parameter(description = "Reservation ID", required = true, example = "RSV-6f1c2a9e")
+            @PathVariable String reservationId) {
+        logger.info("Confirming reservation: {}", reservationId);
+        
+        InventoryReservation reservation = reservationService.confirm(reservationId);
+        
+        return ResponseEntity.ok(Result.successWithMessage("Reservation confirmed successfully", ReservationResponse.from(reservation)));
+    }
+    
+    /**
+     * Release Reservation (API v1)
+     * POST /api/v1/ecommerce/reservations/{reservationId}/release
+     */
+    @PostMapping("/reservations/{reservationId}/release")
+    @Operation(summary = "Release Reservation", description = "Return the reserved stock to available inventory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation released successfully"),
+        @ApiResponse(responseCode = "404", description = "Reservation not found or no longer active",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Result<ReservationResponse>> releaseReservation(
+            @Parameter(description = "Reservation ID", required = true, example = "RSV-6f1c2a9e")
+            @PathVariable String reservationId) {
+        logger.info("Releasing reservation: {}", reservationId);
+        
+        InventoryReservation reservation = reservationService.release(reservationId);
+        
+        return ResponseEntity.ok(Result.successWithMessage("Reservation released successfully", ReservationResponse.from(reservation)));
+    }
 
     
     // DTO classes for product queries
@@ -396,19 +616,22 @@ public class EcommerceController {
     public static class ProductListResponse {
         @Schema(description = "List of products")
         private List<ProductSummaryResponse> products;
-        @Schema(description = "Total product count", example = "10")
+        @Schema(description = "Number of matching products across all pages", example = "10")
         private int totalCount;
         @Schema(description = "Search term applied", example = "iPhone")
         private String searchTerm;
         @Schema(description = "Merchant ID filter applied", example = "1")
         private Long merchantId;
+        @Schema(description = "Cursor of the next page, absent on the last page")
+        private String nextCursor;
         
         public ProductListResponse(List<ProductSummaryResponse> products, int totalCount,
-                                 String searchTerm, Long merchantId) {
+                                 String searchTerm, Long merchantId, String nextCursor) {
             this.products = products;
             this.totalCount = totalCount;
             this.searchTerm = searchTerm;
             this.merchantId = merchantId;
+            this.nextCursor = nextCursor;
         }
         
         // Getters
@@ -416,6 +639,49 @@ public class EcommerceController {
         public int getTotalCount() { return totalCount; }
         public String getSearchTerm() { return searchTerm; }
         public Long getMerchantId() { return merchantId; }
+        public String getNextCursor() { return nextCursor; }
+    }
+    
+    @Schema(description = "Product suggestion")
+    public static class SuggestionResponse {
+        @Schema(description = "Product ID", example = "1")
+        private Long id;
+        @Schema(description = "Product SKU", example = "PHONE-001")
+        private String sku;
+        @Schema(description = "Product name", example = "iPhone 15 Pro")
+        private String name;
+        
+        public SuggestionResponse(Long id, String sku, String name) {
+            this.id = id;
+            this.sku = sku;
+            this.name = name;
+        }
+        
+        // Getters
+        public Long getId() { return id; }
+        public String getSku() { return sku; }
+        public String getName() { return name; }
+    }
+    
+    @Schema(description = "Autocomplete response")
+    public static class AutocompleteResponse {
+        @Schema(description = "Prefix the suggestions start with", example = "iph")
+        private String prefix;
+        @Schema(description = "Suggested products, by name or SKU in alphabetical order")
+        private List<SuggestionResponse> suggestions;
+        @Schema(description = "Number of suggestions", example = "1")
+        private int count;
+        
+        public AutocompleteResponse(String prefix, List<SuggestionResponse> suggestions) {
+            this.prefix = prefix;
+            this.suggestions = suggestions;
+            this.count = suggestions.size();
+        }
+        
+        // Getters
+        public String getPrefix() { return prefix; }
+        public List<SuggestionResponse> getSuggestions() { return suggestions; }
+        public int getCount() { return count; }
     }
     
     @Schema(description = "Product inventory response")
@@ -426,6 +692,8 @@ public class EcommerceController {
         private String productName;
         @Schema(description = "Available inventory", example = "100")
         private int availableInventory;
+        @Schema(description = "Inventory held by active reservations", example = "5")
+        private int reservedInventory;
         @Schema(description = "Product availability", example = "true")
         private boolean available;
         @Schema(description = "Product status", example = "ACTIVE")
@@ -433,9 +701,15 @@ public class EcommerceController {
         
         public InventoryResponse(String sku, String productName, int availableInventory,
                            boolean available, String status) {
+            this(sku, productName, availableInventory, 0, available, status);
+        }
+        
+        public InventoryResponse(String sku, String productName, int availableInventory,
+                           int reservedInventory, boolean available, String status) {
             this.sku = sku;
             this.productName = productName;
             this.availableInventory = availableInventory;
+            this.reservedInventory = reservedInventory;
             this.available = available;
             this.status = status;
         }
@@ -444,10 +718,83 @@ public class EcommerceController {
         public String getSku() { return sku; }
         public String getProductName() { return productName; }
         public int getAvailableInventory() { return availableInventory; }
+        public int getReservedInventory() { return reservedInventory; }
         public boolean isAvailable() { return available; }
         public String getStatus() { return status; }
     }
     
+    @Schema(description = "Reserve inventory request")
+    public static class ReserveInventoryRequest {
+        @Schema(description = "Product SKU", example = "PHONE-001", required = true)
+        @NotBlank(message = "SKU is required")
+        private String sku;
+        
+        @Schema(description = "Quantity to reserve", example = "2", required = true)
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+        
+        @Schema(description = "Seconds to hold the stock; defaults to the configured TTL", example = "900")
+        @Min(value = 1, message = "TTL must be at least 1 second")
+        private Long ttlSeconds;
+        
+        public ReserveInventoryRequest() {}
+        
+        public ReserveInventoryRequest(String sku, Integer quantity, Long ttlSeconds) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.ttlSeconds = ttlSeconds;
+        }
+        
+        // Getters and Setters
+        public String getSku() { return sku; }
+        public void setSku(String sku) { this.sku = sku; }
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+        public Long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(Long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    }
+    
+    @Schema(description = "Inventory reservation response")
+    public static class ReservationResponse {
+        @Schema(description = "Reservation ID", example = "RSV-6f1c2a9e")
+        private String reservationId;
+        @Schema(description = "Product SKU", example = "PHONE-001")
+        private String sku;
+        @Schema(description = "Reserved quantity", example = "2")
+        private int quantity;
+        @Schema(description = "Reservation status", example = "ACTIVE")
+        private String status;
+        @Schema(description = "Creation time", example = "2025-07-11 12:00:00")
+        private LocalDateTime createdAt;
+        @Schema(description = "Expiry time", example = "2025-07-11 12:15:00")
+        private LocalDateTime expiresAt;
+        
+        public ReservationResponse(String reservationId, String sku, int quantity, String status,
+                                 LocalDateTime createdAt, LocalDateTime expiresAt) {
+            this.reservationId = reservationId;
+            this.sku = sku;
+            this.quantity = quantity;
+            this.status = status;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+        
+        public static ReservationResponse from(InventoryReservation reservation) {
+            return new ReservationResponse(reservation.getReservationId(), reservation.getSku(),
+                reservation.getQuantity(), reservation.getStatus().toString(),
+                reservation.getCreatedAt(), reservation.getExpiresAt());
+        }
+        
+        // Getters
+        public String getReservationId() { return reservationId; }
+        public String getSku() { return sku; }
+        public int getQuantity() { return quantity; }
+        public String getStatus() { return status; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+    }
+    
     @Schema(description = "Cancel order request")
     public static class CancelOrderRequest {
         @Schema(description = "Cancellation reason", example = "Customer request", required = true)
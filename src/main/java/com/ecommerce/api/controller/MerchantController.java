@@ -2,6 +2,7 @@ package com.ecommerce.api.controller;
 
 import com.ecommerce.application.service.MerchantService;
 import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.ProductService.ProductPage;
 import com.ecommerce.application.service.SettlementService;
 import com.ecommerce.domain.merchant.MerchantNotFoundException;
 import com.ecommerce.domain.product.Product;
@@ -324,6 +325,98 @@ public class MerchantController {
         return ResponseEntity.ok(Result.success(response));
     }
     
+    /**
+     * Set Product Hot Mode (API v1)
+     * PUT /api/v1/merchants/{merchantId}/products/{sku}/hot-mode
+     */
+    @PutMapping("/{merchantId}/products/{sku}/hot-mode")
+    @Operation(summary = "Set Product Hot Mode", description = "Switch flash-sale mode for a product: its stock is split across per-core buckets so concurrent purchases don't contend")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hot mode updated successfully",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = Result.class),
+                                     examples = @ExampleObject(
+                                         name = "Success Response",
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Operation completed successfully\",\"data\":{\"sku\":\"PHONE-001\",\"hotMode\":true,\"availableInventory\":50},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "404", description = "Merchant or product not found",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class),
+                                     examples = @ExampleObject(
+                                         name = "Product Not Found",
+                                         value = "{\"code\":\"RESOURCE_NOT_FOUND\",\"message\":\"Product not found\",\"timestamp\":\"2025-07-11T12:00:00\"}")))
+    })
+    public ResponseEntity<Result<HotModeResponse>> setProductHotMode(
+            @Parameter(description = "Merchant ID", required = true, example = "1")
+            @PathVariable Long merchantId,
+            @Parameter(description = "Product SKU", required = true, example = "PHONE-001")
+            @PathVariable String sku,
+            @Valid @RequestBody HotModeRequest request) {
+        logger.info("Setting hot mode for merchant {}, product {}: enabled={}", merchantId, sku, request.getEnabled());
+        
+        validateMerchantAndProduct(merchantId, sku);
+        
+        productService.setHotMode(sku, request.getEnabled());
+        Product product = productService.getProductBySku(sku);
+        
+        HotModeResponse response = new HotModeResponse(
+            product.getSku(),
+            productService.isHotMode(sku),
+            product.getAvailableInventory()
+        );
+        
+        logger.info("Hot mode updated for product {}: enabled={}", sku, response.isHotMode());
+        return ResponseEntity.ok(Result.success(response));
+    }
+    
+    /**
+     * Set Product Status (API v1)
+     * PUT /api/v1/merchants/{merchantId}/products/{sku}/status
+     */
+    @PutMapping("/{merchantId}/products/{sku}/status")
+    @Operation(summary = "Set Product Status", description = "Activate or deactivate a product; inactive products can't be purchased and drop out of autocomplete")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product status updated successfully",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = Result.class),
+                                     examples = @ExampleObject(
+                                         name = "Success Response",
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Operation completed successfully\",\"data\":{\"id\":1,\"sku\":\"PHONE-001\",\"name\":\"iPhone 15 Pro\",\"description\":\"Latest iPhone with advanced features\",\"price\":999.00,\"currency\":\"CNY\",\"merchantId\":1,\"availableInventory\":100,\"status\":\"INACTIVE\"},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+        @ApiResponse(responseCode = "404", description = "Merchant or product not found",
+                    content = @Content(mediaType = "application/json", 
+                                     schema = @Schema(implementation = ErrorResponse.class),
+                                     examples = @ExampleObject(
+                                         name = "Product Not Found",
+                                         value = "{\"code\":\"RESOURCE_NOT_FOUND\",\"message\":\"Product not found\",\"timestamp\":\"2025-07-11T12:00:00\"}")))
+    })
+    public ResponseEntity<Result<ProductResponse>> setProductStatus(
+            @Parameter(description = "Merchant ID", required = true, example = "1")
+            @PathVariable Long merchantId,
+            @Parameter(description = "Product SKU", required = true, example = "PHONE-001")
+            @PathVariable String sku,
+            @Valid @RequestBody ProductStatusRequest request) {
+        logger.info("Setting status for merchant {}, product {}: {}", merchantId, sku, request.getStatus());
+        
+        validateMerchantAndProduct(merchantId, sku);
+        
+        Product product = productService.setProductActive(sku,
+            ProductStatus.valueOf(request.getStatus()) == ProductStatus.ACTIVE);
+        
+        ProductResponse response = new ProductResponse(
+            product.getId(),
+            product.getSku(),
+            product.getName(),
+            product.getDescription(),
+            product.getPrice().getAmount(),
+            product.getPrice().getCurrency(),
+            product.getMerchantId(),
+            product.getAvailableInventory(),
+            product.getStatus().toString()
+        );
+        
+        logger.info("Status updated for product {}: {}", sku, response.getStatus());
+        return ResponseEntity.ok(Result.success(response));
+    }
+    
     /**
      * Validates that merchant exists and product belongs to the merchant
      */
@@ -474,6 +567,9 @@ public class MerchantController {
      * - Status filtering: ?status=ACTIVE
      * - Search within merchant's products: ?search=iPhone
      * - Combined filtering: ?search=iPhone&status=ACTIVE
+     * - Paging: ?limit=20&sort=inventory, then ?cursor={nextCursor} with the same filters and sort
+     *   (stock moves with every sale, so sort=inventory pages may skip or repeat a product whose stock
+     *   changed between two requests)
      * 
      * For public product browsing, use /api/v1/ecommerce/products?merchantId={merchantId} instead.
      */
@@ -485,7 +581,7 @@ public class MerchantController {
                                      schema = @Schema(implementation = Result.class),
                                      examples = @ExampleObject(
                                          name = "Success Response",
-                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Operation completed successfully\",\"data\":{\"merchantId\":1,\"products\":[{\"id\":1,\"sku\":\"PHONE-001\",\"name\":\"iPhone 15 Pro\",\"description\":\"Latest iPhone with advanced features\",\"price\":999.00,\"currency\":\"CNY\",\"merchantId\":1,\"availableInventory\":100,\"status\":\"ACTIVE\"}],\"totalCount\":1,\"statusFilter\":\"ACTIVE\",\"searchTerm\":null},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
+                                         value = "{\"code\":\"SUCCESS\",\"message\":\"Operation completed successfully\",\"data\":{\"merchantId\":1,\"products\":[{\"id\":1,\"sku\":\"PHONE-001\",\"name\":\"iPhone 15 Pro\",\"description\":\"Latest iPhone with advanced features\",\"price\":999.00,\"currency\":\"CNY\",\"merchantId\":1,\"availableInventory\":100,\"status\":\"ACTIVE\"}],\"totalCount\":1,\"statusFilter\":\"ACTIVE\",\"searchTerm\":null,\"nextCursor\":null},\"timestamp\":\"2025-07-11T12:00:00\"}"))),
         @ApiResponse(responseCode = "404", description = "Merchant not found",
                     content = @Content(mediaType = "application/json", 
                                      schema = @Schema(implementation = ErrorResponse.class),
@@ -499,38 +595,27 @@ public class MerchantController {
             @Parameter(description = "Product status filter", required = false, example = "ACTIVE")
             @RequestParam(value = "status", required = false) String status,
             @Parameter(description = "Search term for product name/description", required = false, example = "iPhone")
-            @RequestParam(value = "search", required = false) String searchTerm) {
-        logger.info("Getting products for merchant {}, status: {}, search: {}", merchantId, status, searchTerm);
+            @RequestParam(value = "search", required = false) String searchTerm,
+            @Parameter(description = "Sort order: id, price, name or inventory (ascending)", required = false, example = "inventory")
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "Cursor of the page to return, as nextCursor of the previous page", required = false)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of products (1-100)", required = false, example = "20")
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        logger.info("Getting products for merchant {}, status: {}, search: {}, sort: {}, limit: {}",
+            merchantId, status, searchTerm, sort, limit);
         
         // Validate merchant exists
         if (!merchantService.merchantExists(merchantId)) {
             throw new MerchantNotFoundException(merchantId);
         }
         
-        List<Product> products;
-        
-        // Get base products by merchant
-        products = productService.getProductsByMerchant(merchantId);
-        
-        // Apply status filter if specified
-        if (status != null) {
-            ProductStatus productStatus = ProductStatus.valueOf(status.toUpperCase());
-            products = products.stream()
-                .filter(product -> product.getStatus().equals(productStatus))
-                .collect(Collectors.toList());
-        }
-        
-        // Apply search filter if specified (search in name, description, and SKU)
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            String lowerSearchTerm = searchTerm.toLowerCase();
-            products = products.stream()
-                .filter(product -> product.getName().toLowerCase().contains(lowerSearchTerm) ||
-                                 product.getDescription().toLowerCase().contains(lowerSearchTerm) ||
-                                 product.getSku().toLowerCase().contains(lowerSearchTerm))
-                .collect(Collectors.toList());
-        }
+        // Search term (name, description, and SKU), status and the page are all answered by the search index
+        ProductStatus productStatus = status != null ? ProductStatus.valueOf(status.toUpperCase()) : null;
+        ProductPage page = productService.getMerchantProductsPage(
+            merchantId, searchTerm, productStatus, sort, cursor, limit);
         
-        List<ProductResponse> productResponses = products.stream()
+        List<ProductResponse> productResponses = page.products().stream()
             .map(product -> new ProductResponse(
                 product.getId(),
                 product.getSku(),
@@ -547,9 +632,10 @@ public class MerchantController {
         MerchantProductListResponse response = new MerchantProductListResponse(
             merchantId,
             productResponses,
-            productResponses.size(),
+            page.totalCount(),
             status,
-            searchTerm
+            searchTerm,
+            page.nextCursor()
         );
         
         return ResponseEntity.ok(Result.success(response));
@@ -841,6 +927,54 @@ public class MerchantController {
         public void setQuantity(int quantity) { this.quantity = quantity; }
     }
     
+    @Schema(description = "Hot mode request")
+    public static class HotModeRequest {
+        @Schema(description = "Whether hot SKU mode is enabled", example = "true", required = true)
+        @NotNull(message = "Enabled flag is required")
+        private Boolean enabled;
+        
+        public HotModeRequest() {}
+        
+        public Boolean getEnabled() { return enabled; }
+        public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+    }
+    
+    @Schema(description = "Product status request")
+    public static class ProductStatusRequest {
+        @Schema(description = "New product status", example = "INACTIVE", allowableValues = {"ACTIVE", "INACTIVE"}, required = true)
+        @NotBlank(message = "Status is required")
+        @Pattern(regexp = "^(ACTIVE|INACTIVE)$", message = "Status must be ACTIVE or INACTIVE")
+        private String status;
+        
+        public ProductStatusRequest() {}
+        
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+    
+    @Schema(description = "Hot mode response")
+    public static class HotModeResponse {
+        @Schema(description = "Product SKU", example = "PHONE-001")
+        private String sku;
+        
+        @Schema(description = "Whether hot SKU mode is enabled", example = "true")
+        private boolean hotMode;
+        
+        @Schema(description = "Available inventory as last written to the product", example = "50")
+        private int availableInventory;
+        
+        public HotModeResponse(String sku, boolean hotMode, int availableInventory) {
+            this.sku = sku;
+            this.hotMode = hotMode;
+            this.availableInventory = availableInventory;
+        }
+        
+        // Getters
+        public String getSku() { return sku; }
+        public boolean isHotMode() { return hotMode; }
+        public int getAvailableInventory() { return availableInventory; }
+    }
+    
     @Schema(description = "Inventory operation response")
     public static class InventoryResponse {
         @Schema(description = "Product SKU", example = "PHONE-001")
@@ -907,7 +1041,7 @@ public class MerchantController {
         @Schema(description = "Product list")
         private List<ProductResponse> products;
         
-        @Schema(description = "Total product count", example = "10")
+        @Schema(description = "Number of matching products across all pages", example = "10")
         private int totalCount;
         
         @Schema(description = "Status filter applied", example = "ACTIVE")
@@ -916,13 +1050,18 @@ public class MerchantController {
         @Schema(description = "Search term applied", example = "iPhone")
         private String searchTerm;
         
+        @Schema(description = "Cursor of the next page, absent on the last page")
+        private String nextCursor;
+        
         public MerchantProductListResponse(Long merchantId, List<ProductResponse> products, 
-                                         int totalCount, String statusFilter, String searchTerm) {
+                                         int totalCount, String statusFilter, String searchTerm,
+                                         String nextCursor) {
             this.merchantId = merchantId;
             this.products = products;
             this.totalCount = totalCount;
             this.statusFilter = statusFilter;
             this.searchTerm = searchTerm;
+            this.nextCursor = nextCursor;
         }
         
         // Getters
@@ -931,6 +1070,7 @@ public class MerchantController {
         public int getTotalCount() { return totalCount; }
         public String getStatusFilter() { return statusFilter; }
         public String getSearchTerm() { return searchTerm; }
+        public String getNextCursor() { return nextCursor; }
     }
 
     @Schema(description = "Settlement request")
@@ -3,6 +3,7 @@ package com.ecommerce.api.controller;
 import com.ecommerce.application.service.UserService;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.idempotency.IdempotencyStore;
 import com.ecommerce.api.dto.Result;
 import com.ecommerce.api.annotation.ApiVersion;
 import com.ecommerce.api.config.ApiVersionConfig;
@@ -30,6 +31,7 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import com.ecommerce.api.dto.ErrorResponse;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Map;
 import jakarta.validation.constraints.NotNull;
 
@@ -46,9 +48,11 @@ public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     
     private final UserService userService;
+    private final IdempotencyStore idempotencyStore;
     
-    public UserController(UserService userService) {
+    public UserController(UserService userService, IdempotencyStore idempotencyStore) {
         this.userService = userService;
+        this.idempotencyStore = idempotencyStore;
     }
     
     /**
@@ -176,23 +180,28 @@ public class UserController {
     public ResponseEntity<Result<BalanceResponse>> rechargeUser(
             @Parameter(description = "User ID", required = true, example = "1")
             @PathVariable Long userId,
+            @Parameter(description = "Client-generated key; retries with the same key replay the first result instead of charging again")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody RechargeRequest request) {
         logger.info("Processing recharge for user {}: amount={}", userId, request.getAmount());
         
-        // Recharge - validation is handled by @Valid annotation
-        Money rechargeAmount = Money.of(request.getAmount(), request.getCurrency());
-        userService.rechargeUser(userId, rechargeAmount);
-        
-        // Get balance after recharge
-        Money balance = userService.getUserBalance(userId);
-        
-        BalanceResponse response = new BalanceResponse(
-            userId,
-            balance.getAmount(),
-            balance.getCurrency()
-        );
-        
-        logger.info("Recharge completed for user {}: new balance={}", userId, balance);
+        BalanceResponse response = idempotencyStore.execute("recharge", idempotencyKey,
+            Arrays.asList(userId, request.getAmount().stripTrailingZeros(), request.getCurrency()), () -> {
+                // Recharge - validation is handled by @Valid annotation
+                Money rechargeAmount = Money.of(request.getAmount(), request.getCurrency());
+                userService.rechargeUser(userId, rechargeAmount);
+                
+                // Get balance after recharge
+                Money balance = userService.getUserBalance(userId);
+                
+                return new BalanceResponse(
+                    userId,
+                    balance.getAmount(),
+                    balance.getCurrency()
+                );
+            });
+        
+        logger.info("Recharge completed for user {}: new balance={}", userId, response.getBalance());
         return ResponseEntity.ok(Result.successWithMessage("Recharge completed successfully", response));
     }
     
@@ -3,6 +3,7 @@ package com.ecommerce.api.controller.v2;
 import com.ecommerce.application.service.UserService;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.idempotency.IdempotencyStore;
 import com.ecommerce.api.dto.Result;
 import com.ecommerce.api.annotation.ApiVersion;
 import com.ecommerce.api.config.ApiVersionConfig;
@@ -16,6 +17,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,9 +46,11 @@ public class UserV2Controller {
     private static final Logger logger = LoggerFactory.getLogger(UserV2Controller.class);
     
     private final UserService userService;
+    private final IdempotencyStore idempotencyStore;
     
-    public UserV2Controller(UserService userService) {
+    public UserV2Controller(UserService userService, IdempotencyStore idempotencyStore) {
         this.userService = userService;
+        this.idempotencyStore = idempotencyStore;
     }
     
     /**
@@ -153,27 +157,33 @@ public class UserV2Controller {
     public ResponseEntity<Result<RechargeV2Response>> rechargeUser(
             @Parameter(description = "User ID", required = true, example = "1")
             @PathVariable Long userId,
+            @Parameter(description = "Client-generated key; retries with the same key replay the first result instead of charging again")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody RechargeRequest request) {
         
         logger.info("Recharging user (V2): {} with amount: {}", userId, request.getAmount());
         
-        Money rechargeAmount = Money.of(request.getAmount(), request.getCurrency());
-        userService.rechargeUser(userId, rechargeAmount);
+        BigDecimal amount = request.getAmount() != null ? request.getAmount().stripTrailingZeros() : null;
+        RechargeV2Response response = idempotencyStore.execute("recharge-v2", idempotencyKey,
+            Arrays.asList(userId, amount, request.getCurrency()), () -> {
+                Money rechargeAmount = Money.of(request.getAmount(), request.getCurrency());
+                userService.rechargeUser(userId, rechargeAmount);
+                
+                Money newBalance = userService.getUserBalance(userId);
+                
+                return new RechargeV2Response(
+                    userId,
+                    request.getAmount(),
+                    request.getCurrency(),
+                    newBalance.getAmount(),
+                    newBalance.getCurrency(),
+                    LocalDateTime.now(),
+                    "COMPLETED",
+                    "SUCCESS"
+                );
+            });
         
-        Money newBalance = userService.getUserBalance(userId);
-        
-        RechargeV2Response response = new RechargeV2Response(
-            userId,
-            request.getAmount(),
-            request.getCurrency(),
-            newBalance.getAmount(),
-            newBalance.getCurrency(),
-            LocalDateTime.now(),
-            "COMPLETED",
-            "SUCCESS"
-        );
-        
-        logger.info("User recharged successfully (V2): {} new balance: {}", userId, newBalance);
+        logger.info("User recharged successfully (V2): {} new balance: {}", userId, response.getNewBalance());
         return ResponseEntity.ok(Result.successWithMessage("Recharge completed successfully", response));
     }
     
@@ -22,6 +22,7 @@ public enum ErrorCode {
     RESOURCE_INACTIVE("RESOURCE_INACTIVE", "Resource is not active"),
     OPERATION_NOT_ALLOWED("OPERATION_NOT_ALLOWED", "Operation not allowed"),
     BUSINESS_ERROR("BUSINESS_ERROR", "Business logic error"),
+    CONCURRENT_MODIFICATION("CONCURRENT_MODIFICATION", "Resource was modified concurrently, please retry"),
     
     // System Errors
     INTERNAL_ERROR("INTERNAL_ERROR", "Internal server error"),
@@ -190,9 +190,10 @@ public class GlobalExceptionHandler {
             case VALIDATION_ERROR, BIND_ERROR, INSUFFICIENT_BALANCE, 
                  INSUFFICIENT_INVENTORY, INSUFFICIENT_FUNDS, OPERATION_NOT_ALLOWED,
                  INVALID_SETTLEMENT_DATE, BUSINESS_ERROR -> HttpStatus.BAD_REQUEST;
-            case RESOURCE_ALREADY_EXISTS -> HttpStatus.CONFLICT;
+            case RESOURCE_ALREADY_EXISTS, CONCURRENT_MODIFICATION -> HttpStatus.CONFLICT;
             case RESOURCE_INACTIVE -> HttpStatus.FORBIDDEN;
             case UNSUPPORTED_API_VERSION -> HttpStatus.NOT_ACCEPTABLE;
+            case RATE_LIMIT_EXCEEDED -> HttpStatus.TOO_MANY_REQUESTS;
             case INTERNAL_ERROR, SETTLEMENT_FAILED -> HttpStatus.INTERNAL_SERVER_ERROR;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
@@ -0,0 +1,46 @@
+package com.ecommerce.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch Purchase Request DTO
+ * Independent purchases, possibly of different users, processed together
+ */
+@Schema(description = "Batch purchase request: independent purchases processed together")
+public class BatchPurchaseRequest {
+    
+    public static final int MAX_PURCHASES = 500;
+    
+    @Schema(description = "Purchases, processed in the order given", required = true)
+    @NotEmpty(message = "Batch must contain at least one purchase")
+    @Size(max = MAX_PURCHASES, message = "Batch cannot contain more than " + MAX_PURCHASES + " purchases")
+    @Valid
+    private List<PurchaseRequest> purchases = new ArrayList<>();
+    
+    // Constructor
+    public BatchPurchaseRequest() {}
+    
+    public BatchPurchaseRequest(List<PurchaseRequest> purchases) {
+        this.purchases = purchases;
+    }
+    
+    // Getters and Setters
+    public List<PurchaseRequest> getPurchases() {
+        return purchases;
+    }
+    
+    public void setPurchases(List<PurchaseRequest> purchases) {
+        this.purchases = purchases;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BatchPurchaseRequest{purchases=%d}", purchases != null ? purchases.size() : 0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Batch Purchase Response DTO
+ * One result per submitted purchase, in submission order
+ */
+@Schema(description = "Batch purchase response")
+public class BatchPurchaseResponse {
+    
+    @Schema(description = "Result of every purchase, in submission order")
+    private List<ItemResult> results;
+    
+    @Schema(description = "Number of purchases completed", example = "198")
+    private int succeeded;
+    
+    @Schema(description = "Number of purchases rejected", example = "2")
+    private int failed;
+    
+    // Constructor
+    public BatchPurchaseResponse() {}
+    
+    public BatchPurchaseResponse(List<ItemResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(ItemResult::isSuccess).count();
+        this.failed = results.size() - succeeded;
+    }
+    
+    // Getters and Setters
+    public List<ItemResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BatchPurchaseResponse{succeeded=%d, failed=%d}", succeeded, failed);
+    }
+    
+    /**
+     * Outcome of one purchase of the batch
+     */
+    @Schema(description = "Outcome of one purchase of the batch")
+    public static class ItemResult {
+        
+        @Schema(description = "Position of the purchase in the request", example = "0")
+        private int index;
+        
+        @Schema(description = "Whether the purchase completed", example = "true")
+        private boolean success;
+        
+        @Schema(description = "Completed purchase, present on success")
+        private PurchaseResponse purchase;
+        
+        @Schema(description = "Error code, present on failure", example = "INSUFFICIENT_INVENTORY")
+        private String errorCode;
+        
+        @Schema(description = "Error message, present on failure")
+        private String errorMessage;
+        
+        public ItemResult() {}
+        
+        private ItemResult(int index, boolean success, PurchaseResponse purchase, String errorCode, String errorMessage) {
+            this.index = index;
+            this.success = success;
+            this.purchase = purchase;
+            this.errorCode = errorCode;
+            this.errorMessage = errorMessage;
+        }
+        
+        public static ItemResult success(int index, PurchaseResponse purchase) {
+            return new ItemResult(index, true, purchase, null, null);
+        }
+        
+        public static ItemResult failure(int index, String errorCode, String errorMessage) {
+            return new ItemResult(index, false, null, errorCode, errorMessage);
+        }
+        
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        public PurchaseResponse getPurchase() { return purchase; }
+        public void setPurchase(PurchaseResponse purchase) { this.purchase = purchase; }
+        public String getErrorCode() { return errorCode; }
+        public void setErrorCode(String errorCode) { this.errorCode = errorCode; }
+        public String getErrorMessage() { return errorMessage; }
+        public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cart Purchase Request DTO
+ */
+@Schema(description = "Cart purchase request: several products bought in one checkout")
+public class CartPurchaseRequest {
+    
+    public static final int MAX_ITEMS = 100;
+    
+    @Schema(description = "User ID", example = "1", required = true)
+    @NotNull(message = "User ID is required")
+    private Long userId;
+    
+    @Schema(description = "Cart items", required = true)
+    @NotEmpty(message = "Cart must contain at least one item")
+    @Size(max = MAX_ITEMS, message = "Cart cannot contain more than " + MAX_ITEMS + " items")
+    @Valid
+    private List<CartItem> items = new ArrayList<>();
+    
+    // Constructor
+    public CartPurchaseRequest() {}
+    
+    public CartPurchaseRequest(Long userId, List<CartItem> items) {
+        this.userId = userId;
+        this.items = items;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public List<CartItem> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<CartItem> items) {
+        this.items = items;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CartPurchaseRequest{userId=%d, items=%s}", userId, items);
+    }
+    
+    /**
+     * Cart Item
+     */
+    @Schema(description = "Cart item")
+    public static class CartItem {
+        
+        @Schema(description = "Product SKU", example = "PHONE-001", required = true)
+        @NotBlank(message = "SKU is required")
+        private String sku;
+        
+        @Schema(description = "Purchase quantity", example = "2", required = true)
+        @Min(value = 1, message = "Quantity must be positive")
+        private int quantity;
+        
+        public CartItem() {}
+        
+        public CartItem(String sku, int quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+        
+        public String getSku() {
+            return sku;
+        }
+        
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+        
+        public int getQuantity() {
+            return quantity;
+        }
+        
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("CartItem{sku='%s', quantity=%d}", sku, quantity);
+        }
+    }
+}
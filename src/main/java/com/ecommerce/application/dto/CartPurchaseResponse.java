@@ -0,0 +1,137 @@
+package com.ecommerce.application.dto;
+
+import com.ecommerce.domain.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Cart Purchase Response DTO
+ * One order is created per merchant in the cart
+ */
+@Schema(description = "Cart purchase response")
+public class CartPurchaseResponse {
+    
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+    
+    @Schema(description = "Orders created, one per merchant")
+    private List<MerchantOrder> orders;
+    
+    @Schema(description = "Total amount charged", example = "2997.00")
+    private Money totalAmount;
+    
+    // Constructor
+    public CartPurchaseResponse() {}
+    
+    public CartPurchaseResponse(Long userId, List<MerchantOrder> orders, Money totalAmount) {
+        this.userId = userId;
+        this.orders = orders;
+        this.totalAmount = totalAmount;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public List<MerchantOrder> getOrders() {
+        return orders;
+    }
+    
+    public void setOrders(List<MerchantOrder> orders) {
+        this.orders = orders;
+    }
+    
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(Money totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CartPurchaseResponse{userId=%d, orders=%d, totalAmount=%s}",
+                           userId, orders != null ? orders.size() : 0, totalAmount);
+    }
+    
+    /**
+     * Order placed with one merchant
+     */
+    @Schema(description = "Order placed with one merchant")
+    public static class MerchantOrder {
+        
+        @Schema(description = "Order number", example = "ORD20250101001")
+        private String orderNumber;
+        
+        @Schema(description = "Merchant ID", example = "1")
+        private Long merchantId;
+        
+        @Schema(description = "Order lines")
+        private List<OrderLine> items;
+        
+        @Schema(description = "Order total", example = "1998.00")
+        private Money totalAmount;
+        
+        public MerchantOrder() {}
+        
+        public MerchantOrder(String orderNumber, Long merchantId, List<OrderLine> items, Money totalAmount) {
+            this.orderNumber = orderNumber;
+            this.merchantId = merchantId;
+            this.items = items;
+            this.totalAmount = totalAmount;
+        }
+        
+        public String getOrderNumber() { return orderNumber; }
+        public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+        public Long getMerchantId() { return merchantId; }
+        public void setMerchantId(Long merchantId) { this.merchantId = merchantId; }
+        public List<OrderLine> getItems() { return items; }
+        public void setItems(List<OrderLine> items) { this.items = items; }
+        public Money getTotalAmount() { return totalAmount; }
+        public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
+    }
+    
+    /**
+     * Purchased product line
+     */
+    @Schema(description = "Purchased product line")
+    public static class OrderLine {
+        
+        @Schema(description = "Product SKU", example = "PHONE-001")
+        private String sku;
+        
+        @Schema(description = "Product name", example = "iPhone 15 Pro")
+        private String productName;
+        
+        @Schema(description = "Purchase quantity", example = "2")
+        private int quantity;
+        
+        @Schema(description = "Line total", example = "1998.00")
+        private Money totalPrice;
+        
+        public OrderLine() {}
+        
+        public OrderLine(String sku, String productName, int quantity, Money totalPrice) {
+            this.sku = sku;
+            this.productName = productName;
+            this.quantity = quantity;
+            this.totalPrice = totalPrice;
+        }
+        
+        public String getSku() { return sku; }
+        public void setSku(String sku) { this.sku = sku; }
+        public String getProductName() { return productName; }
+        public void setProductName(String productName) { this.productName = productName; }
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public Money getTotalPrice() { return totalPrice; }
+        public void setTotalPrice(Money totalPrice) { this.totalPrice = totalPrice; }
+    }
+}
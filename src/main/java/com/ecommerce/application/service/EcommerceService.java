@@ -5,22 +5,62 @@ import com.ecommerce.domain.user.User;
 import com.ecommerce.domain.merchant.Merchant;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderItem;
+import com.ecommerce.application.dto.BatchPurchaseRequest;
+import com.ecommerce.application.dto.BatchPurchaseResponse;
+import com.ecommerce.application.dto.CartPurchaseRequest;
+import com.ecommerce.application.dto.CartPurchaseResponse;
 import com.ecommerce.application.dto.PurchaseRequest;
 import com.ecommerce.application.dto.PurchaseResponse;
+import com.ecommerce.infrastructure.id.OrderNumberCodec;
+import com.ecommerce.infrastructure.id.SnowflakeIdGenerator;
+import com.ecommerce.infrastructure.inventory.InventoryCounter;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
+import com.ecommerce.infrastructure.retry.OptimisticRetryExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Ecommerce Service
  * Handles the complete business process of user purchasing products
  * 
  * Performance Notes:
- * - For high-concurrency scenarios, consider implementing optimistic locking
+ * - Purchases and cancellations hold striped locks on the user, product and merchant they touch,
+ *   so unrelated purchases run in parallel while contending ones stay consistent
+ * - Repository saves are version-checked; conflicts with writers outside these locks
+ *   are retried with jittered backoff under a shared retry budget
+ * - Retried entry points open no transaction of their own: the retry executor runs each attempt in
+ *   a fresh one, since a database transaction that hit a conflict can only be rolled back
+ * - Inventory is checked and deducted through per-SKU atomic stock cells; sold-out hot SKUs are
+ *   rejected from their buckets before any lock is taken, other SKUs against the product loaded under the lock
+ * - Hot SKUs (flash sales) keep stock in per-core buckets; their purchases don't take the product lock
+ * - Every attempt works through a unit of work: an aggregate is loaded once however often the attempt
+ *   looks it up, and only aggregates whose version moved since loading are saved, so a hot SKU's product
+ *   or an account a rejected purchase left alone is never rewritten
+ * - Cart purchases load each aggregate once, validate the whole cart before deducting anything,
+ *   and save the user, every product and every merchant once, with one order per merchant
+ * - Batch purchases take every lock and load every aggregate of the batch once, apply the purchases
+ *   in submission order with per-purchase results, and save each changed aggregate once
+ * - Multi-entity loads and saves (cart, batch, cancellation) use the repositories' bulk calls, so they
+ *   cost one round trip per aggregate type instead of one per entity
  * - Inventory deduction could benefit from distributed locks (Redis) in clustered environments
- * - Order number generation is now thread-safe and includes business context
+ * - Order numbers encode lock-free Snowflake IDs (time, node, sequence), so they are unique across
+ *   instances with distinct node IDs and their creation time can be decoded from them
  */
 @Service
 public class EcommerceService {
@@ -29,42 +69,52 @@ public class EcommerceService {
     private final MerchantService merchantService;
     private final ProductService productService;
     private final OrderService orderService;
-    
-    // Order number generation - format: ORD202507110001 (12 chars, supports 9999 orders/day)
-    private static final AtomicLong orderSequence = new AtomicLong(1);
-    private static final DateTimeFormatter ORDER_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private static volatile String lastOrderDate = "";
+    private final AggregateLockManager lockManager;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final InventoryCounter inventoryCounter;
+    private final SnowflakeIdGenerator orderIdGenerator;
     
     public EcommerceService(UserService userService, MerchantService merchantService,
                           ProductService productService, OrderService orderService) {
+        this(userService, merchantService, productService, orderService,
+             new AggregateLockManager(AggregateLockManager.DEFAULT_STRIPES), new OptimisticRetryExecutor(),
+             new InventoryCounter());
+    }
+    
+    public EcommerceService(UserService userService, MerchantService merchantService,
+                          ProductService productService, OrderService orderService,
+                          AggregateLockManager lockManager, OptimisticRetryExecutor retryExecutor,
+                          InventoryCounter inventoryCounter) {
+        this(userService, merchantService, productService, orderService, lockManager, retryExecutor,
+             inventoryCounter, new SnowflakeIdGenerator(0));
+    }
+    
+    @Autowired
+    public EcommerceService(UserService userService, MerchantService merchantService,
+                          ProductService productService, OrderService orderService,
+                          AggregateLockManager lockManager, OptimisticRetryExecutor retryExecutor,
+                          InventoryCounter inventoryCounter, SnowflakeIdGenerator orderIdGenerator) {
         this.userService = userService;
         this.merchantService = merchantService;
         this.productService = productService;
         this.orderService = orderService;
+        this.lockManager = lockManager;
+        this.retryExecutor = retryExecutor;
+        this.inventoryCounter = inventoryCounter;
+        this.orderIdGenerator = orderIdGenerator;
     }
     
     /**
      * Process purchase request
      * Complete business flow: validate -> create order -> deduct inventory -> confirm order -> deduct money -> add money -> complete order
      * Requires transaction due to multiple atomic operations
+     * Each attempt loads, validates and saves under the user, product and merchant locks;
+     * a version conflict from a writer outside those locks re-runs the attempt with backoff
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PurchaseResponse processPurchase(PurchaseRequest request) {
         try {
-            // 1. Validate and prepare purchase entities
-            PurchaseContext context = preparePurchaseContext(request);
-            
-            // 2. Validate business rules
-            validatePurchaseBusinessRules(context);
-            
-            // 3. Execute purchase transaction
-            Order order = executePurchaseTransaction(context);
-            
-            // 4. Save all changes
-            savePurchaseChanges(context, order);
-            
-            // 5. Return response
-            return createPurchaseResponse(context, order);
+            return retryExecutor.execute("purchase", () -> attemptPurchase(request));
             
         } catch (com.ecommerce.api.exception.BusinessException e) {
             // Business exceptions should be re-thrown as-is to preserve error codes
@@ -77,16 +127,79 @@ public class EcommerceService {
         }
     }
     
+    /**
+     * Single purchase attempt
+     * The merchant is only known once the product is loaded, so its lock is taken second;
+     * merchant stripes sort after user and product stripes, which keeps the acquisition order global
+     */
+    private PurchaseResponse attemptPurchase(PurchaseRequest request) {
+        // Lock-free early rejection when a hot SKU is sold out
+        inventoryCounter.checkAvailable(request.getSku(), request.getQuantity());
+        
+        // Hot SKUs keep their stock in sharded buckets only, so their purchases skip the product lock
+        boolean hotSku = inventoryCounter.isHotMode(request.getSku());
+        boolean[] stockTaken = {false};
+        try {
+            return lockManager.executeWithLocks(request.getUserId(), hotSku ? null : request.getSku(), null, () -> {
+                // 1. Load purchase entities
+                UnitOfWork work = newUnitOfWork();
+                User user = work.load(User.class, request.getUserId(), userService::getUserById);
+                Product product = work.load(Product.class, request.getSku(), productService::getProductBySku);
+                
+                return lockManager.executeWithLocks(null, null, product.getMerchantId(), () -> {
+                    PurchaseContext context = preparePurchaseContext(work, request, user, product, hotSku);
+                    
+                    // 2. Validate business rules
+                    validatePurchaseBusinessRules(context);
+                    
+                    // 3. Check and deduct stock with a single CAS on the SKU's cell
+                    if (hotSku) {
+                        inventoryCounter.deductHot(request.getSku(), context.quantity);
+                    } else {
+                        inventoryCounter.deduct(context.product, context.quantity);
+                    }
+                    stockTaken[0] = true;
+                    
+                    // 4. Execute purchase transaction and save what changed
+                    Order order = executePurchaseTransaction(context);
+                    work.registerNew(order);
+                    work.flush();
+                    
+                    // 5. Return response
+                    return createPurchaseResponse(context, order);
+                });
+            });
+        } catch (RuntimeException e) {
+            if (stockTaken[0]) {
+                returnStock(request.getSku(), request.getQuantity(), hotSku);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Undo the stock deduction of a failed purchase attempt
+     * Runs after the attempt's locks are released, since restoring a product takes the SKU lock
+     */
+    private void returnStock(String sku, int quantity, boolean hotSku) {
+        if (!hotSku) {
+            // The stock cell may be ahead of storage now; re-seed it on next use
+            inventoryCounter.invalidate(sku);
+        } else if (!inventoryCounter.releaseHot(sku, quantity)) {
+            // Hot mode was switched off meanwhile and the deduction already reached the product
+            productService.addInventory(sku, quantity);
+        }
+    }
+    
     /**
      * Prepare purchase context with all required entities
      */
-    private PurchaseContext preparePurchaseContext(PurchaseRequest request) {
-        User user = userService.getUserById(request.getUserId());
-        Product product = productService.getProductBySku(request.getSku());
-        Merchant merchant = merchantService.getMerchantById(product.getMerchantId());
+    private PurchaseContext preparePurchaseContext(UnitOfWork work, PurchaseRequest request, User user, Product product,
+                                                   boolean hotSku) {
+        Merchant merchant = work.load(Merchant.class, product.getMerchantId(), merchantService::getMerchantById);
         Money totalPrice = product.calculateTotalPrice(request.getQuantity());
         
-        return new PurchaseContext(user, product, merchant, request.getQuantity(), totalPrice);
+        return new PurchaseContext(user, product, merchant, request.getQuantity(), totalPrice, hotSku);
     }
     
     /**
@@ -101,12 +214,6 @@ public class EcommerceService {
             throw new com.ecommerce.domain.user.InsufficientBalanceException(
                 "Insufficient balance. Required: " + context.totalPrice + ", Available: " + context.user.getBalance());
         }
-        
-        // Check product inventory
-        if (!context.product.hasEnoughInventory(context.quantity)) {
-            throw new com.ecommerce.domain.product.InsufficientInventoryException(
-                "Insufficient inventory. Required: " + context.quantity + ", Available: " + context.product.getAvailableInventory());
-        }
     }
     
     /**
@@ -120,7 +227,11 @@ public class EcommerceService {
                           context.product.getPrice(), context.quantity);
         
         // Execute transaction steps
-        context.product.reduceInventory(context.quantity);
+        // Stock was already deducted from the cell; mirror it on the aggregate for persistence
+        // (hot SKUs are written back by periodic flushes instead)
+        if (!context.hotSku) {
+            context.product.reduceInventory(context.quantity);
+        }
         order.confirm();
         context.user.deduct(context.totalPrice);
         context.merchant.receiveIncome(context.totalPrice);
@@ -130,16 +241,6 @@ public class EcommerceService {
         return order;
     }
     
-    /**
-     * Save all changes from the purchase
-     */
-    private void savePurchaseChanges(PurchaseContext context, Order order) {
-        userService.saveUser(context.user);
-        productService.saveProduct(context.product);
-        merchantService.saveMerchant(context.merchant);
-        orderService.saveOrder(order);
-    }
-    
     /**
      * Create purchase response
      */
@@ -164,13 +265,15 @@ public class EcommerceService {
         final Merchant merchant;
         final int quantity;
         final Money totalPrice;
+        final boolean hotSku;
         
-        PurchaseContext(User user, Product product, Merchant merchant, int quantity, Money totalPrice) {
+        PurchaseContext(User user, Product product, Merchant merchant, int quantity, Money totalPrice, boolean hotSku) {
             this.user = user;
             this.product = product;
             this.merchant = merchant;
             this.quantity = quantity;
             this.totalPrice = totalPrice;
+            this.hotSku = hotSku;
         }
     }
     
@@ -194,39 +297,485 @@ public class EcommerceService {
     }
     
     /**
-     * Cancel order with proper refund and inventory restore handling
-     * Requires transaction due to multiple atomic operations
+     * Process cart purchase
+     * Buys every item of the cart in one transaction, creating one order per merchant
+     * Duplicate SKUs are merged; stock of every item and the balance for the whole cart are checked
+     * before anything is deducted, so the cart is bought completely or not at all
      */
-    @Transactional
-    public void cancelOrder(String orderNumber, String reason) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CartPurchaseResponse processCartPurchase(CartPurchaseRequest request) {
+        Map<String, Integer> quantities = mergeCartItems(request);
         try {
-            // 1. Get order
-            Order order = orderService.getOrderByNumber(orderNumber);
+            return retryExecutor.execute("cart-purchase", () -> attemptCartPurchase(request.getUserId(), quantities));
             
-            // 2. Check if order can be cancelled
-            if (order.isCompleted()) {
-                throw new com.ecommerce.domain.order.InvalidOrderStateException("Cannot cancel completed order");
+        } catch (com.ecommerce.api.exception.BusinessException e) {
+            // Business exceptions should be re-thrown as-is to preserve error codes
+            throw e;
+        } catch (Exception e) {
+            throw new com.ecommerce.api.exception.BusinessException(
+                com.ecommerce.api.dto.ErrorCode.INTERNAL_ERROR,
+                "Cart purchase failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Merge cart items into quantity per SKU, keeping the cart's order
+     */
+    private Map<String, Integer> mergeCartItems(CartPurchaseRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new com.ecommerce.api.exception.BusinessException(
+                com.ecommerce.api.dto.ErrorCode.VALIDATION_ERROR, "Cart must contain at least one item");
+        }
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (CartPurchaseRequest.CartItem item : request.getItems()) {
+            if (item.getQuantity() <= 0) {
+                throw new com.ecommerce.api.exception.BusinessException(
+                    com.ecommerce.api.dto.ErrorCode.VALIDATION_ERROR, "Quantity must be positive");
+            }
+            quantities.merge(item.getSku(), item.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+    
+    /**
+     * Single cart purchase attempt
+     * User and non-hot product locks are taken together, then the locks of every merchant in the cart
+     */
+    private CartPurchaseResponse attemptCartPurchase(Long userId, Map<String, Integer> quantities) {
+        // Lock-free early rejection when any hot SKU is sold out
+        quantities.forEach(inventoryCounter::checkAvailable);
+        
+        Set<String> hotSkus = quantities.keySet().stream()
+            .filter(inventoryCounter::isHotMode)
+            .collect(Collectors.toSet());
+        List<String> lockedSkus = quantities.keySet().stream()
+            .filter(sku -> !hotSkus.contains(sku))
+            .toList();
+        List<String> stockTaken = new ArrayList<>();
+        try {
+            return lockManager.executeWithLocks(Collections.singletonList(userId), lockedSkus, Collections.emptyList(), () -> {
+                // 1. Load the user, then every product in one call
+                UnitOfWork work = newUnitOfWork();
+                User user = work.load(User.class, userId, userService::getUserById);
+                Map<String, Product> products = loadProducts(work, quantities.keySet());
+                Set<Long> merchantIds = products.values().stream()
+                    .map(Product::getMerchantId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+                
+                return lockManager.executeWithLocks(Collections.emptyList(), Collections.emptyList(), merchantIds, () -> {
+                    Map<Long, Merchant> merchants = work.loadAll(Merchant.class, merchantIds,
+                        merchantService::getMerchantsByIds);
+                    CartContext context = prepareCartContext(user, products, merchants, quantities, hotSkus);
+                    
+                    // 2. Validate the whole cart before changing anything
+                    validateCartBusinessRules(context);
+                    
+                    // 3. Deduct stock of every line
+                    for (MerchantCart merchantCart : context.merchantCarts) {
+                        for (CartLine line : merchantCart.lines) {
+                            if (line.hotSku) {
+                                inventoryCounter.deductHot(line.product.getSku(), line.quantity);
+                            } else {
+                                inventoryCounter.deduct(line.product, line.quantity);
+                            }
+                            stockTaken.add(line.product.getSku());
+                        }
+                    }
+                    
+                    // 4. Create and pay one order per merchant, then save every changed aggregate once
+                    List<Order> orders = executeCartTransaction(context);
+                    orders.forEach(work::registerNew);
+                    work.flush();
+                    
+                    return createCartPurchaseResponse(context, orders);
+                });
+            });
+        } catch (RuntimeException e) {
+            stockTaken.forEach(sku -> returnStock(sku, quantities.get(sku), hotSkus.contains(sku)));
+            throw e;
+        }
+    }
+    
+    /**
+     * Load the products of skus in one call, keeping the order of skus; any missing SKU fails the load
+     */
+    private Map<String, Product> loadProducts(UnitOfWork work, Collection<String> skus) {
+        Map<String, Product> found = work.loadAll(Product.class, skus, productService::getProductsBySkus);
+        Map<String, Product> products = new LinkedHashMap<>();
+        for (String sku : skus) {
+            Product product = found.get(sku);
+            if (product == null) {
+                throw ProductService.productNotFound(sku);
+            }
+            products.put(sku, product);
+        }
+        return products;
+    }
+    
+    /**
+     * Group cart lines by merchant, in merchant ID order
+     */
+    private CartContext prepareCartContext(User user, Map<String, Product> products, Map<Long, Merchant> merchants,
+                                           Map<String, Integer> quantities, Set<String> hotSkus) {
+        Map<Long, MerchantCart> merchantCarts = new TreeMap<>();
+        for (Product product : products.values()) {
+            MerchantCart merchantCart = merchantCarts.computeIfAbsent(product.getMerchantId(), merchantId -> {
+                Merchant merchant = merchants.get(merchantId);
+                if (merchant == null) {
+                    throw new com.ecommerce.domain.merchant.MerchantNotFoundException(merchantId);
+                }
+                return new MerchantCart(merchant);
+            });
+            merchantCart.addLine(new CartLine(product, quantities.get(product.getSku()), hotSkus.contains(product.getSku())));
+        }
+        
+        Money grandTotal = null;
+        for (MerchantCart merchantCart : merchantCarts.values()) {
+            grandTotal = grandTotal == null ? merchantCart.total : grandTotal.add(merchantCart.total);
+        }
+        return new CartContext(user, new ArrayList<>(merchantCarts.values()), grandTotal);
+    }
+    
+    /**
+     * Validate every line's stock and status, and the balance for the whole cart
+     */
+    private void validateCartBusinessRules(CartContext context) {
+        for (MerchantCart merchantCart : context.merchantCarts) {
+            for (CartLine line : merchantCart.lines) {
+                validatePurchaseRequest(context.user, line.product, merchantCart.merchant, line.quantity);
+                int available = line.hotSku
+                    ? inventoryCounter.getAvailable(line.product.getSku())
+                    : line.product.getAvailableInventory();
+                if (available < line.quantity) {
+                    throw new com.ecommerce.domain.product.InsufficientInventoryException(
+                        "Insufficient inventory for product: " + line.product.getSku()
+                        + ". Required: " + line.quantity + ", Available: " + available);
+                }
+            }
+        }
+        
+        if (!context.user.canAfford(context.grandTotal)) {
+            throw new com.ecommerce.domain.user.InsufficientBalanceException(
+                "Insufficient balance. Required: " + context.grandTotal + ", Available: " + context.user.getBalance());
+        }
+    }
+    
+    /**
+     * Create, pay and complete one order per merchant
+     */
+    private List<Order> executeCartTransaction(CartContext context) {
+        List<Order> orders = new ArrayList<>();
+        for (MerchantCart merchantCart : context.merchantCarts) {
+            Order order = new Order(generateOrderNumber(), context.user.getId(), merchantCart.merchant.getId());
+            for (CartLine line : merchantCart.lines) {
+                order.addOrderItem(line.product.getSku(), line.product.getName(),
+                                  line.product.getPrice(), line.quantity);
+                if (!line.hotSku) {
+                    line.product.reduceInventory(line.quantity);
+                }
             }
+            order.confirm();
+            context.user.deduct(merchantCart.total);
+            merchantCart.merchant.receiveIncome(merchantCart.total);
+            order.processPayment();
+            order.complete();
+            orders.add(order);
+        }
+        return orders;
+    }
+    
+    /**
+     * Create cart purchase response
+     */
+    private CartPurchaseResponse createCartPurchaseResponse(CartContext context, List<Order> orders) {
+        List<CartPurchaseResponse.MerchantOrder> merchantOrders = orders.stream()
+            .map(order -> new CartPurchaseResponse.MerchantOrder(
+                order.getOrderNumber(),
+                order.getMerchantId(),
+                order.getItems().stream()
+                    .map(item -> new CartPurchaseResponse.OrderLine(
+                        item.getSku(), item.getProductName(), item.getQuantity(), item.getTotalPrice()))
+                    .toList(),
+                order.getTotalAmount()))
+            .toList();
+        return new CartPurchaseResponse(context.user.getId(), merchantOrders, context.grandTotal);
+    }
+    
+    /**
+     * Inner classes to hold cart purchase context data
+     */
+    private static class CartContext {
+        final User user;
+        final List<MerchantCart> merchantCarts;
+        final Money grandTotal;
+        
+        CartContext(User user, List<MerchantCart> merchantCarts, Money grandTotal) {
+            this.user = user;
+            this.merchantCarts = merchantCarts;
+            this.grandTotal = grandTotal;
+        }
+    }
+    
+    private static class MerchantCart {
+        final Merchant merchant;
+        final List<CartLine> lines = new ArrayList<>();
+        Money total;
+        
+        MerchantCart(Merchant merchant) {
+            this.merchant = merchant;
+        }
+        
+        void addLine(CartLine line) {
+            lines.add(line);
+            total = total == null ? line.totalPrice : total.add(line.totalPrice);
+        }
+    }
+    
+    private static class CartLine {
+        final Product product;
+        final int quantity;
+        final Money totalPrice;
+        final boolean hotSku;
+        
+        CartLine(Product product, int quantity, boolean hotSku) {
+            this.product = product;
+            this.quantity = quantity;
+            this.totalPrice = product.calculateTotalPrice(quantity);
+            this.hotSku = hotSku;
+        }
+    }
+    
+    /**
+     * Process batch purchase
+     * Applies independent purchases in submission order and reports a result for each;
+     * a rejected purchase doesn't affect the others
+     * Each user, product and merchant is loaded and saved once per batch, however many purchases touch it
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchPurchaseResponse processBatchPurchase(BatchPurchaseRequest request) {
+        List<PurchaseRequest> purchases = request.getPurchases();
+        if (purchases == null || purchases.isEmpty()) {
+            throw new com.ecommerce.api.exception.BusinessException(
+                com.ecommerce.api.dto.ErrorCode.VALIDATION_ERROR, "Batch must contain at least one purchase");
+        }
+        List<PurchaseOutcome> outcomes = executePurchaseBatch(purchases);
+        List<BatchPurchaseResponse.ItemResult> results = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            PurchaseOutcome outcome = outcomes.get(i);
+            results.add(outcome.isSuccess()
+                ? BatchPurchaseResponse.ItemResult.success(i, outcome.response)
+                : BatchPurchaseResponse.ItemResult.failure(i, outcome.failure.getErrorCode().getCode(),
+                    outcome.failure.getMessage()));
+        }
+        return new BatchPurchaseResponse(results);
+    }
+    
+    /**
+     * Apply purchases in order under one set of locks and loads, with one outcome per purchase
+     * Shared by batch requests and the single-writer purchase pipeline
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    List<PurchaseOutcome> executePurchaseBatch(List<PurchaseRequest> purchases) {
+        try {
+            return retryExecutor.execute("batch-purchase", () -> attemptBatchPurchase(purchases));
             
-            if (order.isCancelled()) {
-                throw new com.ecommerce.domain.order.InvalidOrderStateException("Order is already cancelled");
+        } catch (com.ecommerce.api.exception.BusinessException e) {
+            // Business exceptions should be re-thrown as-is to preserve error codes
+            throw e;
+        } catch (Exception e) {
+            throw new com.ecommerce.api.exception.BusinessException(
+                com.ecommerce.api.dto.ErrorCode.INTERNAL_ERROR,
+                "Batch purchase failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Single batch purchase attempt
+     * Locks every user and non-hot product of the batch, then every merchant, so the batch
+     * takes each lock once instead of once per purchase
+     */
+    private List<PurchaseOutcome> attemptBatchPurchase(List<PurchaseRequest> purchases) {
+        Set<Long> userIds = new TreeSet<>();
+        Set<String> skus = new TreeSet<>();
+        for (PurchaseRequest purchase : purchases) {
+            if (purchase.getUserId() != null) {
+                userIds.add(purchase.getUserId());
+            }
+            if (purchase.getSku() != null) {
+                skus.add(purchase.getSku());
             }
+        }
+        Set<String> hotSkus = skus.stream()
+            .filter(inventoryCounter::isHotMode)
+            .collect(Collectors.toSet());
+        List<String> lockedSkus = skus.stream()
+            .filter(sku -> !hotSkus.contains(sku))
+            .toList();
+        
+        BatchContext context = new BatchContext(hotSkus, newUnitOfWork());
+        try {
+            return lockManager.executeWithLocks(userIds, lockedSkus, Collections.emptyList(), () -> {
+                // 1. Load all users and all products with one call each; a missing one only fails the purchases that need it
+                collectLoaded(userIds, context.work.loadAll(User.class, userIds, userService::getUsersByIds), context.users,
+                    com.ecommerce.domain.user.UserNotFoundException::new);
+                collectLoaded(skus, context.work.loadAll(Product.class, skus, productService::getProductsBySkus),
+                    context.products, ProductService::productNotFound);
+                Set<Long> merchantIds = context.products.values().stream()
+                    .filter(loaded -> loaded.entity != null)
+                    .map(loaded -> loaded.entity.getMerchantId())
+                    .collect(Collectors.toCollection(TreeSet::new));
+                
+                return lockManager.executeWithLocks(Collections.emptyList(), Collections.emptyList(), merchantIds, () -> {
+                    if (!merchantIds.isEmpty()) {
+                        collectLoaded(merchantIds,
+                            context.work.loadAll(Merchant.class, merchantIds, merchantService::getMerchantsByIds),
+                            context.merchants, com.ecommerce.domain.merchant.MerchantNotFoundException::new);
+                    }
+                    
+                    // 2. Apply purchases in submission order against the shared in-memory aggregates
+                    List<PurchaseOutcome> outcomes = new ArrayList<>(purchases.size());
+                    for (PurchaseRequest purchase : purchases) {
+                        outcomes.add(applyBatchPurchase(context, purchase));
+                    }
+                    
+                    // 3. Save every changed aggregate once, then the orders
+                    context.work.flush();
+                    return outcomes;
+                });
+            });
+        } catch (RuntimeException e) {
+            context.stockTaken.forEach((sku, quantity) -> returnStock(sku, quantity, hotSkus.contains(sku)));
+            throw e;
+        }
+    }
+    
+    /**
+     * Record the aggregate loaded for each key, or a not-found failure to report against every purchase that needs it
+     */
+    private static <K, T> void collectLoaded(Collection<K> keys, Map<K, T> found, Map<K, Loaded<T>> loaded,
+                                             Function<K, ? extends com.ecommerce.api.exception.BusinessException> notFound) {
+        for (K key : keys) {
+            T entity = found.get(key);
+            loaded.put(key, entity != null ? new Loaded<>(entity, null) : new Loaded<>(null, notFound.apply(key)));
+        }
+    }
+    
+    /**
+     * Validate and apply one purchase of the batch
+     * Everything that can reject the purchase is checked before the first aggregate is changed,
+     * so a rejected purchase leaves the shared aggregates untouched
+     */
+    private PurchaseOutcome applyBatchPurchase(BatchContext context, PurchaseRequest request) {
+        try {
+            if (request.getUserId() == null || request.getSku() == null) {
+                throw new com.ecommerce.api.exception.BusinessException(
+                    com.ecommerce.api.dto.ErrorCode.VALIDATION_ERROR, "User ID and SKU are required");
+            }
+            User user = context.users.get(request.getUserId()).get();
+            Product product = context.products.get(request.getSku()).get();
+            Merchant merchant = context.merchants.get(product.getMerchantId()).get();
+            boolean hotSku = context.hotSkus.contains(request.getSku());
             
-            // 3. Handle refund if needed
-            if (order.needsRefund()) {
-                handleRefund(order);
+            PurchaseContext purchase = new PurchaseContext(user, product, merchant, request.getQuantity(),
+                product.calculateTotalPrice(request.getQuantity()), hotSku);
+            validatePurchaseBusinessRules(purchase);
+            if (!merchant.getBalance().getCurrency().equals(purchase.totalPrice.getCurrency())) {
+                throw new com.ecommerce.api.exception.BusinessException(com.ecommerce.api.dto.ErrorCode.INVALID_CURRENCY,
+                    "Merchant account currency " + merchant.getBalance().getCurrency()
+                    + " doesn't match price currency " + purchase.totalPrice.getCurrency());
             }
             
-            // 4. Handle inventory restore if needed  
-            if (order.needsInventoryRestore()) {
-                handleInventoryRestore(order);
+            // Deduction is the last check; nothing has changed if it fails
+            if (hotSku) {
+                inventoryCounter.deductHot(request.getSku(), purchase.quantity);
+            } else {
+                inventoryCounter.deduct(product, purchase.quantity);
             }
+            context.stockTaken.merge(request.getSku(), purchase.quantity, Integer::sum);
             
-            // 5. Cancel the order
-            order.cancel(reason);
+            Order order = executePurchaseTransaction(purchase);
+            context.work.registerNew(order);
+            return PurchaseOutcome.success(createPurchaseResponse(purchase, order));
             
-            // 6. Save changes
-            orderService.saveOrder(order);
+        } catch (com.ecommerce.domain.VersionConflictException e) {
+            // Hot mode changed under the batch; retry the whole attempt
+            throw e;
+        } catch (com.ecommerce.api.exception.BusinessException e) {
+            return PurchaseOutcome.failure(e);
+        } catch (IllegalArgumentException e) {
+            return PurchaseOutcome.failure(new com.ecommerce.api.exception.BusinessException(
+                com.ecommerce.api.dto.ErrorCode.VALIDATION_ERROR, e.getMessage(), e));
+        }
+    }
+    
+    /**
+     * Inner classes to hold batch purchase context data
+     */
+    private static class BatchContext {
+        final Set<String> hotSkus;
+        final UnitOfWork work;
+        final Map<Long, Loaded<User>> users = new HashMap<>();
+        final Map<String, Loaded<Product>> products = new HashMap<>();
+        final Map<Long, Loaded<Merchant>> merchants = new HashMap<>();
+        final Map<String, Integer> stockTaken = new LinkedHashMap<>();
+        
+        BatchContext(Set<String> hotSkus, UnitOfWork work) {
+            this.hotSkus = hotSkus;
+            this.work = work;
+        }
+    }
+    
+    /**
+     * Result of one purchase of a batch: the response, or the business failure that rejected it
+     */
+    static final class PurchaseOutcome {
+        final PurchaseResponse response;
+        final com.ecommerce.api.exception.BusinessException failure;
+        
+        private PurchaseOutcome(PurchaseResponse response, com.ecommerce.api.exception.BusinessException failure) {
+            this.response = response;
+            this.failure = failure;
+        }
+        
+        static PurchaseOutcome success(PurchaseResponse response) {
+            return new PurchaseOutcome(response, null);
+        }
+        
+        static PurchaseOutcome failure(com.ecommerce.api.exception.BusinessException failure) {
+            return new PurchaseOutcome(null, failure);
+        }
+        
+        boolean isSuccess() {
+            return failure == null;
+        }
+    }
+    
+    private static class Loaded<T> {
+        final T entity;
+        final com.ecommerce.api.exception.BusinessException failure;
+        
+        Loaded(T entity, com.ecommerce.api.exception.BusinessException failure) {
+            this.entity = entity;
+            this.failure = failure;
+        }
+        
+        T get() {
+            if (failure != null) {
+                throw failure;
+            }
+            return entity;
+        }
+    }
+    
+    /**
+     * Cancel order with proper refund and inventory restore handling
+     * Requires transaction due to multiple atomic operations
+     * Each attempt runs under the locks of the order's user, products and merchant and is retried on version conflict
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void cancelOrder(String orderNumber, String reason) {
+        try {
+            retryExecutor.execute("cancel", () -> attemptCancel(orderNumber, reason));
             
         } catch (com.ecommerce.api.exception.BusinessException e) {
             // Business exceptions should be re-thrown as-is to preserve error codes
@@ -239,12 +788,60 @@ public class EcommerceService {
     }
     
     /**
-     * Handle refund when cancelling paid order
+     * Single cancel attempt
+     * All changes are staged in memory first; the order is saved before the accounts it refunds,
+     * so of two concurrent cancellations only one passes the order's version check
+     */
+    private Void attemptCancel(String orderNumber, String reason) {
+        // 1. Get order
+        UnitOfWork work = newUnitOfWork();
+        Order order = work.load(Order.class, orderNumber, orderService::getOrderByNumber);
+        List<String> skus = order.getItems().stream().map(OrderItem::getSku).toList();
+        
+        return lockManager.executeWithLocks(Collections.singletonList(order.getUserId()), skus,
+            Collections.singletonList(order.getMerchantId()), () -> {
+                // 2. Check if order can be cancelled
+                if (order.isCompleted()) {
+                    throw new com.ecommerce.domain.order.InvalidOrderStateException("Cannot cancel completed order");
+                }
+                
+                if (order.isCancelled()) {
+                    throw new com.ecommerce.domain.order.InvalidOrderStateException("Order is already cancelled");
+                }
+                
+                // 3. Stage refund if needed
+                if (order.needsRefund()) {
+                    prepareRefund(work, order);
+                }
+                
+                // 4. Stage inventory restore if needed (hot SKUs are restored in their buckets after saving)
+                boolean restoreInventory = order.needsInventoryRestore();
+                List<Product> restoredProducts = restoreInventory
+                    ? prepareInventoryRestore(work, order) : Collections.emptyList();
+                
+                // 5. Cancel the order
+                order.cancel(reason);
+                
+                // 6. Save changes, order first
+                work.flush();
+                restoredProducts.forEach(inventoryCounter::sync);
+                if (restoreInventory) {
+                    // Mode can't change here: switching it needs the SKU locks held by this attempt
+                    order.getItems().stream()
+                        .filter(item -> inventoryCounter.isHotMode(item.getSku()))
+                        .forEach(item -> inventoryCounter.releaseHot(item.getSku(), item.getQuantity()));
+                }
+                return null;
+            });
+    }
+    
+    /**
+     * Apply refund to user and merchant when cancelling paid order (not saved yet)
      */
-    private void handleRefund(Order order) {
+    private void prepareRefund(UnitOfWork work, Order order) {
         // 1. Get user and merchant
-        User user = userService.getUserById(order.getUserId());
-        Merchant merchant = merchantService.getMerchantById(order.getMerchantId());
+        User user = work.load(User.class, order.getUserId(), userService::getUserById);
+        Merchant merchant = work.load(Merchant.class, order.getMerchantId(), merchantService::getMerchantById);
         
         Money refundAmount = order.getTotalAmount();
         
@@ -261,41 +858,43 @@ public class EcommerceService {
         
         // 3. Then refund money to user (only after merchant deduction succeeds)
         user.recharge(refundAmount);
-        
-        // 4. Save changes
-        userService.saveUser(user);
-        merchantService.saveMerchant(merchant);
     }
     
     /**
-     * Handle inventory restore when cancelling confirmed order
+     * Restore inventory when cancelling confirmed order (not saved yet)
+     * The order's non-hot products are loaded with one call
      */
-    private void handleInventoryRestore(Order order) {
+    private List<Product> prepareInventoryRestore(UnitOfWork work, Order order) {
+        Set<String> skus = order.getItems().stream()
+            .map(OrderItem::getSku)
+            .filter(sku -> !inventoryCounter.isHotMode(sku))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (skus.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Product> products = loadProducts(work, skus);
         for (var item : order.getItems()) {
-            Product product = productService.getProductBySku(item.getSku());
-            product.addInventory(item.getQuantity());
-            productService.saveProduct(product);
+            Product product = products.get(item.getSku());
+            if (product != null) {
+                product.addInventory(item.getQuantity());
+            }
         }
+        return new ArrayList<>(products.values());
+    }
+    
+    /**
+     * Unit of work for one attempt; existing orders are saved before the accounts they refund,
+     * so of two concurrent cancellations only one passes the order's version check
+     */
+    private UnitOfWork newUnitOfWork() {
+        return new UnitOfWork()
+            .register(Order.class, orderService::saveOrders)
+            .register(User.class, userService::saveUsers)
+            .register(Product.class, productService::saveProducts)
+            .register(Merchant.class, merchantService::saveMerchants);
     }
 
     private String generateOrderNumber() {
-        String currentDate = LocalDateTime.now().format(ORDER_DATE_FORMAT);
-        
-        // Reset sequence if date changed (new day)
-        if (!currentDate.equals(lastOrderDate)) {
-            synchronized (this) {
-                if (!currentDate.equals(lastOrderDate)) {
-                    lastOrderDate = currentDate;
-                    orderSequence.set(1);
-                }
-            }
-        }
-        
-        // Generate sequence with fixed 4 digits (0001, 0002, ... 9999)
-        long sequence = orderSequence.getAndIncrement();
-        if (sequence > 9999) {
-            throw new IllegalStateException("Daily order limit exceeded (9999). Consider implementing additional scaling solutions.");
-        }
-        return String.format("ORD%s%04d", currentDate, sequence);
+        return OrderNumberCodec.encode(orderIdGenerator.nextId());
     }
 } 
\ No newline at end of file
@@ -8,7 +8,10 @@ import com.ecommerce.infrastructure.repository.MerchantRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Merchant Service
@@ -40,6 +43,7 @@ public class MerchantService {
             throw DuplicateMerchantException.forContactEmail(contactEmail);
         }
         
+        // The repository's unique indexes reject a duplicate that slipped in since the checks above
         Merchant merchant = new Merchant(merchantName, businessLicense, contactEmail, contactPhone);
         return merchantRepository.save(merchant);
     }
@@ -53,6 +57,16 @@ public class MerchantService {
                 .orElseThrow(() -> new MerchantNotFoundException(merchantId));
     }
     
+    /**
+     * Get merchants by IDs in one repository call, keyed by ID; IDs without a merchant are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Merchant> getMerchantsByIds(Collection<Long> merchantIds) {
+        Map<Long, Merchant> merchants = new LinkedHashMap<>();
+        merchantRepository.findAllByIds(merchantIds).forEach(merchant -> merchants.put(merchant.getId(), merchant));
+        return merchants;
+    }
+    
     /**
      * Save merchant
      */
@@ -61,6 +75,14 @@ public class MerchantService {
         merchantRepository.save(merchant);
     }
     
+    /**
+     * Save merchants in one repository call
+     */
+    @Transactional
+    public void saveMerchants(Collection<Merchant> merchants) {
+        merchantRepository.saveAll(merchants);
+    }
+    
     /**
      * Get merchant balance
      */
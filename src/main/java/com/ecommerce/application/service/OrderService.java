@@ -2,6 +2,7 @@ package com.ecommerce.application.service;
 
 import com.ecommerce.domain.order.Order;
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
 import com.ecommerce.infrastructure.repository.OrderRepository;
 import com.ecommerce.api.dto.ErrorCode;
 import com.ecommerce.api.exception.BusinessException;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,6 +35,14 @@ public class OrderService {
         orderRepository.save(order);
     }
     
+    /**
+     * Save orders in one repository call
+     */
+    @Transactional
+    public void saveOrders(Collection<Order> orders) {
+        orderRepository.saveAll(orders);
+    }
+    
     /**
      * Get order by number
      */
@@ -75,4 +85,13 @@ public class OrderService {
     public List<Order> getCompletedOrdersByMerchantAndDateRange(Long merchantId, LocalDateTime start, LocalDateTime end) {
         return orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(merchantId, OrderStatus.COMPLETED, start, end);
     }
+    
+    /**
+     * Count and sum completed orders by merchant ID and date range without loading them
+     * Used for settlement calculation
+     */
+    @Transactional(readOnly = true)
+    public OrderTotals getCompletedOrderTotalsByMerchantAndDateRange(Long merchantId, LocalDateTime start, LocalDateTime end) {
+        return orderRepository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(merchantId, OrderStatus.COMPLETED, start, end);
+    }
 } 
\ No newline at end of file
@@ -2,25 +2,78 @@ package com.ecommerce.application.service;
 
 import com.ecommerce.api.dto.ErrorCode;
 import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.domain.ResourceInactiveException;
 import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.domain.Money;
+import com.ecommerce.infrastructure.inventory.InventoryCounter;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
 import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex.Suggestion;
+import com.ecommerce.infrastructure.search.ProductSearchIndex;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Field;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Filter;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Page;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Sort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Product Service
  * Manages product-related business operations
+ *
+ * Performance Notes:
+ * - Inventory adjustments load and save through a unit of work, so an adjustment that leaves the
+ *   product as it was (an unchanged level, a hot SKU already in line with its buckets) writes nothing
+ * - Text searches look candidates up in the product search index and load only the matching products;
+ *   every product saved here is handed to the index, which is filled from the repository on first use
+ *   and, when other instances share the database, reloaded from it periodically
+ * - Availability, merchant and status filters are intersections of the index's facet bitmaps, applied
+ *   before any product is loaded; the loaded rows are checked again, since a change committed by another
+ *   transaction reaches the index only after its commit
+ * - Listing pages are picked by the index with a bounded top-K heap and a keyset cursor, so only the
+ *   products of one page are loaded, whatever the size of the catalog
+ * - Autocomplete walks a prefix trie of names and SKUs kept current the same way, including status
+ *   changes, and reads the repository only to load or reload it
  */
 @Service
 public class ProductService {
     
     private final ProductRepository productRepository;
+    private final AggregateLockManager lockManager;
+    private final InventoryCounter inventoryCounter;
+    private final ProductSearchIndex searchIndex;
+    private final ProductAutocompleteIndex autocompleteIndex;
+    
+    private static final Set<Field> NAME_AND_DESCRIPTION = EnumSet.of(Field.NAME, Field.DESCRIPTION);
     
     public ProductService(ProductRepository productRepository) {
+        this(productRepository, new AggregateLockManager(AggregateLockManager.DEFAULT_STRIPES), new InventoryCounter(),
+            new ProductSearchIndex(), new ProductAutocompleteIndex());
+    }
+    
+    @Autowired
+    public ProductService(ProductRepository productRepository, AggregateLockManager lockManager,
+                          InventoryCounter inventoryCounter, ProductSearchIndex searchIndex,
+                          ProductAutocompleteIndex autocompleteIndex) {
         this.productRepository = productRepository;
+        this.lockManager = lockManager;
+        this.inventoryCounter = inventoryCounter;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
     }
     
     /**
@@ -36,7 +89,7 @@ public class ProductService {
         }
         
         Product product = new Product(sku, name, description, price, merchantId, initialInventory);
-        return productRepository.save(product);
+        return save(product);
     }
     
     /**
@@ -45,8 +98,24 @@ public class ProductService {
     @Transactional(readOnly = true)
     public Product getProductBySku(String sku) {
         return productRepository.findBySku(sku)
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, 
-                    "Product not found with SKU: " + sku));
+                .orElseThrow(() -> productNotFound(sku));
+    }
+    
+    /**
+     * Get products by SKUs in one repository call, keyed by SKU; SKUs without a product are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Product> getProductsBySkus(Collection<String> skus) {
+        Map<String, Product> products = new LinkedHashMap<>();
+        productRepository.findAllBySkus(skus).forEach(product -> products.put(product.getSku(), product));
+        return products;
+    }
+    
+    /**
+     * Error reported for a SKU without a product
+     */
+    static BusinessException productNotFound(String sku) {
+        return new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Product not found with SKU: " + sku);
     }
     
     /**
@@ -64,18 +133,49 @@ public class ProductService {
      */
     @Transactional
     public void saveProduct(Product product) {
-        productRepository.save(product);
+        save(product);
+    }
+    
+    /**
+     * Save products in one repository call
+     */
+    @Transactional
+    public void saveProducts(Collection<Product> products) {
+        productRepository.saveAll(products).forEach(this::indexSaved);
+    }
+    
+    /**
+     * Save product and hand it to the search indexes
+     */
+    private Product save(Product product) {
+        Product saved = productRepository.save(product);
+        indexSaved(saved);
+        return saved;
+    }
+    
+    private void indexSaved(Product product) {
+        searchIndex.index(product);
+        autocompleteIndex.index(product);
     }
     
     /**
      * Add product inventory
      * Requires transaction due to read + modify + save operations
+     * Inventory adjustments hold the product lock so they serialize with purchases of the same SKU
      */
     @Transactional
     public void addInventory(String sku, int quantity) {
-        Product product = getProductBySku(sku);
-        product.addInventory(quantity);
-        productRepository.save(product);
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            if (inventoryCounter.isHotMode(sku)) {
+                product.addInventory(quantity);
+                inventoryCounter.releaseHot(sku, quantity);
+                return saveHotInventory(work, product, quantity);
+            }
+            product.addInventory(quantity);
+            return saveInventoryChange(work, product);
+        });
     }
     
     /**
@@ -84,9 +184,19 @@ public class ProductService {
      */
     @Transactional
     public void reduceInventory(String sku, int quantity) {
-        Product product = getProductBySku(sku);
-        product.reduceInventory(quantity);
-        productRepository.save(product);
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            if (inventoryCounter.isHotMode(sku)) {
+                if (!product.isActive()) {
+                    throw new ResourceInactiveException("Product is not active: " + sku);
+                }
+                inventoryCounter.deductHot(sku, quantity);
+                return saveHotInventory(work, product, 0);
+            }
+            product.reduceInventory(quantity);
+            return saveInventoryChange(work, product);
+        });
     }
     
     /**
@@ -95,7 +205,113 @@ public class ProductService {
      */
     @Transactional
     public void setInventory(String sku, int quantity) {
-        Product product = getProductBySku(sku);
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            if (inventoryCounter.isHotMode(sku)) {
+                // An absolute level replaces whatever the row and the buckets held
+                int written = inventoryCounter.getWrittenHotStock(sku);
+                applyInventoryLevel(product, quantity);
+                inventoryCounter.setHot(sku, quantity);
+                return saveHotInventory(work, product, quantity - written);
+            }
+            applyInventoryLevel(product, quantity);
+            return saveInventoryChange(work, product);
+        });
+    }
+    
+    /**
+     * Move stock of a SKU into its reserved pool
+     * Requires transaction due to read + modify + save operations
+     */
+    @Transactional
+    public void reserveInventory(String sku, int quantity) {
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            if (inventoryCounter.isHotMode(sku)) {
+                // The buckets have the final say; the row is checked first so a rejected reserve takes nothing
+                product.reserveInventory(quantity);
+                inventoryCounter.deductHot(sku, quantity);
+                return saveHotInventory(work, product, -quantity);
+            }
+            product.reserveInventory(quantity);
+            return saveInventoryChange(work, product);
+        });
+    }
+    
+    /**
+     * Return reserved stock of a SKU to its available stock
+     * Requires transaction due to read + modify + save operations
+     */
+    @Transactional
+    public void releaseReservedInventory(String sku, int quantity) {
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            product.releaseReservedInventory(quantity);
+            if (inventoryCounter.isHotMode(sku)) {
+                inventoryCounter.releaseHot(sku, quantity);
+                return saveHotInventory(work, product, quantity);
+            }
+            return saveInventoryChange(work, product);
+        });
+    }
+    
+    /**
+     * Return the reserved stock of every product to its available stock
+     * Only for startup, when no reservation holding that stock can exist any more; returns the number of
+     * products changed
+     */
+    @Transactional
+    public int releaseAllReservedInventory() {
+        int released = 0;
+        for (Product listed : productRepository.findAll()) {
+            if (listed.getReservedInventory() == 0) {
+                continue;
+            }
+            String sku = listed.getSku();
+            boolean changed = lockManager.executeWithLocks(null, sku, null, () -> {
+                UnitOfWork work = newUnitOfWork();
+                Product product = work.load(Product.class, sku, this::getProductBySku);
+                int reserved = product.getReservedInventory();
+                if (reserved == 0) {
+                    return false;
+                }
+                product.releaseReservedInventory(reserved);
+                if (inventoryCounter.isHotMode(sku)) {
+                    inventoryCounter.releaseHot(sku, reserved);
+                    saveHotInventory(work, product, reserved);
+                } else {
+                    saveInventoryChange(work, product);
+                }
+                return true;
+            });
+            if (changed) {
+                released++;
+            }
+        }
+        return released;
+    }
+    
+    /**
+     * Mark reserved stock of a SKU as sold
+     * Requires transaction due to read + modify + save operations
+     */
+    @Transactional
+    public void confirmReservedInventory(String sku, int quantity) {
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            product.confirmReservedInventory(quantity);
+            return inventoryCounter.isHotMode(sku) ? saveHotInventory(work, product, 0) : saveInventoryChange(work, product);
+        });
+    }
+    
+    /**
+     * Bring the product's inventory to an absolute level
+     */
+    private void applyInventoryLevel(Product product, int quantity) {
         // Calculate the difference and adjust accordingly
         int currentInventory = product.getAvailableInventory();
         if (quantity > currentInventory) {
@@ -106,7 +322,151 @@ public class ProductService {
             product.reduceInventory(currentInventory - quantity);
         }
         // If quantity == currentInventory, no change needed
-        productRepository.save(product);
+    }
+    
+    /**
+     * Add or take a quantity of available inventory
+     * Taking stops at zero: the row may already have been sold down by another instance
+     */
+    private void applyInventoryChange(Product product, int change) {
+        if (change > 0) {
+            product.addInventory(change);
+        } else if (change < 0) {
+            int reduced = Math.min(-change, product.getAvailableInventory());
+            if (reduced > 0) {
+                product.reduceInventory(reduced);
+            }
+        }
+    }
+    
+    /**
+     * Save an inventory change and bring the SKU's stock cell in line with it
+     * A failed save drops the cell, since its value may no longer match storage
+     */
+    private Product saveInventoryChange(UnitOfWork work, Product product) {
+        try {
+            work.flush();
+            inventoryCounter.sync(product);
+            return product;
+        } catch (RuntimeException e) {
+            inventoryCounter.invalidate(product.getSku());
+            throw e;
+        }
+    }
+    
+    /**
+     * Write the change of a hot SKU's stock since its last write to the freshly loaded product
+     * applied is the part of that change the caller already made to the product. Only the change is
+     * written, so stock moved on the row by other instances is kept; a failed save leaves the last
+     * written level as it was, and the next flush writes the change again
+     */
+    private Product saveHotInventory(UnitOfWork work, Product product, int applied) {
+        String sku = product.getSku();
+        int written = inventoryCounter.getWrittenHotStock(sku);
+        int current = inventoryCounter.getAvailable(sku);
+        applyInventoryChange(product, current - written - applied);
+        inventoryCounter.setWrittenHotStock(sku, current);
+        try {
+            work.flush();
+            return product;
+        } catch (RuntimeException e) {
+            inventoryCounter.setWrittenHotStock(sku, written);
+            throw e;
+        }
+    }
+    
+    /**
+     * Unit of work for one inventory adjustment; changed products are written in one saveProducts call
+     */
+    private UnitOfWork newUnitOfWork() {
+        return new UnitOfWork().register(Product.class, this::saveProducts);
+    }
+    
+    /**
+     * Switch hot SKU mode on or off for a product
+     * In hot mode the SKU's stock is split across per-core buckets and purchases no longer take its lock
+     */
+    @Transactional
+    public void setHotMode(String sku, boolean enabled) {
+        lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            if (enabled) {
+                inventoryCounter.enableHotMode(product);
+                return product;
+            }
+            int written = inventoryCounter.getWrittenHotStock(sku);
+            int remaining = inventoryCounter.disableHotMode(sku);
+            if (remaining >= 0) {
+                applyInventoryChange(product, remaining - written);
+                return saveInventoryChange(work, product);
+            }
+            return product;
+        });
+    }
+    
+    /**
+     * Write back the stock of every hot SKU and switch hot mode off
+     * Hot mode lives in memory only, so this runs on shutdown; the repository is destroyed after this
+     * service, so a journal still takes the writes
+     */
+    @PreDestroy
+    public void disableAllHotModes() {
+        for (String sku : inventoryCounter.getHotSkus()) {
+            setHotMode(sku, false);
+        }
+    }
+    
+    /**
+     * Check whether a SKU is in hot mode
+     */
+    public boolean isHotMode(String sku) {
+        return inventoryCounter.isHotMode(sku);
+    }
+    
+    /**
+     * Activate or deactivate a product; an inactive product can't be purchased or suggested
+     */
+    @Transactional
+    public Product setProductActive(String sku, boolean active) {
+        return lockManager.executeWithLocks(null, sku, null, () -> {
+            UnitOfWork work = newUnitOfWork();
+            Product product = work.load(Product.class, sku, this::getProductBySku);
+            if (active) {
+                product.activate();
+            } else {
+                product.deactivate();
+            }
+            work.flush();
+            return product;
+        });
+    }
+    
+    /**
+     * Write the current stock of every hot SKU to its product
+     * Returns the number of products updated
+     */
+    @Transactional
+    public int flushHotInventory() {
+        int flushed = 0;
+        for (String sku : inventoryCounter.getHotSkus()) {
+            boolean updated = lockManager.executeWithLocks(null, sku, null, () -> {
+                if (!inventoryCounter.isHotMode(sku)) {
+                    return false;
+                }
+                UnitOfWork work = newUnitOfWork();
+                Product product = work.load(Product.class, sku, this::getProductBySku);
+                if (inventoryCounter.getAvailable(sku) == inventoryCounter.getWrittenHotStock(sku)) {
+                    return false;
+                }
+                saveHotInventory(work, product, 0);
+                return true;
+            });
+            if (updated) {
+                flushed++;
+            }
+        }
+        return flushed;
     }
     
     /**
@@ -130,9 +490,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> getAvailableProducts() {
-        return productRepository.findAll().stream()
-                .filter(Product::isAvailable)
-                .collect(Collectors.toList());
+        return findAvailable(null, null);
     }
     
     /**
@@ -144,13 +502,59 @@ public class ProductService {
             return getAllProducts();
         }
         
-        String lowerSearchTerm = searchTerm.toLowerCase();
-        return productRepository.findAll().stream()
-                .filter(product -> product.getName().toLowerCase().contains(lowerSearchTerm) ||
-                                 product.getDescription().toLowerCase().contains(lowerSearchTerm))
+        return productRepository.findAllByIds(search(searchTerm, NAME_AND_DESCRIPTION, Filter.any()));
+    }
+    
+    /**
+     * IDs of products matching filter whose text in one of fields contains searchTerm, ignoring case,
+     * in ascending order; a blank search term only applies the filter
+     */
+    private List<Long> search(String searchTerm, Set<Field> fields, Filter filter) {
+        searchIndex.loadIfNeeded(productRepository::findAll);
+        return isBlank(searchTerm) ? searchIndex.filter(filter) : searchIndex.search(searchTerm, fields, filter);
+    }
+    
+    /**
+     * Available products of merchantId (any merchant if null) matching searchTerm (anything if blank)
+     * by name or description
+     */
+    private List<Product> findAvailable(String searchTerm, Long merchantId) {
+        return productRepository.findAllByIds(search(searchTerm, NAME_AND_DESCRIPTION, Filter.available(merchantId)))
+                .stream()
+                .filter(Product::isAvailable)
                 .collect(Collectors.toList());
     }
     
+    private static boolean isBlank(String searchTerm) {
+        return searchTerm == null || searchTerm.trim().isEmpty();
+    }
+    
+    /**
+     * Active products whose name or SKU starts with prefix (case-insensitive), at most limit of them
+     * A blank prefix suggests nothing
+     */
+    public List<Suggestion> autocomplete(String prefix, int limit) {
+        if (limit < 1 || limit > ProductAutocompleteIndex.MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                "Limit must be between 1 and " + ProductAutocompleteIndex.MAX_LIMIT);
+        }
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return List.of();
+        }
+        autocompleteIndex.loadIfNeeded(productRepository::findAll);
+        return autocompleteIndex.suggest(prefix, limit);
+    }
+    
+    /**
+     * Read the catalog into the search and autocomplete indexes again
+     * Brings in products created or changed by other instances sharing the database
+     */
+    @Transactional(readOnly = true)
+    public void reloadSearchIndexes() {
+        searchIndex.reload(productRepository::findAll);
+        autocompleteIndex.reload(productRepository::findAll);
+    }
+    
     /**
      * Check if product exists by SKU
      */
@@ -183,15 +587,99 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> searchAvailableProducts(String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getAvailableProducts();
+        return findAvailable(searchTerm, null);
+    }
+    
+    /**
+     * Search available products of a merchant by name or description (case-insensitive)
+     * A blank search term returns all of the merchant's available products
+     */
+    @Transactional(readOnly = true)
+    public List<Product> searchAvailableProducts(String searchTerm, Long merchantId) {
+        return findAvailable(searchTerm, merchantId);
+    }
+    
+    /**
+     * Get available products of a merchant
+     */
+    @Transactional(readOnly = true)
+    public List<Product> getAvailableProductsByMerchant(Long merchantId) {
+        return findAvailable(null, merchantId);
+    }
+    
+    /**
+     * One page of available products of merchantId (any merchant if null) matching searchTerm (anything if
+     * blank) by name or description, ordered by sort (id, price, name or inventory, ignoring case)
+     */
+    @Transactional(readOnly = true)
+    public ProductPage getAvailableProductsPage(String searchTerm, Long merchantId, String sort, String cursor,
+                                                int limit) {
+        return loadPage(searchTerm, NAME_AND_DESCRIPTION, Filter.available(merchantId), sort, cursor, limit,
+            Product::isAvailable);
+    }
+    
+    /**
+     * One page of a merchant's products matching searchTerm (anything if blank) by name, description or SKU
+     * and status (any if null), ordered by sort (id, price, name or inventory, ignoring case)
+     */
+    @Transactional(readOnly = true)
+    public ProductPage getMerchantProductsPage(Long merchantId, String searchTerm, ProductStatus status, String sort,
+                                               String cursor, int limit) {
+        return loadPage(searchTerm, EnumSet.allOf(Field.class), new Filter(merchantId, status, null), sort, cursor,
+            limit, product -> status == null || product.getStatus() == status);
+    }
+    
+    /**
+     * Load the products of one index page in its order; rows that no longer pass check are left out
+     */
+    private ProductPage loadPage(String searchTerm, Set<Field> fields, Filter filter, String sort, String cursor,
+                                 int limit, Predicate<Product> check) {
+        Sort order = parseSort(sort);
+        searchIndex.loadIfNeeded(productRepository::findAll);
+        Page page = searchIndex.page(searchTerm, fields, filter, order, cursor, limit);
+        Map<Long, Product> byId = productRepository.findAllByIds(page.ids()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> products = page.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .filter(check)
+                .collect(Collectors.toList());
+        return new ProductPage(products, page.totalCount(), page.nextCursor());
+    }
+    
+    private static Sort parseSort(String sort) {
+        if (sort == null) {
+            return Sort.ID;
         }
-        
-        String lowerSearchTerm = searchTerm.toLowerCase();
-        return productRepository.findAll().stream()
-                .filter(Product::isAvailable)
-                .filter(product -> product.getName().toLowerCase().contains(lowerSearchTerm) ||
-                                 product.getDescription().toLowerCase().contains(lowerSearchTerm))
+        try {
+            return Sort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + sort + "; expected id, price, name or inventory");
+        }
+    }
+    
+    /**
+     * Products of one listing page, how many match in all, and the cursor of the next page (null on the last)
+     */
+    public record ProductPage(List<Product> products, int totalCount, String nextCursor) {
+    }
+    
+    /**
+     * Search products of a merchant by name, description or SKU (case-insensitive) and status
+     * A blank search term matches every product, a null status every status
+     */
+    @Transactional(readOnly = true)
+    public List<Product> searchMerchantProducts(Long merchantId, String searchTerm, ProductStatus status) {
+        if (isBlank(searchTerm) && status == null) {
+            return getProductsByMerchant(merchantId);
+        }
+        List<Product> products = productRepository.findAllByIds(
+            search(searchTerm, EnumSet.allOf(Field.class), new Filter(merchantId, status, null)));
+        if (status == null) {
+            return products;
+        }
+        return products.stream()
+                .filter(product -> product.getStatus() == status)
                 .collect(Collectors.toList());
     }
 } 
\ No newline at end of file
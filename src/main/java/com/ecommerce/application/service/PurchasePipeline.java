@@ -0,0 +1,243 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.application.dto.PurchaseRequest;
+import com.ecommerce.application.dto.PurchaseResponse;
+import com.ecommerce.infrastructure.idempotency.OutcomePendingException;
+import com.ecommerce.infrastructure.pipeline.RingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Purchase Pipeline
+ * Optional single-writer execution mode for purchases
+ *
+ * Flow Notes:
+ * - Request threads publish purchases to a ring buffer chosen by SKU hash and wait on a future;
+ *   they never touch aggregates or locks themselves
+ * - One writer thread per partition drains its ring in micro-batches and applies each batch through
+ *   EcommerceService's batch path: one round of locks and loads, purchases in arrival order, and
+ *   each touched aggregate saved once
+ * - A SKU always maps to the same writer, so its product is never contended by other writers;
+ *   users and merchants shared across partitions are still guarded by their locks
+ * - A full ring turns the caller away with RATE_LIMIT_EXCEEDED instead of queueing without bound
+ */
+@Service
+public class PurchasePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurchasePipeline.class);
+
+    // Longest idle park of a writer; bounds the cost of a missed wake-up
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final EcommerceService ecommerceService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final Partition[] partitions;
+    private volatile boolean running;
+
+    @Autowired
+    public PurchasePipeline(EcommerceService ecommerceService,
+                            @Value("${ecommerce.purchase.pipeline.enabled:false}") boolean enabled,
+                            @Value("${ecommerce.purchase.pipeline.partitions:0}") int partitions,
+                            @Value("${ecommerce.purchase.pipeline.buffer-size:1024}") int bufferSize,
+                            @Value("${ecommerce.purchase.pipeline.max-batch:64}") int maxBatchSize,
+                            @Value("${ecommerce.purchase.pipeline.timeout-ms:5000}") long timeoutMillis) {
+        if (maxBatchSize <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Pipeline batch size and timeout must be positive");
+        }
+        this.ecommerceService = ecommerceService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        int partitionCount = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[enabled ? partitionCount : 0];
+        for (int i = 0; i < this.partitions.length; i++) {
+            this.partitions[i] = new Partition(i, new RingBuffer<>(bufferSize));
+        }
+    }
+
+    /**
+     * Start one writer thread per partition when the pipeline is enabled
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+        logger.info("Purchase pipeline started with {} partitions", partitions.length);
+    }
+
+    /**
+     * Stop the writers after they finish the purchases already published
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.thread);
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Anything published after its writer exited is failed rather than left waiting
+            partition.ring.drain(pending -> pending.future.completeExceptionally(notRunning()), Integer.MAX_VALUE);
+        }
+        logger.info("Purchase pipeline stopped");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Purchase through the pipeline, waiting for the writer to apply it
+     */
+    public PurchaseResponse purchase(PurchaseRequest request) {
+        CompletableFuture<PurchaseResponse> future = submit(request);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Purchase failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new OutcomePendingException(
+                "Purchase was not applied within " + timeoutMillis + "ms and may still complete; check the order history before retrying",
+                future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Interrupted while waiting for purchase", e);
+        }
+    }
+
+    /**
+     * Publish a purchase to its SKU's partition
+     * The future completes with the response, or exceptionally with the BusinessException that rejected it
+     */
+    public CompletableFuture<PurchaseResponse> submit(PurchaseRequest request) {
+        if (!running) {
+            throw notRunning();
+        }
+        if (request.getSku() == null) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "SKU is required");
+        }
+        Partition partition = partitions[partitionFor(request.getSku())];
+        PendingPurchase pending = new PendingPurchase(request);
+        if (!partition.ring.offer(pending)) {
+            throw new BusinessException(ErrorCode.RATE_LIMIT_EXCEEDED,
+                "Too many pending purchases for this product, please retry");
+        }
+        partition.wake();
+        return pending.future;
+    }
+
+    private int partitionFor(String sku) {
+        int hash = sku.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    private static BusinessException notRunning() {
+        return new BusinessException(ErrorCode.OPERATION_NOT_ALLOWED, "Purchase pipeline is not running");
+    }
+
+    /**
+     * Purchase waiting in a ring together with its caller's future
+     */
+    private static final class PendingPurchase {
+        final PurchaseRequest request;
+        final CompletableFuture<PurchaseResponse> future = new CompletableFuture<>();
+
+        PendingPurchase(PurchaseRequest request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * A ring and the single writer thread that drains it
+     */
+    private final class Partition implements Runnable {
+        final RingBuffer<PendingPurchase> ring;
+        final Thread thread;
+        volatile boolean idle;
+
+        Partition(int index, RingBuffer<PendingPurchase> ring) {
+            this.ring = ring;
+            this.thread = new Thread(this, "purchase-writer-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void wake() {
+            if (idle) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<PendingPurchase> batch = new ArrayList<>(maxBatchSize);
+            while (running || !ring.isEmpty()) {
+                ring.drain(batch::add, maxBatchSize);
+                if (batch.isEmpty()) {
+                    idle = true;
+                    // Re-check after announcing idleness so a purchase published meanwhile isn't missed
+                    if (running && ring.isEmpty()) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    idle = false;
+                    continue;
+                }
+                apply(batch);
+                batch.clear();
+            }
+        }
+
+        private void apply(List<PendingPurchase> batch) {
+            List<PurchaseRequest> requests = batch.stream().map(pending -> pending.request).toList();
+            try {
+                List<EcommerceService.PurchaseOutcome> outcomes = ecommerceService.executePurchaseBatch(requests);
+                for (int i = 0; i < batch.size(); i++) {
+                    EcommerceService.PurchaseOutcome outcome = outcomes.get(i);
+                    if (outcome.isSuccess()) {
+                        batch.get(i).future.complete(outcome.response);
+                    } else {
+                        batch.get(i).future.completeExceptionally(outcome.failure);
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Purchase micro-batch of {} failed: {}", batch.size(), e.getMessage());
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.domain.product.InventoryReservation;
+import com.ecommerce.domain.product.InvalidReservationStateException;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
+import com.ecommerce.infrastructure.timer.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation Service
+ * Holds product stock for a limited time while payment happens elsewhere
+ *
+ * Flow Notes:
+ * - reserve moves stock from available to reserved on the product; confirm marks it sold,
+ *   release (or expiry) returns it
+ * - Every state change runs under the SKU lock together with its inventory change, so a confirm
+ *   racing an expiry applies exactly one of them
+ * - Expiry is scheduled on a hierarchical timing wheel advanced by InventoryScheduler,
+ *   so outstanding holds cost O(1) to schedule and cancel and no thread or task per hold
+ * - Reservations are kept in memory and forgotten once they end
+ * - The reserved stock itself is saved on the product, so it outlives a restart while its holds and
+ *   timers don't; on startup, before requests are served, all reserved stock is returned to available
+ *   stock. That assumes one instance owns the reservations of a database, so it is switched off by
+ *   release-on-startup in the mysql profile, where other instances' holds may be open
+ */
+@Service
+public class ReservationService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
+
+    // Delay before retrying an expiry whose inventory release failed
+    private static final long EXPIRY_RETRY_MS = 1_000;
+
+    private final ProductService productService;
+    private final AggregateLockManager lockManager;
+    private final HierarchicalTimingWheel expiryWheel;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final boolean releaseOnStartup;
+    private final ConcurrentHashMap<String, Hold> holds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReservationService(ProductService productService, AggregateLockManager lockManager,
+                              @Value("${ecommerce.inventory.reservation.default-ttl-seconds:900}") long defaultTtlSeconds,
+                              @Value("${ecommerce.inventory.reservation.max-ttl-seconds:3600}") long maxTtlSeconds,
+                              @Value("${ecommerce.inventory.reservation.tick-ms:100}") long tickMillis,
+                              @Value("${ecommerce.inventory.reservation.wheel-size:512}") int wheelSize,
+                              @Value("${ecommerce.inventory.reservation.release-on-startup:true}") boolean releaseOnStartup) {
+        this(productService, lockManager, new HierarchicalTimingWheel(tickMillis, wheelSize),
+             Duration.ofSeconds(defaultTtlSeconds), Duration.ofSeconds(maxTtlSeconds), releaseOnStartup);
+    }
+
+    public ReservationService(ProductService productService, AggregateLockManager lockManager,
+                              HierarchicalTimingWheel expiryWheel, Duration defaultTtl, Duration maxTtl) {
+        this(productService, lockManager, expiryWheel, defaultTtl, maxTtl, true);
+    }
+
+    public ReservationService(ProductService productService, AggregateLockManager lockManager,
+                              HierarchicalTimingWheel expiryWheel, Duration defaultTtl, Duration maxTtl,
+                              boolean releaseOnStartup) {
+        if (defaultTtl.isZero() || defaultTtl.isNegative() || maxTtl.compareTo(defaultTtl) < 0) {
+            throw new IllegalArgumentException("Reservation TTLs must be positive and default TTL must not exceed max TTL");
+        }
+        this.productService = productService;
+        this.lockManager = lockManager;
+        this.expiryWheel = expiryWheel;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.releaseOnStartup = releaseOnStartup;
+    }
+
+    /**
+     * Release stock left reserved by holds of a previous run, which ended with it
+     * Skipped unless release-on-startup is set, since the holds may belong to another running instance
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!releaseOnStartup) {
+            return;
+        }
+        int released = productService.releaseAllReservedInventory();
+        if (released > 0) {
+            logger.info("Released stock reserved before restart on {} products", released);
+        }
+    }
+
+    /**
+     * Reserve stock of a SKU
+     * A null ttl uses the configured default
+     */
+    public InventoryReservation reserve(String sku, int quantity, Duration ttl) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        Duration holdFor = ttl != null ? ttl : defaultTtl;
+        if (holdFor.isZero() || holdFor.isNegative() || holdFor.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Reservation TTL must be positive and at most " + maxTtl.getSeconds() + " seconds");
+        }
+
+        productService.reserveInventory(sku, quantity);
+
+        LocalDateTime now = LocalDateTime.now();
+        String reservationId = "RSV-" + UUID.randomUUID();
+        Hold hold = new Hold(new InventoryReservation(reservationId, sku, quantity, now, now.plus(holdFor)));
+        holds.put(reservationId, hold);
+        hold.timeout = expiryWheel.schedule(() -> expire(hold), holdFor.toMillis(), TimeUnit.MILLISECONDS);
+
+        logger.info("Reserved {} units of {}: {} (expires in {})", quantity, sku, reservationId, holdFor);
+        return hold.reservation;
+    }
+
+    /**
+     * Confirm a reservation, marking its stock as sold
+     */
+    public InventoryReservation confirm(String reservationId) {
+        Hold hold = getHold(reservationId);
+        InventoryReservation reservation = hold.reservation;
+        lockManager.executeWithLocks(null, reservation.getSku(), null, () -> {
+            requireActive(reservation);
+            productService.confirmReservedInventory(reservation.getSku(), reservation.getQuantity());
+            reservation.confirm();
+            return null;
+        });
+        finish(hold);
+        logger.info("Confirmed reservation {}", reservationId);
+        return reservation;
+    }
+
+    /**
+     * Release a reservation, returning its stock
+     */
+    public InventoryReservation release(String reservationId) {
+        Hold hold = getHold(reservationId);
+        InventoryReservation reservation = hold.reservation;
+        lockManager.executeWithLocks(null, reservation.getSku(), null, () -> {
+            requireActive(reservation);
+            productService.releaseReservedInventory(reservation.getSku(), reservation.getQuantity());
+            reservation.release();
+            return null;
+        });
+        finish(hold);
+        logger.info("Released reservation {}", reservationId);
+        return reservation;
+    }
+
+    /**
+     * Get an active reservation
+     */
+    public InventoryReservation getReservation(String reservationId) {
+        return getHold(reservationId).reservation;
+    }
+
+    /**
+     * Release every reservation whose TTL has passed
+     * Returns the number of expiry checks run
+     */
+    public int expireDueReservations() {
+        return expiryWheel.advance();
+    }
+
+    public int getActiveReservationCount() {
+        return holds.size();
+    }
+
+    private void expire(Hold hold) {
+        InventoryReservation reservation = hold.reservation;
+        try {
+            boolean expired = lockManager.executeWithLocks(null, reservation.getSku(), null, () -> {
+                if (!reservation.isActive()) {
+                    return false;
+                }
+                productService.releaseReservedInventory(reservation.getSku(), reservation.getQuantity());
+                reservation.expire();
+                return true;
+            });
+            holds.remove(reservation.getReservationId(), hold);
+            if (expired) {
+                logger.info("Reservation {} expired, released {} units of {}",
+                    reservation.getReservationId(), reservation.getQuantity(), reservation.getSku());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to expire reservation {}, retrying: {}", reservation.getReservationId(), e.getMessage());
+            hold.timeout = expiryWheel.schedule(() -> expire(hold), EXPIRY_RETRY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Hold getHold(String reservationId) {
+        Hold hold = reservationId != null ? holds.get(reservationId) : null;
+        if (hold == null) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
+                "Reservation not found or no longer active: " + reservationId);
+        }
+        return hold;
+    }
+
+    private void requireActive(InventoryReservation reservation) {
+        if (!reservation.isActive()) {
+            throw new InvalidReservationStateException(
+                "Reservation " + reservation.getReservationId() + " is already " + reservation.getStatus());
+        }
+    }
+
+    private void finish(Hold hold) {
+        holds.remove(hold.reservation.getReservationId(), hold);
+        HierarchicalTimingWheel.Timeout timeout = hold.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * A reservation and its pending expiry
+     */
+    private static final class Hold {
+        private final InventoryReservation reservation;
+        private volatile HierarchicalTimingWheel.Timeout timeout;
+
+        private Hold(InventoryReservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
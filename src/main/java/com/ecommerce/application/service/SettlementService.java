@@ -2,7 +2,7 @@ package com.ecommerce.application.service;
 
 import com.ecommerce.domain.settlement.Settlement;
 import com.ecommerce.domain.Money;
-import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderTotals;
 import com.ecommerce.domain.merchant.Merchant;
 import com.ecommerce.infrastructure.repository.SettlementRepository;
 import org.springframework.stereotype.Service;
@@ -97,12 +97,13 @@ public class SettlementService {
          // Get current balance at the same time point as settlementTime
          Money currentBalance = merchantService.getMerchantBalance(merchantId);
          
-        // Get completed orders for the merchant from yesterday settlement to settlement time
-        List<Order> completedOrders = orderService.getCompletedOrdersByMerchantAndDateRange(
+        // Count and sum completed orders from yesterday settlement to settlement time; only the sum is needed,
+        // so the orders and their items are never loaded
+        OrderTotals completedOrders = orderService.getCompletedOrderTotalsByMerchantAndDateRange(
             merchantId, startTime, settlementTime);
         
-        // Calculate expected income from completed orders (orders since yesterday settlement)
-        Money recentOrderIncome = calculateExpectedIncomeFromOrders(completedOrders);
+        // Expected income from completed orders (orders since yesterday settlement)
+        Money recentOrderIncome = completedOrders.totalAmount();
         
         Money expectedBalance;
         String calculationNotes;
@@ -123,7 +124,7 @@ public class SettlementService {
         boolean isMatched = expectedBalance.equals(currentBalance);
         
         logger.info("Settlement calculation for merchant {}: {} completed orders from {} to {}", 
-                  merchantId, completedOrders.size(), startTime, settlementTime);
+                  merchantId, completedOrders.orderCount(), startTime, settlementTime);
         logger.info("Recent order income: {}, Current balance: {}, Expected balance: {}, Match: {}", 
                   recentOrderIncome, currentBalance, expectedBalance, isMatched);
         
@@ -158,25 +159,6 @@ public class SettlementService {
         return Optional.empty();
     }
     
-    /**
-     * Calculate expected income from completed orders
-     */
-    private Money calculateExpectedIncomeFromOrders(List<Order> completedOrders) {
-        if (completedOrders.isEmpty()) {
-            return Money.zero("CNY");
-        }
-        
-        // Sum up total amounts from all completed orders
-        Money totalExpectedIncome = completedOrders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(Money.zero("CNY"), Money::add);
-        
-        logger.debug("Calculated expected income from {} orders: {}", 
-                   completedOrders.size(), totalExpectedIncome);
-        
-        return totalExpectedIncome;
-    }
-    
     /**
      * Get settlement by ID
      */
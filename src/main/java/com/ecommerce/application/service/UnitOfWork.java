@@ -0,0 +1,169 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Unit of Work
+ * Identity map and change tracker for one attempt of a service-layer mutation
+ *
+ * Flow Notes:
+ * - Each aggregate type is registered with the call that saves a list of it; a type is always looked up
+ *   by the same key (users and merchants by ID, products by SKU, orders by order number)
+ * - Repeated lookups of a key return the instance loaded first, without another repository call
+ * - Loaded aggregates remember the version they were loaded with; every domain change bumps the version,
+ *   so flush saves only the aggregates whose version moved, plus those registered as new
+ * - Flush saves changed aggregates type by type in registration order, then new ones in the same order,
+ *   with one call per type that has anything to save
+ * - A unit lives for one attempt: a retry after a version conflict starts a new one, since the
+ *   aggregates it loaded are stale
+ *
+ * Concurrency Notes:
+ * - Not thread-safe; confined to the thread running the attempt, like the aggregates it hands out
+ */
+final class UnitOfWork {
+
+    private final Map<Class<?>, Tracked<?>> types = new LinkedHashMap<>();
+
+    /**
+     * Track aggregates of type, saved with saveAll; types are flushed in registration order
+     */
+    <T extends BaseEntity> UnitOfWork register(Class<T> type, Consumer<List<T>> saveAll) {
+        types.put(type, new Tracked<>(saveAll));
+        return this;
+    }
+
+    /**
+     * Get the aggregate of key, loading it on first use; the loader's not-found exception propagates
+     */
+    <K, T extends BaseEntity> T load(Class<T> type, K key, Function<K, T> loader) {
+        Tracked<T> tracked = tracked(type);
+        T entity = tracked.byKey.get(key);
+        if (entity == null) {
+            entity = loader.apply(key);
+            tracked.attach(key, entity);
+        }
+        return entity;
+    }
+
+    /**
+     * Get the aggregates of keys, loading those not seen yet with one loader call
+     * Returned in the order of keys; keys without an aggregate are left out
+     */
+    <K, T extends BaseEntity> Map<K, T> loadAll(Class<T> type, Collection<K> keys,
+                                                Function<Collection<K>, Map<K, T>> loader) {
+        Tracked<T> tracked = tracked(type);
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (!tracked.byKey.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<K, T> loaded = loader.apply(missing);
+            // Attach in key order rather than the loader's, so flushes follow the caller's order
+            for (K key : missing) {
+                T entity = loaded.get(key);
+                if (entity != null) {
+                    tracked.attach(key, entity);
+                }
+            }
+        }
+        Map<K, T> found = new LinkedHashMap<>();
+        for (K key : keys) {
+            T entity = tracked.byKey.get(key);
+            if (entity != null) {
+                found.put(key, entity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Save entity on the next flush; new aggregates are saved after every changed one
+     */
+    <T extends BaseEntity> void registerNew(T entity) {
+        @SuppressWarnings("unchecked")
+        Tracked<T> tracked = tracked((Class<T>) entity.getClass());
+        tracked.added.add(entity);
+    }
+
+    /**
+     * Save changed aggregates, then new ones, with one call per type; a failed save propagates
+     * and leaves the rest unsaved
+     */
+    void flush() {
+        types.values().forEach(Tracked::flushChanged);
+        types.values().forEach(Tracked::flushAdded);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends BaseEntity> Tracked<T> tracked(Class<T> type) {
+        Tracked<T> tracked = (Tracked<T>) types.get(type);
+        if (tracked == null) {
+            throw new IllegalArgumentException("Type is not registered with the unit of work: " + type.getSimpleName());
+        }
+        return tracked;
+    }
+
+    /**
+     * Aggregates of one type: the identity map, the version each was loaded with, and the new ones
+     */
+    private static final class Tracked<T extends BaseEntity> {
+        final Consumer<List<T>> saveAll;
+        final Map<Object, T> byKey = new HashMap<>();
+        // Keyed by instance; loaded aggregates keep their load order so flushes are deterministic
+        final Map<T, Long> versions = new IdentityHashMap<>();
+        final List<T> loaded = new ArrayList<>();
+        final List<T> added = new ArrayList<>();
+
+        Tracked(Consumer<List<T>> saveAll) {
+            this.saveAll = saveAll;
+        }
+
+        void attach(Object key, T entity) {
+            T known = byKey.putIfAbsent(key, entity);
+            if (known == null && versions.putIfAbsent(entity, entity.getVersion()) == null) {
+                loaded.add(entity);
+            }
+        }
+
+        void flushChanged() {
+            List<T> changed = new ArrayList<>();
+            for (T entity : loaded) {
+                if (!Objects.equals(versions.get(entity), entity.getVersion())) {
+                    changed.add(entity);
+                }
+            }
+            if (!changed.isEmpty()) {
+                saveAll.accept(changed);
+                changed.forEach(entity -> versions.put(entity, entity.getVersion()));
+            }
+        }
+
+        void flushAdded() {
+            if (added.isEmpty()) {
+                return;
+            }
+            List<T> saved = new ArrayList<>(added);
+            saveAll.accept(saved);
+            added.clear();
+            for (T entity : saved) {
+                versions.put(entity, entity.getVersion());
+                loaded.add(entity);
+            }
+        }
+    }
+}
@@ -4,9 +4,14 @@ import com.ecommerce.domain.user.User;
 import com.ecommerce.domain.user.UserNotFoundException;
 import com.ecommerce.domain.user.DuplicateUserException;
 import com.ecommerce.domain.Money;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
 import com.ecommerce.infrastructure.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -17,9 +22,16 @@ import java.util.Set;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final AggregateLockManager lockManager;
     
     public UserService(UserRepository userRepository) {
+        this(userRepository, new AggregateLockManager(AggregateLockManager.DEFAULT_STRIPES));
+    }
+    
+    @Autowired
+    public UserService(UserRepository userRepository, AggregateLockManager lockManager) {
         this.userRepository = userRepository;
+        this.lockManager = lockManager;
     }
     
     /**
@@ -38,6 +50,7 @@ public class UserService {
             throw DuplicateUserException.forEmail(email);
         }
         
+        // The repository's unique indexes reject a duplicate that slipped in since the checks above
         User user = new User(username, email, phone, currency);
         return userRepository.save(user);
     }
@@ -50,15 +63,31 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
     }
     
+    /**
+     * Get users by IDs in one repository call, keyed by ID; IDs without a user are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, User> getUsersByIds(Collection<Long> userIds) {
+        Map<Long, User> users = new LinkedHashMap<>();
+        userRepository.findAllByIds(userIds).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
+    
     /**
      * User account recharge
      * Requires transaction due to read + modify + save operations
+     * Holds the user lock so it never races a purchase or cancellation on the same account;
+     * the account is written through a unit of work, as purchases and cancellations write it
      */
     @Transactional
     public void rechargeUser(Long userId, Money amount) {
-        User user = getUserById(userId);
-        user.recharge(amount);
-        userRepository.save(user);
+        lockManager.executeWithLocks(userId, null, null, () -> {
+            UnitOfWork work = new UnitOfWork().register(User.class, users -> users.forEach(userRepository::save));
+            User user = work.load(User.class, userId, this::getUserById);
+            user.recharge(amount);
+            work.flush();
+            return user;
+        });
     }
     
     /**
@@ -69,6 +98,14 @@ public class UserService {
         userRepository.save(user);
     }
     
+    /**
+     * Save users in one repository call
+     */
+    @Transactional
+    public void saveUsers(Collection<User> users) {
+        userRepository.saveAll(users);
+    }
+    
     /**
      * Get user balance
      */
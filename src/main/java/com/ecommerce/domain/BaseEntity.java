@@ -8,10 +8,15 @@ import java.util.Objects;
  * Base Entity Class containing common fields and methods
  */
 @MappedSuperclass
-public abstract class BaseEntity {
+public abstract class BaseEntity implements Cloneable {
+    
+    // Every entity declares this generator: IDENTITY (AUTO_INCREMENT) by default, and a pooled sequence
+    // for orders and their items, whose bulk inserts IDENTITY would force to go row by row; on MySQL the
+    // sequences are tables, created by db/mysql/order-id-sequences.sql for databases that already hold orders
+    public static final String ID_GENERATOR = "entity_id";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = ID_GENERATOR)
     @Column(name = "id")
     private Long id;
     
@@ -25,6 +30,10 @@ public abstract class BaseEntity {
     @Column(name = "version", nullable = false)
     private Long version;
     
+    // Version this instance was loaded or last saved with; saves are checked against it
+    @Transient
+    private Long persistedVersion;
+    
     protected BaseEntity() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -38,6 +47,38 @@ public abstract class BaseEntity {
         this.version++;
     }
     
+    /**
+     * Record that the current state matches storage
+     * Called by repositories after loading or saving this instance
+     */
+    public void markAsPersisted() {
+        this.persistedVersion = this.version;
+    }
+    
+    /**
+     * Create a detached copy of this entity, as read from storage
+     * Aggregate state lives in immutable value objects, so a shallow copy is enough;
+     * subclasses holding mutable collections override copyMutableState()
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends BaseEntity> T detachedCopy() {
+        try {
+            BaseEntity copy = (BaseEntity) super.clone();
+            copy.copyMutableState();
+            copy.markAsPersisted();
+            return (T) copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Entity cannot be copied: " + getClass().getSimpleName(), e);
+        }
+    }
+    
+    /**
+     * Replace mutable state shared with the original after a shallow copy
+     */
+    protected void copyMutableState() {
+        // Nothing to copy by default
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -59,6 +100,13 @@ public abstract class BaseEntity {
         return version;
     }
     
+    /**
+     * Get the version this instance was loaded with, or null if it never came from storage
+     */
+    public Long getPersistedVersion() {
+        return persistedVersion;
+    }
+    
     // Package private setters for JPA
     void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
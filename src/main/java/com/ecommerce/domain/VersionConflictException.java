@@ -0,0 +1,25 @@
+package com.ecommerce.domain;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+
+/**
+ * Exception thrown when a conditional save finds that the stored version
+ * no longer matches the version the entity was loaded with
+ */
+public class VersionConflictException extends BusinessException {
+    
+    public VersionConflictException(String message) {
+        super(ErrorCode.CONCURRENT_MODIFICATION, message);
+    }
+    
+    public VersionConflictException(String message, Throwable cause) {
+        super(ErrorCode.CONCURRENT_MODIFICATION, message, cause);
+    }
+    
+    public static VersionConflictException forEntity(BaseEntity entity, Long storedVersion) {
+        return new VersionConflictException(entity.getClass().getSimpleName() + " " + entity.getId()
+            + " was modified concurrently. Expected version: " + entity.getPersistedVersion()
+            + ", stored version: " + storedVersion);
+    }
+}
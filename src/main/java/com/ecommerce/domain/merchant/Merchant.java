@@ -4,12 +4,15 @@ import com.ecommerce.domain.BaseEntity;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.ResourceInactiveException;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.id.IdentityGenerator;
 
 /**
  * Merchant Aggregate Root
  * Contains merchant basic information and income account
  */
 @Entity
+@GenericGenerator(name = BaseEntity.ID_GENERATOR, type = IdentityGenerator.class)
 @Table(name = "merchants", indexes = {
     @Index(name = "idx_merchant_name", columnList = "merchant_name"),
     @Index(name = "idx_merchant_license", columnList = "business_license", unique = true),
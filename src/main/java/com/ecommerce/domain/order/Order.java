@@ -12,6 +12,7 @@ import java.util.List;
  * Handles the complete process of user purchasing products
  */
 @Entity
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "orders_seq", allocationSize = 50)
 @Table(name = "orders", indexes = {
     @Index(name = "idx_order_number", columnList = "order_number", unique = true),
     @Index(name = "idx_order_user", columnList = "user_id"),
@@ -184,6 +185,17 @@ public class Order extends BaseEntity {
                 .sum();
     }
     
+    @Override
+    protected void copyMutableState() {
+        List<OrderItem> copiedItems = new ArrayList<>(this.items.size());
+        for (OrderItem item : this.items) {
+            OrderItem copiedItem = item.detachedCopy();
+            copiedItem.setOrder(this);
+            copiedItems.add(copiedItem);
+        }
+        this.items = copiedItems;
+    }
+    
     private void validatePendingStatus() {
         if (this.status != OrderStatus.PENDING) {
             throw new InvalidOrderStateException("Order is not in pending status. Current status: " + this.status);
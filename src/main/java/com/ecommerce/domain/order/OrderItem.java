@@ -10,6 +10,7 @@ import java.util.Objects;
  * Represents a single product item in the order
  */
 @Entity
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "order_items_seq", allocationSize = 50)
 @Table(name = "order_items", indexes = {
     @Index(name = "idx_order_item_order", columnList = "order_id"),
     @Index(name = "idx_order_item_sku", columnList = "sku")
@@ -0,0 +1,28 @@
+package com.ecommerce.domain.order;
+
+import com.ecommerce.domain.Money;
+
+/**
+ * Order Totals Value Object
+ * Number of orders and the sum of their total amounts, as needed by settlement
+ */
+public record OrderTotals(long orderCount, Money totalAmount) {
+
+    /**
+     * Totals of no orders; settlement amounts default to CNY
+     */
+    public static OrderTotals none() {
+        return new OrderTotals(0, Money.zero("CNY"));
+    }
+
+    /**
+     * Add the totals of more orders; amounts must share a currency
+     */
+    public OrderTotals add(long orders, Money amount) {
+        if (orders == 0) {
+            return this;
+        }
+        Money sum = orderCount == 0 ? amount : totalAmount.add(amount);
+        return new OrderTotals(orderCount + orders, sum);
+    }
+}
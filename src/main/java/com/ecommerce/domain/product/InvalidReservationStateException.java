@@ -0,0 +1,14 @@
+package com.ecommerce.domain.product;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+
+/**
+ * Exception thrown when a reservation is confirmed or released after it has already ended
+ */
+public class InvalidReservationStateException extends BusinessException {
+    
+    public InvalidReservationStateException(String message) {
+        super(ErrorCode.OPERATION_NOT_ALLOWED, message);
+    }
+}
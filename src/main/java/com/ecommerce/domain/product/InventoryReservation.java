@@ -0,0 +1,103 @@
+package com.ecommerce.domain.product;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inventory Reservation
+ * A temporary hold on product stock, confirmed once payment succeeds or released when it fails or times out
+ *
+ * State changes are made while holding the product's lock, together with the matching inventory change
+ */
+public class InventoryReservation {
+    
+    private final String reservationId;
+    private final String sku;
+    private final int quantity;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private volatile ReservationStatus status;
+    
+    public InventoryReservation(String reservationId, String sku, int quantity,
+                                LocalDateTime createdAt, LocalDateTime expiresAt) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (!expiresAt.isAfter(createdAt)) {
+            throw new IllegalArgumentException("Reservation must expire after it is created");
+        }
+        this.reservationId = reservationId;
+        this.sku = sku;
+        this.quantity = quantity;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.status = ReservationStatus.ACTIVE;
+    }
+    
+    /**
+     * Confirm reservation
+     */
+    public void confirm() {
+        transitionTo(ReservationStatus.CONFIRMED);
+    }
+    
+    /**
+     * Release reservation
+     */
+    public void release() {
+        transitionTo(ReservationStatus.RELEASED);
+    }
+    
+    /**
+     * Expire reservation
+     */
+    public void expire() {
+        transitionTo(ReservationStatus.EXPIRED);
+    }
+    
+    public boolean isActive() {
+        return status == ReservationStatus.ACTIVE;
+    }
+    
+    private void transitionTo(ReservationStatus target) {
+        if (status != ReservationStatus.ACTIVE) {
+            throw new InvalidReservationStateException("Reservation " + reservationId + " is already " + status);
+        }
+        this.status = target;
+    }
+    
+    // Getters
+    public String getReservationId() {
+        return reservationId;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public int getQuantity() {
+        return quantity;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public ReservationStatus getStatus() {
+        return status;
+    }
+    
+    @Override
+    public String toString() {
+        return "InventoryReservation{" +
+                "reservationId='" + reservationId + '\'' +
+                ", sku='" + sku + '\'' +
+                ", quantity=" + quantity +
+                ", expiresAt=" + expiresAt +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -4,12 +4,15 @@ import com.ecommerce.domain.BaseEntity;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.ResourceInactiveException;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.id.IdentityGenerator;
 
 /**
  * Product Aggregate Root
  * Contains product basic information, price and inventory
  */
 @Entity
+@GenericGenerator(name = BaseEntity.ID_GENERATOR, type = IdentityGenerator.class)
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_sku", columnList = "sku", unique = true),
     @Index(name = "idx_product_merchant", columnList = "merchant_id"),
@@ -38,7 +41,8 @@ public class Product extends BaseEntity {
     
     @Embedded
     @AttributeOverrides({
-        @AttributeOverride(name = "quantity", column = @Column(name = "inventory_quantity"))
+        @AttributeOverride(name = "quantity", column = @Column(name = "inventory_quantity")),
+        @AttributeOverride(name = "reserved", column = @Column(name = "inventory_reserved"))
     })
     private ProductInventory inventory;
     
@@ -90,6 +94,39 @@ public class Product extends BaseEntity {
         this.markAsUpdated();
     }
     
+    /**
+     * Reserve inventory
+     * Reserved stock is no longer available until it is released or confirmed
+     */
+    public void reserveInventory(int quantity) {
+        validateActiveStatus();
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (!hasEnoughInventory(quantity)) {
+            throw new InsufficientInventoryException("Insufficient inventory for product: " + sku + ". Required: " + quantity + ", Available: " + getAvailableInventory());
+        }
+        this.inventory = this.inventory.reserve(quantity);
+        this.markAsUpdated();
+    }
+    
+    /**
+     * Release reserved inventory back to available stock
+     * Allowed on inactive products so that outstanding holds can always be returned
+     */
+    public void releaseReservedInventory(int quantity) {
+        this.inventory = this.inventory.release(quantity);
+        this.markAsUpdated();
+    }
+    
+    /**
+     * Confirm reserved inventory as sold
+     */
+    public void confirmReservedInventory(int quantity) {
+        this.inventory = this.inventory.confirm(quantity);
+        this.markAsUpdated();
+    }
+    
     /**
      * Check if has enough inventory
      */
@@ -178,6 +215,10 @@ public class Product extends BaseEntity {
         return inventory.getQuantity();
     }
     
+    public int getReservedInventory() {
+        return inventory.getReserved();
+    }
+    
     public ProductStatus getStatus() {
         return status;
     }
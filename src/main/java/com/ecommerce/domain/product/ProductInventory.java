@@ -7,6 +7,8 @@ import java.util.Objects;
 /**
  * Product Inventory Value Object
  * Manages product inventory quantity
+ * Quantity is the stock available for sale; reserved is stock held by reservations, no longer available
+ * but not sold yet
  */
 @Embeddable
 public final class ProductInventory {
@@ -14,16 +16,28 @@ public final class ProductInventory {
     @Column(name = "quantity", nullable = false)
     private final int quantity;
     
+    @Column(name = "reserved", nullable = false)
+    private final int reserved;
+    
     // Default constructor for JPA
     protected ProductInventory() {
         this.quantity = 0;
+        this.reserved = 0;
     }
     
     public ProductInventory(int quantity) {
+        this(quantity, 0);
+    }
+    
+    public ProductInventory(int quantity, int reserved) {
         if (quantity < 0) {
             throw new IllegalArgumentException("Inventory quantity cannot be negative");
         }
+        if (reserved < 0) {
+            throw new IllegalArgumentException("Reserved quantity cannot be negative");
+        }
         this.quantity = quantity;
+        this.reserved = reserved;
     }
     
     /**
@@ -33,7 +47,7 @@ public final class ProductInventory {
         if (additionalQuantity <= 0) {
             throw new IllegalArgumentException("Additional quantity must be positive");
         }
-        return new ProductInventory(this.quantity + additionalQuantity);
+        return new ProductInventory(this.quantity + additionalQuantity, this.reserved);
     }
     
     /**
@@ -46,7 +60,45 @@ public final class ProductInventory {
         if (reduceQuantity > this.quantity) {
             throw new InsufficientInventoryException("Cannot reduce more than available inventory");
         }
-        return new ProductInventory(this.quantity - reduceQuantity);
+        return new ProductInventory(this.quantity - reduceQuantity, this.reserved);
+    }
+    
+    /**
+     * Move available inventory into the reserved pool
+     */
+    public ProductInventory reserve(int reserveQuantity) {
+        if (reserveQuantity <= 0) {
+            throw new IllegalArgumentException("Reserve quantity must be positive");
+        }
+        if (reserveQuantity > this.quantity) {
+            throw new InsufficientInventoryException("Cannot reserve more than available inventory");
+        }
+        return new ProductInventory(this.quantity - reserveQuantity, this.reserved + reserveQuantity);
+    }
+    
+    /**
+     * Return reserved inventory to the available pool
+     */
+    public ProductInventory release(int releaseQuantity) {
+        requireReserved(releaseQuantity);
+        return new ProductInventory(this.quantity + releaseQuantity, this.reserved - releaseQuantity);
+    }
+    
+    /**
+     * Mark reserved inventory as sold
+     */
+    public ProductInventory confirm(int confirmQuantity) {
+        requireReserved(confirmQuantity);
+        return new ProductInventory(this.quantity, this.reserved - confirmQuantity);
+    }
+    
+    private void requireReserved(int reservedQuantity) {
+        if (reservedQuantity <= 0) {
+            throw new IllegalArgumentException("Reserved quantity must be positive");
+        }
+        if (reservedQuantity > this.reserved) {
+            throw new IllegalArgumentException("Cannot settle more than reserved inventory");
+        }
     }
     
     /**
@@ -74,21 +126,25 @@ public final class ProductInventory {
         return quantity;
     }
     
+    public int getReserved() {
+        return reserved;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ProductInventory that = (ProductInventory) o;
-        return quantity == that.quantity;
+        return quantity == that.quantity && reserved == that.reserved;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(quantity);
+        return Objects.hash(quantity, reserved);
     }
     
     @Override
     public String toString() {
-        return "ProductInventory{quantity=" + quantity + '}';
+        return "ProductInventory{quantity=" + quantity + ", reserved=" + reserved + '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ecommerce.domain.product;
+
+/**
+ * Inventory Reservation Status Enum
+ */
+public enum ReservationStatus {
+    /**
+     * Stock is held for the reservation
+     */
+    ACTIVE,
+    
+    /**
+     * Held stock was sold
+     */
+    CONFIRMED,
+    
+    /**
+     * Held stock was returned on request
+     */
+    RELEASED,
+    
+    /**
+     * Held stock was returned because the reservation timed out
+     */
+    EXPIRED
+}
@@ -3,6 +3,8 @@ package com.ecommerce.domain.settlement;
 import com.ecommerce.domain.BaseEntity;
 import com.ecommerce.domain.Money;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.id.IdentityGenerator;
 import java.time.LocalDate;
 
 /**
@@ -10,6 +12,7 @@ import java.time.LocalDate;
  * Records daily settlement information for merchants
  */
 @Entity
+@GenericGenerator(name = BaseEntity.ID_GENERATOR, type = IdentityGenerator.class)
 @Table(name = "settlements", indexes = {
     @Index(name = "idx_settlement_date", columnList = "settlement_date"),
     @Index(name = "idx_settlement_merchant_date", columnList = "merchant_id, settlement_date", unique = true),
@@ -4,14 +4,18 @@ import com.ecommerce.domain.BaseEntity;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.ResourceInactiveException;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.id.IdentityGenerator;
 
 /**
  * User Aggregate Root
  * Contains user basic information and prepaid account
  */
 @Entity
+@GenericGenerator(name = BaseEntity.ID_GENERATOR, type = IdentityGenerator.class)
 @Table(name = "users", indexes = {
-    @Index(name = "idx_user_email", columnList = "email", unique = true)
+    @Index(name = "idx_user_email", columnList = "email", unique = true),
+    @Index(name = "idx_user_phone", columnList = "phone", unique = true)
 })
 public class User extends BaseEntity {
     
@@ -21,7 +25,7 @@ public class User extends BaseEntity {
     @Column(name = "email", nullable = false, length = 100, unique = true)
     private String email;
     
-    @Column(name = "phone", nullable = false, length = 20)
+    @Column(name = "phone", nullable = false, length = 20, unique = true)
     private String phone;
     
     @Embedded
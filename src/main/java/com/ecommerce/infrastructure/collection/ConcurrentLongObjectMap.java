@@ -0,0 +1,378 @@
+package com.ecommerce.infrastructure.collection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent Long Object Map
+ * Hash map from primitive long keys to objects, for storage indexed by numeric ID
+ *
+ * Design Notes:
+ * - Open addressing with linear probing over parallel long[] key and Object[] value arrays, so an
+ *   entry costs one key and one reference slot instead of a boxed Long and a node object
+ * - Keys are spread over lock-striped segments, each with its own table; a segment grows on its own,
+ *   so no single rehash ever copies the whole map
+ * - A key slot is written once per table; removing a key leaves it in place with a null value
+ *   (a tombstone), and tombstones are dropped when the segment's table is rebuilt
+ * - Key 0 marks an empty slot, so its value is held in a field of its segment
+ * - Null values are not stored; a null value means absent
+ *
+ * Concurrency Notes:
+ * - Reads take no lock: a writer stores the value before it publishes the key (release stores), so a
+ *   reader that finds the key also finds its value, and a rebuilt table is published whole through
+ *   a volatile field
+ * - Writes of one segment are serialized by the segment's lock; compute runs its function under it,
+ *   which makes a read-modify-write of one key atomic, as with ConcurrentHashMap.compute
+ * - Iteration is weakly consistent: it never fails, and sees each key present throughout it
+ */
+public final class ConcurrentLongObjectMap<V> {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final long EMPTY = 0L;
+    private static final int SEGMENT_BITS = 6;
+    private static final int MIN_CAPACITY = 16;
+    // Live entries and tombstones together; linear probing slows down sharply past this
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongObjectMap() {
+        this.segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Function applied by compute to a key and its current value, or null if absent
+     */
+    @FunctionalInterface
+    public interface Remapping<V> {
+        V apply(long key, V value);
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associate value with key; returns the previous value, or null
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            return segment.store(key, hash, value);
+        }
+    }
+
+    /**
+     * Remove key; returns the removed value, or null
+     */
+    public V remove(long key) {
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            return segment.store(key, hash, null);
+        }
+    }
+
+    /**
+     * Replace the value of key with what remapping returns for the current one (null if absent)
+     * A null result removes the key; if remapping throws, the map is left unchanged
+     */
+    public V compute(long key, Remapping<V> remapping) {
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            V next = remapping.apply(key, segment.get(key, hash));
+            segment.store(key, hash, next);
+            return next;
+        }
+    }
+
+    /**
+     * As compute, for keys that are present; absent keys are left absent without calling remapping
+     */
+    public V computeIfPresent(long key, Remapping<V> remapping) {
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            V current = segment.get(key, hash);
+            if (current == null) {
+                return null;
+            }
+            V next = remapping.apply(key, current);
+            segment.store(key, hash, next);
+            return next;
+        }
+    }
+
+    public int size() {
+        long size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.live;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (Segment<V> segment : segments) {
+            if (segment.live != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Call action with every key present
+     */
+    public void forEachKey(LongConsumer action) {
+        for (Segment<V> segment : segments) {
+            if (segment.zeroValue != null) {
+                action.accept(EMPTY);
+            }
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++) {
+                long key = (long) KEYS.getAcquire(table.keys, i);
+                if (key != EMPTY && VALUES.getAcquire(table.values, i) != null) {
+                    action.accept(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sequential stream of the values present
+     */
+    public Stream<V> values() {
+        Spliterator<V> spliterator = Spliterators.spliteratorUnknownSize(new ValueIterator(),
+            Spliterator.NONNULL | Spliterator.CONCURRENT);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Slots allocated across all segments, live or not; with size(), the footprint of the tables
+     */
+    public long capacity() {
+        long capacity = 0;
+        for (Segment<V> segment : segments) {
+            capacity += segment.table.keys.length;
+        }
+        return capacity;
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    // MurmurHash3 finalizer: sequential IDs spread evenly over segments and slots
+    private static long hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private static final class Segment<V> {
+        volatile Table table = new Table(MIN_CAPACITY);
+        volatile V zeroValue;
+        // Written under the segment lock; read without it by size()
+        volatile int live;
+        // Key slots taken in the current table, tombstones included; guarded by the segment lock
+        int used;
+
+        @SuppressWarnings("unchecked")
+        V get(long key, long hash) {
+            if (key == EMPTY) {
+                return zeroValue;
+            }
+            Table t = table;
+            int i = (int) hash & t.mask;
+            while (true) {
+                long k = (long) KEYS.getAcquire(t.keys, i);
+                if (k == key) {
+                    return (V) VALUES.getAcquire(t.values, i);
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+                i = (i + 1) & t.mask;
+            }
+        }
+
+        /**
+         * Set or, with a null value, remove key; caller holds the segment lock
+         */
+        @SuppressWarnings("unchecked")
+        V store(long key, long hash, V value) {
+            if (key == EMPTY) {
+                V previous = zeroValue;
+                zeroValue = value;
+                adjustLive(previous, value);
+                return previous;
+            }
+            Table t = table;
+            int i = (int) hash & t.mask;
+            while (true) {
+                long k = t.keys[i];
+                if (k == key) {
+                    V previous = (V) t.values[i];
+                    VALUES.setRelease(t.values, i, value);
+                    adjustLive(previous, value);
+                    return previous;
+                }
+                if (k == EMPTY) {
+                    break;
+                }
+                i = (i + 1) & t.mask;
+            }
+            if (value == null) {
+                return null;
+            }
+            if (used + 1 > t.keys.length * LOAD_FACTOR) {
+                t = rebuild(t);
+                i = (int) hash & t.mask;
+                while (t.keys[i] != EMPTY) {
+                    i = (i + 1) & t.mask;
+                }
+            }
+            // Value first: a reader that sees the key must see the value
+            VALUES.setRelease(t.values, i, value);
+            KEYS.setRelease(t.keys, i, key);
+            used++;
+            live++;
+            return null;
+        }
+
+        private void adjustLive(V previous, V value) {
+            if (previous == null && value != null) {
+                live++;
+            } else if (previous != null && value == null) {
+                live--;
+            }
+        }
+
+        /**
+         * Copy the live entries into a new table, doubled if they would fill more than half of the
+         * current one, and publish it; caller holds the segment lock
+         */
+        private Table rebuild(Table current) {
+            int entries = live - (zeroValue != null ? 1 : 0) + 1;
+            int capacity = current.keys.length;
+            if (entries > capacity * LOAD_FACTOR / 2) {
+                capacity <<= 1;
+            }
+            Table rebuilt = new Table(capacity);
+            int copied = 0;
+            for (int i = 0; i < current.keys.length; i++) {
+                Object value = current.values[i];
+                if (value != null) {
+                    int j = (int) hash(current.keys[i]) & rebuilt.mask;
+                    while (rebuilt.keys[j] != EMPTY) {
+                        j = (j + 1) & rebuilt.mask;
+                    }
+                    rebuilt.keys[j] = current.keys[i];
+                    rebuilt.values[j] = value;
+                    copied++;
+                }
+            }
+            used = copied;
+            // Volatile write publishes the filled arrays to readers
+            table = rebuilt;
+            return rebuilt;
+        }
+    }
+
+    /**
+     * Walks the segments, reading each segment's table as it reaches it
+     */
+    private final class ValueIterator implements Iterator<V> {
+        private int segment = -1;
+        private Table table;
+        private int slot;
+        private V next;
+
+        ValueIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            V value = next;
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (true) {
+                if (table != null) {
+                    while (slot < table.keys.length) {
+                        int i = slot++;
+                        if ((long) KEYS.getAcquire(table.keys, i) != EMPTY) {
+                            V value = (V) VALUES.getAcquire(table.values, i);
+                            if (value != null) {
+                                next = value;
+                                return;
+                            }
+                        }
+                    }
+                }
+                if (++segment >= segments.length) {
+                    next = null;
+                    return;
+                }
+                Segment<V> current = segments[segment];
+                table = current.table;
+                slot = 0;
+                V zero = current.zeroValue;
+                if (zero != null) {
+                    next = zero;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.infrastructure.collection;
+
+/**
+ * Long Int Hash Map
+ * Hash map from primitive long keys to primitive int values, such as IDs to dense ordinals
+ *
+ * Design Notes:
+ * - Open addressing with linear probing over parallel long[] and int[] arrays; no boxing and no
+ *   object per entry
+ * - Entries are never removed, so probing needs no tombstones
+ * - Key 0 marks an empty slot, so its value is held in a field
+ *
+ * Concurrency Notes:
+ * - Not thread-safe; owners guard it with their own lock
+ */
+public final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+    private int zeroValue;
+
+    /**
+     * Map returning missingValue for keys it doesn't hold
+     */
+    public LongIntHashMap(int missingValue) {
+        this.missingValue = missingValue;
+        this.keys = new long[16];
+        this.values = new int[16];
+        this.mask = 15;
+    }
+
+    public int get(long key) {
+        if (key == EMPTY) {
+            return hasZero ? zeroValue : missingValue;
+        }
+        int i = slot(key, mask);
+        while (true) {
+            long k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == EMPTY) {
+                return missingValue;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != missingValue;
+    }
+
+    /**
+     * Associate value with key, replacing any value it had
+     */
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            size += hasZero ? 0 : 1;
+            hasZero = true;
+            zeroValue = value;
+            return;
+        }
+        int i = slot(key, mask);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            grow();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i], mask);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    // Fibonacci hashing: the high bits of the product are well mixed even for sequential IDs
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9e3779b97f4a7c15L) >>> 32) & mask;
+    }
+}
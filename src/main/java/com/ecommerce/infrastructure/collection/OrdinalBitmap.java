@@ -0,0 +1,344 @@
+package com.ecommerce.infrastructure.collection;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Ordinal Bitmap
+ * Compressed set of non-negative ints, such as the dense ordinals of indexed products
+ *
+ * Design Notes:
+ * - Ints are split by their upper 16 bits into chunks of 65536; a chunk holding few values keeps them as a
+ *   sorted char[], a dense one as a 1024-word bitmap, whichever is smaller (the roaring bitmap layout)
+ * - A chunk turns into a bitmap once it holds more than 4096 values, and back into an array when it
+ *   drops to half that, so values added and removed at the threshold don't convert it back and forth
+ * - and() works chunk by chunk on the chunks both sides hold, so sparse sets intersect without
+ *   touching the ranges only one of them covers
+ *
+ * Concurrency Notes:
+ * - Not thread-safe; owners guard it with their own lock
+ */
+public final class OrdinalBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Chunk[] chunks = new Chunk[4];
+    private int size;
+
+    /**
+     * Add value; returns whether it was absent
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key, new ArrayChunk());
+        }
+        Chunk chunk = chunks[i];
+        boolean added = chunk.add((char) value);
+        if (added && chunk instanceof ArrayChunk array && array.size > ARRAY_MAX) {
+            chunks[i] = array.toBitmap();
+        }
+        return added;
+    }
+
+    /**
+     * Remove value; returns whether it was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        Chunk chunk = chunks[i];
+        boolean removed = chunk.remove((char) value);
+        if (chunk.cardinality() == 0) {
+            removeChunk(i);
+        } else if (removed && chunk instanceof BitmapChunk bitmap && bitmap.cardinality <= ARRAY_MAX / 2) {
+            chunks[i] = bitmap.toArray();
+        }
+        return removed;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && chunks[i].contains((char) value);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Values held by both this and other, as a new bitmap
+     */
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Chunk chunk = chunks[i].and(other.chunks[j]);
+                if (chunk.cardinality() > 0) {
+                    result.insertChunk(result.size, keys[i], chunk);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass every value to action in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            chunks[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Values in ascending order
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] next = new int[1];
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertChunk(int i, char key, Chunk chunk) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            chunks = Arrays.copyOf(chunks, size << 1);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(chunks, i, chunks, i + 1, size - i);
+        keys[i] = key;
+        chunks[i] = chunk;
+        size++;
+    }
+
+    private void removeChunk(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(chunks, i + 1, chunks, i, size - i - 1);
+        chunks[--size] = null;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must not be negative: " + value);
+        }
+    }
+
+    /**
+     * Low 16 bits of the values sharing one upper half
+     */
+    private abstract static sealed class Chunk permits ArrayChunk, BitmapChunk {
+
+        abstract boolean add(char low);
+
+        abstract boolean remove(char low);
+
+        abstract boolean contains(char low);
+
+        abstract int cardinality();
+
+        abstract Chunk and(Chunk other);
+
+        abstract void forEach(int high, IntConsumer action);
+    }
+
+    private static final class ArrayChunk extends Chunk {
+        char[] values;
+        int size;
+
+        ArrayChunk() {
+            this(new char[4], 0);
+        }
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        boolean add(char low) {
+            int i = Arrays.binarySearch(values, 0, size, low);
+            if (i >= 0) {
+                return false;
+            }
+            i = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size << 1));
+            }
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = low;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char low) {
+            int i = Arrays.binarySearch(values, 0, size, low);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[Math.min(size, other.cardinality())];
+            int kept = 0;
+            if (other instanceof ArrayChunk array) {
+                int i = 0;
+                int j = 0;
+                while (i < size && j < array.size) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[kept++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i])) {
+                        result[kept++] = values[i];
+                    }
+                }
+            }
+            return new ArrayChunk(result, kept);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        BitmapChunk toBitmap() {
+            BitmapChunk bitmap = new BitmapChunk();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapChunk extends Chunk {
+        final long[] words = new long[BITMAP_WORDS];
+        int cardinality;
+
+        @Override
+        boolean add(char low) {
+            long bit = 1L << low;
+            long word = words[low >>> 6];
+            if ((word & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] = word | bit;
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char low) {
+            long bit = 1L << low;
+            long word = words[low >>> 6];
+            if ((word & bit) == 0) {
+                return false;
+            }
+            words[low >>> 6] = word & ~bit;
+            cardinality--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk array) {
+                return array.and(this);
+            }
+            BitmapChunk bitmap = (BitmapChunk) other;
+            BitmapChunk result = new BitmapChunk();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i] & bitmap.words[i];
+                result.words[i] = word;
+                result.cardinality += Long.bitCount(word);
+            }
+            return result.cardinality <= ARRAY_MAX ? result.toArray() : result;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        ArrayChunk toArray() {
+            char[] values = new char[cardinality];
+            int[] next = new int[1];
+            forEach(0, value -> values[next[0]++] = (char) value);
+            return new ArrayChunk(values, cardinality);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.ecommerce.infrastructure.config;
 
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 /**
  * Database Configuration
  * Only enabled for MySQL profile
+ *
+ * The application excludes the DataSource and Hibernate auto-configuration so the mock profile runs
+ * without a database; this profile imports them back and enables the JPA repositories
+ * A plain import is used on purpose: exclusions on the application class also filter classes listed
+ * in @ImportAutoConfiguration; DataSource comes first so Hibernate finds its single candidate
  */
 @Configuration
 @Profile("mysql")
+@Import({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
 @EnableJpaRepositories(basePackages = "com.ecommerce.infrastructure.repository.jpa")
 @EntityScan(basePackages = "com.ecommerce.domain")
 public class DatabaseConfig {
@@ -0,0 +1,79 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.repository.MerchantRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.repository.UserRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingMerchantRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingProductRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingUserRepository;
+import com.ecommerce.infrastructure.repository.cache.EntityCache;
+import com.ecommerce.infrastructure.repository.cache.EntityCacheMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository Cache Configuration
+ * Puts read-through caches in front of the product, merchant and user repositories
+ * Enabled with ecommerce.repository.cache.enabled (on by default for the MySQL profile only: the mock
+ * repositories already serve lookups from memory)
+ *
+ * Design Notes:
+ * - The repositories are wrapped by a post-processor, so services keep depending on the repository
+ *   interfaces and the profile's own repository beans stay as they are
+ * - The post-processor isn't ordered, so it runs after the ordered ones and wraps the finished bean,
+ *   persistence exception translation included
+ * - Every cache is published as the standard cache meters, tagged with its name
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ecommerce.repository.cache", name = "enabled", havingValue = "true")
+public class RepositoryCacheConfig {
+
+    @Bean
+    static BeanPostProcessor cachingRepositoryPostProcessor(
+            @Value("${ecommerce.repository.cache.max-entries:10000}") int maxEntries) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CachingProductRepository || bean instanceof CachingMerchantRepository
+                        || bean instanceof CachingUserRepository) {
+                    return bean;
+                }
+                if (bean instanceof ProductRepository products) {
+                    return new CachingProductRepository(products, maxEntries);
+                }
+                if (bean instanceof MerchantRepository merchants) {
+                    return new CachingMerchantRepository(merchants, maxEntries);
+                }
+                if (bean instanceof UserRepository users) {
+                    return new CachingUserRepository(users, maxEntries);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder repositoryCacheMetrics(ProductRepository productRepository,
+                                       MerchantRepository merchantRepository,
+                                       UserRepository userRepository) {
+        List<EntityCache<?, ?>> caches = new ArrayList<>();
+        if (productRepository instanceof CachingProductRepository products) {
+            caches.add(products.getSkuCache());
+            caches.add(products.getIdCache());
+        }
+        if (merchantRepository instanceof CachingMerchantRepository merchants) {
+            caches.add(merchants.getCache());
+        }
+        if (userRepository instanceof CachingUserRepository users) {
+            caches.add(users.getCache());
+        }
+        return registry -> caches.forEach(cache -> new EntityCacheMetrics(cache).bindTo(registry));
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.infrastructure.id;
+
+import java.time.Instant;
+
+/**
+ * Order Number Codec
+ * Encodes a Snowflake ID as "ORD" followed by 13 Crockford base32 characters, e.g. ORD01JBX4T2M0K00
+ *
+ * Design Notes:
+ * - Fixed width, so order numbers sort in the same order as their IDs (and thus their creation time)
+ * - The alphabet has no I, L, O or U; decoding is case-insensitive and reads I/L as 1 and O as 0,
+ *   which tolerates order numbers typed in by hand
+ * - encode() fills one char array and allocates only the resulting String
+ */
+public final class OrderNumberCodec {
+
+    public static final String PREFIX = "ORD";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int DIGITS = 13;
+    private static final int LENGTH = PREFIX.length() + DIGITS;
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        java.util.Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+        DECODE['I'] = DECODE['i'] = DECODE['L'] = DECODE['l'] = 1;
+        DECODE['O'] = DECODE['o'] = 0;
+    }
+
+    private OrderNumberCodec() {
+    }
+
+    /**
+     * Encode an ID as an order number
+     */
+    public static String encode(long id) {
+        char[] chars = new char[LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        long value = id;
+        // 13 digits of 5 bits cover 65 bits; the leading digit holds the top 4
+        for (int i = LENGTH - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Decode an order number back to its ID
+     * Throws IllegalArgumentException if it is not an order number of this format
+     */
+    public static long decode(String orderNumber) {
+        if (!isEncoded(orderNumber)) {
+            throw new IllegalArgumentException("Not a valid order number: " + orderNumber);
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            value = (value << 5) | DECODE[orderNumber.charAt(i)];
+        }
+        return value;
+    }
+
+    /**
+     * Creation time of the order, read from its number
+     */
+    public static Instant timestampOf(String orderNumber) {
+        return SnowflakeIdGenerator.timestampOf(decode(orderNumber));
+    }
+
+    /**
+     * Whether the value has the order number format
+     */
+    public static boolean isEncoded(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() != LENGTH
+                || !orderNumber.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            char c = orderNumber.charAt(i);
+            if (c >= DECODE.length || DECODE[c] < 0) {
+                return false;
+            }
+        }
+        // The leading digit only carries 4 bits
+        return DECODE[orderNumber.charAt(PREFIX.length())] < 16;
+    }
+}
@@ -0,0 +1,215 @@
+package com.ecommerce.infrastructure.idempotency;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Store
+ * Remembers the result of requests sent with an Idempotency-Key and replays it for duplicates
+ *
+ * Design Notes:
+ * - The first request with a key registers a future and runs the action; duplicates arriving while
+ *   it is in flight wait on that future, so the action runs once however many retries race it
+ * - Successful results are kept until the TTL passes. Rejections known to have changed nothing (a
+ *   business error other than an internal one, or an invalid argument) are forgotten as soon as they are
+ *   reported, so the request can be retried with the same key; any other failure may have taken effect,
+ *   so it is replayed until the TTL passes instead of running the action again
+ * - An action that gives up waiting with OutcomePendingException stays in flight until its outcome
+ *   completes, and duplicates get that outcome
+ * - A key reused with a different request fingerprint is rejected instead of replaying a foreign result
+ * - Entries are kept in insertion order, so expired ones are purged from the head in O(1) amortized per
+ *   request, and the oldest completed entries are evicted once maxEntries is reached; in-flight entries
+ *   are never evicted, which lets the store overshoot the bound by at most the number of requests in flight
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public IdempotencyStore(@Value("${ecommerce.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${ecommerce.idempotency.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${ecommerce.idempotency.wait-timeout-ms:15000}") long waitTimeoutMillis) {
+        this(maxEntries, TimeUnit.SECONDS.toMillis(ttlSeconds), waitTimeoutMillis, System::currentTimeMillis);
+    }
+
+    public IdempotencyStore(int maxEntries, long ttlMillis, long waitTimeoutMillis, LongSupplier clock) {
+        if (maxEntries <= 0 || ttlMillis <= 0 || waitTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Idempotency store size, TTL and wait timeout must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Run action once per scope and key, replaying its result for duplicates
+     * A null or blank key runs the action unconditionally
+     *
+     * @param scope       operation the key belongs to, e.g. "purchase"; keys of different scopes never clash
+     * @param key         client-supplied Idempotency-Key
+     * @param fingerprint request identity; a duplicate must have an equal fingerprint
+     */
+    public <T> T execute(String scope, String key, Object fingerprint, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                HEADER + " must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        String storeKey = scope + ':' + key;
+        Entry entry = new Entry(storeKey, fingerprint);
+        while (true) {
+            Entry existing = entries.putIfAbsent(storeKey, entry);
+            if (existing == null) {
+                insertionOrder.offer(entry);
+                purge();
+                return run(entry, action);
+            }
+            if (existing.isExpired(clock.getAsLong())) {
+                entries.remove(storeKey, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.fingerprint, fingerprint)) {
+                throw new BusinessException(ErrorCode.OPERATION_NOT_ALLOWED,
+                    HEADER + " was already used for a different request");
+            }
+            return replay(existing);
+        }
+    }
+
+    /**
+     * Number of remembered and in-flight keys
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private <T> T run(Entry entry, Supplier<T> action) {
+        try {
+            T result = action.get();
+            entry.expiresAt = clock.getAsLong() + ttlMillis;
+            entry.result.complete(result);
+            return result;
+        } catch (OutcomePendingException e) {
+            e.getOutcome().whenComplete((result, failure) -> {
+                if (failure == null) {
+                    entry.expiresAt = clock.getAsLong() + ttlMillis;
+                    entry.result.complete(result);
+                } else {
+                    fail(entry, failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+                }
+            });
+            throw e;
+        } catch (RuntimeException e) {
+            fail(entry, e);
+            throw e;
+        }
+    }
+
+    private void fail(Entry entry, Throwable failure) {
+        if (isRejection(failure)) {
+            // Forget the failure so the client can retry; current waiters still see it
+            entries.remove(entry.key, entry);
+        } else {
+            entry.expiresAt = clock.getAsLong() + ttlMillis;
+            logger.warn("Idempotency key {} failed with an unknown outcome; replaying the failure until it expires",
+                entry.key);
+        }
+        entry.result.completeExceptionally(failure);
+    }
+
+    private static boolean isRejection(Throwable failure) {
+        if (failure instanceof BusinessException businessException) {
+            return businessException.getErrorCode() != ErrorCode.INTERNAL_ERROR;
+        }
+        return failure instanceof IllegalArgumentException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T replay(Entry entry) {
+        try {
+            T result = (T) entry.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            logger.debug("Replaying result for idempotency key {}", entry.key);
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new BusinessException(ErrorCode.CONCURRENT_MODIFICATION,
+                "A request with this " + HEADER + " is still in progress, please retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Interrupted while waiting for duplicate request", e);
+        }
+    }
+
+    /**
+     * Drop expired and forgotten entries from the head, then evict the oldest completed ones while over the bound
+     */
+    private void purge() {
+        long now = clock.getAsLong();
+        Entry head;
+        while ((head = insertionOrder.peek()) != null) {
+            boolean forgotten = entries.get(head.key) != head;
+            boolean evict = head.isExpired(now) || (entries.size() > maxEntries && head.result.isDone());
+            if (!forgotten && !evict) {
+                break;
+            }
+            if (insertionOrder.remove(head) && !forgotten) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    /**
+     * A key's request fingerprint and the future of its result
+     */
+    private static final class Entry {
+        final String key;
+        final Object fingerprint;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String key, Object fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.infrastructure.idempotency;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outcome Pending Exception
+ * The caller stopped waiting for work that may still complete, such as a purchase queued in the pipeline
+ *
+ * The idempotency store keeps the key in flight until outcome completes, so a retry with the same key
+ * gets the real result instead of running the work a second time
+ */
+public class OutcomePendingException extends BusinessException {
+
+    private final transient CompletableFuture<?> outcome;
+
+    public OutcomePendingException(String message, CompletableFuture<?> outcome) {
+        super(ErrorCode.INTERNAL_ERROR, message);
+        this.outcome = outcome;
+    }
+
+    public CompletableFuture<?> getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.inventory;
+
+/**
+ * Inventory Cell
+ * Atomic available-quantity holder for a single SKU
+ */
+public interface InventoryCell {
+
+    /**
+     * Deduct quantity if at least that much is available
+     * Returns false, leaving the cell unchanged, if there was not enough stock
+     */
+    boolean tryDeduct(int quantity);
+
+    /**
+     * Add quantity back to the cell
+     */
+    void add(int quantity);
+
+    /**
+     * Overwrite available quantity, e.g. when resynchronizing with the persisted aggregate
+     */
+    void set(int quantity);
+
+    /**
+     * Get available quantity
+     */
+    int get();
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.infrastructure.inventory;
+
+import com.ecommerce.domain.VersionConflictException;
+import com.ecommerce.domain.product.InsufficientInventoryException;
+import com.ecommerce.domain.product.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Inventory Counter
+ * Per-SKU atomic stock cells kept alongside the Product aggregate
+ *
+ * Consistency Notes:
+ * - The Product aggregate stays the persisted record; each cell mirrors its available inventory
+ * - Writers holding the SKU lock sync the cell from the freshly loaded product, deduct through the cell,
+ *   and apply the same change to the product before saving it
+ * - Outside the lock the cell is read-only; a normal cell only mirrors the last save made here and can be
+ *   stale once the row changes elsewhere, so it is a hint and never rejects a purchase on its own
+ * - A cell whose write may not have been persisted is dropped and re-seeded on next use
+ *
+ * Hot SKU Mode:
+ * - A hot SKU's cell is a ShardedStockCell and is the source of truth for its stock; purchases deduct
+ *   from it without taking the SKU lock, and the product row is brought up to date by flushes
+ * - The counter also remembers the level last written to the product, so a flush writes only the change
+ *   since then and leaves stock changes made to the row by other instances in place
+ * - Hot mode itself is not persisted: ProductService switches every hot SKU off on shutdown, writing its
+ *   stock back, and a restarted instance starts with all SKUs in normal mode
+ * - Switching the mode on or off requires the SKU lock; a purchase that raced the switch sees a
+ *   VersionConflictException and is retried in the new mode
+ */
+@Component
+public class InventoryCounter {
+
+    private final ConcurrentHashMap<String, InventoryCell> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> writtenHotStock = new ConcurrentHashMap<>();
+    private final int hotSkuBuckets;
+
+    public InventoryCounter() {
+        this(0);
+    }
+
+    @Autowired
+    public InventoryCounter(@Value("${ecommerce.inventory.hot-sku.buckets:0}") int hotSkuBuckets) {
+        // Zero means one bucket per available core
+        this.hotSkuBuckets = hotSkuBuckets > 0 ? hotSkuBuckets : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Reject the purchase early if a hot SKU's buckets are already below quantity
+     * Lock-free; every other purchase passes through to the locked path, which checks the loaded product
+     */
+    public void checkAvailable(String sku, int quantity) {
+        if (sku == null || quantity <= 0) {
+            return;
+        }
+        InventoryCell cell = cells.get(sku);
+        if (cell instanceof ShardedStockCell && cell.get() < quantity) {
+            throw insufficient(sku, quantity, cell.get());
+        }
+    }
+
+    /**
+     * Sync the cell with the product and deduct quantity with a single CAS
+     * Caller must hold the SKU lock
+     */
+    public void deduct(Product product, int quantity) {
+        if (isHotMode(product.getSku())) {
+            throw modeChanged(product.getSku());
+        }
+        InventoryCell cell = sync(product);
+        if (!cell.tryDeduct(quantity)) {
+            throw insufficient(product.getSku(), quantity, cell.get());
+        }
+    }
+
+    /**
+     * Set the cell to the product's current inventory
+     * Hot SKU cells own their stock and are left untouched
+     */
+    public InventoryCell sync(Product product) {
+        InventoryCell cell = cells.computeIfAbsent(product.getSku(), sku -> new StockCell(product.getAvailableInventory()));
+        if (!(cell instanceof ShardedStockCell)) {
+            cell.set(product.getAvailableInventory());
+        }
+        return cell;
+    }
+
+    /**
+     * Drop the cell of a SKU so it is re-seeded from storage on next use
+     * Hot SKU cells are never dropped, since they hold the only up-to-date count
+     */
+    public void invalidate(String sku) {
+        if (sku != null) {
+            cells.computeIfPresent(sku, (key, cell) -> cell instanceof ShardedStockCell ? cell : null);
+        }
+    }
+
+    /**
+     * Get cached available quantity, or -1 if the SKU has no cell yet
+     */
+    public int getAvailable(String sku) {
+        InventoryCell cell = sku != null ? cells.get(sku) : null;
+        return cell != null ? cell.get() : -1;
+    }
+
+    // Hot SKU mode
+
+    public boolean isHotMode(String sku) {
+        return sku != null && cells.get(sku) instanceof ShardedStockCell;
+    }
+
+    /**
+     * Split the product's stock across buckets; no-op if the SKU is already hot
+     * Caller must hold the SKU lock
+     */
+    public void enableHotMode(Product product) {
+        cells.compute(product.getSku(), (sku, cell) -> {
+            if (cell instanceof ShardedStockCell) {
+                return cell;
+            }
+            writtenHotStock.put(sku, product.getAvailableInventory());
+            return new ShardedStockCell(product.getAvailableInventory(), hotSkuBuckets);
+        });
+    }
+
+    /**
+     * Close the SKU's buckets and fall back to a single cell holding the remaining stock
+     * Returns the remaining stock, or -1 if the SKU was not hot; caller must hold the SKU lock
+     * and write the returned quantity to the product
+     */
+    public int disableHotMode(String sku) {
+        InventoryCell cell = cells.get(sku);
+        if (!(cell instanceof ShardedStockCell sharded)) {
+            return -1;
+        }
+        int remaining = sharded.close();
+        cells.replace(sku, sharded, new StockCell(remaining));
+        writtenHotStock.remove(sku);
+        return remaining;
+    }
+
+    /**
+     * Stock level of a hot SKU as last written to its product, or -1 if the SKU is not hot
+     * Caller must hold the SKU lock
+     */
+    public int getWrittenHotStock(String sku) {
+        Integer written = sku != null ? writtenHotStock.get(sku) : null;
+        return written != null ? written : -1;
+    }
+
+    /**
+     * Record the stock level last written to a hot SKU's product; caller must hold the SKU lock
+     */
+    public void setWrittenHotStock(String sku, int quantity) {
+        if (writtenHotStock.replace(sku, quantity) == null) {
+            throw modeChanged(sku);
+        }
+    }
+
+    /**
+     * Deduct from a hot SKU without holding its lock
+     */
+    public void deductHot(String sku, int quantity) {
+        InventoryCell cell = cells.get(sku);
+        if (!(cell instanceof ShardedStockCell sharded)) {
+            throw modeChanged(sku);
+        }
+        if (!sharded.tryDeduct(quantity)) {
+            if (sharded.isClosed()) {
+                throw modeChanged(sku);
+            }
+            throw insufficient(sku, quantity, sharded.get());
+        }
+    }
+
+    /**
+     * Return stock to a hot SKU
+     * Returns false if the SKU is no longer hot, in which case the caller restores the product instead
+     */
+    public boolean releaseHot(String sku, int quantity) {
+        InventoryCell cell = cells.get(sku);
+        return cell instanceof ShardedStockCell sharded && sharded.tryAdd(quantity);
+    }
+
+    /**
+     * Overwrite a hot SKU's stock; caller must hold the SKU lock
+     */
+    public void setHot(String sku, int quantity) {
+        InventoryCell cell = cells.get(sku);
+        if (!(cell instanceof ShardedStockCell)) {
+            throw modeChanged(sku);
+        }
+        cell.set(quantity);
+    }
+
+    public Set<String> getHotSkus() {
+        return cells.entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof ShardedStockCell)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Even out the buckets of every hot SKU
+     */
+    public void rebalanceHotCells() {
+        for (InventoryCell cell : cells.values()) {
+            if (cell instanceof ShardedStockCell sharded) {
+                sharded.rebalance();
+            }
+        }
+    }
+
+    public int getHotSkuBuckets() {
+        return hotSkuBuckets;
+    }
+
+    private static InsufficientInventoryException insufficient(String sku, int required, int available) {
+        return new InsufficientInventoryException("Insufficient inventory. Required: " + required
+            + ", Available: " + available + " (SKU: " + sku + ")");
+    }
+
+    private static VersionConflictException modeChanged(String sku) {
+        return new VersionConflictException("Inventory mode of SKU " + sku + " changed during the operation");
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.infrastructure.inventory;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Sharded Stock Cell
+ * Splits a hot SKU's stock across per-core buckets so concurrent buyers don't contend on one counter
+ *
+ * Concurrency Notes:
+ * - A purchase first CASes its home bucket, then tries to take the whole quantity from another bucket
+ * - Only when no single bucket can cover it does it consolidate all buckets under a write lock,
+ *   so a purchase fails only if the SKU's total stock is short; selling to zero is exact
+ * - Buckets are drained with getAndSet and refilled only under the write lock, so stock is never
+ *   created or lost while buckets are moved around
+ * - After close() the buckets stay empty and every deduction fails
+ */
+public final class ShardedStockCell implements InventoryCell {
+
+    // Ints per bucket slot; keeps each bucket on its own 64-byte cache line
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray buckets;
+    private final int bucketMask;
+    private final StampedLock consolidationLock = new StampedLock();
+    private volatile boolean closed;
+
+    public ShardedStockCell(int initialQuantity, int bucketCount) {
+        if (initialQuantity < 0) {
+            throw new IllegalArgumentException("Inventory quantity cannot be negative");
+        }
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive");
+        }
+        int size = 1;
+        while (size < bucketCount) {
+            size <<= 1;
+        }
+        this.bucketMask = size - 1;
+        this.buckets = new AtomicIntegerArray(size * PADDING);
+        distribute(initialQuantity);
+    }
+
+    @Override
+    public boolean tryDeduct(int quantity) {
+        StockCell.requirePositive(quantity);
+        if (closed) {
+            return false;
+        }
+        int home = homeBucket();
+        for (int i = 0; i <= bucketMask; i++) {
+            if (tryDeductFrom((home + i) & bucketMask, quantity)) {
+                return true;
+            }
+        }
+        return deductConsolidated(quantity);
+    }
+
+    @Override
+    public void add(int quantity) {
+        if (!tryAdd(quantity)) {
+            throw new IllegalStateException("Sharded stock cell is closed");
+        }
+    }
+
+    /**
+     * Add quantity, spreading it across all buckets
+     * Returns false if the cell has been closed
+     */
+    public boolean tryAdd(int quantity) {
+        StockCell.requirePositive(quantity);
+        long stamp = consolidationLock.writeLock();
+        try {
+            if (closed) {
+                return false;
+            }
+            int total = drain();
+            if (total > Integer.MAX_VALUE - quantity) {
+                distribute(total);
+                throw new IllegalArgumentException("Inventory quantity overflow");
+            }
+            distribute(total + quantity);
+            return true;
+        } finally {
+            consolidationLock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void set(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Inventory quantity cannot be negative");
+        }
+        long stamp = consolidationLock.writeLock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Sharded stock cell is closed");
+            }
+            drain();
+            distribute(quantity);
+        } finally {
+            consolidationLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sum of all buckets
+     * Consistent with respect to rebalancing; concurrent purchases may land on either side of the read
+     */
+    @Override
+    public int get() {
+        long stamp = consolidationLock.tryOptimisticRead();
+        int total = sum();
+        if (!consolidationLock.validate(stamp)) {
+            stamp = consolidationLock.readLock();
+            try {
+                total = sum();
+            } finally {
+                consolidationLock.unlockRead(stamp);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Spread the remaining stock evenly across buckets again
+     */
+    public void rebalance() {
+        long stamp = consolidationLock.writeLock();
+        try {
+            if (!closed) {
+                distribute(drain());
+            }
+        } finally {
+            consolidationLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stop accepting deductions and return the stock that was left
+     */
+    public int close() {
+        long stamp = consolidationLock.writeLock();
+        try {
+            closed = true;
+            return drain();
+        } finally {
+            consolidationLock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getBucketCount() {
+        return bucketMask + 1;
+    }
+
+    private boolean deductConsolidated(int quantity) {
+        long stamp = consolidationLock.writeLock();
+        try {
+            if (closed) {
+                return false;
+            }
+            int total = drain();
+            boolean enough = total >= quantity;
+            distribute(enough ? total - quantity : total);
+            return enough;
+        } finally {
+            consolidationLock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean tryDeductFrom(int bucket, int quantity) {
+        int index = bucket * PADDING;
+        int current = buckets.get(index);
+        while (current >= quantity) {
+            int witness = buckets.compareAndExchange(index, current, current - quantity);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    // Callers hold the write lock
+    private int drain() {
+        int total = 0;
+        for (int i = 0; i <= bucketMask; i++) {
+            total += buckets.getAndSet(i * PADDING, 0);
+        }
+        return total;
+    }
+
+    // Callers hold the write lock (or are constructing the cell)
+    private void distribute(int total) {
+        int bucketCount = bucketMask + 1;
+        int share = total / bucketCount;
+        int remainder = total % bucketCount;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.getAndAdd(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    private int sum() {
+        int total = 0;
+        for (int i = 0; i <= bucketMask; i++) {
+            total += buckets.get(i * PADDING);
+        }
+        return total;
+    }
+
+    private int homeBucket() {
+        long id = Thread.currentThread().threadId();
+        int h = (int) (id ^ (id >>> 32));
+        h *= 0x9E3779B9;
+        return (h ^ (h >>> 16)) & bucketMask;
+    }
+}
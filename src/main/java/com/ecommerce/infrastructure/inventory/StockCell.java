@@ -0,0 +1,84 @@
+package com.ecommerce.infrastructure.inventory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Stock Cell
+ * Atomic available-quantity counter for a single SKU
+ *
+ * Concurrency Notes:
+ * - tryDeduct is a single "decrement if at least n" CAS loop; the check and the decrement can't interleave
+ * - No allocation on any path, unlike the copy-on-write ProductInventory value object
+ */
+public final class StockCell implements InventoryCell {
+
+    private static final VarHandle AVAILABLE;
+
+    static {
+        try {
+            AVAILABLE = MethodHandles.lookup().findVarHandle(StockCell.class, "available", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // accessed through AVAILABLE
+    private volatile int available;
+
+    public StockCell(int initialQuantity) {
+        if (initialQuantity < 0) {
+            throw new IllegalArgumentException("Inventory quantity cannot be negative");
+        }
+        this.available = initialQuantity;
+    }
+
+    @Override
+    public boolean tryDeduct(int quantity) {
+        requirePositive(quantity);
+        int current = (int) AVAILABLE.getVolatile(this);
+        while (current >= quantity) {
+            int witness = (int) AVAILABLE.compareAndExchange(this, current, current - quantity);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    @Override
+    public void add(int quantity) {
+        requirePositive(quantity);
+        int current = (int) AVAILABLE.getVolatile(this);
+        while (true) {
+            if (current > Integer.MAX_VALUE - quantity) {
+                throw new IllegalArgumentException("Inventory quantity overflow");
+            }
+            int witness = (int) AVAILABLE.compareAndExchange(this, current, current + quantity);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    @Override
+    public void set(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Inventory quantity cannot be negative");
+        }
+        AVAILABLE.setVolatile(this, quantity);
+    }
+
+    @Override
+    public int get() {
+        return (int) AVAILABLE.getVolatile(this);
+    }
+
+    static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
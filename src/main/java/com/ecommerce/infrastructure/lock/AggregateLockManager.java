@@ -0,0 +1,139 @@
+package com.ecommerce.infrastructure.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Aggregate Lock Manager
+ * Striped locks keyed by userId, SKU and merchantId
+ *
+ * Concurrency Notes:
+ * - Each aggregate type owns its own stripe range, so a user and a merchant with the same ID never collide
+ * - Locks are always acquired in ascending global stripe order (users, then products, then merchants),
+ *   which makes any combination of keys deadlock-free
+ * - Nested calls are safe as long as the inner call only adds stripes of a later range
+ *   (e.g. taking a merchant lock while holding user and product locks)
+ * - Unrelated purchases hash to different stripes and run in parallel; contending ones are serialized
+ */
+@Component
+public class AggregateLockManager {
+
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private static final int USER_RANGE = 0;
+    private static final int PRODUCT_RANGE = 1;
+    private static final int MERCHANT_RANGE = 2;
+    private static final int RANGE_COUNT = 3;
+
+    private final ReentrantLock[] locks;
+    private final int stripeMask;
+    private final int stripesPerType;
+
+    public AggregateLockManager(@Value("${ecommerce.concurrency.lock-stripes:" + DEFAULT_STRIPES + "}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Lock stripes must be positive");
+        }
+        // Round up to a power of two so the stripe index is a simple mask
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripesPerType = size;
+        this.stripeMask = stripesPerType - 1;
+        this.locks = new ReentrantLock[stripesPerType * RANGE_COUNT];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Execute action while holding the locks of a single user, product and merchant
+     */
+    public <T> T executeWithLocks(Long userId, String sku, Long merchantId, Supplier<T> action) {
+        return executeWithLocks(Collections.singletonList(userId), Collections.singletonList(sku),
+                Collections.singletonList(merchantId), action);
+    }
+
+    /**
+     * Execute action while holding the locks of all given users, products and merchants
+     * Null keys are ignored; duplicate keys and stripe collisions are locked only once
+     */
+    public <T> T executeWithLocks(Collection<Long> userIds, Collection<String> skus,
+                                  Collection<Long> merchantIds, Supplier<T> action) {
+        Objects.requireNonNull(action, "Action cannot be null");
+        int[] stripes = resolveStripes(userIds, skus, merchantIds);
+
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Get number of stripes per aggregate type
+     */
+    public int getStripesPerType() {
+        return stripesPerType;
+    }
+
+    /**
+     * Resolve keys to a sorted, duplicate-free array of global stripe indexes
+     */
+    int[] resolveStripes(Collection<Long> userIds, Collection<String> skus, Collection<Long> merchantIds) {
+        int size = sizeOf(userIds) + sizeOf(skus) + sizeOf(merchantIds);
+        int[] stripes = new int[size];
+        int count = 0;
+        count = addStripes(stripes, count, userIds, USER_RANGE);
+        count = addStripes(stripes, count, skus, PRODUCT_RANGE);
+        count = addStripes(stripes, count, merchantIds, MERCHANT_RANGE);
+
+        Arrays.sort(stripes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || stripes[unique - 1] != stripes[i]) {
+                stripes[unique++] = stripes[i];
+            }
+        }
+        return unique == stripes.length ? stripes : Arrays.copyOf(stripes, unique);
+    }
+
+    private int addStripes(int[] stripes, int count, Collection<?> keys, int range) {
+        if (keys == null) {
+            return count;
+        }
+        for (Object key : keys) {
+            if (key != null) {
+                stripes[count++] = range * stripesPerType + stripeOf(key);
+            }
+        }
+        return count;
+    }
+
+    private int stripeOf(Object key) {
+        int h = key.hashCode();
+        // Spread high bits so sequential IDs and similar SKUs don't cluster
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & stripeMask;
+    }
+
+    private static int sizeOf(Collection<?> keys) {
+        return keys == null ? 0 : keys.size();
+    }
+}
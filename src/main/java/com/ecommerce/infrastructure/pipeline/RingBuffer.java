@@ -0,0 +1,110 @@
+package com.ecommerce.infrastructure.pipeline;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Ring Buffer
+ * Bounded, preallocated multi-producer single-consumer queue
+ *
+ * Concurrency Notes:
+ * - Every slot carries a sequence number; a producer claims the next sequence with one CAS and
+ *   publishes its slot by advancing the slot's sequence, so producers never block each other
+ * - Only the consumer thread moves the head, and it drains published slots in sequence order
+ *   without any CAS
+ * - offer() fails instead of waiting when the ring is full, leaving backpressure to the caller
+ */
+public final class RingBuffer<E> {
+
+    // Longs per sequence slot; keeps neighbouring slots off each other's cache line
+    private static final int PADDING = 8;
+
+    private final Object[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Written by the consumer thread only
+    private volatile long head;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || capacity > (1 << 24)) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 2 and 16777216");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = new Object[size];
+        this.sequences = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i * PADDING, i);
+        }
+    }
+
+    /**
+     * Publish an element; returns false if the ring is full
+     * Safe to call from any thread
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        while (true) {
+            long sequence = tail.get();
+            int slot = (int) (sequence & mask);
+            long slotSequence = sequences.get(slot * PADDING);
+            if (slotSequence == sequence) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    entries[slot] = element;
+                    // Release store: the entry is visible before the slot reads as published
+                    sequences.lazySet(slot * PADDING, sequence + 1);
+                    return true;
+                }
+            } else if (slotSequence < sequence) {
+                // Slot still holds an element from the previous lap
+                return false;
+            }
+            // Another producer claimed this sequence first; retry with the new tail
+        }
+    }
+
+    /**
+     * Hand up to maxElements published elements to the handler, in publication order
+     * Returns the number drained; must only be called from the single consumer thread
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> handler, int maxElements) {
+        long sequence = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int slot = (int) (sequence & mask);
+            if (sequences.get(slot * PADDING) != sequence + 1) {
+                break;
+            }
+            E element = (E) entries[slot];
+            entries[slot] = null;
+            // Hand the slot back to producers for the next lap
+            sequences.lazySet(slot * PADDING, sequence + entries.length);
+            sequence++;
+            head = sequence;
+            drained++;
+            handler.accept(element);
+        }
+        return drained;
+    }
+
+    /**
+     * Approximate number of claimed but not yet drained elements
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, entries.length));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.merchant.Merchant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +16,21 @@ public interface MerchantRepository {
      */
     Merchant save(Merchant merchant);
     
+    /**
+     * Save merchants in one round trip, in the given order
+     */
+    List<Merchant> saveAll(Collection<Merchant> merchants);
+    
     /**
      * Find merchant by ID
      */
     Optional<Merchant> findById(Long id);
     
+    /**
+     * Find merchants by IDs in one round trip; IDs without a merchant are skipped
+     */
+    List<Merchant> findAllByIds(Collection<Long> ids);
+    
     /**
      * Check if merchant exists by ID
      */
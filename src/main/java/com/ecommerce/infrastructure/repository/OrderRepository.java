@@ -2,7 +2,9 @@ package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.order.Order;
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +19,21 @@ public interface OrderRepository {
      */
     Order save(Order order);
     
+    /**
+     * Save orders in one round trip, in the given order
+     */
+    List<Order> saveAll(Collection<Order> orders);
+    
     /**
      * Find order by ID
      */
     Optional<Order> findById(Long id);
     
+    /**
+     * Find orders by IDs in one round trip; IDs without a order are skipped
+     */
+    List<Order> findAllByIds(Collection<Long> ids);
+    
     /**
      * Find order by order number
      */
@@ -43,6 +55,12 @@ public interface OrderRepository {
      */
     List<Order> findByMerchantIdAndStatusAndOrderTimeBetween(Long merchantId, OrderStatus status, LocalDateTime start, LocalDateTime end);
     
+    /**
+     * Count and sum the total amounts of orders by merchant ID, status and date range
+     * Used for settlement calculation, which needs neither the orders nor their items
+     */
+    OrderTotals sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(Long merchantId, OrderStatus status, LocalDateTime start, LocalDateTime end);
+    
     /**
      * Delete order by ID
      */
@@ -1,6 +1,7 @@
 package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.product.Product;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,16 +16,31 @@ public interface ProductRepository {
      */
     Product save(Product product);
     
+    /**
+     * Save products in one round trip, in the given order
+     */
+    List<Product> saveAll(Collection<Product> products);
+    
     /**
      * Find product by ID
      */
     Optional<Product> findById(Long id);
     
+    /**
+     * Find products by IDs in one round trip; IDs without a product are skipped
+     */
+    List<Product> findAllByIds(Collection<Long> ids);
+    
     /**
      * Find product by SKU
      */
     Optional<Product> findBySku(String sku);
     
+    /**
+     * Find products by SKUs in one round trip; SKUs without a product are skipped
+     */
+    List<Product> findAllBySkus(Collection<String> skus);
+    
     /**
      * Find products by merchant ID
      */
@@ -1,6 +1,8 @@
 package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.settlement.Settlement;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,11 +16,21 @@ public interface SettlementRepository {
      */
     Settlement save(Settlement settlement);
     
+    /**
+     * Save settlements in one round trip, in the given order
+     */
+    List<Settlement> saveAll(Collection<Settlement> settlements);
+    
     /**
      * Find settlement by ID
      */
     Optional<Settlement> findById(Long id);
     
+    /**
+     * Find settlements by IDs in one round trip; IDs without a settlement are skipped
+     */
+    List<Settlement> findAllByIds(Collection<Long> ids);
+    
     /**
      * Delete settlement by ID
      */
@@ -1,6 +1,8 @@
 package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.user.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -15,11 +17,21 @@ public interface UserRepository {
      */
     User save(User user);
     
+    /**
+     * Save users in one round trip, in the given order
+     */
+    List<User> saveAll(Collection<User> users);
+    
     /**
      * Find user by ID
      */
     Optional<User> findById(Long id);
     
+    /**
+     * Find users by IDs in one round trip; IDs without a user are skipped
+     */
+    List<User> findAllByIds(Collection<Long> ids);
+    
     /**
      * Check if user exists by ID
      */
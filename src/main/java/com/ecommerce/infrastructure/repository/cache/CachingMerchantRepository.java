@@ -0,0 +1,94 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.merchant.Merchant;
+import com.ecommerce.infrastructure.repository.MerchantRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caching Merchant Repository
+ * Serves merchant lookups by ID from a bounded cache in front of another merchant repository
+ * Lookups by business license or contact email and all queries go to the underlying repository
+ */
+public class CachingMerchantRepository extends CachingRepositorySupport<Merchant> implements MerchantRepository {
+
+    private final MerchantRepository delegate;
+    private final EntityCache<Long, Merchant> byId;
+
+    public CachingMerchantRepository(MerchantRepository delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.byId = new EntityCache<>("merchants", maxEntries);
+    }
+
+    public EntityCache<Long, Merchant> getCache() {
+        return byId;
+    }
+
+    @Override
+    public Merchant save(Merchant merchant) {
+        return saving(merchant, delegate::save);
+    }
+
+    @Override
+    public List<Merchant> saveAll(Collection<Merchant> merchants) {
+        return savingAll(merchants, delegate::saveAll);
+    }
+
+    @Override
+    public Optional<Merchant> findById(Long id) {
+        return find(byId, id, delegate::findById);
+    }
+
+    @Override
+    public List<Merchant> findAllByIds(Collection<Long> ids) {
+        return findAll(byId, ids, Merchant::getId, delegate::findAllByIds);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Optional<Merchant> findByBusinessLicense(String businessLicense) {
+        return delegate.findByBusinessLicense(businessLicense);
+    }
+
+    @Override
+    public Optional<Merchant> findByContactEmail(String contactEmail) {
+        return delegate.findByContactEmail(contactEmail);
+    }
+
+    @Override
+    public boolean existsByBusinessLicense(String businessLicense) {
+        return delegate.existsByBusinessLicense(businessLicense);
+    }
+
+    @Override
+    public boolean existsByContactEmail(String contactEmail) {
+        return delegate.existsByContactEmail(contactEmail);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            if (id != null) {
+                invalidateNowAndOnCompletion(() -> byId.invalidate(id));
+            }
+        }
+    }
+
+    @Override
+    public List<Merchant> findAllActive() {
+        return delegate.findAllActive();
+    }
+
+    @Override
+    protected void invalidate(Merchant merchant) {
+        byId.invalidate(merchant.getId());
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caching Product Repository
+ * Serves product lookups by SKU and by ID from bounded caches in front of another product repository
+ * Listings, searches and existence checks go to the underlying repository
+ *
+ * Design Notes:
+ * - The two caches are filled independently, each by its own lookups; a save or delete invalidates both
+ * - Deleting by ID reads the product first to learn which SKU to invalidate
+ */
+public class CachingProductRepository extends CachingRepositorySupport<Product> implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final EntityCache<String, Product> bySku;
+    private final EntityCache<Long, Product> byId;
+
+    public CachingProductRepository(ProductRepository delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.bySku = new EntityCache<>("products", maxEntries);
+        this.byId = new EntityCache<>("products-by-id", maxEntries);
+    }
+
+    public EntityCache<String, Product> getSkuCache() {
+        return bySku;
+    }
+
+    public EntityCache<Long, Product> getIdCache() {
+        return byId;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return saving(product, delegate::save);
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        return savingAll(products, delegate::saveAll);
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return find(byId, id, delegate::findById);
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        return findAll(byId, ids, Product::getId, delegate::findAllByIds);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return find(bySku, sku, delegate::findBySku);
+    }
+
+    @Override
+    public List<Product> findAllBySkus(Collection<String> skus) {
+        return findAll(bySku, skus, Product::getSku, delegate::findAllBySkus);
+    }
+
+    @Override
+    public List<Product> findByMerchantId(Long merchantId) {
+        return delegate.findByMerchantId(merchantId);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public boolean existsBySku(String sku) {
+        return delegate.existsBySku(sku);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Optional<Product> existing = delegate.findById(id);
+        try {
+            delegate.deleteById(id);
+        } finally {
+            if (id != null) {
+                invalidateNowAndOnCompletion(() -> {
+                    byId.invalidate(id);
+                    existing.ifPresent(product -> bySku.invalidate(product.getSku()));
+                });
+            }
+        }
+    }
+
+    @Override
+    protected void invalidate(Product product) {
+        byId.invalidate(product.getId());
+        bySku.invalidate(product.getSku());
+    }
+}
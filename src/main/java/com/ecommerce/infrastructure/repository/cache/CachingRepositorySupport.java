@@ -0,0 +1,139 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.BaseEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caching Repository Support
+ * Read-through lookups and save-time invalidation shared by the caching repository decorators
+ *
+ * Flow Notes:
+ * - Lookups are served from the cache only outside read-write transactions; a transaction that may write
+ *   reads from storage (with JPA: the managed instance it can change and save) and puts nothing into the
+ *   cache, since what it sees may include its own uncommitted changes
+ * - Every save or delete invalidates the aggregate's keys right away, and again once the surrounding
+ *   transaction completes, so a read of the committed row that raced the commit isn't kept
+ * - A failed save invalidates too: a version conflict means the copy the caller started from was stale
+ */
+abstract class CachingRepositorySupport<T extends BaseEntity> {
+
+    /**
+     * Whether this thread may read from and fill the cache
+     */
+    protected static boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Look key up in cache, reading through to storage on a miss
+     */
+    protected <K> Optional<T> find(EntityCache<K, T> cache, K key, Function<K, Optional<T>> loader) {
+        if (key == null || !cacheable()) {
+            return loader.apply(key);
+        }
+        T cached = cache.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = cache.stamp(key);
+        Optional<T> loaded = loader.apply(key);
+        loaded.ifPresent(entity -> cache.put(key, entity, stamp));
+        return loaded;
+    }
+
+    /**
+     * Look keys up in cache, reading the misses through to storage in one call
+     * Returned in the order of keys; keys without an aggregate are skipped
+     */
+    protected <K> List<T> findAll(EntityCache<K, T> cache, Collection<K> keys, Function<T, K> keyOf,
+                                  Function<Collection<K>, List<T>> loader) {
+        if (!cacheable()) {
+            return loader.apply(keys);
+        }
+        Map<K, T> found = new LinkedHashMap<>();
+        Map<K, Long> stamps = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            if (key == null) {
+                continue;
+            }
+            T cached = cache.get(key);
+            found.put(key, cached);
+            if (cached == null) {
+                stamps.put(key, cache.stamp(key));
+            }
+        }
+        if (!stamps.isEmpty()) {
+            for (T entity : loader.apply(stamps.keySet())) {
+                K key = keyOf.apply(entity);
+                found.put(key, entity);
+                cache.put(key, entity, stamps.get(key));
+            }
+        }
+        List<T> entities = new ArrayList<>(found.size());
+        found.values().stream().filter(Objects::nonNull).forEach(entities::add);
+        return entities;
+    }
+
+    /**
+     * Save entity through saver, invalidating its keys whether or not the save goes through
+     */
+    protected T saving(T entity, UnaryOperator<T> saver) {
+        try {
+            return saver.apply(entity);
+        } finally {
+            invalidated(List.of(entity));
+        }
+    }
+
+    /**
+     * Save entities through saver, invalidating their keys whether or not the save goes through
+     */
+    protected List<T> savingAll(Collection<T> entities, Function<Collection<T>, List<T>> saver) {
+        try {
+            return saver.apply(entities);
+        } finally {
+            invalidated(entities);
+        }
+    }
+
+    /**
+     * Invalidate keys now and again after the surrounding transaction, if any, completes
+     */
+    protected static void invalidateNowAndOnCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private void invalidated(Collection<T> entities) {
+        // A failed insert may have left new aggregates without an ID; nothing of theirs is cached
+        List<T> stored = entities.stream().filter(entity -> entity.getId() != null).toList();
+        if (!stored.isEmpty()) {
+            invalidateNowAndOnCompletion(() -> stored.forEach(this::invalidate));
+        }
+    }
+
+    /**
+     * Drop every cached key of entity
+     */
+    protected abstract void invalidate(T entity);
+}
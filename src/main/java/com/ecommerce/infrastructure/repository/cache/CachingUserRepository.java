@@ -0,0 +1,100 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.UserRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caching User Repository
+ * Serves user lookups by ID from a bounded cache in front of another user repository
+ * Lookups by phone or email and all queries go to the underlying repository
+ */
+public class CachingUserRepository extends CachingRepositorySupport<User> implements UserRepository {
+
+    private final UserRepository delegate;
+    private final EntityCache<Long, User> byId;
+
+    public CachingUserRepository(UserRepository delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.byId = new EntityCache<>("users", maxEntries);
+    }
+
+    public EntityCache<Long, User> getCache() {
+        return byId;
+    }
+
+    @Override
+    public User save(User user) {
+        return saving(user, delegate::save);
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        return savingAll(users, delegate::saveAll);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return find(byId, id, delegate::findById);
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return findAll(byId, ids, User::getId, delegate::findAllByIds);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Optional<User> findByPhone(String phone) {
+        return delegate.findByPhone(phone);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByPhone(String phone) {
+        return delegate.existsByPhone(phone);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<Long> getAllUserIds() {
+        return delegate.getAllUserIds();
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            if (id != null) {
+                invalidateNowAndOnCompletion(() -> byId.invalidate(id));
+            }
+        }
+    }
+
+    @Override
+    protected void invalidate(User user) {
+        byId.invalidate(user.getId());
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.BaseEntity;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Entity Cache
+ * Bounded cache of detached aggregates for read-through repositories
+ *
+ * Design Notes:
+ * - Keys are spread over lock-striped segments; each segment keeps its entries in access order and owns
+ *   a frequency sketch fed by every lookup, hit or miss
+ * - A full segment admits a new entry only if its key was looked up more often recently than the
+ *   segment's least recently used entry, which it then evicts (TinyLFU admission); a burst of one-off
+ *   lookups can't flush the popular aggregates
+ * - Every entry carries the aggregate's version, and a read never replaces a newer cached version
+ * - Saves invalidate their keys and bump the segment's invalidation stamp; a read takes the stamp before
+ *   it goes to storage and its put is dropped if the stamp moved meanwhile, so a read that raced a save
+ *   can't put the row the save replaced back (a per-key version floor would have to outlive the entry,
+ *   filling the cache with floors for keys nobody reads)
+ * - Values are stored and handed out as detached copies; callers may change what they get
+ *
+ * Concurrency Notes:
+ * - Segment operations run under the segment's lock; copying a value happens outside it
+ */
+public final class EntityCache<K, V extends BaseEntity> {
+
+    private static final int SEGMENTS = 16;
+
+    private final String name;
+    private final int maxEntries;
+    private final Segment<K, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public EntityCache(String name, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        int segmentCount = Math.min(SEGMENTS, Integer.highestOneBit(maxEntries));
+        int perSegment = (maxEntries + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * Cached copy of the aggregate of key, or null on a miss
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        V stored;
+        synchronized (segment) {
+            segment.sketch.increment(key);
+            Entry<V> entry = segment.entries.get(key);
+            stored = entry != null ? entry.value : null;
+        }
+        if (stored == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return stored.detachedCopy();
+    }
+
+    /**
+     * Stamp to take before reading key from storage and to hand to put with what was read
+     */
+    public long stamp(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.invalidations;
+        }
+    }
+
+    /**
+     * Cache a copy of value as read from storage after taking stamp
+     * Ignored if the key's segment saw an invalidation since the stamp, if a newer version is cached,
+     * or if admission prefers the entry it would evict
+     */
+    public void put(K key, V value, long stamp) {
+        V copy = value.detachedCopy();
+        Segment<K, V> segment = segmentFor(key);
+        boolean evicted = false;
+        synchronized (segment) {
+            if (segment.invalidations != stamp) {
+                return;
+            }
+            Entry<V> existing = segment.entries.get(key);
+            if (existing != null) {
+                if (existing.version > version(copy)) {
+                    return;
+                }
+                existing.value = copy;
+                existing.version = version(copy);
+            } else {
+                if (segment.entries.size() >= segment.capacity) {
+                    Iterator<Map.Entry<K, Entry<V>>> eldest = segment.entries.entrySet().iterator();
+                    K victim = eldest.next().getKey();
+                    if (segment.sketch.frequency(key) <= segment.sketch.frequency(victim)) {
+                        rejections.increment();
+                        return;
+                    }
+                    eldest.remove();
+                    evicted = true;
+                }
+                segment.entries.put(key, new Entry<>(copy, version(copy)));
+            }
+        }
+        puts.increment();
+        if (evicted) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drop the cached aggregate of key; reads of the key's segment that are in flight are not cached
+     */
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.remove(key);
+            segment.invalidations++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Entries held
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * New entries turned away by admission
+     */
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * Hits per lookup since the cache was created, or 0 before the first lookup
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static long version(BaseEntity entity) {
+        return entity.getVersion() != null ? entity.getVersion() : 0;
+    }
+
+    private static final class Segment<K, V> {
+        final int capacity;
+        final FrequencySketch sketch;
+        final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        long invalidations;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new FrequencySketch(capacity);
+        }
+    }
+
+    /**
+     * Cached value and the version it was read at
+     */
+    private static final class Entry<V> {
+        V value;
+        long version;
+
+        Entry(V value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
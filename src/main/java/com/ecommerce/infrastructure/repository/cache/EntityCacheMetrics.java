@@ -0,0 +1,69 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Entity Cache Metrics
+ * Publishes an entity cache as the standard cache meters (cache.gets with result hit/miss, cache.puts,
+ * cache.evictions, cache.size), tagged with the cache name, plus its hit ratio, bound and admission rejections
+ */
+public class EntityCacheMetrics extends CacheMeterBinder<EntityCache<?, ?>> {
+
+    public EntityCacheMetrics(EntityCache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.size() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.hitCount() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.missCount() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.evictionCount() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.putCount() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        EntityCache<?, ?> cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        Gauge.builder("cache.hit.ratio", cache, EntityCache::hitRatio)
+            .tags(getTagsWithCacheName())
+            .description("Hits per lookup since the cache was created")
+            .register(registry);
+        Gauge.builder("cache.max.entries", cache, EntityCache::getMaxEntries)
+            .tags(getTagsWithCacheName())
+            .description("Entries the cache holds at most")
+            .register(registry);
+        FunctionCounter.builder("cache.admission.rejections", cache, EntityCache::rejectionCount)
+            .tags(getTagsWithCacheName())
+            .description("New entries turned away because the entry they would evict was used more often")
+            .register(registry);
+    }
+}
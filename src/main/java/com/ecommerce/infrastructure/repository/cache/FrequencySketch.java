@@ -0,0 +1,80 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+/**
+ * Frequency Sketch
+ * Approximate access counts for an unbounded key space in a fixed amount of memory
+ *
+ * Design Notes:
+ * - Count-min sketch: each key increments one 4-bit counter in each of four rows, and its frequency
+ *   is the smallest of the four, so collisions can only overestimate it
+ * - Counters saturate at 15; after ten increments per tracked entry every counter is halved, so
+ *   the sketch follows the recent popularity of keys rather than their all-time counts
+ * - Not thread-safe; each cache segment owns one and uses it under the segment lock
+ */
+final class FrequencySketch {
+
+    private static final int ROWS = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0xb6a7b3f1, 0x2f8a1b2d, 0xd1b54a33};
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int resetAfter;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+        this.counters = new byte[ROWS][width];
+        this.mask = width - 1;
+        this.resetAfter = Math.max(16, expectedEntries) * 10;
+    }
+
+    /**
+     * Record one access of key
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < ROWS; row++) {
+            int index = indexOf(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= resetAfter) {
+            halve();
+        }
+    }
+
+    /**
+     * Estimated recent accesses of key, between 0 and 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            frequency = Math.min(frequency, counters[row][indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 15);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import com.ecommerce.domain.BaseEntity;
+import com.ecommerce.domain.order.OrderItem;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Entity Codec
+ * Turns aggregate snapshots into journal and snapshot payloads and back
+ *
+ * Design Notes:
+ * - Reads and writes fields directly, the way JPA does, so entities need no extra accessors and
+ *   business methods are never run during replay
+ * - Transient bookkeeping (persisted version) and the item-to-order back reference are skipped;
+ *   the repository re-links and marks the decoded aggregate when it restores it
+ */
+final class EntityCodec {
+
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .addMixIn(BaseEntity.class, BaseEntityMixin.class)
+            .addMixIn(OrderItem.class, OrderItemMixin.class)
+            .build();
+
+    byte[] encode(BaseEntity entity) {
+        try {
+            return mapper.writeValueAsBytes(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode " + entity.getClass().getSimpleName() + " " + entity.getId(), e);
+        }
+    }
+
+    <T extends BaseEntity> T decode(byte[] payload, Class<T> type) {
+        return decode(payload, 0, payload.length, type);
+    }
+
+    <T extends BaseEntity> T decode(byte[] payload, int offset, int length, Class<T> type) {
+        try {
+            return mapper.readValue(payload, offset, length, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode " + type.getSimpleName() + " journal record", e);
+        }
+    }
+
+    @JsonIgnoreProperties({"persistedVersion"})
+    private abstract static class BaseEntityMixin {
+    }
+
+    @JsonIgnoreProperties({"order"})
+    private abstract static class OrderItemMixin {
+    }
+}
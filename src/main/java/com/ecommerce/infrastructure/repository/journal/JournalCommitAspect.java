@@ -0,0 +1,44 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Journal Commit Aspect
+ * Makes each @Transactional service call wait for its journal records once, when it returns
+ *
+ * Flow Notes:
+ * - Services take their aggregate locks inside the transactional method and release them before
+ *   it returns, so the wait happens after the locks are gone and callers that contend on the same
+ *   merchant or SKU still land in the same group commit
+ * - Nested transactional calls join the outermost one; a call that throws returns its failure
+ *   without waiting for the records it may have written
+ * - Does nothing when the journal is disabled
+ */
+@Aspect
+@Component
+public class JournalCommitAspect {
+
+    private final WriteAheadJournal journal;
+
+    public JournalCommitAspect(WriteAheadJournal journal) {
+        this.journal = journal;
+    }
+
+    @Around("@annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object commitAfterTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean opened = journal.openCommitScope();
+        boolean completed = false;
+        try {
+            Object result = joinPoint.proceed();
+            completed = true;
+            return result;
+        } finally {
+            if (opened) {
+                journal.closeCommitScope(completed);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import com.ecommerce.domain.BaseEntity;
+
+import java.util.function.Consumer;
+
+/**
+ * Journaled Table
+ * What the journal needs from an in-memory table to snapshot it and to rebuild it on startup
+ *
+ * Concurrency Notes:
+ * - forEachRow runs while writers keep going; it must hand out immutable rows, each seen either
+ *   before or after a concurrent change
+ * - restore and restoreRemoval are called from several threads at once while a snapshot is loaded,
+ *   and must accept rows that briefly break a unique constraint: the image may hold a row ahead of
+ *   the journal records replayed after it, and the replay makes the table consistent again
+ */
+public interface JournaledTable<T extends BaseEntity> {
+
+    /**
+     * Table name used in journal records and snapshots; ASCII, at most 127 characters
+     */
+    String name();
+
+    Class<T> type();
+
+    void forEachRow(Consumer<? super T> action);
+
+    /**
+     * Id the table will hand to its next new row
+     */
+    long nextId();
+
+    void restore(T row);
+
+    void restoreRemoval(long id);
+
+    /**
+     * Make sure ids below nextId are never handed out again, even those of rows deleted before the snapshot
+     */
+    void advanceIds(long nextId);
+}
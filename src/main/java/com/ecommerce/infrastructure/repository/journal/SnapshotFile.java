@@ -0,0 +1,282 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import com.ecommerce.domain.BaseEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot File
+ * Point-in-time image of every journaled table, written beside the journal segments
+ *
+ * Flow Notes:
+ * - Written after the journal was cut at a new segment: the image holds every change made before the
+ *   cut and possibly some made after it, which replaying the segments from the cut on repeats
+ *   harmlessly, since every record carries the whole row
+ * - Rows are grouped in chunks; the directory at the end of the file lists each table's chunks with
+ *   their offset and CRC32, so a restore maps the chunks and decodes them in parallel
+ * - Each chunk is mapped on its own, which keeps every mapping far below the 2 GB a single
+ *   MappedByteBuffer can address
+ *
+ * File Layout:
+ * - int magic, int format version, long first journal segment to replay after the image
+ * - chunks of rows, each row an int payload length and the payload
+ * - directory: int table count, then per table: short name length, name, long next id, int chunk count,
+ *   and per chunk: long offset, int length, int rows, int CRC32
+ * - footer: long directory offset, int magic
+ */
+final class SnapshotFile implements Closeable {
+
+    static final int MAGIC = 0x45435331; // "ECS1"
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int FOOTER_BYTES = 12;
+    private static final int CHUNK_ROWS = 16 * 1024;
+    private static final int CHUNK_BYTES = 8 * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long segment;
+    private final Map<String, TableImage> tables;
+
+    private SnapshotFile(Path file, FileChannel channel, long segment, Map<String, TableImage> tables) {
+        this.file = file;
+        this.channel = channel;
+        this.segment = segment;
+        this.tables = tables;
+    }
+
+    /**
+     * Write an image of tables to file and force it to disk; returns the number of rows written
+     */
+    static long write(Path file, long segment, Collection<? extends JournaledTable<?>> tables, EntityCodec codec)
+            throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT_VERSION).putLong(segment).flip());
+            ChunkWriter chunks = new ChunkWriter(out);
+            List<TableImage> directory = new ArrayList<>();
+            long rows = 0;
+            try {
+                for (JournaledTable<?> table : tables) {
+                    List<Chunk> tableChunks = new ArrayList<>();
+                    long[] tableRows = {0};
+                    table.forEachRow(row -> {
+                        chunks.add(codec.encode(row), tableChunks);
+                        tableRows[0]++;
+                    });
+                    chunks.flush(tableChunks);
+                    // Read after the rows, so it covers every id they use
+                    directory.add(new TableImage(table.name(), table.nextId(), tableChunks));
+                    rows += tableRows[0];
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long directoryOffset = out.position();
+            writeFully(out, encodeDirectory(directory));
+            writeFully(out, ByteBuffer.allocate(FOOTER_BYTES).putLong(directoryOffset).putInt(MAGIC).flip());
+            out.force(true);
+            return rows;
+        }
+    }
+
+    /**
+     * Map the header and directory of a snapshot; rows are loaded per table by restore
+     */
+    static SnapshotFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES) {
+                throw new IOException("Snapshot is truncated: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a snapshot file or unsupported format: " + file);
+            }
+            long segment = header.getLong();
+            MappedByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, size - FOOTER_BYTES, FOOTER_BYTES);
+            long directoryOffset = footer.getLong();
+            if (footer.getInt() != MAGIC || directoryOffset < HEADER_BYTES || directoryOffset > size - FOOTER_BYTES) {
+                throw new IOException("Snapshot is incomplete: " + file);
+            }
+            MappedByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset,
+                size - FOOTER_BYTES - directoryOffset);
+            return new SnapshotFile(file, channel, segment, decodeDirectory(directory, directoryOffset));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * First journal segment holding changes that may be missing from this image
+     */
+    long segment() {
+        return segment;
+    }
+
+    /**
+     * Load this image's rows for table, decoding its chunks in parallel; each table is loaded once
+     * Returns the number of rows restored
+     */
+    <T extends BaseEntity> long restore(JournaledTable<T> table, EntityCodec codec) {
+        TableImage image;
+        synchronized (tables) {
+            image = tables.remove(table.name());
+        }
+        if (image == null) {
+            return 0;
+        }
+        long rows = image.chunks().parallelStream()
+                .mapToLong(chunk -> restoreChunk(chunk, table, codec))
+                .sum();
+        table.advanceIds(image.nextId());
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private <T extends BaseEntity> int restoreChunk(Chunk chunk, JournaledTable<T> table, EntityCodec codec) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset(), chunk.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map snapshot " + file, e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != chunk.crc()) {
+            throw new UncheckedIOException(new IOException(
+                "Snapshot " + file + " has a corrupt chunk at offset " + chunk.offset()));
+        }
+        byte[] payload = new byte[1024];
+        for (int i = 0; i < chunk.rows(); i++) {
+            int length = buffer.getInt();
+            if (length > payload.length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            buffer.get(payload, 0, length);
+            table.restore(codec.decode(payload, 0, length, table.type()));
+        }
+        return chunk.rows();
+    }
+
+    private static ByteBuffer encodeDirectory(List<TableImage> directory) {
+        int size = Integer.BYTES;
+        for (TableImage image : directory) {
+            size += Short.BYTES + image.name().length() + Long.BYTES + Integer.BYTES
+                + image.chunks().size() * (Long.BYTES + 3 * Integer.BYTES);
+        }
+        ByteBuffer out = ByteBuffer.allocate(size).putInt(directory.size());
+        for (TableImage image : directory) {
+            byte[] name = image.name().getBytes(StandardCharsets.US_ASCII);
+            out.putShort((short) name.length).put(name).putLong(image.nextId()).putInt(image.chunks().size());
+            for (Chunk chunk : image.chunks()) {
+                out.putLong(chunk.offset()).putInt(chunk.length()).putInt(chunk.rows()).putInt(chunk.crc());
+            }
+        }
+        return out.flip();
+    }
+
+    private static Map<String, TableImage> decodeDirectory(ByteBuffer in, long directoryOffset) throws IOException {
+        try {
+            Map<String, TableImage> tables = new HashMap<>();
+            int count = in.getInt();
+            for (int t = 0; t < count; t++) {
+                byte[] name = new byte[in.getShort()];
+                in.get(name);
+                long nextId = in.getLong();
+                int chunkCount = in.getInt();
+                List<Chunk> chunks = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    Chunk chunk = new Chunk(in.getLong(), in.getInt(), in.getInt(), in.getInt());
+                    if (chunk.offset() < HEADER_BYTES || chunk.offset() + chunk.length() > directoryOffset) {
+                        throw new IOException("Snapshot chunk lies outside the row area");
+                    }
+                    chunks.add(chunk);
+                }
+                String table = new String(name, StandardCharsets.US_ASCII);
+                tables.put(table, new TableImage(table, nextId, chunks));
+            }
+            return tables;
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot directory is corrupt", e);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Collects encoded rows into a chunk and writes it once full
+     */
+    private static final class ChunkWriter {
+        private final FileChannel out;
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+        private int rows;
+
+        ChunkWriter(FileChannel out) {
+            this.out = out;
+        }
+
+        void add(byte[] payload, List<Chunk> chunks) {
+            int needed = Integer.BYTES + payload.length;
+            if (rows > 0 && (rows >= CHUNK_ROWS || buffer.position() + needed > CHUNK_BYTES)) {
+                flush(chunks);
+            }
+            if (buffer.remaining() < needed) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+                larger.put(buffer.flip());
+                buffer = larger;
+            }
+            buffer.putInt(payload.length).put(payload);
+            rows++;
+        }
+
+        void flush(List<Chunk> chunks) {
+            if (rows == 0) {
+                return;
+            }
+            buffer.flip();
+            crc.reset();
+            crc.update(buffer.duplicate());
+            try {
+                chunks.add(new Chunk(out.position(), buffer.remaining(), rows, (int) crc.getValue()));
+                writeFully(out, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+            rows = 0;
+        }
+    }
+
+    private record TableImage(String name, long nextId, List<Chunk> chunks) {
+    }
+
+    private record Chunk(long offset, int length, int rows, int crc) {
+    }
+}
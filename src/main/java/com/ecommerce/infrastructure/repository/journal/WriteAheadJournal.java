@@ -0,0 +1,727 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.domain.BaseEntity;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-Ahead Journal
+ * Append-only binary log of every save and delete made by the in-memory repositories
+ *
+ * Flow Notes:
+ * - A repository appends the record while it still holds the row, so records of one row reach the
+ *   file in the order they were applied; the caller then waits for durability outside the row
+ * - A single writer thread drains pending records and commits them with one write and one fsync;
+ *   after taking the first record it keeps the batch open for the commit window so concurrent
+ *   saves share the fsync (group commit)
+ * - Inside a commit scope (a @Transactional service call, see JournalCommitAspect) saves don't wait
+ *   one by one; the scope waits once for its last record when it ends, after the service has released
+ *   its aggregate locks, so purchases contending on a lock still share fsyncs. Records commit in
+ *   order, so a later call that saw this call's changes cannot become durable before them
+ * - With wait-for-fsync off, saves return once their record is queued; a crash then loses at most
+ *   the records of the last commit window
+ * - On startup the segments are read once and each repository replays its table before seeding demo
+ *   data; a torn record at the tail of the last segment (crash mid-write) is cut off and everything
+ *   before it is kept
+ *
+ * Snapshot Notes:
+ * - The journal is a sequence of numbered segment files; snapshot() cuts it by starting a new segment,
+ *   then writes an image of every attached table (see SnapshotFile) while writers keep going
+ * - The cut waits for changes already appending to finish applying, so every change missing from the
+ *   image is in a segment from the cut on; once the image is renamed into place the older segments
+ *   and snapshots are deleted, so startup cost follows table size rather than history
+ * - Startup maps the newest snapshot, loads each table from it in parallel, then replays the
+ *   segments written since its cut
+ *
+ * Record Layout:
+ * - each segment starts with int magic and int format version, followed by records:
+ * - int body length, int CRC32 of the body, then the body:
+ *   byte operation, byte table name length, table name, long entity id, entity payload (saves only)
+ */
+@Component
+public class WriteAheadJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadJournal.class);
+
+    static final int MAGIC = 0x45434A31; // "ECJ1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final byte OP_SAVE = 1;
+    static final byte OP_DELETE = 2;
+
+    private static final byte OP_ROLL = 3;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.wal");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.snap");
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int RECORD_PREFIX_BYTES = 8;
+    private static final int MAX_BATCH_RECORDS = 4096;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+    private static final long IDLE_POLL_MS = 100;
+
+    private final EntityCodec codec = new EntityCodec();
+    private final Path directory;
+    private final long commitWindowNanos;
+    private final boolean waitForFsync;
+    private final LinkedBlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong committedRecords = new AtomicLong();
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final Map<String, List<JournalEntry>> recovered = new HashMap<>();
+    private final Map<String, JournaledTable<?>> tables = new LinkedHashMap<>();
+    private final ThreadLocal<CommitScope> commitScope = new ThreadLocal<>();
+    // Changes hold it shared while they apply and append; a snapshot cut takes it exclusively
+    private final StampedLock cutGate = new StampedLock();
+    private final Thread writer;
+    // Owned by the writer thread once it runs
+    private FileChannel channel;
+    private Path file;
+    private long segment;
+    private SnapshotFile restoredSnapshot;
+    private volatile long snapshotCutRecords;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    @Autowired
+    public WriteAheadJournal(@Value("${ecommerce.repository.journal.enabled:false}") boolean enabled,
+                             @Value("${ecommerce.repository.journal.directory:data/journal}") String directory,
+                             @Value("${ecommerce.repository.journal.commit-window-ms:2}") long commitWindowMillis,
+                             @Value("${ecommerce.repository.journal.wait-for-fsync:true}") boolean waitForFsync) {
+        this(enabled ? Path.of(directory) : null, TimeUnit.MILLISECONDS.toMicros(commitWindowMillis), waitForFsync);
+    }
+
+    /**
+     * @param directory           journal directory, or null for a disabled journal
+     * @param commitWindowMicros  how long a batch stays open for more records after its first one
+     * @param waitForFsync        whether appenders wait until their record is on disk
+     */
+    public WriteAheadJournal(Path directory, long commitWindowMicros, boolean waitForFsync) {
+        if (commitWindowMicros < 0) {
+            throw new IllegalArgumentException("Commit window must not be negative");
+        }
+        this.commitWindowNanos = TimeUnit.MICROSECONDS.toNanos(commitWindowMicros);
+        this.waitForFsync = waitForFsync;
+        this.directory = directory;
+        if (directory == null) {
+            this.writer = null;
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+        this.running = true;
+        this.writer = new Thread(this::runWriter, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        logger.info("Journal opened at {} (commit window {}us, wait for fsync {})",
+            file, commitWindowMicros, waitForFsync);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Encode an entity snapshot; done before taking the row so the row is held only for the append
+     */
+    public byte[] encode(BaseEntity snapshot) {
+        return codec.encode(snapshot);
+    }
+
+    /**
+     * Queue a save record; the future completes once the record is committed
+     */
+    public CompletableFuture<Void> appendSave(String table, long id, byte[] payload) {
+        return append(new PendingRecord(OP_SAVE, table, id, payload));
+    }
+
+    /**
+     * Queue a delete record; the future completes once the record is committed
+     */
+    public CompletableFuture<Void> appendDelete(String table, long id) {
+        return append(new PendingRecord(OP_DELETE, table, id, null));
+    }
+
+    /**
+     * Apply a change that appends its record while it runs
+     * A snapshot cut waits for changes in flight, so each change lands wholly before or after the cut
+     */
+    public <R> R applyChange(Supplier<R> change) {
+        long stamp = cutGate.readLock();
+        try {
+            return change.get();
+        } finally {
+            cutGate.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Block until the record is durable, unless the journal is configured not to wait
+     */
+    public void awaitDurable(CompletableFuture<Void> commit) {
+        if (!waitForFsync || commit == null) {
+            return;
+        }
+        CommitScope scope = commitScope.get();
+        if (scope != null) {
+            scope.last = commit;
+            return;
+        }
+        await(commit);
+    }
+
+    /**
+     * Defer this thread's durability waits until the matching closeCommitScope
+     * Returns whether this call opened the scope; nested calls join the outer scope
+     */
+    public boolean openCommitScope() {
+        if (!isEnabled() || commitScope.get() != null) {
+            return false;
+        }
+        commitScope.set(new CommitScope());
+        return true;
+    }
+
+    /**
+     * End the scope opened by this thread, waiting for its records when awaitRecords is set
+     * A scope whose work failed is closed without waiting, so the original failure is what surfaces
+     */
+    public void closeCommitScope(boolean awaitRecords) {
+        CommitScope scope = commitScope.get();
+        commitScope.remove();
+        if (awaitRecords && scope != null && scope.last != null) {
+            await(scope.last);
+        }
+    }
+
+    /**
+     * Run work in a commit scope and wait for its records before returning
+     */
+    public <T> T inCommitScope(Supplier<T> work) {
+        boolean opened = openCommitScope();
+        boolean completed = false;
+        try {
+            T result = work.get();
+            completed = true;
+            return result;
+        } finally {
+            if (opened) {
+                closeCommitScope(completed);
+            }
+        }
+    }
+
+    private void await(CompletableFuture<Void> commit) {
+        try {
+            commit.get();
+        } catch (ExecutionException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR,
+                "Change applied in memory but not journaled: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Interrupted while waiting for journal commit", e);
+        }
+    }
+
+    /**
+     * Hand the recovered records of one table to its repository, in file order
+     * Returns the number of records replayed; each table can be replayed once
+     */
+    public <T extends BaseEntity> int replay(String table, Class<T> type, Consumer<T> onSave, LongConsumer onDelete) {
+        List<JournalEntry> records;
+        synchronized (recovered) {
+            records = recovered.remove(table);
+        }
+        if (records == null) {
+            return 0;
+        }
+        for (JournalEntry entry : records) {
+            if (entry.operation() == OP_SAVE) {
+                onSave.accept(codec.decode(entry.payload(), type));
+            } else {
+                onDelete.accept(entry.id());
+            }
+        }
+        logger.info("Replayed {} journal records for {}", records.size(), table);
+        return records.size();
+    }
+
+    /**
+     * Rebuild table from the newest snapshot and the journal records after it, then include it in
+     * later snapshots; returns the number of rows and records restored
+     */
+    public <T extends BaseEntity> long attach(JournaledTable<T> table) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long restored = 0;
+        synchronized (tables) {
+            if (tables.putIfAbsent(table.name(), table) != null) {
+                throw new IllegalStateException("Table " + table.name() + " is already attached");
+            }
+            if (restoredSnapshot != null) {
+                long start = System.nanoTime();
+                restored = restoredSnapshot.restore(table, codec);
+                logger.info("Restored {} {} rows from snapshot in {} ms", restored, table.name(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+        return restored + replay(table.name(), table.type(), table::restore, table::restoreRemoval);
+    }
+
+    /**
+     * Write an image of every attached table and drop the journal segments it replaces
+     * Writers are held only for the cut, not while the image is written; returns the rows written
+     */
+    public synchronized long snapshot() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Snapshots need an enabled journal");
+        }
+        long start = System.nanoTime();
+        long cutRecords = committedRecords.get();
+        long cut = cut();
+        List<JournaledTable<?>> attached;
+        synchronized (tables) {
+            attached = new ArrayList<>(tables.values());
+        }
+        Path target = snapshotFile(directory, cut);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            long rows = SnapshotFile.write(temp, cut, attached, codec);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            deleteBefore(cut);
+            snapshotCutRecords = cutRecords;
+            logger.info("Snapshot of {} rows written to {} in {} ms", rows, target,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        }
+    }
+
+    /**
+     * Records committed since the last snapshot was cut
+     */
+    public long getRecordsSinceSnapshot() {
+        return committedRecords.get() - snapshotCutRecords;
+    }
+
+    public long getCommittedRecords() {
+        return committedRecords.get();
+    }
+
+    public long getCommittedBatches() {
+        return committedBatches.get();
+    }
+
+    /**
+     * Commit everything already queued, then close the file
+     */
+    @PreDestroy
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeQuietly();
+        failPending(new IOException("Journal closed"));
+        logger.info("Journal closed after {} records in {} commits", committedRecords.get(), committedBatches.get());
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (restoredSnapshot != null) {
+                restoredSnapshot.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close journal {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Start a new segment once every change already appending has applied; returns its number
+     */
+    private long cut() {
+        PendingRecord marker;
+        long stamp = cutGate.writeLock();
+        try {
+            marker = new PendingRecord(OP_ROLL, null, segment + 1, null);
+            append(marker);
+        } finally {
+            cutGate.unlockWrite(stamp);
+        }
+        try {
+            marker.commit.get();
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException("Cannot start a new journal segment",
+                e.getCause() instanceof IOException io ? io : new IOException(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while cutting the journal", e);
+        }
+        return marker.id;
+    }
+
+    private CompletableFuture<Void> append(PendingRecord record) {
+        // Never throws: callers append while holding a row, so failures surface through the future
+        if (!running) {
+            return CompletableFuture.failedFuture(failure != null ? failure : new IOException("Journal is not open"));
+        }
+        queue.offer(record);
+        if (!running && queue.remove(record)) {
+            // Closed while offering; the writer may already have exited
+            record.commit.completeExceptionally(failure != null ? failure : new IOException("Journal closed"));
+        }
+        return record.commit;
+    }
+
+    private void runWriter() {
+        List<PendingRecord> batch = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                buffer = commit(batch, buffer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException e) {
+                logger.error("Journal write to {} failed, rejecting further changes: {}", file, e.getMessage());
+                failure = e;
+                running = false;
+                batch.forEach(record -> record.commit.completeExceptionally(e));
+                failPending(e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void collectBatch(List<PendingRecord> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + commitWindowNanos;
+        while (batch.size() < MAX_BATCH_RECORDS) {
+            queue.drainTo(batch, MAX_BATCH_RECORDS - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || batch.size() >= MAX_BATCH_RECORDS) {
+                return;
+            }
+            PendingRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private ByteBuffer commit(List<PendingRecord> batch, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        CRC32 crc = new CRC32();
+        for (PendingRecord record : batch) {
+            if (record.operation == OP_ROLL) {
+                write(buffer);
+                openSegment(record.id);
+                buffer.clear();
+                continue;
+            }
+            byte[] body = record.body();
+            if (buffer.remaining() < RECORD_PREFIX_BYTES + body.length) {
+                buffer = grow(buffer, RECORD_PREFIX_BYTES + body.length);
+            }
+            crc.reset();
+            crc.update(body);
+            buffer.putInt(body.length).putInt((int) crc.getValue()).put(body);
+        }
+        write(buffer);
+        committedRecords.addAndGet(batch.stream().filter(record -> record.operation != OP_ROLL).count());
+        committedBatches.incrementAndGet();
+        batch.forEach(record -> record.commit.complete(null));
+        return buffer;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Close the current segment and continue in a new, empty one
+     */
+    private void openSegment(long number) throws IOException {
+        Path next = segmentFile(directory, number);
+        FileChannel opened = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            opened.write(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT_VERSION).flip());
+            opened.force(true);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        forceDirectory();
+        channel = opened;
+        file = next;
+        segment = number;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private void failPending(IOException cause) {
+        PendingRecord record;
+        while ((record = queue.poll()) != null) {
+            record.commit.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Open the newest snapshot, read the intact records of the segments after its cut, cut off a torn
+     * tail and position the last segment for appending
+     */
+    private void recover() throws IOException {
+        TreeMap<Long, Path> snapshots = list(SNAPSHOT_NAME);
+        long firstSegment = 1;
+        if (!snapshots.isEmpty()) {
+            restoredSnapshot = SnapshotFile.open(snapshots.lastEntry().getValue());
+            firstSegment = restoredSnapshot.segment();
+            logger.info("Found snapshot {} covering segments before {}", snapshots.lastEntry().getValue(), firstSegment);
+        }
+        deleteBefore(firstSegment);
+        TreeMap<Long, Path> segments = list(SEGMENT_NAME);
+        if (segments.isEmpty()) {
+            openSegment(firstSegment);
+            return;
+        }
+        int count = 0;
+        long last = segments.lastKey();
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            count += recoverSegment(entry.getValue(), entry.getKey() == last);
+        }
+        file = segments.lastEntry().getValue();
+        segment = last;
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        logger.info("Recovered {} journal records from {} segments in {}", count, segments.size(), directory);
+    }
+
+    private int recoverSegment(Path segmentFile, boolean last) throws IOException {
+        long size = Files.size(segmentFile);
+        if (last && size == 0) {
+            // Crashed between creating the segment and writing its header
+            Files.write(segmentFile, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT_VERSION).array());
+            return 0;
+        }
+        long validEnd = HEADER_BYTES;
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentFile), 1 << 16))) {
+            if (size < HEADER_BYTES || in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a journal segment or unsupported format: " + segmentFile);
+            }
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES || validEnd + RECORD_PREFIX_BYTES + length > size) {
+                    break;
+                }
+                int checksum = in.readInt();
+                byte[] body = new byte[length];
+                in.readFully(body);
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                JournalEntry entry = JournalEntry.parse(body);
+                recovered.computeIfAbsent(entry.table(), table -> new ArrayList<>()).add(entry);
+                validEnd += RECORD_PREFIX_BYTES + length;
+                count++;
+            }
+        }
+        if (validEnd < size) {
+            if (!last) {
+                // Later segments were written after this one was complete, so this is not a torn write
+                throw new IOException("Journal segment " + segmentFile + " is corrupt at byte " + validEnd);
+            }
+            logger.warn("Journal {} has a torn tail: keeping {} of {} bytes", segmentFile, validEnd, size);
+            try (FileChannel truncate = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+                truncate.truncate(validEnd);
+                truncate.force(true);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Delete segments and snapshots older than segment number first, and unfinished snapshot files
+     */
+    private void deleteBefore(long first) throws IOException {
+        for (Map.Entry<Long, Path> entry : list(SEGMENT_NAME).headMap(first).entrySet()) {
+            Files.deleteIfExists(entry.getValue());
+        }
+        for (Map.Entry<Long, Path> entry : list(SNAPSHOT_NAME).headMap(first).entrySet()) {
+            Files.deleteIfExists(entry.getValue());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path temp : files.filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX)).toList()) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                Matcher matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    // Make a created, renamed or deleted file survive a crash of the machine
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            logger.debug("Cannot sync journal directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    static Path segmentFile(Path directory, long number) {
+        return directory.resolve(String.format("journal-%020d.wal", number));
+    }
+
+    static Path snapshotFile(Path directory, long segment) {
+        return directory.resolve(String.format("snapshot-%020d.snap", segment));
+    }
+
+    /**
+     * Durability waits deferred by one thread; records commit in order, so the last one covers all
+     */
+    private static final class CommitScope {
+        CompletableFuture<Void> last;
+    }
+
+    /**
+     * A record waiting for the writer, with the future its appender waits on
+     */
+    private static final class PendingRecord {
+        final byte operation;
+        final String table;
+        final long id;
+        final byte[] payload;
+        final CompletableFuture<Void> commit = new CompletableFuture<>();
+
+        PendingRecord(byte operation, String table, long id, byte[] payload) {
+            this.operation = operation;
+            this.table = table;
+            this.id = id;
+            this.payload = payload;
+        }
+
+        byte[] body() {
+            byte[] tableBytes = table.getBytes(StandardCharsets.US_ASCII);
+            int payloadLength = payload != null ? payload.length : 0;
+            ByteBuffer body = ByteBuffer.allocate(2 + tableBytes.length + Long.BYTES + payloadLength);
+            body.put(operation).put((byte) tableBytes.length).put(tableBytes).putLong(id);
+            if (payload != null) {
+                body.put(payload);
+            }
+            return body.array();
+        }
+    }
+
+    /**
+     * A record read back from the file
+     */
+    private record JournalEntry(byte operation, String table, long id, byte[] payload) {
+
+        static JournalEntry parse(byte[] body) throws IOException {
+            ByteBuffer in = ByteBuffer.wrap(body);
+            byte operation = in.get();
+            if (operation != OP_SAVE && operation != OP_DELETE) {
+                throw new IOException("Unknown journal operation " + operation);
+            }
+            byte[] table = new byte[in.get()];
+            in.get(table);
+            long id = in.getLong();
+            byte[] payload = new byte[in.remaining()];
+            in.get(payload);
+            return new JournalEntry(operation, new String(table, StandardCharsets.US_ASCII), id, payload);
+        }
+    }
+}
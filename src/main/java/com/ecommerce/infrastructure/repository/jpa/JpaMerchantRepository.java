@@ -0,0 +1,81 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.merchant.Merchant;
+import com.ecommerce.domain.merchant.MerchantStatus;
+import com.ecommerce.infrastructure.repository.MerchantRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA Merchant Repository Implementation
+ * Backs the Merchant aggregate with the merchants table
+ */
+@Repository
+@Profile("mysql")
+public class JpaMerchantRepository implements MerchantRepository {
+
+    private final SpringDataMerchantRepository merchants;
+
+    public JpaMerchantRepository(SpringDataMerchantRepository merchants) {
+        this.merchants = merchants;
+    }
+
+    @Override
+    public Merchant save(Merchant merchant) {
+        return OptimisticLocks.translate(() -> merchants.saveAndFlush(merchant));
+    }
+
+    @Override
+    public List<Merchant> saveAll(Collection<Merchant> merchants) {
+        return OptimisticLocks.translate(() -> this.merchants.saveAllAndFlush(merchants));
+    }
+
+    @Override
+    public Optional<Merchant> findById(Long id) {
+        return id != null ? merchants.findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<Merchant> findAllByIds(Collection<Long> ids) {
+        return merchants.findAllById(ids);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && merchants.existsById(id);
+    }
+
+    @Override
+    public Optional<Merchant> findByBusinessLicense(String businessLicense) {
+        return merchants.findByBusinessLicense(businessLicense);
+    }
+
+    @Override
+    public Optional<Merchant> findByContactEmail(String contactEmail) {
+        return merchants.findByContactEmail(contactEmail);
+    }
+
+    @Override
+    public boolean existsByBusinessLicense(String businessLicense) {
+        return merchants.existsByBusinessLicense(businessLicense);
+    }
+
+    @Override
+    public boolean existsByContactEmail(String contactEmail) {
+        return merchants.existsByContactEmail(contactEmail);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        merchants.deleteById(id);
+    }
+
+    @Override
+    public List<Merchant> findAllActive() {
+        return merchants.findByStatus(MerchantStatus.ACTIVE);
+    }
+}
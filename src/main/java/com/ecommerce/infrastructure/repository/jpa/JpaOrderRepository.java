@@ -0,0 +1,101 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA Order Repository Implementation
+ * Backs the Order aggregate with the orders and order_items tables
+ *
+ * Performance Notes:
+ * - Every read returning orders fetch-joins their items, so the cancel path (by order number) and
+ *   the merchant range queries cost one query however many orders and items they return,
+ *   instead of one more query per order (N+1)
+ * - Settlement totals are a grouped count and sum computed by the database; no order is loaded
+ * - New orders and their items are inserted in JDBC batches at flush, see the mysql profile's
+ *   hibernate.jdbc settings
+ */
+@Repository
+@Profile("mysql")
+public class JpaOrderRepository implements OrderRepository {
+
+    private final SpringDataOrderRepository orders;
+
+    public JpaOrderRepository(SpringDataOrderRepository orders) {
+        this.orders = orders;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return OptimisticLocks.translate(() -> orders.saveAndFlush(order));
+    }
+
+    @Override
+    public List<Order> saveAll(Collection<Order> orders) {
+        return OptimisticLocks.translate(() -> this.orders.saveAllAndFlush(orders));
+    }
+
+    @Override
+    public Optional<Order> findById(Long id) {
+        return id != null ? orders.findWithItemsById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<Order> findAllByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? new ArrayList<>() : orders.findWithItemsByIdIn(ids);
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(String orderNumber) {
+        return orders.findWithItemsByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public boolean existsByOrderNumber(String orderNumber) {
+        return orders.existsByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public List<Order> findByMerchantIdAndOrderTimeBetween(Long merchantId, LocalDateTime start, LocalDateTime end) {
+        if (merchantId == null) {
+            return new ArrayList<>();
+        }
+        return orders.findWithItemsByMerchantIdAndOrderTimeBetween(merchantId, start, end);
+    }
+
+    @Override
+    public List<Order> findByMerchantIdAndStatusAndOrderTimeBetween(Long merchantId, OrderStatus status, LocalDateTime start, LocalDateTime end) {
+        if (merchantId == null || status == null) {
+            return new ArrayList<>();
+        }
+        return orders.findWithItemsByMerchantIdAndStatusAndOrderTimeBetween(merchantId, status, start, end);
+    }
+
+    @Override
+    public OrderTotals sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(Long merchantId, OrderStatus status, LocalDateTime start, LocalDateTime end) {
+        OrderTotals totals = OrderTotals.none();
+        if (merchantId == null || status == null) {
+            return totals;
+        }
+        for (SpringDataOrderRepository.CurrencyTotal total : orders.sumTotalAmountByCurrency(merchantId, status, start, end)) {
+            totals = totals.add(total.getOrders(), Money.of(total.getAmount(), total.getCurrency()));
+        }
+        return totals;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        orders.deleteById(id);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA Product Repository Implementation
+ * Backs the Product aggregate with the products table
+ */
+@Repository
+@Profile("mysql")
+public class JpaProductRepository implements ProductRepository {
+
+    private final SpringDataProductRepository products;
+
+    public JpaProductRepository(SpringDataProductRepository products) {
+        this.products = products;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return OptimisticLocks.translate(() -> products.saveAndFlush(product));
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        return OptimisticLocks.translate(() -> this.products.saveAllAndFlush(products));
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return id != null ? products.findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        return products.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return products.findBySku(sku);
+    }
+
+    @Override
+    public List<Product> findAllBySkus(Collection<String> skus) {
+        return skus.isEmpty() ? new ArrayList<>() : products.findBySkuIn(skus);
+    }
+
+    @Override
+    public List<Product> findByMerchantId(Long merchantId) {
+        return products.findByMerchantId(merchantId);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return products.findAll();
+    }
+
+    @Override
+    public boolean existsBySku(String sku) {
+        return products.existsBySku(sku);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        products.deleteById(id);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.settlement.Settlement;
+import com.ecommerce.infrastructure.repository.SettlementRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA Settlement Repository Implementation
+ * Backs settlements with the settlements table
+ */
+@Repository
+@Profile("mysql")
+public class JpaSettlementRepository implements SettlementRepository {
+
+    private final SpringDataSettlementRepository settlements;
+
+    public JpaSettlementRepository(SpringDataSettlementRepository settlements) {
+        this.settlements = settlements;
+    }
+
+    @Override
+    public Settlement save(Settlement settlement) {
+        return OptimisticLocks.translate(() -> settlements.saveAndFlush(settlement));
+    }
+
+    @Override
+    public List<Settlement> saveAll(Collection<Settlement> settlements) {
+        return OptimisticLocks.translate(() -> this.settlements.saveAllAndFlush(settlements));
+    }
+
+    @Override
+    public Optional<Settlement> findById(Long id) {
+        return id != null ? settlements.findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<Settlement> findAllByIds(Collection<Long> ids) {
+        return settlements.findAllById(ids);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        settlements.deleteById(id);
+    }
+}
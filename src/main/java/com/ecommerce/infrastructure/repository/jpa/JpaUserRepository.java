@@ -0,0 +1,90 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * JPA User Repository Implementation
+ * Backs the User aggregate with the users table
+ *
+ * Performance Notes:
+ * - Phone and email lookups use the unique indexes on those columns
+ * - getAllUserIds reads only the id column instead of loading every user
+ */
+@Repository
+@Profile("mysql")
+public class JpaUserRepository implements UserRepository {
+
+    private final SpringDataUserRepository users;
+
+    public JpaUserRepository(SpringDataUserRepository users) {
+        this.users = users;
+    }
+
+    @Override
+    public User save(User user) {
+        return OptimisticLocks.translate(() -> users.saveAndFlush(user));
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        return OptimisticLocks.translate(() -> this.users.saveAllAndFlush(users));
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return id != null ? users.findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return users.findAllById(ids);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && users.existsById(id);
+    }
+
+    @Override
+    public Optional<User> findByPhone(String phone) {
+        return users.findByPhone(phone);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return users.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByPhone(String phone) {
+        return users.existsByPhone(phone);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return users.existsByEmail(email);
+    }
+
+    @Override
+    public Set<Long> getAllUserIds() {
+        return users.findAllIds();
+    }
+
+    @Override
+    public int count() {
+        return Math.toIntExact(users.count());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        users.deleteById(id);
+    }
+}
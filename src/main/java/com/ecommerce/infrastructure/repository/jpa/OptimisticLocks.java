@@ -0,0 +1,30 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.VersionConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.function.Supplier;
+
+/**
+ * Optimistic Locks
+ * Reports stale versions found by Hibernate as VersionConflictException, like the in-memory store does
+ *
+ * Design Notes:
+ * - Hibernate checks versions when it flushes, which by default is at commit, after the service's
+ *   retry scope has returned; the adapters save with saveAndFlush so a conflict surfaces inside
+ *   the attempt, where OptimisticRetryExecutor can retry it
+ * - Stale versions found while merging a detached entity are translated the same way
+ */
+final class OptimisticLocks {
+
+    private OptimisticLocks() {
+    }
+
+    static <T> T translate(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Concurrent modification detected: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.merchant.Merchant;
+import com.ecommerce.domain.merchant.MerchantStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data repository behind JpaMerchantRepository
+ */
+interface SpringDataMerchantRepository extends JpaRepository<Merchant, Long> {
+
+    Optional<Merchant> findByBusinessLicense(String businessLicense);
+
+    Optional<Merchant> findByContactEmail(String contactEmail);
+
+    boolean existsByBusinessLicense(String businessLicense);
+
+    boolean existsByContactEmail(String contactEmail);
+
+    List<Merchant> findByStatus(MerchantStatus status);
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data repository behind JpaOrderRepository
+ * Queries returning whole orders fetch-join their items, so reading the items costs no extra query per order
+ */
+interface SpringDataOrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("select o from Order o left join fetch o.items where o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    @Query("select o from Order o left join fetch o.items where o.orderNumber = :orderNumber")
+    Optional<Order> findWithItemsByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query("select distinct o from Order o left join fetch o.items where o.id in :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    boolean existsByOrderNumber(String orderNumber);
+
+    @Query("select distinct o from Order o left join fetch o.items "
+         + "where o.merchantId = :merchantId and o.orderTime between :start and :end "
+         + "order by o.orderTime, o.id")
+    List<Order> findWithItemsByMerchantIdAndOrderTimeBetween(@Param("merchantId") Long merchantId,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
+
+    @Query("select distinct o from Order o left join fetch o.items "
+         + "where o.merchantId = :merchantId and o.status = :status and o.orderTime between :start and :end "
+         + "order by o.orderTime, o.id")
+    List<Order> findWithItemsByMerchantIdAndStatusAndOrderTimeBetween(@Param("merchantId") Long merchantId,
+                                                                      @Param("status") OrderStatus status,
+                                                                      @Param("start") LocalDateTime start,
+                                                                      @Param("end") LocalDateTime end);
+
+    @Query("select o.totalAmount.currency as currency, count(o) as orders, sum(o.totalAmount.amount) as amount "
+         + "from Order o "
+         + "where o.merchantId = :merchantId and o.status = :status and o.orderTime between :start and :end "
+         + "and o.totalAmount.currency is not null "
+         + "group by o.totalAmount.currency")
+    List<CurrencyTotal> sumTotalAmountByCurrency(@Param("merchantId") Long merchantId,
+                                                 @Param("status") OrderStatus status,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+
+    /**
+     * Order count and amount sum of one currency
+     */
+    interface CurrencyTotal {
+        String getCurrency();
+
+        Long getOrders();
+
+        BigDecimal getAmount();
+    }
+}
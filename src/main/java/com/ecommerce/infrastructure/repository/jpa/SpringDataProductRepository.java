@@ -0,0 +1,22 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.product.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data repository behind JpaProductRepository
+ */
+interface SpringDataProductRepository extends JpaRepository<Product, Long> {
+
+    Optional<Product> findBySku(String sku);
+
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    List<Product> findByMerchantId(Long merchantId);
+
+    boolean existsBySku(String sku);
+}
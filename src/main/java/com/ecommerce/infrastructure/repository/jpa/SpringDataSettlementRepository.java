@@ -0,0 +1,10 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.settlement.Settlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Spring Data repository behind JpaSettlementRepository
+ */
+interface SpringDataSettlementRepository extends JpaRepository<Settlement, Long> {
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.user.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Spring Data repository behind JpaUserRepository
+ */
+interface SpringDataUserRepository extends JpaRepository<User, Long> {
+
+    Optional<User> findByPhone(String phone);
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByPhone(String phone);
+
+    boolean existsByEmail(String email);
+
+    @Query("select u.id from User u")
+    Set<Long> findAllIds();
+}
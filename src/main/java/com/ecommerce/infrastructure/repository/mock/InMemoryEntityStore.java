@@ -0,0 +1,573 @@
+package com.ecommerce.infrastructure.repository.mock;
+
+import com.ecommerce.domain.BaseEntity;
+import com.ecommerce.domain.VersionConflictException;
+import com.ecommerce.infrastructure.collection.ConcurrentLongObjectMap;
+import com.ecommerce.infrastructure.repository.journal.JournaledTable;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-Memory Entity Store
+ * Backing storage shared by the mock repositories
+ *
+ * Behaves like a database row store rather than a shared object pool:
+ * - Entities are stored as snapshots and every read returns a detached copy
+ * - Saving an entity that was loaded from the store is a compare-and-set on its version;
+ *   if another writer saved first, a VersionConflictException is thrown and nothing is written
+ * - Entities that never came from the store (persisted version is null) are written unconditionally
+ * - Rows are kept in a primitive long-keyed map: no boxed ID or map node per row
+ *
+ * Concurrency Notes:
+ * - Secondary indexes are updated inside the primary map's compute for the row, so a row and its
+ *   index entries change together and there is no store-wide lock
+ * - That compute holds the monitor of the row's segment, one of 64 lock stripes of the primary map,
+ *   while the version check, the index updates and the journal append run; writers of different rows
+ *   in the same segment wait for each other, and on index keys they share
+ * - Locks are always taken primary row first, index key second, so writers cannot deadlock
+ * - Index reads re-check the key against the row they resolve to, so a reader racing a write sees
+ *   either the old or the new state, never a row filed under a key it no longer has
+ * - A unique index claims a row's new keys before anything else changes; if another row holds one of
+ *   them, the claims made so far are undone and the save throws, leaving row and indexes untouched
+ * - With a journal attached, every applied save and delete is appended while the row is still held,
+ *   and the caller waits for the group commit after releasing it
+ * - Journal snapshots read the stored rows without locking; rows are immutable snapshots, so each one
+ *   is seen whole, either before or after a concurrent save
+ */
+final class InMemoryEntityStore<T extends BaseEntity> {
+
+    private final ConcurrentLongObjectMap<T> storage = new ConcurrentLongObjectMap<>();
+    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final List<RowIndex<T, ?>> indexes = new CopyOnWriteArrayList<>();
+    // Set once by attachJournal, before the owning repository is shared
+    private WriteAheadJournal journal;
+    private String table;
+
+    /**
+     * Rebuild this store from the journal's snapshot and records for table, then journal every later change
+     * Returns the number of rows and records restored; a null or disabled journal leaves the store in memory only
+     */
+    long attachJournal(WriteAheadJournal journal, String table, Class<T> type) {
+        if (journal == null || !journal.isEnabled()) {
+            return 0;
+        }
+        if (!storage.isEmpty() || this.journal != null) {
+            throw new IllegalStateException("A journal must be attached to an empty store, once");
+        }
+        long restored = journal.attach(new Binding(table, type));
+        this.journal = journal;
+        this.table = table;
+        return restored;
+    }
+
+    /**
+     * Register a secondary index on the key extracted from each row
+     * Rows with a null key are not indexed; register indexes before the first save
+     */
+    <K> Index<T, K> addIndex(Function<? super T, ? extends K> keyExtractor) {
+        return register(new Index<>(this, keyExtractor, null));
+    }
+
+    /**
+     * Register a secondary index that allows at most one row per key
+     * Saving a row whose key is held by another row throws the exception built by duplicateError
+     */
+    <K> Index<T, K> addUniqueIndex(Function<? super T, ? extends K> keyExtractor,
+                                   Function<? super K, ? extends RuntimeException> duplicateError) {
+        return register(new Index<>(this, keyExtractor, duplicateError));
+    }
+
+    /**
+     * Register an ordered index for range scans over the key extracted from each row
+     * Rows with a null key are not indexed; keys comparing equal are ordered by id
+     */
+    <K> SortedIndex<T, K> addSortedIndex(Function<? super T, ? extends K> keyExtractor, Comparator<? super K> comparator) {
+        return register(new SortedIndex<>(this, keyExtractor, comparator));
+    }
+
+    private <I extends RowIndex<T, ?>> I register(I index) {
+        if (!storage.isEmpty()) {
+            throw new IllegalStateException("Indexes must be registered before rows are saved");
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Insert or conditionally update entity
+     */
+    T save(T entity) {
+        if (entity.getId() == null) {
+            entity.setId(idGenerator.getAndIncrement());
+        }
+        T snapshot = entity.detachedCopy();
+        byte[] payload = journal != null ? journal.encode(snapshot) : null;
+        AtomicReference<CompletableFuture<Void>> commit = new AtomicReference<>();
+        applyChange(() -> storage.compute(entity.getId(), (id, stored) -> {
+            checkVersion(entity, stored);
+            reindex(id, stored, snapshot, true);
+            if (payload != null) {
+                commit.set(journal.appendSave(table, id, payload));
+            }
+            return snapshot;
+        }));
+        entity.markAsPersisted();
+        if (journal != null) {
+            journal.awaitDurable(commit.get());
+        }
+        return entity;
+    }
+
+    /**
+     * Save entities in order, waiting once for the journal to commit all of their records
+     * Each row is version-checked on its own; a conflict stops at that entity and leaves the ones before it saved
+     */
+    List<T> saveAll(Collection<? extends T> entities) {
+        if (journal == null) {
+            entities.forEach(this::save);
+        } else {
+            journal.inCommitScope(() -> {
+                entities.forEach(this::save);
+                return null;
+            });
+        }
+        return new ArrayList<>(entities);
+    }
+
+    Optional<T> findById(Long id) {
+        return id != null ? Optional.ofNullable(copyOf(storage.get(id))) : Optional.empty();
+    }
+
+    /**
+     * Rows with the given ids, as detached copies in the order of ids; missing and repeated ids are skipped
+     */
+    List<T> findAllByIds(Collection<Long> ids) {
+        List<T> rows = new ArrayList<>(ids.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T stored = id != null ? storage.get(id) : null;
+            if (stored != null) {
+                rows.add(stored.detachedCopy());
+            }
+        }
+        return rows;
+    }
+
+    boolean existsById(Long id) {
+        return id != null && storage.containsKey(id);
+    }
+
+    Optional<T> findFirst(Predicate<? super T> filter) {
+        return storage.values()
+                .filter(filter)
+                .findFirst()
+                .map(this::copyOf);
+    }
+
+    boolean anyMatch(Predicate<? super T> filter) {
+        return storage.values().anyMatch(filter);
+    }
+
+    /**
+     * Rows matching filter, as detached copies in id order
+     */
+    List<T> findAll(Predicate<? super T> filter) {
+        // The row map iterates in hash order; sorting the matches keeps listings stable
+        return storage.values()
+                .filter(filter)
+                .sorted(Comparator.comparing(BaseEntity::getId))
+                .map(this::copyOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Remove entity and return the stored snapshot, or null if absent
+     */
+    T remove(Long id) {
+        if (id == null) {
+            return null;
+        }
+        List<T> removed = new ArrayList<>(1);
+        AtomicReference<CompletableFuture<Void>> commit = new AtomicReference<>();
+        applyChange(() -> storage.computeIfPresent(id, (key, stored) -> {
+            reindex(key, stored, null, true);
+            if (journal != null) {
+                commit.set(journal.appendDelete(table, key));
+            }
+            removed.add(stored);
+            return null;
+        }));
+        if (journal != null) {
+            journal.awaitDurable(commit.get());
+        }
+        return removed.isEmpty() ? null : removed.get(0);
+    }
+
+    Set<Long> ids() {
+        Set<Long> ids = new HashSet<>(storage.size() * 4 / 3 + 1);
+        storage.forEachKey(ids::add);
+        return ids;
+    }
+
+    int size() {
+        return storage.size();
+    }
+
+    // Changes of a journaled store are applied inside the journal's cut gate, see WriteAheadJournal.applyChange
+    private <R> R applyChange(Supplier<R> change) {
+        return journal != null ? journal.applyChange(change) : change.get();
+    }
+
+    // Replay of a journaled save: the record was version-checked and unique when it was first applied
+    private void restore(T row) {
+        T snapshot = row.detachedCopy();
+        Long id = snapshot.getId();
+        storage.compute(id, (key, stored) -> {
+            reindex(key, stored, snapshot, false);
+            return snapshot;
+        });
+        idGenerator.accumulateAndGet(id + 1, Math::max);
+    }
+
+    private void restoreRemoval(long id) {
+        storage.computeIfPresent(id, (key, stored) -> {
+            reindex(key, stored, null, false);
+            return null;
+        });
+        idGenerator.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Move a row's index entries from before to after; runs inside the primary compute for id
+     * Unique indexes reject a key held by another row only when enforceUnique is set
+     */
+    private void reindex(Long id, T before, T after, boolean enforceUnique) {
+        List<RowIndex<T, ?>> added = new ArrayList<>(indexes.size());
+        try {
+            for (RowIndex<T, ?> index : indexes) {
+                if (index.addKey(id, before, after, enforceUnique)) {
+                    added.add(index);
+                }
+            }
+        } catch (RuntimeException e) {
+            for (RowIndex<T, ?> index : added) {
+                index.removeKey(id, after);
+            }
+            throw e;
+        }
+        for (RowIndex<T, ?> index : indexes) {
+            index.removeOldKey(id, before, after);
+        }
+    }
+
+    private void checkVersion(T entity, T stored) {
+        Long expectedVersion = entity.getPersistedVersion();
+        if (expectedVersion == null) {
+            return;
+        }
+        Long storedVersion = stored != null ? stored.getVersion() : null;
+        if (!expectedVersion.equals(storedVersion)) {
+            throw VersionConflictException.forEntity(entity, storedVersion);
+        }
+    }
+
+    private T copyOf(T stored) {
+        return stored != null ? stored.detachedCopy() : null;
+    }
+
+    /**
+     * This store as seen by the journal's snapshots and restores
+     */
+    private final class Binding implements JournaledTable<T> {
+        private final String name;
+        private final Class<T> type;
+
+        Binding(String name, Class<T> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Class<T> type() {
+            return type;
+        }
+
+        @Override
+        public void forEachRow(Consumer<? super T> action) {
+            storage.values().forEach(action);
+        }
+
+        @Override
+        public long nextId() {
+            return idGenerator.get();
+        }
+
+        @Override
+        public void restore(T row) {
+            InMemoryEntityStore.this.restore(row);
+        }
+
+        @Override
+        public void restoreRemoval(long id) {
+            InMemoryEntityStore.this.restoreRemoval(id);
+        }
+
+        @Override
+        public void advanceIds(long nextId) {
+            idGenerator.accumulateAndGet(nextId, Math::max);
+        }
+    }
+
+    /**
+     * Secondary index over a key extracted from each row
+     * Maintained by the owning store inside each row's compute; repositories only read through subclasses
+     */
+    abstract static class RowIndex<T extends BaseEntity, K> {
+
+        final InMemoryEntityStore<T> store;
+        final Function<? super T, ? extends K> keyExtractor;
+
+        RowIndex(InMemoryEntityStore<T> store, Function<? super T, ? extends K> keyExtractor) {
+            this.store = store;
+            this.keyExtractor = keyExtractor;
+        }
+
+        abstract boolean sameKey(K first, K second);
+
+        /**
+         * Add id under key; may throw to reject the row when enforceUnique is set
+         */
+        abstract void file(Long id, K key, boolean enforceUnique);
+
+        abstract void unfile(Long id, K key);
+
+        // Stored row for id if it still holds key; filters entries whose write is still in progress
+        T resolve(Long id, K key) {
+            T stored = store.storage.get(id);
+            return stored != null && sameKey(key, keyExtractor.apply(stored)) ? stored : null;
+        }
+
+        // The methods below run inside the primary compute for id, which serializes all updates of one row
+
+        /**
+         * File id under the after row's key if it changed; returns whether an entry was added
+         */
+        private boolean addKey(Long id, T before, T after, boolean enforceUnique) {
+            K newKey = keyOf(after);
+            if (newKey == null || holdsKey(before, newKey)) {
+                return false;
+            }
+            file(id, newKey, enforceUnique);
+            return true;
+        }
+
+        private void removeOldKey(Long id, T before, T after) {
+            K oldKey = keyOf(before);
+            if (oldKey != null && !holdsKey(after, oldKey)) {
+                unfile(id, oldKey);
+            }
+        }
+
+        private void removeKey(Long id, T row) {
+            unfile(id, keyOf(row));
+        }
+
+        // True when row exists and already holds key, so this index has nothing to change for it
+        private boolean holdsKey(T row, K key) {
+            K rowKey = keyOf(row);
+            return rowKey != null && sameKey(rowKey, key);
+        }
+
+        private K keyOf(T row) {
+            return row != null ? keyExtractor.apply(row) : null;
+        }
+    }
+
+    /**
+     * Secondary hash index from an extracted key to the ids of the rows holding it
+     */
+    static final class Index<T extends BaseEntity, K> extends RowIndex<T, K> {
+
+        // Null for non-unique indexes
+        private final Function<? super K, ? extends RuntimeException> duplicateError;
+        private final ConcurrentHashMap<K, Set<Long>> entries = new ConcurrentHashMap<>();
+
+        private Index(InMemoryEntityStore<T> store, Function<? super T, ? extends K> keyExtractor,
+                      Function<? super K, ? extends RuntimeException> duplicateError) {
+            super(store, keyExtractor);
+            this.duplicateError = duplicateError;
+        }
+
+        boolean isUnique() {
+            return duplicateError != null;
+        }
+
+        /**
+         * Rows currently holding key, as detached copies in id order
+         */
+        List<T> find(K key) {
+            List<T> rows = new ArrayList<>();
+            for (Long id : sortedIds(key)) {
+                T stored = resolve(id, key);
+                if (stored != null) {
+                    rows.add(stored.detachedCopy());
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Row with the lowest id holding key
+         */
+        Optional<T> findFirst(K key) {
+            for (Long id : sortedIds(key)) {
+                T stored = resolve(id, key);
+                if (stored != null) {
+                    return Optional.of(stored.detachedCopy());
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Row with the lowest id holding each key, in the order of keys; keys no row holds are skipped
+         */
+        List<T> findFirstOfEach(Collection<? extends K> keys) {
+            List<T> rows = new ArrayList<>(keys.size());
+            for (K key : new LinkedHashSet<>(keys)) {
+                if (key != null) {
+                    findFirst(key).ifPresent(rows::add);
+                }
+            }
+            return rows;
+        }
+
+        boolean contains(K key) {
+            Set<Long> ids = key != null ? entries.get(key) : null;
+            if (ids == null) {
+                return false;
+            }
+            for (Long id : ids) {
+                if (resolve(id, key) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Long> sortedIds(K key) {
+            Set<Long> ids = key != null ? entries.get(key) : null;
+            if (ids == null) {
+                return List.of();
+            }
+            List<Long> sorted = new ArrayList<>(ids);
+            sorted.sort(null);
+            return sorted;
+        }
+
+        @Override
+        boolean sameKey(K first, K second) {
+            return first.equals(second);
+        }
+
+        @Override
+        void file(Long id, K key, boolean enforceUnique) {
+            entries.compute(key, (k, ids) -> {
+                if (enforceUnique && isUnique() && ids != null && !ids.isEmpty() && !ids.contains(id)) {
+                    throw duplicateError.apply(k);
+                }
+                Set<Long> updated = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                updated.add(id);
+                return updated;
+            });
+        }
+
+        @Override
+        void unfile(Long id, K key) {
+            entries.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Secondary ordered index over (key, id) pairs
+     * Range scans cost O(log n + k) on a skip list; each pair belongs to exactly one row, so plain
+     * add and remove are enough and writers of different rows never contend on an entry
+     */
+    static final class SortedIndex<T extends BaseEntity, K> extends RowIndex<T, K> {
+
+        private final Comparator<? super K> comparator;
+        private final ConcurrentSkipListSet<Slot<K>> entries;
+
+        private SortedIndex(InMemoryEntityStore<T> store, Function<? super T, ? extends K> keyExtractor,
+                            Comparator<? super K> comparator) {
+            super(store, keyExtractor);
+            this.comparator = comparator;
+            Comparator<Slot<K>> byKey = (first, second) -> comparator.compare(first.key, second.key);
+            this.entries = new ConcurrentSkipListSet<>(byKey.thenComparingLong(slot -> slot.id));
+        }
+
+        /**
+         * Rows whose key lies in [from, to], as detached copies in key order
+         */
+        List<T> range(K from, K to) {
+            List<T> rows = new ArrayList<>();
+            if (comparator.compare(from, to) > 0) {
+                return rows;
+            }
+            NavigableSet<Slot<K>> slots = entries.subSet(
+                new Slot<>(from, Long.MIN_VALUE), true, new Slot<>(to, Long.MAX_VALUE), true);
+            for (Slot<K> slot : slots) {
+                T stored = resolve(slot.id, slot.key);
+                if (stored != null) {
+                    rows.add(stored.detachedCopy());
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        boolean sameKey(K first, K second) {
+            return comparator.compare(first, second) == 0;
+        }
+
+        @Override
+        void file(Long id, K key, boolean enforceUnique) {
+            entries.add(new Slot<>(key, id));
+        }
+
+        @Override
+        void unfile(Long id, K key) {
+            entries.remove(new Slot<>(key, id));
+        }
+
+        private record Slot<K>(K key, long id) {
+        }
+    }
+}
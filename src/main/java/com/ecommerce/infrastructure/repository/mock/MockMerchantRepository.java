@@ -1,85 +1,99 @@
 package com.ecommerce.infrastructure.repository.mock;
 
+import com.ecommerce.domain.merchant.DuplicateMerchantException;
 import com.ecommerce.domain.merchant.Merchant;
 import com.ecommerce.infrastructure.repository.MerchantRepository;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 /**
  * Mock Merchant Repository Implementation
- * Uses in-memory storage with pre-loaded demo data
+ * Uses the concurrent in-memory entity store, pre-loaded with demo data
+ * Business license and contact email are unique indexes: saving a duplicate throws
+ * DuplicateMerchantException atomically
  */
 @Repository
 @Profile("mock")
 public class MockMerchantRepository implements MerchantRepository {
     
-    private final Map<Long, Merchant> storage = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final InMemoryEntityStore<Merchant> storage = new InMemoryEntityStore<>();
+    private final InMemoryEntityStore.Index<Merchant, String> licenseIndex =
+            storage.addUniqueIndex(Merchant::getBusinessLicense, DuplicateMerchantException::forBusinessLicense);
+    private final InMemoryEntityStore.Index<Merchant, String> contactEmailIndex =
+            storage.addUniqueIndex(Merchant::getContactEmail, DuplicateMerchantException::forContactEmail);
     
     public MockMerchantRepository() {
-        initializeDemoData();
+        this(null);
+    }
+    
+    /**
+     * Replay the journal when one is enabled; demo data is only seeded into a fresh store
+     */
+    @Autowired
+    public MockMerchantRepository(WriteAheadJournal journal) {
+        if (storage.attachJournal(journal, "merchants", Merchant.class) == 0) {
+            initializeDemoData();
+        }
     }
     
     private void initializeDemoData() {
         // Create demo merchants
         Merchant merchant1 = new Merchant("Apple Store", "LICENSE-001", 
                                          "apple@store.com", "400-666-8888");
-        merchant1.setId(idGenerator.getAndIncrement());
-        storage.put(merchant1.getId(), merchant1);
+        storage.save(merchant1);
         
         Merchant merchant2 = new Merchant("Tech Books Store", "LICENSE-002", 
                                          "books@tech.com", "400-888-6666");
-        merchant2.setId(idGenerator.getAndIncrement());
-        storage.put(merchant2.getId(), merchant2);
+        storage.save(merchant2);
     }
     
     @Override
     public Merchant save(Merchant merchant) {
-        if (merchant.getId() == null) {
-            merchant.setId(idGenerator.getAndIncrement());
-        }
-        storage.put(merchant.getId(), merchant);
-        return merchant;
+        return storage.save(merchant);
+    }
+    
+    @Override
+    public List<Merchant> saveAll(Collection<Merchant> merchants) {
+        return storage.saveAll(merchants);
     }
     
     @Override
     public Optional<Merchant> findById(Long id) {
-        return Optional.ofNullable(storage.get(id));
+        return storage.findById(id);
+    }
+    
+    @Override
+    public List<Merchant> findAllByIds(Collection<Long> ids) {
+        return storage.findAllByIds(ids);
     }
     
     @Override
     public Optional<Merchant> findByBusinessLicense(String businessLicense) {
-        return storage.values().stream()
-                .filter(merchant -> businessLicense.equals(merchant.getBusinessLicense()))
-                .findFirst();
+        return licenseIndex.findFirst(businessLicense);
     }
     
     @Override
     public Optional<Merchant> findByContactEmail(String contactEmail) {
-        return storage.values().stream()
-                .filter(merchant -> contactEmail.equals(merchant.getContactEmail()))
-                .findFirst();
+        return contactEmailIndex.findFirst(contactEmail);
     }
     
     @Override
     public boolean existsByBusinessLicense(String businessLicense) {
-        return storage.values().stream()
-                .anyMatch(merchant -> businessLicense.equals(merchant.getBusinessLicense()));
+        return licenseIndex.contains(businessLicense);
     }
     
     @Override
     public boolean existsByContactEmail(String contactEmail) {
-        return storage.values().stream()
-                .anyMatch(merchant -> contactEmail.equals(merchant.getContactEmail()));
+        return contactEmailIndex.contains(contactEmail);
     }
     
     @Override
     public boolean existsById(Long id) {
-        return storage.containsKey(id);
+        return storage.existsById(id);
     }
     
     @Override
@@ -89,8 +103,6 @@ public class MockMerchantRepository implements MerchantRepository {
     
     @Override
     public List<Merchant> findAllActive() {
-        return storage.values().stream()
-                .filter(Merchant::isActive)
-                .collect(Collectors.toList());
+        return storage.findAll(Merchant::isActive);
     }
 } 
\ No newline at end of file
@@ -2,85 +2,122 @@ package com.ecommerce.infrastructure.repository.mock;
 
 import com.ecommerce.domain.order.Order;
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
 import com.ecommerce.infrastructure.repository.OrderRepository;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 /**
  * Mock Order Repository Implementation
- * Uses in-memory storage
+ * Uses the concurrent in-memory entity store
+ *
+ * Performance Notes:
+ * - Merchant time-range queries run on an ordered index keyed by (merchantId, status, orderTime),
+ *   so a settlement query costs O(log n + k) instead of a scan over every order
+ * - The index entry moves with the order's status because the store re-indexes on every save,
+ *   e.g. after complete() or cancel()
+ * - A query without a status scans one range per status and merges them by order time
  */
 @Repository
 @Profile("mock")
 public class MockOrderRepository implements OrderRepository {
     
-    private final Map<Long, Order> storage = new HashMap<>();
-    private final Map<String, Order> orderNumberIndex = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final InMemoryEntityStore<Order> storage = new InMemoryEntityStore<>();
+    private final InMemoryEntityStore.Index<Order, String> orderNumberIndex = storage.addIndex(Order::getOrderNumber);
+    private final InMemoryEntityStore.SortedIndex<Order, MerchantOrderKey> merchantTimeIndex =
+            storage.addSortedIndex(MerchantOrderKey::of, MerchantOrderKey.ORDER);
+    
+    public MockOrderRepository() {
+        this(null);
+    }
+    
+    @Autowired
+    public MockOrderRepository(WriteAheadJournal journal) {
+        storage.attachJournal(journal, "orders", Order.class);
+    }
     
     @Override
     public Order save(Order order) {
-        if (order.getId() == null) {
-            order.setId(idGenerator.getAndIncrement());
-        }
-        storage.put(order.getId(), order);
-        orderNumberIndex.put(order.getOrderNumber(), order);
-        return order;
+        return storage.save(order);
+    }
+    
+    @Override
+    public List<Order> saveAll(Collection<Order> orders) {
+        return storage.saveAll(orders);
     }
     
     @Override
     public Optional<Order> findById(Long id) {
-        return Optional.ofNullable(storage.get(id));
+        return storage.findById(id);
+    }
+    
+    @Override
+    public List<Order> findAllByIds(Collection<Long> ids) {
+        return storage.findAllByIds(ids);
     }
     
     @Override
     public Optional<Order> findByOrderNumber(String orderNumber) {
-        return Optional.ofNullable(orderNumberIndex.get(orderNumber));
+        return orderNumberIndex.findFirst(orderNumber);
     }
     
     @Override
     public boolean existsByOrderNumber(String orderNumber) {
-        return orderNumberIndex.containsKey(orderNumber);
+        return orderNumberIndex.contains(orderNumber);
     }
     
     @Override
     public List<Order> findByMerchantIdAndOrderTimeBetween(Long merchantId, LocalDateTime start, LocalDateTime end) {
-        return storage.values().stream()
-                .filter(order -> Objects.equals(order.getMerchantId(), merchantId))
-                .filter(order -> {
-                    LocalDateTime orderTime = order.getOrderTime();
-                    return orderTime != null && 
-                           !orderTime.isBefore(start) && 
-                           !orderTime.isAfter(end);
-                })
-                .collect(Collectors.toList());
+        List<Order> orders = new ArrayList<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            orders.addAll(findByMerchantIdAndStatusAndOrderTimeBetween(merchantId, status, start, end));
+        }
+        orders.sort(Comparator.comparing(Order::getOrderTime));
+        return orders;
     }
     
     @Override
     public List<Order> findByMerchantIdAndStatusAndOrderTimeBetween(Long merchantId, OrderStatus status, LocalDateTime start, LocalDateTime end) {
-        // Filter orders by merchant ID, status and date range
-        return storage.values().stream()
-                .filter(order -> Objects.equals(order.getMerchantId(), merchantId))
-                .filter(order -> Objects.equals(order.getStatus(), status))
-                .filter(order -> {
-                    LocalDateTime orderTime = order.getOrderTime();
-                    return orderTime != null && 
-                           !orderTime.isBefore(start) && 
-                           !orderTime.isAfter(end);
-                })
-                .collect(Collectors.toList());
+        if (merchantId == null || status == null) {
+            return new ArrayList<>();
+        }
+        return merchantTimeIndex.range(new MerchantOrderKey(merchantId, status, start),
+                                       new MerchantOrderKey(merchantId, status, end));
+    }
+    
+    @Override
+    public OrderTotals sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(Long merchantId, OrderStatus status, LocalDateTime start, LocalDateTime end) {
+        OrderTotals totals = OrderTotals.none();
+        for (Order order : findByMerchantIdAndStatusAndOrderTimeBetween(merchantId, status, start, end)) {
+            totals = totals.add(1, order.getTotalAmount());
+        }
+        return totals;
     }
     
     @Override
     public void deleteById(Long id) {
-        Order order = storage.remove(id);
-        if (order != null) {
-            orderNumberIndex.remove(order.getOrderNumber());
+        storage.remove(id);
+    }
+    
+    /**
+     * Ordered index key; orders missing any component are not indexed
+     */
+    private record MerchantOrderKey(Long merchantId, OrderStatus status, LocalDateTime orderTime) {
+        
+        static final Comparator<MerchantOrderKey> ORDER = Comparator.comparing(MerchantOrderKey::merchantId)
+                .thenComparing(MerchantOrderKey::status)
+                .thenComparing(MerchantOrderKey::orderTime);
+        
+        static MerchantOrderKey of(Order order) {
+            if (order.getMerchantId() == null || order.getStatus() == null || order.getOrderTime() == null) {
+                return null;
+            }
+            return new MerchantOrderKey(order.getMerchantId(), order.getStatus(), order.getOrderTime());
         }
     }
-} 
\ No newline at end of file
+}
@@ -3,27 +3,37 @@ package com.ecommerce.infrastructure.repository.mock;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.Money;
 import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 /**
  * Mock Product Repository Implementation
- * Uses in-memory storage with pre-loaded demo data
+ * Uses the concurrent in-memory entity store, pre-loaded with demo data
  */
 @Repository
 @Profile("mock")
 public class MockProductRepository implements ProductRepository {
     
-    private final Map<Long, Product> storage = new HashMap<>();
-    private final Map<String, Product> skuIndex = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final InMemoryEntityStore<Product> storage = new InMemoryEntityStore<>();
+    private final InMemoryEntityStore.Index<Product, String> skuIndex = storage.addIndex(Product::getSku);
+    private final InMemoryEntityStore.Index<Product, Long> merchantIndex = storage.addIndex(Product::getMerchantId);
     
     public MockProductRepository() {
-        initializeDemoData();
+        this(null);
+    }
+    
+    /**
+     * Replay the journal when one is enabled; demo data is only seeded into a fresh store
+     */
+    @Autowired
+    public MockProductRepository(WriteAheadJournal journal) {
+        if (storage.attachJournal(journal, "products", Product.class) == 0) {
+            initializeDemoData();
+        }
     }
     
     private void initializeDemoData() {
@@ -46,54 +56,56 @@ public class MockProductRepository implements ProductRepository {
     
     private void createProduct(String sku, String name, String description, 
                               Money price, Long merchantId, int inventory) {
-        Product product = new Product(sku, name, description, price, merchantId, inventory);
-        product.setId(idGenerator.getAndIncrement());
-        storage.put(product.getId(), product);
-        skuIndex.put(sku, product);
+        save(new Product(sku, name, description, price, merchantId, inventory));
     }
     
     @Override
     public Product save(Product product) {
-        if (product.getId() == null) {
-            product.setId(idGenerator.getAndIncrement());
-        }
-        storage.put(product.getId(), product);
-        skuIndex.put(product.getSku(), product);
-        return product;
+        return storage.save(product);
+    }
+    
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        return storage.saveAll(products);
     }
     
     @Override
     public Optional<Product> findById(Long id) {
-        return Optional.ofNullable(storage.get(id));
+        return storage.findById(id);
+    }
+    
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        return storage.findAllByIds(ids);
     }
     
     @Override
     public Optional<Product> findBySku(String sku) {
-        return Optional.ofNullable(skuIndex.get(sku));
+        return skuIndex.findFirst(sku);
+    }
+    
+    @Override
+    public List<Product> findAllBySkus(Collection<String> skus) {
+        return skuIndex.findFirstOfEach(skus);
     }
     
     @Override
     public List<Product> findByMerchantId(Long merchantId) {
-        return storage.values().stream()
-                .filter(product -> Objects.equals(product.getMerchantId(), merchantId))
-                .collect(Collectors.toList());
+        return merchantIndex.find(merchantId);
     }
     
     @Override
     public List<Product> findAll() {
-        return new ArrayList<>(storage.values());
+        return storage.findAll(product -> true);
     }
     
     @Override
     public boolean existsBySku(String sku) {
-        return skuIndex.containsKey(sku);
+        return skuIndex.contains(sku);
     }
     
     @Override
     public void deleteById(Long id) {
-        Product product = storage.remove(id);
-        if (product != null) {
-            skuIndex.remove(product.getSku());
-        }
+        storage.remove(id);
     }
 } 
\ No newline at end of file
@@ -2,35 +2,50 @@ package com.ecommerce.infrastructure.repository.mock;
 
 import com.ecommerce.domain.settlement.Settlement;
 import com.ecommerce.infrastructure.repository.SettlementRepository;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Mock Settlement Repository Implementation
- * Uses in-memory storage
+ * Uses the concurrent in-memory entity store
  */
 @Repository
 @Profile("mock")
 public class MockSettlementRepository implements SettlementRepository {
     
-    private final Map<Long, Settlement> storage = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final InMemoryEntityStore<Settlement> storage = new InMemoryEntityStore<>();
+    
+    public MockSettlementRepository() {
+        this(null);
+    }
+    
+    @Autowired
+    public MockSettlementRepository(WriteAheadJournal journal) {
+        storage.attachJournal(journal, "settlements", Settlement.class);
+    }
     
     @Override
     public Settlement save(Settlement settlement) {
-        if (settlement.getId() == null) {
-            settlement.setId(idGenerator.getAndIncrement());
-        }
-        storage.put(settlement.getId(), settlement);
-        return settlement;
+        return storage.save(settlement);
+    }
+    
+    @Override
+    public List<Settlement> saveAll(Collection<Settlement> settlements) {
+        return storage.saveAll(settlements);
     }
     
     @Override
     public Optional<Settlement> findById(Long id) {
-        return Optional.ofNullable(storage.get(id));
+        return storage.findById(id);
+    }
+    
+    @Override
+    public List<Settlement> findAllByIds(Collection<Long> ids) {
+        return storage.findAllByIds(ids);
     }
     
     @Override
@@ -1,95 +1,108 @@
 package com.ecommerce.infrastructure.repository.mock;
 
+import com.ecommerce.domain.user.DuplicateUserException;
 import com.ecommerce.domain.user.User;
 import com.ecommerce.domain.Money;
 import com.ecommerce.infrastructure.repository.UserRepository;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Mock User Repository Implementation
- * Uses in-memory storage with pre-loaded demo data
+ * Uses the concurrent in-memory entity store, pre-loaded with demo data
+ * Phone and email are unique indexes: saving a duplicate throws DuplicateUserException atomically
  */
 @Repository
 @Profile("mock")
 public class MockUserRepository implements UserRepository {
     
-    private final Map<Long, User> storage = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final InMemoryEntityStore<User> storage = new InMemoryEntityStore<>();
+    private final InMemoryEntityStore.Index<User, String> phoneIndex =
+            storage.addUniqueIndex(User::getPhone, DuplicateUserException::forPhone);
+    private final InMemoryEntityStore.Index<User, String> emailIndex =
+            storage.addUniqueIndex(User::getEmail, DuplicateUserException::forEmail);
     
     public MockUserRepository() {
-        initializeDemoData();
+        this(null);
+    }
+    
+    /**
+     * Replay the journal when one is enabled; demo data is only seeded into a fresh store
+     */
+    @Autowired
+    public MockUserRepository(WriteAheadJournal journal) {
+        if (storage.attachJournal(journal, "users", User.class) == 0) {
+            initializeDemoData();
+        }
     }
     
     private void initializeDemoData() {
         // Create demo users with some balance
         User user1 = new User("alice", "alice@example.com", "13800001111", "CNY");
-        user1.setId(idGenerator.getAndIncrement());
         user1.recharge(Money.of("1000.00", "CNY"));
-        storage.put(user1.getId(), user1);
+        storage.save(user1);
         
         User user2 = new User("bob", "bob@example.com", "13800002222", "CNY");
-        user2.setId(idGenerator.getAndIncrement());
         user2.recharge(Money.of("500.00", "CNY"));
-        storage.put(user2.getId(), user2);
+        storage.save(user2);
         
         User user3 = new User("charlie", "charlie@example.com", "13800003333", "CNY");
-        user3.setId(idGenerator.getAndIncrement());
         user3.recharge(Money.of("2000.00", "CNY"));
-        storage.put(user3.getId(), user3);
+        storage.save(user3);
     }
     
     @Override
     public User save(User user) {
-        if (user.getId() == null) {
-            user.setId(idGenerator.getAndIncrement());
-        }
-        storage.put(user.getId(), user);
-        return user;
+        return storage.save(user);
+    }
+    
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        return storage.saveAll(users);
     }
     
     @Override
     public Optional<User> findById(Long id) {
-        return Optional.ofNullable(storage.get(id));
+        return storage.findById(id);
+    }
+    
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return storage.findAllByIds(ids);
     }
     
     @Override
     public Optional<User> findByPhone(String phone) {
-        return storage.values().stream()
-                .filter(user -> phone.equals(user.getPhone()))
-                .findFirst();
+        return phoneIndex.findFirst(phone);
     }
     
     @Override
     public Optional<User> findByEmail(String email) {
-        return storage.values().stream()
-                .filter(user -> email.equals(user.getEmail()))
-                .findFirst();
+        return emailIndex.findFirst(email);
     }
     
     @Override
     public boolean existsByPhone(String phone) {
-        return storage.values().stream()
-                .anyMatch(user -> phone.equals(user.getPhone()));
+        return phoneIndex.contains(phone);
     }
     
     @Override
     public boolean existsByEmail(String email) {
-        return storage.values().stream()
-                .anyMatch(user -> email.equals(user.getEmail()));
+        return emailIndex.contains(email);
     }
 
     @Override
     public boolean existsById(Long id) {
-        return storage.containsKey(id);
+        return storage.existsById(id);
     }
     
     @Override
     public Set<Long> getAllUserIds() {
-        return new HashSet<>(storage.keySet());
+        return storage.ids();
     }
     
     @Override
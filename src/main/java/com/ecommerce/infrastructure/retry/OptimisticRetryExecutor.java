@@ -0,0 +1,180 @@
+package com.ecommerce.infrastructure.retry;
+
+import com.ecommerce.domain.VersionConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Optimistic Retry Executor
+ * Re-runs an operation when a version-checked save reports a conflict
+ *
+ * Retry Policy:
+ * - At most maxAttempts attempts per call, with full-jitter exponential backoff between them
+ * - A shared retry budget (token bucket) caps retries at budgetRatio of all calls,
+ *   so a conflict storm degrades into fast 409 responses instead of a retry storm
+ *
+ * Transaction Notes:
+ * - With a transaction manager (mysql profile) every attempt runs in its own transaction: a conflict
+ *   rolls back only that attempt, and the retry reads current rows instead of the stale ones cached
+ *   by the failed attempt. Callers must not hold a transaction around execute, since one that saw a
+ *   conflict can only roll back
+ * - A stale version first found at commit is reported as VersionConflictException and retried too
+ *
+ * Metrics (tagged by operation):
+ * - ecommerce.optimistic.attempts / conflicts / retries / exhausted
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 2;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 50;
+    public static final double DEFAULT_BUDGET_RATIO = 0.2;
+
+    // Budget is tracked in thousandths of a retry to keep the bucket integral
+    private static final long TOKENS_PER_RETRY = 1000;
+    private static final long MAX_BUDGET_TOKENS = 100 * TOKENS_PER_RETRY;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long depositPerCall;
+    private final AtomicLong budgetTokens = new AtomicLong(MAX_BUDGET_TOKENS);
+    // Null when there is no database, as in the mock profile
+    private final TransactionTemplate transactions;
+
+    public OptimisticRetryExecutor() {
+        this(new SimpleMeterRegistry(), DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS,
+             DEFAULT_MAX_BACKOFF_MILLIS, DEFAULT_BUDGET_RATIO);
+    }
+
+    @Autowired
+    public OptimisticRetryExecutor(ObjectProvider<MeterRegistry> meterRegistry,
+                                   ObjectProvider<PlatformTransactionManager> transactionManager,
+                                   @Value("${ecommerce.concurrency.retry.max-attempts:" + DEFAULT_MAX_ATTEMPTS + "}") int maxAttempts,
+                                   @Value("${ecommerce.concurrency.retry.initial-backoff-ms:" + DEFAULT_INITIAL_BACKOFF_MILLIS + "}") long initialBackoffMillis,
+                                   @Value("${ecommerce.concurrency.retry.max-backoff-ms:" + DEFAULT_MAX_BACKOFF_MILLIS + "}") long maxBackoffMillis,
+                                   @Value("${ecommerce.concurrency.retry.budget-ratio:" + DEFAULT_BUDGET_RATIO + "}") double budgetRatio) {
+        // Sliced test contexts have no actuator registry; metrics are then kept locally
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), transactionManager.getIfAvailable(),
+             maxAttempts, initialBackoffMillis, maxBackoffMillis, budgetRatio);
+    }
+
+    public OptimisticRetryExecutor(MeterRegistry meterRegistry, int maxAttempts, long initialBackoffMillis,
+                                   long maxBackoffMillis, double budgetRatio) {
+        this(meterRegistry, null, maxAttempts, initialBackoffMillis, maxBackoffMillis, budgetRatio);
+    }
+
+    public OptimisticRetryExecutor(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+                                   int maxAttempts, long initialBackoffMillis, long maxBackoffMillis,
+                                   double budgetRatio) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (budgetRatio < 0) {
+            throw new IllegalArgumentException("Retry budget ratio cannot be negative");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(initialBackoffMillis);
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(initialBackoffMillis, maxBackoffMillis));
+        this.depositPerCall = Math.round(budgetRatio * TOKENS_PER_RETRY);
+        this.transactions = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+    }
+
+    /**
+     * Run operation, retrying on VersionConflictException while attempts and budget remain
+     * Any other exception propagates immediately
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        depositBudget();
+        for (int attempt = 1; ; attempt++) {
+            counter("ecommerce.optimistic.attempts", operation).increment();
+            try {
+                return attempt(action);
+            } catch (VersionConflictException e) {
+                counter("ecommerce.optimistic.conflicts", operation).increment();
+                if (attempt >= maxAttempts || !tryWithdrawBudget()) {
+                    counter("ecommerce.optimistic.exhausted", operation).increment();
+                    logger.warn("Giving up {} after {} attempt(s): {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                counter("ecommerce.optimistic.retries", operation).increment();
+                logger.debug("Retrying {} after conflict (attempt {}): {}", operation, attempt, e.getMessage());
+                if (!backoff(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private <T> T attempt(Supplier<T> action) {
+        if (transactions == null) {
+            return action.get();
+        }
+        try {
+            return transactions.execute(status -> action.get());
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Concurrent modification detected at commit: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get remaining retry budget in whole retries
+     */
+    public long getAvailableRetryBudget() {
+        return budgetTokens.get() / TOKENS_PER_RETRY;
+    }
+
+    private void depositBudget() {
+        if (depositPerCall > 0) {
+            budgetTokens.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(MAX_BUDGET_TOKENS, current + deposit));
+        }
+    }
+
+    private boolean tryWithdrawBudget() {
+        long current;
+        do {
+            current = budgetTokens.get();
+            if (current < TOKENS_PER_RETRY) {
+                return false;
+            }
+        } while (!budgetTokens.compareAndSet(current, current - TOKENS_PER_RETRY));
+        return true;
+    }
+
+    /**
+     * Sleep a random time in [0, min(max, initial * 2^(attempt-1))]
+     * Returns false if the thread was interrupted
+     */
+    private boolean backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
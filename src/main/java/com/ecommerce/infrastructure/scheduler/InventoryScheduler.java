@@ -0,0 +1,82 @@
+package com.ecommerce.infrastructure.scheduler;
+
+import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.ReservationService;
+import com.ecommerce.infrastructure.inventory.InventoryCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inventory Scheduled Tasks
+ * Keeps hot SKU buckets balanced and their stock written back to the products,
+ * and releases inventory reservations that have timed out
+ *
+ * Design Notes:
+ * - Switched off with ecommerce.inventory.scheduler.enabled=false, as the test configuration does: the
+ *   application's component scan brings it into every web slice test, where its jobs would call mocked
+ *   services from the scheduling thread while a test is still stubbing them
+ */
+@Component
+@ConditionalOnProperty(prefix = "ecommerce.inventory.scheduler", name = "enabled", havingValue = "true",
+                       matchIfMissing = true)
+public class InventoryScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InventoryScheduler.class);
+    
+    private final InventoryCounter inventoryCounter;
+    private final ProductService productService;
+    private final ReservationService reservationService;
+    
+    public InventoryScheduler(InventoryCounter inventoryCounter, ProductService productService,
+                              ReservationService reservationService) {
+        this.inventoryCounter = inventoryCounter;
+        this.productService = productService;
+        this.reservationService = reservationService;
+    }
+    
+    /**
+     * Spread each hot SKU's remaining stock evenly across its buckets
+     * so purchases keep finding stock in their home bucket
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.hot-sku.rebalance-interval-ms:1000}")
+    public void rebalanceHotSkus() {
+        try {
+            inventoryCounter.rebalanceHotCells();
+        } catch (Exception e) {
+            logger.error("Hot SKU rebalance failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Write hot SKU stock back to the product records
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.hot-sku.flush-interval-ms:1000}")
+    public void flushHotSkus() {
+        try {
+            int flushed = productService.flushHotInventory();
+            if (flushed > 0) {
+                logger.debug("Flushed inventory of {} hot SKUs", flushed);
+            }
+        } catch (Exception e) {
+            logger.error("Hot SKU inventory flush failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Advance the reservation expiry wheel by one tick interval
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.reservation.tick-ms:100}")
+    public void expireReservations() {
+        try {
+            int expired = reservationService.expireDueReservations();
+            if (expired > 0) {
+                logger.debug("Expired {} inventory reservations", expired);
+            }
+        } catch (Exception e) {
+            logger.error("Reservation expiry failed: {}", e.getMessage(), e);
+        }
+    }
+}
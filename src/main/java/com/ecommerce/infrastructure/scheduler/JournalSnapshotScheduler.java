@@ -0,0 +1,41 @@
+package com.ecommerce.infrastructure.scheduler;
+
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Journal Snapshot Scheduled Task
+ * Writes a snapshot of the journaled repositories once enough changes have piled up since the last one,
+ * so startup replays a bounded tail of the journal instead of its whole history
+ */
+@Component
+public class JournalSnapshotScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalSnapshotScheduler.class);
+
+    private final WriteAheadJournal journal;
+    private final long minRecords;
+
+    public JournalSnapshotScheduler(WriteAheadJournal journal,
+                                    @Value("${ecommerce.repository.journal.snapshot.min-records:100000}") long minRecords) {
+        this.journal = journal;
+        this.minRecords = minRecords;
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.repository.journal.snapshot.interval-ms:300000}",
+               initialDelayString = "${ecommerce.repository.journal.snapshot.interval-ms:300000}")
+    public void takeSnapshot() {
+        if (!journal.isEnabled() || journal.getRecordsSinceSnapshot() < minRecords) {
+            return;
+        }
+        try {
+            journal.snapshot();
+        } catch (Exception e) {
+            logger.error("Journal snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.infrastructure.scheduler;
+
+import com.ecommerce.application.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search Index Scheduled Task
+ * Reloads the product search and autocomplete indexes from the catalog, so products created or changed
+ * by other instances sharing the database show up in searches, listings and suggestions
+ *
+ * Design Notes:
+ * - Only needed when several instances share one database, so it is off unless
+ *   ecommerce.search.reload.enabled=true, as the mysql profile sets it
+ */
+@Component
+@ConditionalOnProperty(prefix = "ecommerce.search.reload", name = "enabled", havingValue = "true")
+public class SearchIndexScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexScheduler.class);
+
+    private final ProductService productService;
+
+    public SearchIndexScheduler(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.search.reload.interval-ms:10000}",
+               initialDelayString = "${ecommerce.search.reload.interval-ms:10000}")
+    public void reloadSearchIndexes() {
+        try {
+            productService.reloadSearchIndexes();
+        } catch (Exception e) {
+            logger.error("Search index reload failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.collection.LongIntHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Product Autocomplete Index
+ * Radix trie over the lower-cased names and SKUs of products, answering "first N active products whose
+ * name or SKU starts with a prefix" by walking the prefix and a bounded part of the subtree below it
+ *
+ * Flow Notes:
+ * - Suggestions come in key order: a name or SKU equal to the prefix first, then the longer ones
+ *   alphabetically; a product matching by both name and SKU is suggested once
+ * - Every node counts the active keys below it, so the walk skips subtrees left empty by deactivated
+ *   products and stops after N suggestions, whatever the catalog size
+ *
+ * Design Notes:
+ * - Nodes live in parallel int arrays (no object per node); an edge label is a range of one of the
+ *   keys, so no label is copied, and keys sharing a prefix share its nodes
+ * - Filled from the product repository on first use, then kept current by the product service: new
+ *   products are added, and a product whose status changes is counted in or out of its nodes
+ * - Inside a transaction a change applies once it commits, so a rolled-back insert never shows up
+ * - Changes saved while a load reads the catalog are replayed over it, as in the search index
+ * - The index lives in this instance and is reloaded with the product search index when several
+ *   instances share a database
+ *
+ * Concurrency Notes:
+ * - Lookups share a read lock; adding a product or changing its status takes the write lock, and a
+ *   save that changes neither only takes the read lock
+ */
+@Component
+public class ProductAutocompleteIndex {
+
+    /**
+     * Most suggestions one lookup returns
+     */
+    public static final int MAX_LIMIT = 50;
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int NO_ORDINAL = -1;
+    // A product has two keys, entry 2 * ordinal its name and 2 * ordinal + 1 its SKU
+    private static final int NAME = 0;
+    private static final int SKU = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    private final LongIntHashMap ordinals = new LongIntHashMap(NO_ORDINAL);
+
+    // Products by ordinal
+    private long[] ids = new long[64];
+    private String[] names = new String[64];
+    private String[] skus = new String[64];
+    private String[] lowerNames = new String[64];
+    private String[] lowerSkus = new String[64];
+    private boolean[] active = new boolean[64];
+    private int count;
+    private int activeProducts;
+
+    // Keys by entry: the next entry ending at the same node
+    private int[] nextEntry = new int[128];
+
+    // Trie nodes by index; the edge into a node is keyOf(edgeEntry)[edgeStart, edgeEnd)
+    private int[] edgeEntry = new int[128];
+    private int[] edgeStart = new int[128];
+    private int[] edgeEnd = new int[128];
+    private int[] firstChild = new int[128];
+    private int[] nextSibling = new int[128];
+    private int[] firstEntryAt = new int[128];
+    private int[] live = new int[128];
+    private int nodeCount;
+    // Products saved while the catalog is being read for a load, replayed over it; null otherwise
+    private List<Product> savedWhileLoading;
+
+    private volatile boolean loaded;
+
+    public ProductAutocompleteIndex() {
+        newNode(NONE, 0, 0);
+    }
+
+    /**
+     * Product suggested for a prefix
+     */
+    public record Suggestion(Long id, String sku, String name) {
+    }
+
+    /**
+     * Fill the index from source unless it was filled before
+     */
+    public void loadIfNeeded(Supplier<? extends Collection<Product>> source) {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (!loaded) {
+                load(source);
+            }
+        }
+    }
+
+    /**
+     * Read the whole catalog from source again and apply it over the index
+     * Brings in products created or changed by other instances sharing the database
+     */
+    public void reload(Supplier<? extends Collection<Product>> source) {
+        synchronized (loadLock) {
+            load(source);
+        }
+    }
+
+    // Caller holds loadLock
+    private void load(Supplier<? extends Collection<Product>> source) {
+        lock.writeLock().lock();
+        try {
+            savedWhileLoading = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Collection<Product> products = null;
+        try {
+            products = source.get();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (products != null) {
+                    products.forEach(this::update);
+                    // The catalog may have been read before these saves; their state is newer
+                    savedWhileLoading.forEach(this::update);
+                    loaded = true;
+                }
+                savedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Add a saved product or bring its status up to date; inside a transaction, once it commits
+     */
+    public void index(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(product);
+                }
+            });
+        } else {
+            apply(product);
+        }
+    }
+
+    /**
+     * First limit (at most MAX_LIMIT) active products whose name or SKU starts with prefix, ignoring case,
+     * in key order
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase();
+        int max = Math.min(limit, MAX_LIMIT);
+        List<Suggestion> suggestions = new ArrayList<>(Math.max(max, 0));
+        if (max <= 0) {
+            return suggestions;
+        }
+        lock.readLock().lock();
+        try {
+            int node = find(key);
+            if (node != NONE && live[node] > 0) {
+                int[] found = new int[max];
+                int size = collect(node, found, 0);
+                for (int i = 0; i < size; i++) {
+                    int ordinal = found[i];
+                    suggestions.add(new Suggestion(ids[ordinal], skus[ordinal], names[ordinal]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    /**
+     * Active products indexed
+     */
+    public int activeCount() {
+        lock.readLock().lock();
+        try {
+            return activeProducts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Product product) {
+        lock.readLock().lock();
+        try {
+            int ordinal = ordinals.get(product.getId());
+            if (savedWhileLoading == null && ordinal != NO_ORDINAL && active[ordinal] == product.isActive()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (savedWhileLoading != null) {
+                savedWhileLoading.add(product);
+            }
+            update(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void update(Product product) {
+        Long id = product.getId();
+        if (id == null) {
+            return;
+        }
+        int ordinal = ordinals.get(id);
+        if (ordinal == NO_ORDINAL) {
+            add(id, product);
+        } else if (active[ordinal] != product.isActive()) {
+            active[ordinal] = product.isActive();
+            int delta = active[ordinal] ? 1 : -1;
+            activeProducts += delta;
+            adjustLive(entry(ordinal, NAME), delta);
+            adjustLive(entry(ordinal, SKU), delta);
+        }
+    }
+
+    private void add(long id, Product product) {
+        if (count == ids.length) {
+            int capacity = count << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            skus = Arrays.copyOf(skus, capacity);
+            lowerNames = Arrays.copyOf(lowerNames, capacity);
+            lowerSkus = Arrays.copyOf(lowerSkus, capacity);
+            active = Arrays.copyOf(active, capacity);
+            nextEntry = Arrays.copyOf(nextEntry, capacity << 1);
+        }
+        int ordinal = count++;
+        ordinals.put(id, ordinal);
+        ids[ordinal] = id;
+        names[ordinal] = product.getName();
+        skus[ordinal] = product.getSku();
+        lowerNames[ordinal] = product.getName() != null ? product.getName().toLowerCase() : null;
+        lowerSkus[ordinal] = product.getSku() != null ? product.getSku().toLowerCase() : null;
+        active[ordinal] = product.isActive();
+        insert(entry(ordinal, NAME));
+        insert(entry(ordinal, SKU));
+        if (active[ordinal]) {
+            activeProducts++;
+            adjustLive(entry(ordinal, NAME), 1);
+            adjustLive(entry(ordinal, SKU), 1);
+        }
+    }
+
+    /**
+     * Attach entry to the node of its key, splitting an edge or adding a leaf as needed
+     */
+    private void insert(int entry) {
+        String key = keyOf(entry);
+        if (key == null) {
+            return;
+        }
+        int node = ROOT;
+        int pos = 0;
+        while (pos < key.length()) {
+            char c = key.charAt(pos);
+            int previous = NONE;
+            int child = firstChild[node];
+            while (child != NONE && firstChar(child) < c) {
+                previous = child;
+                child = nextSibling[child];
+            }
+            if (child == NONE || firstChar(child) != c) {
+                int leaf = newNode(entry, pos, key.length());
+                link(node, previous, leaf, child);
+                node = leaf;
+                break;
+            }
+            String label = keyOf(edgeEntry[child]);
+            int start = edgeStart[child];
+            int length = edgeEnd[child] - start;
+            int matched = 1;
+            while (matched < length && pos + matched < key.length()
+                    && label.charAt(start + matched) == key.charAt(pos + matched)) {
+                matched++;
+            }
+            if (matched < length) {
+                // Split the edge: the shared part leads to a new node, the rest of it to child
+                int middle = newNode(edgeEntry[child], start, start + matched);
+                link(node, previous, middle, nextSibling[child]);
+                edgeStart[child] = start + matched;
+                nextSibling[child] = NONE;
+                firstChild[middle] = child;
+                live[middle] = live[child];
+                child = middle;
+            }
+            node = child;
+            pos += matched;
+        }
+        nextEntry[entry] = firstEntryAt[node];
+        firstEntryAt[node] = entry;
+    }
+
+    private void link(int parent, int previous, int node, int next) {
+        nextSibling[node] = next;
+        if (previous == NONE) {
+            firstChild[parent] = node;
+        } else {
+            nextSibling[previous] = node;
+        }
+    }
+
+    /**
+     * Add delta to the live count of every node on the path of entry's key
+     */
+    private void adjustLive(int entry, int delta) {
+        String key = keyOf(entry);
+        if (key == null) {
+            return;
+        }
+        int node = ROOT;
+        int pos = 0;
+        live[node] += delta;
+        while (pos < key.length()) {
+            node = child(node, key.charAt(pos));
+            live[node] += delta;
+            pos += edgeEnd[node] - edgeStart[node];
+        }
+    }
+
+    /**
+     * Node at or just below the end of prefix, or NONE if no key starts with it
+     */
+    private int find(String prefix) {
+        int node = ROOT;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            node = child(node, prefix.charAt(pos));
+            if (node == NONE) {
+                return NONE;
+            }
+            String label = keyOf(edgeEntry[node]);
+            int start = edgeStart[node];
+            int length = Math.min(edgeEnd[node] - start, prefix.length() - pos);
+            if (!label.regionMatches(start, prefix, pos, length)) {
+                return NONE;
+            }
+            pos += length;
+        }
+        return node;
+    }
+
+    /**
+     * Add active products of node's subtree to found in key order until it is full; returns its size
+     */
+    private int collect(int node, int[] found, int size) {
+        for (int entry = firstEntryAt[node]; entry != NONE && size < found.length; entry = nextEntry[entry]) {
+            int ordinal = entry >> 1;
+            if (active[ordinal] && !contains(found, size, ordinal)) {
+                found[size++] = ordinal;
+            }
+        }
+        for (int child = firstChild[node]; child != NONE && size < found.length; child = nextSibling[child]) {
+            if (live[child] > 0) {
+                size = collect(child, found, size);
+            }
+        }
+        return size;
+    }
+
+    private int child(int node, char c) {
+        int child = firstChild[node];
+        while (child != NONE && firstChar(child) < c) {
+            child = nextSibling[child];
+        }
+        return child != NONE && firstChar(child) == c ? child : NONE;
+    }
+
+    private char firstChar(int node) {
+        return keyOf(edgeEntry[node]).charAt(edgeStart[node]);
+    }
+
+    private String keyOf(int entry) {
+        int ordinal = entry >> 1;
+        return (entry & 1) == NAME ? lowerNames[ordinal] : lowerSkus[ordinal];
+    }
+
+    private int newNode(int entry, int start, int end) {
+        if (nodeCount == edgeEntry.length) {
+            int capacity = nodeCount << 1;
+            edgeEntry = Arrays.copyOf(edgeEntry, capacity);
+            edgeStart = Arrays.copyOf(edgeStart, capacity);
+            edgeEnd = Arrays.copyOf(edgeEnd, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            firstEntryAt = Arrays.copyOf(firstEntryAt, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+        int node = nodeCount++;
+        edgeEntry[node] = entry;
+        edgeStart[node] = start;
+        edgeEnd[node] = end;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        firstEntryAt[node] = NONE;
+        live[node] = 0;
+        return node;
+    }
+
+    private static int entry(int ordinal, int key) {
+        return ordinal << 1 | key;
+    }
+
+    // A product's name and SKU may share a prefix; limits are small, so a linear check is enough
+    private static boolean contains(int[] found, int size, int ordinal) {
+        for (int i = 0; i < size; i++) {
+            if (found[i] == ordinal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,708 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.collection.LongIntHashMap;
+import com.ecommerce.infrastructure.collection.OrdinalBitmap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Product Search Index
+ * Trigram index over product names, descriptions and SKUs, with bitmap facets for merchant, status and
+ * stock, answering case-insensitive substring searches and filtered listings without reading the whole
+ * catalog
+ *
+ * Flow Notes:
+ * - Each product gets a dense ordinal; every three-character run of each lower-cased text maps to the
+ *   ordinals holding it, separators included, so any substring of three or more characters is covered
+ * - A query keeps only the products holding all of its trigrams: the posting lists are intersected
+ *   smallest first, stopping as soon as nothing is left; queries shorter than three characters check
+ *   every product
+ * - Facets keep one compressed bitmap of ordinals per merchant, per status and for products in stock; a
+ *   filter intersects the bitmaps it names, smallest first, and a text search keeps only the candidates
+ *   the filter holds before checking their text
+ * - Candidates are checked against their lower-cased text with the same contains as a catalog scan,
+ *   so results are exactly the scan's; IDs are returned in ascending order
+ * - A page keeps the first limit matches by sort key and ID in a bounded heap while the matches are
+ *   walked, so it never sorts or copies the whole result; the next page starts after the last key and
+ *   ID of this one (a keyset cursor), so paging stays correct while products are added; a product whose
+ *   sort key changes between two pages can be skipped or listed twice, which for INVENTORY happens with
+ *   every sale
+ *
+ * Design Notes:
+ * - Filled from the product repository on first use, then kept current by the product service; name,
+ *   description, SKU and merchant never change, so a saved product already indexed only moves between
+ *   the status and stock bitmaps, as it is deactivated, sells out or is restocked, and has its price and
+ *   inventory sort keys updated
+ * - Stock is as last saved: a hot SKU's buckets reach the stock bitmap when they are flushed, as they
+ *   reach the product row
+ * - Trigrams are packed into a long and mapped to their posting lists through a primitive map
+ * - Inside a transaction a product is indexed once it commits, so a rolled-back insert never shows up
+ * - Products saved while a load reads the catalog are replayed over what it read, so a row read
+ *   before such a save never overwrites the newer state
+ * - The index lives in this instance; with several instances on one database, SearchIndexScheduler
+ *   reloads the catalog periodically, so products created, restocked or deactivated on another instance
+ *   reach searches, facets and page totals within one reload interval
+ *
+ * Concurrency Notes:
+ * - Searches and pages share a read lock; indexing a new product or updating one takes the write lock,
+ *   and a save that changes nothing the index holds only takes the read lock
+ */
+@Component
+public class ProductSearchIndex {
+
+    /**
+     * Product text a search can match
+     */
+    public enum Field {
+        NAME, DESCRIPTION, SKU
+    }
+
+    /**
+     * Facets a product must match; a null facet matches every product
+     */
+    public record Filter(Long merchantId, ProductStatus status, Boolean inStock) {
+
+        public static Filter any() {
+            return new Filter(null, null, null);
+        }
+
+        public static Filter merchant(Long merchantId) {
+            return new Filter(merchantId, null, null);
+        }
+
+        /**
+         * Active products in stock, of merchantId if not null
+         */
+        public static Filter available(Long merchantId) {
+            return new Filter(merchantId, ProductStatus.ACTIVE, true);
+        }
+    }
+
+    /**
+     * Order of a page; ties, and ID itself, are ascending by ID
+     */
+    public enum Sort {
+        ID, PRICE, NAME, INVENTORY
+    }
+
+    /**
+     * IDs of one page in sort order, how many products match in all, and the cursor of the next page
+     * (null on the last one)
+     */
+    public record Page(List<Long> ids, int totalCount, String nextCursor) {
+    }
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int GRAM = 3;
+    private static final int NO_ORDINAL = -1;
+    private static final int NO_POSTINGS = -1;
+    private static final OrdinalBitmap EMPTY = new OrdinalBitmap();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    private final LongIntHashMap ordinals = new LongIntHashMap(NO_ORDINAL);
+    private final LongIntHashMap postingSlots = new LongIntHashMap(NO_POSTINGS);
+    private Postings[] postings = new Postings[64];
+    private int postingCount;
+    private long[] ids = new long[64];
+    private ProductStatus[] statuses = new ProductStatus[64];
+    private BigDecimal[] prices = new BigDecimal[64];
+    private int[] inventories = new int[64];
+    private final Map<Long, OrdinalBitmap> byMerchant = new HashMap<>();
+    private final Map<ProductStatus, OrdinalBitmap> byStatus = new EnumMap<>(ProductStatus.class);
+    private final OrdinalBitmap inStock = new OrdinalBitmap();
+    private final OrdinalBitmap outOfStock = new OrdinalBitmap();
+    private String[] names = new String[64];
+    private String[] descriptions = new String[64];
+    private String[] skus = new String[64];
+    private int count;
+    // Products saved while the catalog is being read for a load, replayed over it; null otherwise
+    private List<Product> savedWhileLoading;
+    private volatile boolean loaded;
+
+    /**
+     * Fill the index from source unless it was filled before
+     */
+    public void loadIfNeeded(Supplier<? extends Collection<Product>> source) {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (!loaded) {
+                load(source);
+            }
+        }
+    }
+
+    /**
+     * Read the whole catalog from source again and apply it over the index
+     * Brings in products created or changed by other instances sharing the database
+     */
+    public void reload(Supplier<? extends Collection<Product>> source) {
+        synchronized (loadLock) {
+            load(source);
+        }
+    }
+
+    // Caller holds loadLock
+    private void load(Supplier<? extends Collection<Product>> source) {
+        lock.writeLock().lock();
+        try {
+            savedWhileLoading = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Collection<Product> products = null;
+        try {
+            products = source.get();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (products != null) {
+                    products.forEach(this::update);
+                    // The catalog may have been read before these saves; their state is newer
+                    savedWhileLoading.forEach(this::update);
+                    loaded = true;
+                }
+                savedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Index a saved product or bring its facets up to date; inside a transaction, once it commits
+     */
+    public void index(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(product);
+                }
+            });
+        } else {
+            apply(product);
+        }
+    }
+
+    /**
+     * IDs of products matching filter whose text in one of fields contains text, ignoring case,
+     * in ascending order
+     */
+    public List<Long> search(String text, Set<Field> fields, Filter filter) {
+        String query = text.toLowerCase();
+        EnumSet<Field> searched = EnumSet.copyOf(fields);
+        long[] found;
+        int matches = 0;
+        lock.readLock().lock();
+        try {
+            OrdinalBitmap facets = facets(filter);
+            if (facets != null && facets.isEmpty()) {
+                return List.of();
+            }
+            Candidates candidates = query.length() < GRAM && facets != null
+                ? new Candidates(facets.toArray(), facets.cardinality())
+                : candidates(query);
+            found = new long[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                int ordinal = candidates.get(i);
+                if ((facets == null || facets.contains(ordinal)) && matches(ordinal, query, searched)) {
+                    found[matches++] = ids[ordinal];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sortedIds(found, matches);
+    }
+
+    /**
+     * IDs of products matching filter, in ascending order
+     */
+    public List<Long> filter(Filter filter) {
+        long[] found;
+        int matches;
+        lock.readLock().lock();
+        try {
+            OrdinalBitmap facets = facets(filter);
+            if (facets == null) {
+                found = Arrays.copyOf(ids, count);
+            } else {
+                int[] ordinals = facets.toArray();
+                found = new long[ordinals.length];
+                for (int i = 0; i < ordinals.length; i++) {
+                    found[i] = ids[ordinals[i]];
+                }
+            }
+            matches = found.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sortedIds(found, matches);
+    }
+
+    /**
+     * One page of the products matching filter, and text in one of fields if text is not blank, ordered by
+     * sort; starts after cursor, the nextCursor of the previous page, or at the first product if null
+     *
+     * @throws IllegalArgumentException if limit is outside 1 to MAX_PAGE_SIZE or cursor was not issued for sort
+     */
+    public Page page(String text, Set<Field> fields, Filter filter, Sort sort, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Cursor after = cursor != null ? Cursor.decode(cursor, sort) : null;
+        String query = text != null && !text.trim().isEmpty() ? text.toLowerCase() : null;
+        EnumSet<Field> searched = EnumSet.copyOf(fields);
+        // One more than the page, to tell whether another page follows
+        TopK top = new TopK(sort, limit + 1);
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            OrdinalBitmap facets = facets(filter);
+            Candidates candidates;
+            if (facets != null && (query == null || query.length() < GRAM)) {
+                candidates = new Candidates(facets.toArray(), facets.cardinality());
+                facets = null;
+            } else {
+                candidates = query != null ? candidates(query) : Candidates.all(count);
+            }
+            for (int i = 0; i < candidates.size(); i++) {
+                int ordinal = candidates.get(i);
+                if ((facets == null || facets.contains(ordinal))
+                        && (query == null || matches(ordinal, query, searched))) {
+                    total++;
+                    if (after == null || isAfter(ordinal, sort, after)) {
+                        top.offer(ordinal);
+                    }
+                }
+            }
+            int[] ordinals = top.drain();
+            int size = Math.min(ordinals.length, limit);
+            List<Long> pageIds = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                pageIds.add(ids[ordinals[i]]);
+            }
+            String next = ordinals.length > limit ? cursorAt(ordinals[limit - 1], sort) : null;
+            return new Page(pageIds, total, next);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Products indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Product product) {
+        lock.readLock().lock();
+        try {
+            int ordinal = ordinals.get(product.getId());
+            if (savedWhileLoading == null && ordinal != NO_ORDINAL && statuses[ordinal] == product.getStatus()
+                    && inventories[ordinal] == product.getAvailableInventory()
+                    && prices[ordinal].compareTo(product.getPrice().getAmount()) == 0) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (savedWhileLoading != null) {
+                savedWhileLoading.add(product);
+            }
+            update(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void update(Product product) {
+        Long id = product.getId();
+        if (id == null) {
+            return;
+        }
+        int ordinal = ordinals.get(id);
+        if (ordinal == NO_ORDINAL) {
+            add(id, product);
+            return;
+        }
+        if (statuses[ordinal] != product.getStatus()) {
+            statusBitmap(statuses[ordinal]).remove(ordinal);
+            setStatus(ordinal, product.getStatus());
+        }
+        setStock(ordinal, product);
+        prices[ordinal] = product.getPrice().getAmount();
+    }
+
+    private void add(long id, Product product) {
+        if (count == ids.length) {
+            int capacity = count << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            inventories = Arrays.copyOf(inventories, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            skus = Arrays.copyOf(skus, capacity);
+        }
+        int ordinal = count++;
+        ordinals.put(id, ordinal);
+        ids[ordinal] = id;
+        byMerchant.computeIfAbsent(product.getMerchantId(), merchantId -> new OrdinalBitmap()).add(ordinal);
+        setStatus(ordinal, product.getStatus());
+        setStock(ordinal, product);
+        prices[ordinal] = product.getPrice().getAmount();
+        names[ordinal] = lowerCase(product.getName());
+        descriptions[ordinal] = lowerCase(product.getDescription());
+        skus[ordinal] = lowerCase(product.getSku());
+        addTrigrams(ordinal, names[ordinal]);
+        addTrigrams(ordinal, descriptions[ordinal]);
+        addTrigrams(ordinal, skus[ordinal]);
+    }
+
+    private void setStatus(int ordinal, ProductStatus status) {
+        statuses[ordinal] = status;
+        statusBitmap(status).add(ordinal);
+    }
+
+    private void setStock(int ordinal, Product product) {
+        inventories[ordinal] = product.getAvailableInventory();
+        boolean stocked = inventories[ordinal] > 0;
+        (stocked ? inStock : outOfStock).add(ordinal);
+        (stocked ? outOfStock : inStock).remove(ordinal);
+    }
+
+    private OrdinalBitmap statusBitmap(ProductStatus status) {
+        return byStatus.computeIfAbsent(status, key -> new OrdinalBitmap());
+    }
+
+    /**
+     * Ordinals matching every facet filter names, or null if it names none
+     */
+    private OrdinalBitmap facets(Filter filter) {
+        List<OrdinalBitmap> bitmaps = new ArrayList<>(3);
+        if (filter.merchantId() != null) {
+            bitmaps.add(byMerchant.getOrDefault(filter.merchantId(), EMPTY));
+        }
+        if (filter.status() != null) {
+            bitmaps.add(byStatus.getOrDefault(filter.status(), EMPTY));
+        }
+        if (filter.inStock() != null) {
+            bitmaps.add(filter.inStock() ? inStock : outOfStock);
+        }
+        if (bitmaps.isEmpty()) {
+            return null;
+        }
+        bitmaps.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+        OrdinalBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = result.and(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Order of two ordinals by sort key, then by ID
+     */
+    private int compare(Sort sort, int left, int right) {
+        int order = switch (sort) {
+            case ID -> 0;
+            case PRICE -> prices[left].compareTo(prices[right]);
+            case NAME -> compareNames(names[left], names[right]);
+            case INVENTORY -> Integer.compare(inventories[left], inventories[right]);
+        };
+        return order != 0 ? order : Long.compare(ids[left], ids[right]);
+    }
+
+    private boolean isAfter(int ordinal, Sort sort, Cursor cursor) {
+        int order = switch (sort) {
+            case ID -> 0;
+            case PRICE -> prices[ordinal].compareTo(cursor.price());
+            case NAME -> compareNames(names[ordinal], cursor.name());
+            case INVENTORY -> Integer.compare(inventories[ordinal], cursor.inventory());
+        };
+        return order > 0 || order == 0 && ids[ordinal] > cursor.id();
+    }
+
+    private String cursorAt(int ordinal, Sort sort) {
+        String key = switch (sort) {
+            case ID -> "";
+            case PRICE -> prices[ordinal].toPlainString();
+            case NAME -> names[ordinal] != null ? names[ordinal] : "";
+            case INVENTORY -> Integer.toString(inventories[ordinal]);
+        };
+        return Cursor.encode(sort, ids[ordinal], key);
+    }
+
+    // A missing name sorts first, like an empty one
+    private static int compareNames(String left, String right) {
+        return (left != null ? left : "").compareTo(right != null ? right : "");
+    }
+
+    private static List<Long> sortedIds(long[] found, int matches) {
+        Arrays.sort(found, 0, matches);
+        return Arrays.stream(found, 0, matches).boxed().toList();
+    }
+
+    private void addTrigrams(int ordinal, String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            long trigram = trigram(text, i);
+            int slot = postingSlots.get(trigram);
+            if (slot == NO_POSTINGS) {
+                if (postingCount == postings.length) {
+                    postings = Arrays.copyOf(postings, postingCount << 1);
+                }
+                slot = postingCount++;
+                postings[slot] = new Postings();
+                postingSlots.put(trigram, slot);
+            }
+            postings[slot].add(ordinal);
+        }
+    }
+
+    /**
+     * Ordinals holding every trigram of query, ascending; every ordinal if query is too short
+     */
+    private Candidates candidates(String query) {
+        if (query.length() < GRAM) {
+            return Candidates.all(count);
+        }
+        Postings[] lists = new Postings[query.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            int slot = postingSlots.get(trigram(query, i));
+            if (slot == NO_POSTINGS) {
+                return Candidates.none();
+            }
+            lists[i] = postings[slot];
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] ordinals = Arrays.copyOf(lists[0].ordinals, lists[0].size);
+        int size = ordinals.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                size = lists[i].retainAll(ordinals, size);
+            }
+        }
+        return new Candidates(ordinals, size);
+    }
+
+    private boolean matches(int ordinal, String query, Set<Field> fields) {
+        return (fields.contains(Field.NAME) && contains(names[ordinal], query))
+            || (fields.contains(Field.DESCRIPTION) && contains(descriptions[ordinal], query))
+            || (fields.contains(Field.SKU) && contains(skus[ordinal], query));
+    }
+
+    private static boolean contains(String lowerCaseText, String query) {
+        return lowerCaseText != null && lowerCaseText.contains(query);
+    }
+
+    private static String lowerCase(String text) {
+        return text != null ? text.toLowerCase() : null;
+    }
+
+    private static long trigram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    /**
+     * Ordinals to check, ascending; all ordinals below size when ordinals is null
+     */
+    private record Candidates(int[] ordinals, int size) {
+
+        static Candidates all(int count) {
+            return new Candidates(null, count);
+        }
+
+        static Candidates none() {
+            return new Candidates(new int[0], 0);
+        }
+
+        int get(int i) {
+            return ordinals != null ? ordinals[i] : i;
+        }
+    }
+
+    /**
+     * Sort key and ID of the last product of a page, which the next page starts after
+     * Encoded as URL-safe Base64 of "sort:id:key", so clients pass it back without reading it
+     */
+    private record Cursor(long id, BigDecimal price, String name, int inventory) {
+
+        static String encode(Sort sort, long id, String key) {
+            String plain = sort.name() + ":" + id + ":" + key;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Sort sort) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor does not belong to sort " + sort.name().toLowerCase());
+            }
+            try {
+                long id = Long.parseLong(parts[1]);
+                String key = parts[2];
+                return switch (sort) {
+                    case ID -> new Cursor(id, null, null, 0);
+                    case PRICE -> new Cursor(id, new BigDecimal(key), null, 0);
+                    case NAME -> new Cursor(id, null, key, 0);
+                    case INVENTORY -> new Cursor(id, null, null, Integer.parseInt(key));
+                };
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * The capacity smallest ordinals offered, in sort order; a max-heap whose root is the largest kept,
+     * so each offer costs at most log(capacity) comparisons
+     */
+    private final class TopK {
+        private final Sort sort;
+        private final int[] heap;
+        private int size;
+
+        TopK(Sort sort, int capacity) {
+            this.sort = sort;
+            this.heap = new int[capacity];
+        }
+
+        void offer(int ordinal) {
+            if (size < heap.length) {
+                heap[size] = ordinal;
+                siftUp(size++);
+            } else if (compare(sort, ordinal, heap[0]) < 0) {
+                heap[0] = ordinal;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Kept ordinals in ascending sort order; empties the heap
+         */
+        int[] drain() {
+            int[] sorted = new int[size];
+            while (size > 0) {
+                sorted[size - 1] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int i) {
+            int ordinal = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(sort, heap[parent], ordinal) >= 0) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = ordinal;
+        }
+
+        private void siftDown(int i) {
+            int ordinal = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = (i << 1) + 1;
+                if (child + 1 < size && compare(sort, heap[child + 1], heap[child]) > 0) {
+                    child++;
+                }
+                if (compare(sort, ordinal, heap[child]) >= 0) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = ordinal;
+        }
+    }
+
+    /**
+     * Ordinals holding one trigram, ascending; an ordinal is added once however often the trigram occurs
+     */
+    private static final class Postings {
+        int[] ordinals = new int[2];
+        int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size << 1);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        /**
+         * Keep the first size entries of sorted that this list holds, compacted to the front; returns
+         * how many are left. Each one is found by binary search past the previous one, so the cost
+         * follows the shorter list
+         */
+        int retainAll(int[] sorted, int size) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size && from < this.size; i++) {
+                int found = Arrays.binarySearch(ordinals, from, this.size, sorted[i]);
+                if (found >= 0) {
+                    sorted[kept++] = sorted[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
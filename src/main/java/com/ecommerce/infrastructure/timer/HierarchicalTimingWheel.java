@@ -0,0 +1,316 @@
+package com.ecommerce.infrastructure.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical Timing Wheel
+ * Schedules large numbers of timeouts with O(1) schedule and cancel, driven by periodic advance() calls
+ *
+ * Design Notes:
+ * - Each level is a ring of wheelSize slots; a slot on level n spans wheelSize^n ticks
+ * - A timeout goes to the lowest level whose current rotation still contains its deadline, and is
+ *   cascaded down to a finer level when the clock enters its slot
+ * - schedule() and cancel() only append to lock-free queues; the slots are touched by one advancing
+ *   thread at a time, which drains the queues first
+ * - Timeouts never fire early, and fire at most one tick late plus the advance interval
+ * - Tasks run on the advancing thread and should be short
+ */
+public final class HierarchicalTimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+    /**
+     * Handle of a scheduled task
+     */
+    public interface Timeout {
+
+        /**
+         * Cancel the task; returns false if it already ran or was cancelled
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+
+        long getDeadlineMillis();
+    }
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int slotMask;
+    private final LongSupplier clock;
+    private final Entry[][] levels;
+
+    private final Queue<Entry> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+    private final ReentrantLock advanceLock = new ReentrantLock();
+
+    // Guarded by advanceLock
+    private long currentTick;
+    private long entriesInWheel;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize) {
+        this(tickMillis, wheelSize, System::currentTimeMillis);
+    }
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, LongSupplier clock) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize < 2 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("Wheel size must be between 2 and 1048576");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.wheelBits = Integer.numberOfTrailingZeros(size);
+        this.slotMask = size - 1;
+        this.clock = clock;
+        // Enough levels to cover any non-negative tick number
+        this.levels = new Entry[(63 + wheelBits - 1) / wheelBits][];
+        this.currentTick = clock.getAsLong() / tickMillis;
+    }
+
+    /**
+     * Schedule task to run once delay has elapsed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task");
+        long deadline = clock.getAsLong() + Math.max(0, unit.toMillis(delay));
+        Entry entry = new Entry(task, deadline);
+        pendingTimeouts.incrementAndGet();
+        pendingAdds.offer(entry);
+        return entry;
+    }
+
+    /**
+     * Move the wheel up to the current time and run every task that became due
+     * Returns the number of tasks run; returns 0 without waiting if another thread is advancing
+     */
+    public int advance() {
+        if (!advanceLock.tryLock()) {
+            return 0;
+        }
+        List<Entry> due = new ArrayList<>();
+        try {
+            unlinkCancelled();
+            insertPending(due);
+            long nowTick = clock.getAsLong() / tickMillis;
+            while (currentTick < nowTick) {
+                if (entriesInWheel == 0) {
+                    currentTick = nowTick;
+                    break;
+                }
+                currentTick++;
+                cascade();
+                collectSlot(0, (int) (currentTick & slotMask), due);
+            }
+        } finally {
+            advanceLock.unlock();
+        }
+        int expired = 0;
+        for (Entry entry : due) {
+            if (entry.expire()) {
+                expired++;
+                try {
+                    entry.task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Timer task failed: {}", e.getMessage(), e);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of timeouts that have neither run nor been cancelled
+     */
+    public long getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getWheelSize() {
+        return slotMask + 1;
+    }
+
+    private void unlinkCancelled() {
+        Entry entry;
+        while ((entry = pendingCancels.poll()) != null) {
+            if (entry.level >= 0) {
+                unlink(entry);
+            }
+        }
+    }
+
+    private void insertPending(List<Entry> due) {
+        Entry entry;
+        while ((entry = pendingAdds.poll()) != null) {
+            if (entry.isCancelled()) {
+                continue;
+            }
+            if (entry.deadlineTick <= currentTick) {
+                due.add(entry);
+            } else {
+                insert(entry);
+            }
+        }
+    }
+
+    /**
+     * Re-insert the timeouts of every higher-level slot the clock has just entered, coarsest first,
+     * so they land on finer levels before the level-0 slot is collected
+     */
+    private void cascade() {
+        for (int level = levels.length - 1; level > 0; level--) {
+            int shift = wheelBits * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            List<Entry> moved = new ArrayList<>();
+            collectSlot(level, (int) ((currentTick >>> shift) & slotMask), moved);
+            for (Entry entry : moved) {
+                if (!entry.isCancelled()) {
+                    insert(entry);
+                }
+            }
+        }
+    }
+
+    private void insert(Entry entry) {
+        int level = 0;
+        while (level < levels.length - 1) {
+            int shift = wheelBits * (level + 1);
+            if ((entry.deadlineTick >>> shift) == (currentTick >>> shift)) {
+                break;
+            }
+            level++;
+        }
+        Entry[] slots = levels[level];
+        if (slots == null) {
+            slots = new Entry[slotMask + 1];
+            levels[level] = slots;
+        }
+        int slot = (int) ((entry.deadlineTick >>> (wheelBits * level)) & slotMask);
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = slots[slot];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        slots[slot] = entry;
+        entriesInWheel++;
+    }
+
+    private void unlink(Entry entry) {
+        Entry[] slots = levels[entry.level];
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.level = -1;
+        entriesInWheel--;
+    }
+
+    private void collectSlot(int level, int slot, List<Entry> target) {
+        Entry[] slots = levels[level];
+        if (slots == null) {
+            return;
+        }
+        Entry entry = slots[slot];
+        slots[slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            entry.level = -1;
+            entriesInWheel--;
+            target.add(entry);
+            entry = next;
+        }
+    }
+
+    private final class Entry implements Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Entry> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        private final Runnable task;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+        private volatile int state = INIT;
+
+        // Slot links, guarded by advanceLock
+        private Entry prev;
+        private Entry next;
+        private int level = -1;
+        private int slot;
+
+        private Entry(Runnable task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+            // Round up so the task never runs before its deadline
+            this.deadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            pendingCancels.offer(this);
+            return true;
+        }
+
+        private boolean expire() {
+            if (!STATE.compareAndSet(this, INIT, EXPIRED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        @Override
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
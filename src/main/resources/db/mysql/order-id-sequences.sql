@@ -0,0 +1,16 @@
+-- Order id sequences (mysql profile)
+-- Orders and order items take their ids from pooled sequences so that bulk inserts can be batched;
+-- MySQL has no sequences, so Hibernate keeps each one in a single-row table.
+-- Run once before starting the application on a database whose orders already have AUTO_INCREMENT ids.
+-- ddl-auto=update would otherwise create these tables starting at 1 and hand out ids that already exist.
+-- Seeding MAX(id) + 50 (the allocation size) makes the first block Hibernate reserves start above MAX(id).
+
+CREATE TABLE IF NOT EXISTS orders_seq (next_val BIGINT);
+INSERT INTO orders_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM orders
+WHERE NOT EXISTS (SELECT 1 FROM orders_seq);
+
+CREATE TABLE IF NOT EXISTS order_items_seq (next_val BIGINT);
+INSERT INTO order_items_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM order_items
+WHERE NOT EXISTS (SELECT 1 FROM order_items_seq);
@@ -2,10 +2,21 @@ package com.ecommerce.api.controller;
 
 import com.ecommerce.application.service.EcommerceService;
 import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.ProductService.ProductPage;
+import com.ecommerce.application.service.PurchasePipeline;
+import com.ecommerce.application.service.ReservationService;
+import com.ecommerce.application.dto.BatchPurchaseRequest;
+import com.ecommerce.application.dto.BatchPurchaseResponse;
+import com.ecommerce.application.dto.CartPurchaseRequest;
+import com.ecommerce.application.dto.CartPurchaseResponse;
 import com.ecommerce.application.dto.PurchaseRequest;
 import com.ecommerce.application.dto.PurchaseResponse;
+import com.ecommerce.domain.product.InventoryReservation;
+import com.ecommerce.domain.product.InvalidReservationStateException;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.Money;
+import com.ecommerce.infrastructure.idempotency.IdempotencyStore;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex.Suggestion;
 import com.ecommerce.api.config.ApiVersionConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +24,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,7 +46,8 @@ import static org.mockito.ArgumentMatchers.eq;
 /**
  * Test class for EcommerceController
  */
-@WebMvcTest(EcommerceController.class)
+@WebMvcTest(controllers = EcommerceController.class)
+@Import(IdempotencyStore.class)
 class EcommerceControllerTest {
 
     private static final String API_BASE_PATH = ApiVersionConfig.API_V1 + "/ecommerce";
@@ -46,6 +61,12 @@ class EcommerceControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ReservationService reservationService;
+
+    @MockBean
+    private PurchasePipeline purchasePipeline;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -106,6 +127,77 @@ class EcommerceControllerTest {
         verify(ecommerceService).processPurchase(any(PurchaseRequest.class));
     }
 
+    @Test
+    void purchaseProduct_WithPipelineEnabled_ShouldUsePipeline() throws Exception {
+        // Given
+        when(purchasePipeline.isEnabled()).thenReturn(true);
+        when(purchasePipeline.purchase(any(PurchaseRequest.class))).thenReturn(testPurchaseResponse);
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/purchase")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPurchaseRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.orderNumber").value("ORD123"));
+
+        verify(ecommerceService, never()).processPurchase(any());
+    }
+
+    @Test
+    void purchaseProduct_WhenPipelineIsFull_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        when(purchasePipeline.isEnabled()).thenReturn(true);
+        when(purchasePipeline.purchase(any(PurchaseRequest.class))).thenThrow(
+            new com.ecommerce.api.exception.BusinessException(com.ecommerce.api.dto.ErrorCode.RATE_LIMIT_EXCEEDED,
+                "Too many pending purchases for this product, please retry"));
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/purchase")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPurchaseRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("RATE_LIMIT_EXCEEDED"));
+    }
+
+    @Test
+    void purchaseProduct_WithRepeatedIdempotencyKey_ShouldPurchaseOnce() throws Exception {
+        // Given
+        when(ecommerceService.processPurchase(any(PurchaseRequest.class))).thenReturn(testPurchaseResponse);
+
+        // When & Then - the retry replays the first response
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post(API_BASE_PATH + "/purchase")
+                    .header("Idempotency-Key", "purchase-retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(testPurchaseRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.orderNumber").value("ORD123"));
+        }
+
+        verify(ecommerceService, times(1)).processPurchase(any(PurchaseRequest.class));
+    }
+
+    @Test
+    void purchaseProduct_WithIdempotencyKeyReusedForOtherRequest_ShouldBeRejected() throws Exception {
+        // Given
+        when(ecommerceService.processPurchase(any(PurchaseRequest.class))).thenReturn(testPurchaseResponse);
+        mockMvc.perform(post(API_BASE_PATH + "/purchase")
+                .header("Idempotency-Key", "purchase-reused-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPurchaseRequest)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/purchase")
+                .header("Idempotency-Key", "purchase-reused-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PurchaseRequest(1L, "IPHONE15", 5))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("OPERATION_NOT_ALLOWED"));
+
+        verify(ecommerceService, times(1)).processPurchase(any(PurchaseRequest.class));
+    }
+
     @Test
     void purchaseProduct_ValidationError_NullUserId() throws Exception {
         // Given
@@ -219,7 +311,7 @@ class EcommerceControllerTest {
         );
         secondProduct.setId(2L);
         List<Product> products = Arrays.asList(testProduct, secondProduct);
-        when(productService.getAllAvailableProducts()).thenReturn(products);
+        when(productService.getAvailableProductsPage(null, null, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products"))
@@ -230,14 +322,14 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.products[0].sku").value("IPHONE15"))
                 .andExpect(jsonPath("$.data.products[1].sku").value("SAMSUNG_S24"));
 
-        verify(productService).getAllAvailableProducts();
+        verify(productService).getAvailableProductsPage(null, null, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithSearch() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.searchAvailableProducts("iPhone")).thenReturn(products);
+        when(productService.getAvailableProductsPage("iPhone", null, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products").param("search", "iPhone"))
@@ -248,7 +340,7 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.searchTerm").value("iPhone"))
                 .andExpect(jsonPath("$.data.products[0].sku").value("IPHONE15"));
 
-        verify(productService).searchAvailableProducts("iPhone");
+        verify(productService).getAvailableProductsPage("iPhone", null, "id", null, 20);
     }
 
     @Test
@@ -269,6 +361,54 @@ class EcommerceControllerTest {
         verify(productService).getProductBySku("IPHONE15");
     }
 
+    @Test
+    void autocompleteProducts_Success() throws Exception {
+        // Given
+        when(productService.autocomplete("iph", 5)).thenReturn(List.of(
+            new Suggestion(1L, "IPHONE15", "iPhone 15"), new Suggestion(3L, "IPHONE15-PRO", "iPhone 15 Pro")));
+
+        // When & Then - the literal path wins over /products/{sku}
+        mockMvc.perform(get(API_BASE_PATH + "/products/autocomplete")
+                .param("prefix", "iph")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.prefix").value("iph"))
+                .andExpect(jsonPath("$.data.count").value(2))
+                .andExpect(jsonPath("$.data.suggestions[0].sku").value("IPHONE15"))
+                .andExpect(jsonPath("$.data.suggestions[1].name").value("iPhone 15 Pro"));
+
+        verify(productService).autocomplete("iph", 5);
+        verify(productService, never()).getProductBySku(any());
+    }
+
+    @Test
+    void autocompleteProducts_DefaultsToTenSuggestions() throws Exception {
+        // Given
+        when(productService.autocomplete("mac", 10)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get(API_BASE_PATH + "/products/autocomplete").param("prefix", "mac"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.suggestions", hasSize(0)));
+
+        verify(productService).autocomplete("mac", 10);
+    }
+
+    @Test
+    void autocompleteProducts_WithLimitOutOfRange_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(productService.autocomplete("mac", 500))
+            .thenThrow(new IllegalArgumentException("Limit must be between 1 and 50"));
+
+        // When & Then
+        mockMvc.perform(get(API_BASE_PATH + "/products/autocomplete")
+                .param("prefix", "mac")
+                .param("limit", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+    }
+
     @Test
     void getProductInventory_NotFound() throws Exception {
         // Given
@@ -281,6 +421,140 @@ class EcommerceControllerTest {
         verify(productService).getProductBySku("UNKNOWN");
     }
 
+    @Test
+    void purchaseCart_Success() throws Exception {
+        // Given
+        CartPurchaseResponse.MerchantOrder order = new CartPurchaseResponse.MerchantOrder("ORD001", 1L,
+            List.of(new CartPurchaseResponse.OrderLine("IPHONE15", "iPhone 15", 2, Money.of(2000.00, "CNY"))),
+            Money.of(2000.00, "CNY"));
+        when(ecommerceService.processCartPurchase(any(CartPurchaseRequest.class)))
+            .thenReturn(new CartPurchaseResponse(1L, List.of(order), Money.of(2000.00, "CNY")));
+
+        CartPurchaseRequest request = new CartPurchaseRequest(1L,
+            List.of(new CartPurchaseRequest.CartItem("IPHONE15", 2)));
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/cart/purchase")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Cart purchased successfully"))
+                .andExpect(jsonPath("$.data.orders", hasSize(1)))
+                .andExpect(jsonPath("$.data.orders[0].orderNumber").value("ORD001"))
+                .andExpect(jsonPath("$.data.orders[0].items[0].sku").value("IPHONE15"));
+    }
+
+    @Test
+    void purchaseCart_InvalidItem_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH + "/cart/purchase")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"items\":[{\"sku\":\"IPHONE15\",\"quantity\":0}]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(API_BASE_PATH + "/cart/purchase")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(ecommerceService, never()).processCartPurchase(any());
+    }
+
+    @Test
+    void purchaseBatch_WithPartialFailure_ShouldReturnEveryResult() throws Exception {
+        // Given
+        PurchaseResponse purchase = new PurchaseResponse("ORD001", 1L, 1L, "IPHONE15", "iPhone 15", 1,
+            Money.of(1000.00, "CNY"));
+        when(ecommerceService.processBatchPurchase(any(BatchPurchaseRequest.class)))
+            .thenReturn(new BatchPurchaseResponse(List.of(
+                BatchPurchaseResponse.ItemResult.success(0, purchase),
+                BatchPurchaseResponse.ItemResult.failure(1, "INSUFFICIENT_BALANCE", "Insufficient balance"))));
+
+        BatchPurchaseRequest request = new BatchPurchaseRequest(List.of(
+            new PurchaseRequest(1L, "IPHONE15", 1),
+            new PurchaseRequest(2L, "IPHONE15", 1)));
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/purchase/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Batch processed: 1 succeeded, 1 failed"))
+                .andExpect(jsonPath("$.data.results", hasSize(2)))
+                .andExpect(jsonPath("$.data.results[0].purchase.orderNumber").value("ORD001"))
+                .andExpect(jsonPath("$.data.results[1].success").value(false))
+                .andExpect(jsonPath("$.data.results[1].errorCode").value("INSUFFICIENT_BALANCE"))
+                .andExpect(jsonPath("$.data.failed").value(1));
+    }
+
+    @Test
+    void purchaseBatch_InvalidRequest_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH + "/purchase/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"purchases\":[{\"userId\":1,\"sku\":\"IPHONE15\",\"quantity\":0}]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(API_BASE_PATH + "/purchase/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"purchases\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(ecommerceService, never()).processBatchPurchase(any());
+    }
+
+    @Test
+    void reserveInventory_Success() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        InventoryReservation reservation = new InventoryReservation("RSV-1", "IPHONE15", 2, now, now.plusMinutes(5));
+        when(reservationService.reserve("IPHONE15", 2, Duration.ofSeconds(300))).thenReturn(reservation);
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new EcommerceController.ReserveInventoryRequest("IPHONE15", 2, 300L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reservationId").value("RSV-1"))
+                .andExpect(jsonPath("$.data.quantity").value(2))
+                .andExpect(jsonPath("$.data.status").value("ACTIVE"));
+    }
+
+    @Test
+    void reserveInventory_InvalidQuantity_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH + "/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sku\":\"IPHONE15\",\"quantity\":0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reservationService);
+    }
+
+    @Test
+    void confirmReservation_Success() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        InventoryReservation reservation = new InventoryReservation("RSV-1", "IPHONE15", 2, now, now.plusMinutes(5));
+        reservation.confirm();
+        when(reservationService.confirm("RSV-1")).thenReturn(reservation);
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/reservations/{reservationId}/confirm", "RSV-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
+    }
+
+    @Test
+    void releaseReservation_AlreadyEnded_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(reservationService.release("RSV-1"))
+            .thenThrow(new InvalidReservationStateException("Reservation RSV-1 is already CONFIRMED"));
+
+        // When & Then
+        mockMvc.perform(post(API_BASE_PATH + "/reservations/{reservationId}/release", "RSV-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("OPERATION_NOT_ALLOWED"));
+    }
+
     @Test
     void cancelOrder_Success() throws Exception {
         // Given
@@ -322,7 +596,7 @@ class EcommerceControllerTest {
     void getAllProducts_WithMerchantFilter() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getProductsByMerchant(1L)).thenReturn(products);
+        when(productService.getAvailableProductsPage(null, 1L, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -333,14 +607,14 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.totalCount").value(1))
                 .andExpect(jsonPath("$.data.merchantId").value(1));
 
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getAvailableProductsPage(null, 1L, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithSearchAndMerchantFilter() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getProductsByMerchant(1L)).thenReturn(products);
+        when(productService.getAvailableProductsPage("iPhone", 1L, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -351,14 +625,14 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.searchTerm").value("iPhone"))
                 .andExpect(jsonPath("$.data.merchantId").value(1));
 
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getAvailableProductsPage("iPhone", 1L, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithSearchOnly() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.searchAvailableProducts("iPhone")).thenReturn(products);
+        when(productService.getAvailableProductsPage("iPhone", null, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -367,14 +641,14 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.code").value("SUCCESS"))
                 .andExpect(jsonPath("$.data.searchTerm").value("iPhone"));
 
-        verify(productService).searchAvailableProducts("iPhone");
+        verify(productService).getAvailableProductsPage("iPhone", null, "id", null, 20);
     }
 
     @Test
     void getAllProducts_NoFilters() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getAllAvailableProducts()).thenReturn(products);
+        when(productService.getAvailableProductsPage(null, null, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products"))
@@ -382,7 +656,51 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.code").value("SUCCESS"))
                 .andExpect(jsonPath("$.data.products", hasSize(1)));
 
-        verify(productService).getAllAvailableProducts();
+        verify(productService).getAvailableProductsPage(null, null, "id", null, 20);
+    }
+
+    @Test
+    void getAllProducts_WithSortCursorAndLimit_ShouldReturnPage() throws Exception {
+        // Given
+        when(productService.getAvailableProductsPage(null, 1L, "price", "cursor-1", 1))
+            .thenReturn(new ProductPage(List.of(testProduct), 3, "cursor-2"));
+
+        // When & Then
+        mockMvc.perform(get(API_BASE_PATH + "/products")
+                .param("merchantId", "1")
+                .param("sort", "price")
+                .param("cursor", "cursor-1")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.products", hasSize(1)))
+                .andExpect(jsonPath("$.data.totalCount").value(3))
+                .andExpect(jsonPath("$.data.nextCursor").value("cursor-2"));
+
+        verify(productService).getAvailableProductsPage(null, 1L, "price", "cursor-1", 1);
+    }
+
+    @Test
+    void getAllProducts_WithUnknownSort_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(productService.getAvailableProductsPage(null, null, "rating", null, 20))
+            .thenThrow(new IllegalArgumentException("Unknown sort: rating; expected id, price, name or inventory"));
+
+        // When & Then
+        mockMvc.perform(get(API_BASE_PATH + "/products").param("sort", "rating"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void getAllProducts_WithLimitOutOfRange_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(productService.getAvailableProductsPage(null, null, "id", null, 500))
+            .thenThrow(new IllegalArgumentException("Limit must be between 1 and 100"));
+
+        // When & Then
+        mockMvc.perform(get(API_BASE_PATH + "/products").param("limit", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
     }
 
     // Additional test cases for better coverage
@@ -523,7 +841,7 @@ class EcommerceControllerTest {
     void getAllProducts_WithSearchAndMerchantFilter_EmptySearchTerm() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getProductsByMerchant(1L)).thenReturn(products);
+        when(productService.getAvailableProductsPage("   ", 1L, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -534,14 +852,14 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.products", hasSize(1)))
                 .andExpect(jsonPath("$.data.totalCount").value(1));
 
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getAvailableProductsPage("   ", 1L, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithSearchAndMerchantFilter_ValidSearchTerm() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getProductsByMerchant(1L)).thenReturn(products);
+        when(productService.getAvailableProductsPage("iPhone", 1L, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -554,14 +872,14 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.searchTerm").value("iPhone"))
                 .andExpect(jsonPath("$.data.merchantId").value(1));
 
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getAvailableProductsPage("iPhone", 1L, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithSearchAndMerchantFilter_CaseInsensitiveSearch() throws Exception {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getProductsByMerchant(1L)).thenReturn(products);
+        when(productService.getAvailableProductsPage("iphone", 1L, "id", null, 20)).thenReturn(page(products));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -572,13 +890,13 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.products", hasSize(1)))
                 .andExpect(jsonPath("$.data.totalCount").value(1));
 
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getAvailableProductsPage("iphone", 1L, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithSearchAndMerchantFilter_NoMatchingProducts() throws Exception {
         // Given
-        when(productService.getProductsByMerchant(1L)).thenReturn(Arrays.asList());
+        when(productService.getAvailableProductsPage("NonExistentProduct", 1L, "id", null, 20)).thenReturn(page(Arrays.asList()));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/products")
@@ -589,7 +907,7 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.data.products", hasSize(0)))
                 .andExpect(jsonPath("$.data.totalCount").value(0));
 
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getAvailableProductsPage("NonExistentProduct", 1L, "id", null, 20);
     }
 
     @Test
@@ -691,7 +1009,7 @@ class EcommerceControllerTest {
     @Test
     void getAllProducts_WithSearch_ServiceThrowsException() throws Exception {
         // Given
-        when(productService.searchAvailableProducts("test"))
+        when(productService.getAvailableProductsPage("test", null, "id", null, 20))
             .thenThrow(new RuntimeException("Search failed"));
 
         // When & Then
@@ -701,13 +1019,13 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.code").value("INTERNAL_ERROR"))
                 .andExpect(jsonPath("$.message").value("Search failed"));
 
-        verify(productService).searchAvailableProducts("test");
+        verify(productService).getAvailableProductsPage("test", null, "id", null, 20);
     }
 
     @Test
     void getAllProducts_WithMerchantFilter_ServiceThrowsException() throws Exception {
         // Given
-        when(productService.getProductsByMerchant(999L))
+        when(productService.getAvailableProductsPage(null, 999L, "id", null, 20))
             .thenThrow(new RuntimeException("Merchant not found"));
 
         // When & Then
@@ -717,7 +1035,7 @@ class EcommerceControllerTest {
                 .andExpect(jsonPath("$.code").value("MERCHANT_NOT_FOUND"))
                 .andExpect(jsonPath("$.message").value("Merchant not found"));
 
-        verify(productService).getProductsByMerchant(999L);
+        verify(productService).getAvailableProductsPage(null, 999L, "id", null, 20);
     }
 
     // Test internal classes getter/setter methods
@@ -771,13 +1089,14 @@ class EcommerceControllerTest {
         );
         
         EcommerceController.ProductListResponse response = new EcommerceController.ProductListResponse(
-            Arrays.asList(productSummary), 1, "test", 1L
+            Arrays.asList(productSummary), 1, "test", 1L, "next"
         );
         
         assertEquals(1, response.getProducts().size());
         assertEquals(1, response.getTotalCount());
         assertEquals("test", response.getSearchTerm());
         assertEquals(1L, response.getMerchantId());
+        assertEquals("next", response.getNextCursor());
     }
 
     @Test
@@ -875,4 +1194,8 @@ class EcommerceControllerTest {
 
         verify(productService).getProductBySku("INVALID-SKU");
     }
+
+    private static ProductPage page(List<Product> products) {
+        return new ProductPage(products, products.size(), null);
+    }
 }
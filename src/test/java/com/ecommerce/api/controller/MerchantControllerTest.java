@@ -2,9 +2,12 @@ package com.ecommerce.api.controller;
 
 import com.ecommerce.application.service.MerchantService;
 import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.ProductService.ProductPage;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.merchant.Merchant;
 import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.scheduler.InventoryScheduler;
 import com.ecommerce.api.config.ApiVersionConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,12 +15,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +47,9 @@ class MerchantControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     private Merchant testMerchant;
     private Product testProduct;
     private MerchantController.CreateMerchantRequest createMerchantRequest;
@@ -126,11 +134,18 @@ class MerchantControllerTest {
         verify(merchantService).createMerchant("Test Store", "BL12345678", "merchant@test.com", "13900139000");
     }
 
+    @Test
+    void webSlice_ShouldNotStartInventoryScheduler() {
+        // Its jobs would call the mocked product service while tests stub it
+        assertTrue(applicationContext.getBeansOfType(InventoryScheduler.class).isEmpty());
+    }
+
     @Test
     void getMerchantProducts_Success() throws Exception {
         // Given
         when(merchantService.merchantExists(1L)).thenReturn(true);
-        when(productService.getProductsByMerchant(1L)).thenReturn(Arrays.asList(testProduct));
+        when(productService.getMerchantProductsPage(1L, null, null, "id", null, 20))
+            .thenReturn(page(Arrays.asList(testProduct)));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/{merchantId}/products", 1L))
@@ -139,30 +154,33 @@ class MerchantControllerTest {
                 .andExpect(jsonPath("$.data.totalCount").value(1));
 
         verify(merchantService).merchantExists(1L);
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getMerchantProductsPage(1L, null, null, "id", null, 20);
     }
 
     @Test
     void getMerchantProducts_WithStatusFilter() throws Exception {
         // Given
         when(merchantService.merchantExists(1L)).thenReturn(true);
-        when(productService.getProductsByMerchant(1L)).thenReturn(Arrays.asList(testProduct));
+        when(productService.getMerchantProductsPage(1L, null, ProductStatus.ACTIVE, "id", null, 20))
+            .thenReturn(page(Arrays.asList(testProduct)));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/{merchantId}/products", 1L)
                 .param("status", "ACTIVE"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.merchantId").value(1));
+                .andExpect(jsonPath("$.data.merchantId").value(1))
+                .andExpect(jsonPath("$.data.totalCount").value(1));
 
         verify(merchantService).merchantExists(1L);
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getMerchantProductsPage(1L, null, ProductStatus.ACTIVE, "id", null, 20);
     }
 
     @Test
     void getMerchantProducts_WithSearchFilter() throws Exception {
         // Given
         when(merchantService.merchantExists(1L)).thenReturn(true);
-        when(productService.getProductsByMerchant(1L)).thenReturn(Arrays.asList(testProduct));
+        when(productService.getMerchantProductsPage(1L, "iPhone", null, "id", null, 20))
+            .thenReturn(page(Arrays.asList(testProduct)));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/{merchantId}/products", 1L)
@@ -171,7 +189,27 @@ class MerchantControllerTest {
                 .andExpect(jsonPath("$.data.merchantId").value(1));
 
         verify(merchantService).merchantExists(1L);
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getMerchantProductsPage(1L, "iPhone", null, "id", null, 20);
+    }
+
+    @Test
+    void getMerchantProducts_WithSortCursorAndLimit_ShouldReturnPage() throws Exception {
+        // Given
+        when(merchantService.merchantExists(1L)).thenReturn(true);
+        when(productService.getMerchantProductsPage(1L, null, null, "inventory", "cursor-1", 1))
+            .thenReturn(new ProductPage(List.of(testProduct), 4, "cursor-2"));
+
+        // When & Then
+        mockMvc.perform(get(API_BASE_PATH + "/{merchantId}/products", 1L)
+                .param("sort", "inventory")
+                .param("cursor", "cursor-1")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.products.length()").value(1))
+                .andExpect(jsonPath("$.data.totalCount").value(4))
+                .andExpect(jsonPath("$.data.nextCursor").value("cursor-2"));
+
+        verify(productService).getMerchantProductsPage(1L, null, null, "inventory", "cursor-1", 1);
     }
 
     @Test
@@ -184,14 +222,15 @@ class MerchantControllerTest {
                 .andExpect(status().isNotFound());
 
         verify(merchantService).merchantExists(999L);
-        verify(productService, never()).getProductsByMerchant(anyLong());
+        verifyNoInteractions(productService);
     }
 
     @Test
     void getMerchantProducts_EmptyList() throws Exception {
         // Given
         when(merchantService.merchantExists(1L)).thenReturn(true);
-        when(productService.getProductsByMerchant(1L)).thenReturn(Collections.emptyList());
+        when(productService.getMerchantProductsPage(1L, null, null, "id", null, 20))
+            .thenReturn(page(Collections.emptyList()));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/{merchantId}/products", 1L))
@@ -200,7 +239,7 @@ class MerchantControllerTest {
                 .andExpect(jsonPath("$.data.totalCount").value(0));
 
         verify(merchantService).merchantExists(1L);
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getMerchantProductsPage(1L, null, null, "id", null, 20);
     }
 
     @Test
@@ -375,6 +414,72 @@ class MerchantControllerTest {
         verify(productService).setInventory("IPHONE15", 50);
     }
 
+    @Test
+    void setProductHotMode_Success() throws Exception {
+        // Given
+        when(merchantService.merchantExists(1L)).thenReturn(true);
+        when(productService.getProductBySku("IPHONE15")).thenReturn(testProduct);
+        when(productService.isHotMode("IPHONE15")).thenReturn(true);
+
+        MerchantController.HotModeRequest request = new MerchantController.HotModeRequest();
+        request.setEnabled(true);
+
+        // When & Then
+        mockMvc.perform(put(API_BASE_PATH + "/{merchantId}/products/{sku}/hot-mode", 1L, "IPHONE15")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sku").value("IPHONE15"))
+                .andExpect(jsonPath("$.data.hotMode").value(true));
+
+        verify(productService).setHotMode("IPHONE15", true);
+    }
+
+    @Test
+    void setProductHotMode_MissingFlag_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put(API_BASE_PATH + "/{merchantId}/products/{sku}/hot-mode", 1L, "IPHONE15")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).setHotMode(anyString(), anyBoolean());
+    }
+
+    @Test
+    void setProductStatus_Deactivate_Success() throws Exception {
+        // Given
+        Product inactive = new Product("IPHONE15", "iPhone 15", "Latest iPhone model",
+            Money.of(new BigDecimal("999.99"), "CNY"), 1L, 100);
+        inactive.setId(1L);
+        inactive.deactivate();
+        when(merchantService.merchantExists(1L)).thenReturn(true);
+        when(productService.getProductBySku("IPHONE15")).thenReturn(testProduct);
+        when(productService.setProductActive("IPHONE15", false)).thenReturn(inactive);
+
+        MerchantController.ProductStatusRequest request = new MerchantController.ProductStatusRequest();
+        request.setStatus("INACTIVE");
+
+        // When & Then
+        mockMvc.perform(put(API_BASE_PATH + "/{merchantId}/products/{sku}/status", 1L, "IPHONE15")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sku").value("IPHONE15"))
+                .andExpect(jsonPath("$.data.status").value("INACTIVE"));
+
+        verify(productService).setProductActive("IPHONE15", false);
+    }
+
+    @Test
+    void setProductStatus_UnknownStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put(API_BASE_PATH + "/{merchantId}/products/{sku}/status", 1L, "IPHONE15")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DELETED\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).setProductActive(anyString(), anyBoolean());
+    }
+
     @Test
     void createProduct_Success() throws Exception {
         // Given
@@ -595,7 +700,7 @@ class MerchantControllerTest {
         );
         
         MerchantController.MerchantProductListResponse response = new MerchantController.MerchantProductListResponse(
-            1L, Arrays.asList(productResponse), 1, "ACTIVE", "test"
+            1L, Arrays.asList(productResponse), 1, "ACTIVE", "test", "next"
         );
         
         assertEquals(1L, response.getMerchantId());
@@ -603,6 +708,7 @@ class MerchantControllerTest {
         assertEquals(1, response.getTotalCount());
         assertEquals("ACTIVE", response.getStatusFilter());
         assertEquals("test", response.getSearchTerm());
+        assertEquals("next", response.getNextCursor());
     }
 
     @Test
@@ -1039,14 +1145,14 @@ class MerchantControllerTest {
     void getMerchantProducts_ServiceException() throws Exception {
         // Given
         when(merchantService.merchantExists(1L)).thenReturn(true);
-        when(productService.getProductsByMerchant(1L)).thenThrow(new RuntimeException("Database error"));
+        when(productService.getMerchantProductsPage(1L, null, null, "id", null, 20)).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         mockMvc.perform(get(API_BASE_PATH + "/{merchantId}/products", 1L))
                 .andExpect(status().isInternalServerError());
 
         verify(merchantService).merchantExists(1L);
-        verify(productService).getProductsByMerchant(1L);
+        verify(productService).getMerchantProductsPage(1L, null, null, "id", null, 20);
     }
 
     @Test
@@ -1103,4 +1209,8 @@ class MerchantControllerTest {
 
         verify(productService, never()).setInventory(anyString(), anyInt());
     }
+
+    private static ProductPage page(List<Product> products) {
+        return new ProductPage(products, products.size(), null);
+    }
 }
@@ -3,6 +3,7 @@ package com.ecommerce.api.controller;
 import com.ecommerce.application.service.UserService;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.idempotency.IdempotencyStore;
 import com.ecommerce.api.config.ApiVersionConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -24,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 @WebMvcTest(UserController.class)
+@Import(IdempotencyStore.class)
 class UserControllerTest {
 
     private static final String API_BASE_PATH = ApiVersionConfig.API_V1 + "/users";
@@ -195,6 +198,25 @@ class UserControllerTest {
         verify(userService).rechargeUser(eq(1L), any(Money.class));
     }
 
+    @Test
+    void rechargeUser_WithRepeatedIdempotencyKey_ShouldRechargeOnce() throws Exception {
+        // Given
+        when(userService.getUserBalance(1L)).thenReturn(Money.of("1500.00", "CNY"));
+        doNothing().when(userService).rechargeUser(eq(1L), any(Money.class));
+
+        // When & Then - the retry replays the first response
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post(API_BASE_PATH + "/{userId}/recharge", 1L)
+                    .header("Idempotency-Key", "recharge-retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(rechargeRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.balance").value(1500.00));
+        }
+
+        verify(userService, times(1)).rechargeUser(eq(1L), any(Money.class));
+    }
+
     @Test
     void rechargeUser_ValidationError_NegativeAmount() throws Exception {
         // Given
@@ -4,12 +4,14 @@ import com.ecommerce.application.service.UserService;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.user.User;
 import com.ecommerce.api.exception.GlobalExceptionHandler;
+import com.ecommerce.infrastructure.idempotency.IdempotencyStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -35,6 +37,9 @@ class UserV2ControllerTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(1000, 60_000, 5_000, System::currentTimeMillis);
+
     @InjectMocks
     private UserV2Controller userV2Controller;
 
@@ -239,6 +244,30 @@ class UserV2ControllerTest {
         verify(userService).getUserBalance(userId);
     }
 
+    @Test
+    void rechargeUser_WithRepeatedIdempotencyKey_ShouldRechargeOnce() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        UserV2Controller.RechargeRequest request = new UserV2Controller.RechargeRequest();
+        request.setAmount(new BigDecimal("50.00"));
+        request.setCurrency("CNY");
+
+        when(userService.getUserBalance(userId)).thenReturn(Money.of(new BigDecimal("150.50"), "CNY"));
+
+        // Act & Assert - the retry replays the first response
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v2/users/{userId}/recharge", userId)
+                            .header("Idempotency-Key", "recharge-v2-retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.newBalance").value(150.50));
+        }
+
+        verify(userService, times(1)).rechargeUser(eq(userId), any(Money.class));
+        verify(userService, times(1)).getUserBalance(userId);
+    }
+
     @Test
     void rechargeUser_InvalidAmount_ShouldReturn400() throws Exception {
         // Arrange
@@ -1,17 +1,32 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.application.dto.BatchPurchaseRequest;
+import com.ecommerce.application.dto.BatchPurchaseResponse;
+import com.ecommerce.application.dto.CartPurchaseRequest;
+import com.ecommerce.application.dto.CartPurchaseResponse;
 import com.ecommerce.application.dto.PurchaseRequest;
 import com.ecommerce.application.dto.PurchaseResponse;
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
 import com.ecommerce.domain.Money;
+import com.ecommerce.domain.VersionConflictException;
 import com.ecommerce.domain.user.User;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.merchant.Merchant;
 import com.ecommerce.domain.order.Order;
+import com.ecommerce.infrastructure.inventory.InventoryCounter;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
+import com.ecommerce.infrastructure.retry.OptimisticRetryExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -74,10 +89,10 @@ class EcommerceServiceTest {
         verify(userService).getUserById(userId);
         verify(productService).getProductBySku(productSku);
         verify(merchantService).getMerchantById(1L);
-        verify(userService).saveUser(user);
-        verify(productService).saveProduct(product);
-        verify(merchantService).saveMerchant(merchant);
-        verify(orderService).saveOrder(any());
+        verify(userService).saveUsers(List.of(user));
+        verify(productService).saveProducts(List.of(product));
+        verify(merchantService).saveMerchants(List.of(merchant));
+        verify(orderService).saveOrders(argThat(orders -> orders.size() == 1));
     }
 
     @Test
@@ -292,7 +307,7 @@ class EcommerceServiceTest {
         
         // Mock the product for inventory restoration
         Product product = new Product("PRODUCT-001", "Test Product", "Description", Money.of("20.00", "USD"), 1L, 10);
-        when(productService.getProductBySku("PRODUCT-001")).thenReturn(product);
+        when(productService.getProductsBySkus(Set.of("PRODUCT-001"))).thenReturn(Map.of("PRODUCT-001", product));
         
         when(orderService.getOrderByNumber(orderNumber)).thenReturn(order);
         
@@ -301,9 +316,9 @@ class EcommerceServiceTest {
         
         // Assert
         verify(orderService).getOrderByNumber(orderNumber);
-        verify(orderService).saveOrder(order);
-        verify(productService).getProductBySku("PRODUCT-001");
-        verify(productService).saveProduct(product);
+        verify(orderService).saveOrders(List.of(order));
+        verify(productService).getProductsBySkus(Set.of("PRODUCT-001"));
+        verify(productService).saveProducts(List.of(product));
     }
 
     @Test
@@ -372,7 +387,7 @@ class EcommerceServiceTest {
         when(orderService.getOrderByNumber(orderNumber)).thenReturn(order);
         when(userService.getUserById(1L)).thenReturn(user);
         when(merchantService.getMerchantById(2L)).thenReturn(merchant);
-        when(productService.getProductBySku("PRODUCT-001")).thenReturn(product);
+        when(productService.getProductsBySkus(Set.of("PRODUCT-001"))).thenReturn(Map.of("PRODUCT-001", product));
         
         // Act
         ecommerceService.cancelOrder(orderNumber, reason);
@@ -381,11 +396,11 @@ class EcommerceServiceTest {
         verify(orderService).getOrderByNumber(orderNumber);
         verify(userService).getUserById(1L);
         verify(merchantService).getMerchantById(2L);
-        verify(productService).getProductBySku("PRODUCT-001");
-        verify(userService).saveUser(user);
-        verify(merchantService).saveMerchant(merchant);
-        verify(productService).saveProduct(product);
-        verify(orderService).saveOrder(order);
+        verify(productService).getProductsBySkus(Set.of("PRODUCT-001"));
+        verify(userService).saveUsers(List.of(user));
+        verify(merchantService).saveMerchants(List.of(merchant));
+        verify(productService).saveProducts(List.of(product));
+        verify(orderService).saveOrders(List.of(order));
         
         // Verify user got refund and merchant's income was deducted
         assertEquals(Money.of("100.00", "USD"), user.getBalance()); // Back to original balance
@@ -438,7 +453,7 @@ class EcommerceServiceTest {
         
         // Assert
         verify(orderService).getOrderByNumber(orderNumber);
-        verify(orderService).saveOrder(order);
+        verify(orderService).saveOrders(List.of(order));
         // Should not call user, merchant, or product services for pending orders
         verify(userService, never()).getUserById(anyLong());
         verify(merchantService, never()).getMerchantById(anyLong());
@@ -517,6 +532,11 @@ class EcommerceServiceTest {
         assertNotEquals(response1.getOrderNumber(), response2.getOrderNumber());
         assertTrue(response1.getOrderNumber().startsWith("ORD"));
         assertTrue(response2.getOrderNumber().startsWith("ORD"));
+        // Later orders get later order numbers, and their creation time can be read back
+        assertTrue(response2.getOrderNumber().compareTo(response1.getOrderNumber()) > 0);
+        assertTrue(com.ecommerce.infrastructure.id.OrderNumberCodec.isEncoded(response1.getOrderNumber()));
+        long created = com.ecommerce.infrastructure.id.OrderNumberCodec.timestampOf(response1.getOrderNumber()).toEpochMilli();
+        assertTrue(Math.abs(System.currentTimeMillis() - created) < 60_000);
     }
 
     @Test
@@ -660,8 +680,8 @@ class EcommerceServiceTest {
         when(orderService.getOrderByNumber(orderNumber)).thenReturn(order);
         when(userService.getUserById(1L)).thenReturn(user);
         when(merchantService.getMerchantById(2L)).thenReturn(merchant);
-        when(productService.getProductBySku("PRODUCT-001")).thenReturn(product1);
-        when(productService.getProductBySku("PRODUCT-002")).thenReturn(product2);
+        when(productService.getProductsBySkus(Set.of("PRODUCT-001", "PRODUCT-002")))
+            .thenReturn(Map.of("PRODUCT-001", product1, "PRODUCT-002", product2));
         
         // Act
         ecommerceService.cancelOrder(orderNumber, reason);
@@ -670,12 +690,12 @@ class EcommerceServiceTest {
         verify(orderService).getOrderByNumber(orderNumber);
         verify(userService).getUserById(1L);
         verify(merchantService).getMerchantById(2L);
-        verify(productService).getProductBySku("PRODUCT-001");
-        verify(productService).getProductBySku("PRODUCT-002");
-        verify(userService).saveUser(user);
-        verify(merchantService).saveMerchant(merchant);
-        verify(productService, times(2)).saveProduct(any(Product.class));
-        verify(orderService).saveOrder(order);
+        // Both products are loaded and saved with one call each
+        verify(productService, times(1)).getProductsBySkus(Set.of("PRODUCT-001", "PRODUCT-002"));
+        verify(userService).saveUsers(List.of(user));
+        verify(merchantService).saveMerchants(List.of(merchant));
+        verify(productService, times(1)).saveProducts(List.of(product1, product2));
+        verify(orderService).saveOrders(List.of(order));
         
         // Verify refund and inventory restore
         assertEquals(Money.of("100.00", "USD"), user.getBalance()); // Back to original
@@ -768,7 +788,7 @@ class EcommerceServiceTest {
         when(orderService.getOrderByNumber(orderNumber)).thenReturn(order);
         when(userService.getUserById(1L)).thenReturn(user);
         when(merchantService.getMerchantById(2L)).thenReturn(merchant);
-        when(productService.getProductBySku("PRODUCT-EUR")).thenReturn(product);
+        when(productService.getProductsBySkus(Set.of("PRODUCT-EUR"))).thenReturn(Map.of("PRODUCT-EUR", product));
         
         // Act
         ecommerceService.cancelOrder(orderNumber, reason);
@@ -790,7 +810,7 @@ class EcommerceServiceTest {
         order.confirm(); // Needs inventory restore
         
         when(orderService.getOrderByNumber(orderNumber)).thenReturn(order);
-        when(productService.getProductBySku("PRODUCT-FAIL"))
+        when(productService.getProductsBySkus(Set.of("PRODUCT-FAIL")))
             .thenThrow(new RuntimeException("Product service unavailable"));
         
         // Act & Assert
@@ -799,8 +819,375 @@ class EcommerceServiceTest {
         assertTrue(exception.getMessage().contains("Failed to cancel order"));
         
         verify(orderService).getOrderByNumber(orderNumber);
-        verify(productService).getProductBySku("PRODUCT-FAIL");
+        verify(productService).getProductsBySkus(Set.of("PRODUCT-FAIL"));
         // Order should not be saved if exception occurs during processing
-        verify(orderService, never()).saveOrder(order);
+        verify(orderService, never()).saveOrders(any());
+    }
+
+    @Test
+    void shouldRetryPurchaseWithFreshEntitiesOnVersionConflict() {
+        // Arrange - the first save loses against a concurrent writer
+        Long userId = 1L;
+        String productSku = "PRODUCT-RETRY";
+        Merchant merchant = new Merchant("Retry Merchant", "BL-RETRY", "retry@test.com", "555-0000", "USD");
+        merchant.setId(1L);
+        User staleUser = new User("stale", "stale@example.com", "123-000-0001", "USD");
+        staleUser.setId(userId);
+        staleUser.recharge(Money.of("100.00", "USD"));
+        User freshUser = new User("fresh", "fresh@example.com", "123-000-0002", "USD");
+        freshUser.setId(userId);
+        freshUser.recharge(Money.of("100.00", "USD"));
+        
+        when(userService.getUserById(userId)).thenReturn(staleUser, freshUser);
+        when(productService.getProductBySku(productSku)).thenAnswer(invocation ->
+            new Product(productSku, "Retry Product", "Description", Money.of("10.00", "USD"), 1L, 10));
+        when(merchantService.getMerchantById(1L)).thenReturn(merchant);
+        doThrow(new VersionConflictException("User 1 was modified concurrently"))
+            .doNothing()
+            .when(userService).saveUsers(any());
+        
+        // Act
+        PurchaseResponse response = ecommerceService.processPurchase(new PurchaseRequest(userId, productSku, 1));
+        
+        // Assert
+        assertNotNull(response.getOrderNumber());
+        verify(userService, times(2)).getUserById(userId);
+        verify(userService, times(2)).saveUsers(any());
+        verify(orderService, times(1)).saveOrders(argThat(orders -> orders.size() == 1));
+        assertEquals(Money.of("90.00", "USD"), freshUser.getBalance());
+    }
+
+    @Test
+    void shouldReportConcurrentModificationWhenRetriesAreExhausted() {
+        // Arrange
+        String orderNumber = "ORDER-CONFLICT";
+        
+        // Every attempt reloads a fresh pending order
+        when(orderService.getOrderByNumber(orderNumber)).thenAnswer(invocation -> {
+            Order order = new Order(orderNumber, 1L, 2L);
+            order.addOrderItem("PRODUCT-001", "Product", Money.of("10.00", "USD"), 1);
+            return order;
+        });
+        doThrow(new VersionConflictException("Order was modified concurrently"))
+            .when(orderService).saveOrders(any());
+        
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> ecommerceService.cancelOrder(orderNumber, "conflict"));
+        assertEquals(ErrorCode.CONCURRENT_MODIFICATION, exception.getErrorCode());
+        verify(orderService, times(3)).getOrderByNumber(orderNumber);
+    }
+
+    @Test
+    void shouldSellStockAddedBehindTheStockCell() {
+        // Arrange - first purchase sells the last unit
+        InventoryCounter inventoryCounter = new InventoryCounter();
+        ecommerceService = new EcommerceService(userService, merchantService, productService, orderService,
+            new AggregateLockManager(16), new OptimisticRetryExecutor(), inventoryCounter);
+        Long userId = 1L;
+        String productSku = "PRODUCT-LAST";
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(userId);
+        user.recharge(Money.of("100.00", "USD"));
+        Product product = new Product(productSku, "Last Unit", "Description", Money.of("10.00", "USD"), 1L, 1);
+        Merchant merchant = new Merchant("Test Merchant", "BL123456", "merchant@test.com", "555-1234", "USD");
+        merchant.setId(1L);
+        
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(productService.getProductBySku(productSku)).thenReturn(product);
+        when(merchantService.getMerchantById(1L)).thenReturn(merchant);
+        PurchaseRequest request = new PurchaseRequest(userId, productSku, 1);
+        ecommerceService.processPurchase(request);
+        
+        // Another instance restocks the row; the cell still says sold out
+        product.addInventory(2);
+
+        // Act
+        ecommerceService.processPurchase(request);
+
+        // Assert - the cell is checked against the product loaded under the lock
+        verify(productService, times(2)).getProductBySku(productSku);
+        assertEquals(1, product.getAvailableInventory());
+        assertEquals(1, inventoryCounter.getAvailable(productSku));
+    }
+
+    @Test
+    void shouldDeductHotSkuFromBucketsWithoutSavingProduct() {
+        // Arrange - SKU in hot mode is sold from its shared buckets
+        InventoryCounter inventoryCounter = new InventoryCounter(4);
+        ecommerceService = new EcommerceService(userService, merchantService, productService, orderService,
+            new AggregateLockManager(16), new OptimisticRetryExecutor(), inventoryCounter);
+        Long userId = 1L;
+        String productSku = "PRODUCT-HOT";
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(userId);
+        user.recharge(Money.of("100.00", "USD"));
+        Product product = new Product(productSku, "Hot Item", "Description", Money.of("10.00", "USD"), 1L, 3);
+        Merchant merchant = new Merchant("Test Merchant", "BL123456", "merchant@test.com", "555-1234", "USD");
+        merchant.setId(1L);
+        inventoryCounter.enableHotMode(product);
+
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(productService.getProductBySku(productSku)).thenReturn(product);
+        when(merchantService.getMerchantById(1L)).thenReturn(merchant);
+
+        // Act
+        ecommerceService.processPurchase(new PurchaseRequest(userId, productSku, 3));
+
+        // Assert - stock lives in the buckets until the next flush
+        assertEquals(0, inventoryCounter.getAvailable(productSku));
+        assertEquals(3, product.getAvailableInventory());
+        verify(productService, never()).saveProducts(any());
+        assertThrows(com.ecommerce.domain.product.InsufficientInventoryException.class,
+            () -> ecommerceService.processPurchase(new PurchaseRequest(userId, productSku, 1)));
+    }
+
+    @Test
+    void shouldPurchaseCartWithOneOrderPerMerchant() {
+        // Arrange - two products from merchant 1, one from merchant 2, one SKU listed twice
+        Long userId = 1L;
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(userId);
+        user.recharge(Money.of("200.00", "USD"));
+        Product phone = new Product("PHONE", "Phone", "Description", Money.of("50.00", "USD"), 1L, 10);
+        phone.setId(1L);
+        Product case1 = new Product("CASE", "Case", "Description", Money.of("10.00", "USD"), 1L, 10);
+        case1.setId(2L);
+        Product cable = new Product("CABLE", "Cable", "Description", Money.of("5.00", "USD"), 2L, 10);
+        cable.setId(3L);
+        Merchant merchant1 = new Merchant("Merchant One", "BL000001", "one@test.com", "555-0001", "USD");
+        merchant1.setId(1L);
+        Merchant merchant2 = new Merchant("Merchant Two", "BL000002", "two@test.com", "555-0002", "USD");
+        merchant2.setId(2L);
+
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(productService.getProductsBySkus(Set.of("CABLE", "PHONE", "CASE")))
+            .thenReturn(Map.of("PHONE", phone, "CASE", case1, "CABLE", cable));
+        when(merchantService.getMerchantsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, merchant1, 2L, merchant2));
+
+        CartPurchaseRequest request = new CartPurchaseRequest(userId, List.of(
+            new CartPurchaseRequest.CartItem("CABLE", 2),
+            new CartPurchaseRequest.CartItem("PHONE", 1),
+            new CartPurchaseRequest.CartItem("CASE", 1),
+            new CartPurchaseRequest.CartItem("PHONE", 1)));
+
+        // Act
+        CartPurchaseResponse response = ecommerceService.processCartPurchase(request);
+
+        // Assert - orders in merchant order; 2 * 50 + 10 = 110 and 2 * 5 = 10
+        assertEquals(2, response.getOrders().size());
+        assertEquals(1L, response.getOrders().get(0).getMerchantId());
+        assertEquals(Money.of("110.00", "USD"), response.getOrders().get(0).getTotalAmount());
+        assertEquals(2, response.getOrders().get(0).getItems().size());
+        assertEquals(2L, response.getOrders().get(1).getMerchantId());
+        assertEquals(Money.of("10.00", "USD"), response.getOrders().get(1).getTotalAmount());
+        assertEquals(Money.of("120.00", "USD"), response.getTotalAmount());
+        assertNotEquals(response.getOrders().get(0).getOrderNumber(), response.getOrders().get(1).getOrderNumber());
+
+        assertEquals(Money.of("80.00", "USD"), user.getBalance());
+        assertEquals(8, phone.getAvailableInventory());
+        assertEquals(9, case1.getAvailableInventory());
+        assertEquals(8, cable.getAvailableInventory());
+
+        // Each aggregate is loaded and saved once, with one call per aggregate type
+        verify(userService, times(1)).getUserById(userId);
+        verify(productService, times(1)).getProductsBySkus(any());
+        verify(merchantService, times(1)).getMerchantsByIds(any());
+        verify(userService, times(1)).saveUsers(List.of(user));
+        verify(productService, times(1)).saveProducts(argThat(products -> products.size() == 3));
+        verify(merchantService, times(1)).saveMerchants(List.of(merchant1, merchant2));
+        verify(orderService, times(1)).saveOrders(argThat(orders -> orders.size() == 2));
+        verifyNoMoreInteractions(productService, merchantService);
+    }
+
+    @Test
+    void shouldSaveOnlyChangedProductsOfCart() {
+        // Arrange - the case is a hot SKU sold from its buckets, so its product doesn't change
+        InventoryCounter inventoryCounter = new InventoryCounter(4);
+        ecommerceService = new EcommerceService(userService, merchantService, productService, orderService,
+            new AggregateLockManager(16), new OptimisticRetryExecutor(), inventoryCounter);
+        Long userId = 1L;
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(userId);
+        user.recharge(Money.of("100.00", "USD"));
+        Product phone = new Product("PHONE", "Phone", "Description", Money.of("50.00", "USD"), 1L, 10);
+        Product hotCase = new Product("CASE", "Case", "Description", Money.of("10.00", "USD"), 1L, 10);
+        Merchant merchant = new Merchant("Merchant One", "BL000001", "one@test.com", "555-0001", "USD");
+        merchant.setId(1L);
+        inventoryCounter.enableHotMode(hotCase);
+
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(productService.getProductsBySkus(Set.of("PHONE", "CASE")))
+            .thenReturn(Map.of("PHONE", phone, "CASE", hotCase));
+        when(merchantService.getMerchantsByIds(Set.of(1L))).thenReturn(Map.of(1L, merchant));
+
+        // Act
+        ecommerceService.processCartPurchase(new CartPurchaseRequest(userId, List.of(
+            new CartPurchaseRequest.CartItem("PHONE", 1),
+            new CartPurchaseRequest.CartItem("CASE", 1))));
+
+        // Assert - every changed aggregate is saved, the unchanged hot product isn't
+        verify(userService).saveUsers(List.of(user));
+        verify(productService).saveProducts(List.of(phone));
+        verify(merchantService).saveMerchants(List.of(merchant));
+        verify(orderService).saveOrders(argThat(orders -> orders.size() == 1));
+        assertEquals(10, hotCase.getAvailableInventory());
+        assertEquals(9, inventoryCounter.getAvailable("CASE"));
+    }
+
+    @Test
+    void shouldRejectWholeCartWhenOneItemIsShort() {
+        // Arrange
+        Long userId = 1L;
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(userId);
+        user.recharge(Money.of("200.00", "USD"));
+        Product phone = new Product("PHONE", "Phone", "Description", Money.of("50.00", "USD"), 1L, 10);
+        Product cable = new Product("CABLE", "Cable", "Description", Money.of("5.00", "USD"), 1L, 1);
+        Merchant merchant = new Merchant("Merchant One", "BL000001", "one@test.com", "555-0001", "USD");
+        merchant.setId(1L);
+
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(productService.getProductsBySkus(Set.of("PHONE", "CABLE"))).thenReturn(Map.of("PHONE", phone, "CABLE", cable));
+        when(merchantService.getMerchantsByIds(Set.of(1L))).thenReturn(Map.of(1L, merchant));
+
+        CartPurchaseRequest request = new CartPurchaseRequest(userId, List.of(
+            new CartPurchaseRequest.CartItem("PHONE", 1),
+            new CartPurchaseRequest.CartItem("CABLE", 2)));
+
+        // Act & Assert - nothing is deducted or saved
+        assertThrows(com.ecommerce.domain.product.InsufficientInventoryException.class,
+            () -> ecommerceService.processCartPurchase(request));
+        assertEquals(10, phone.getAvailableInventory());
+        assertEquals(Money.of("200.00", "USD"), user.getBalance());
+        verify(userService, never()).saveUsers(any());
+        verify(productService, never()).saveProducts(any());
+        verify(orderService, never()).saveOrders(any());
+    }
+
+    @Test
+    void shouldRejectCartWhenBalanceDoesNotCoverAllItems() {
+        // Arrange - each item is affordable alone, but not together
+        Long userId = 1L;
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(userId);
+        user.recharge(Money.of("60.00", "USD"));
+        Product phone = new Product("PHONE", "Phone", "Description", Money.of("50.00", "USD"), 1L, 10);
+        Product cable = new Product("CABLE", "Cable", "Description", Money.of("50.00", "USD"), 2L, 10);
+        Merchant merchant1 = new Merchant("Merchant One", "BL000001", "one@test.com", "555-0001", "USD");
+        merchant1.setId(1L);
+        Merchant merchant2 = new Merchant("Merchant Two", "BL000002", "two@test.com", "555-0002", "USD");
+        merchant2.setId(2L);
+
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(productService.getProductsBySkus(Set.of("PHONE", "CABLE"))).thenReturn(Map.of("PHONE", phone, "CABLE", cable));
+        when(merchantService.getMerchantsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, merchant1, 2L, merchant2));
+
+        CartPurchaseRequest request = new CartPurchaseRequest(userId, List.of(
+            new CartPurchaseRequest.CartItem("PHONE", 1),
+            new CartPurchaseRequest.CartItem("CABLE", 1)));
+
+        // Act & Assert
+        assertThrows(com.ecommerce.domain.user.InsufficientBalanceException.class,
+            () -> ecommerceService.processCartPurchase(request));
+        assertEquals(10, phone.getAvailableInventory());
+        assertEquals(10, cable.getAvailableInventory());
+        verify(merchantService, never()).saveMerchants(any());
+    }
+
+    @Test
+    void shouldRejectEmptyCart() {
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> ecommerceService.processCartPurchase(new CartPurchaseRequest(1L, List.of())));
+
+        assertEquals(ErrorCode.VALIDATION_ERROR, exception.getErrorCode());
+        verifyNoInteractions(userService, productService);
+    }
+
+    @Test
+    void shouldProcessBatchWithPartialFailures() {
+        // Arrange - two users buying from one product; the second user can afford only one purchase
+        User alice = new User("alice", "alice@example.com", "123-456-0001", "USD");
+        alice.setId(1L);
+        alice.recharge(Money.of("100.00", "USD"));
+        User bob = new User("bob", "bob@example.com", "123-456-0002", "USD");
+        bob.setId(2L);
+        bob.recharge(Money.of("30.00", "USD"));
+        Product product = new Product("PHONE", "Phone", "Description", Money.of("20.00", "USD"), 1L, 4);
+        product.setId(1L);
+        Merchant merchant = new Merchant("Merchant One", "BL000001", "one@test.com", "555-0001", "USD");
+        merchant.setId(1L);
+
+        // User 3 doesn't exist
+        when(userService.getUsersByIds(Set.of(1L, 2L, 3L))).thenReturn(Map.of(1L, alice, 2L, bob));
+        when(productService.getProductsBySkus(Set.of("PHONE"))).thenReturn(Map.of("PHONE", product));
+        when(merchantService.getMerchantsByIds(Set.of(1L))).thenReturn(Map.of(1L, merchant));
+
+        BatchPurchaseRequest request = new BatchPurchaseRequest(List.of(
+            new PurchaseRequest(1L, "PHONE", 2),
+            new PurchaseRequest(2L, "PHONE", 1),
+            new PurchaseRequest(2L, "PHONE", 1),
+            new PurchaseRequest(3L, "PHONE", 1),
+            new PurchaseRequest(1L, "PHONE", 2)));
+
+        // Act
+        BatchPurchaseResponse response = ecommerceService.processBatchPurchase(request);
+
+        // Assert - results in submission order
+        assertEquals(5, response.getResults().size());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertTrue(response.getResults().get(1).isSuccess());
+        assertEquals("INSUFFICIENT_BALANCE", response.getResults().get(2).getErrorCode());
+        assertEquals(ErrorCode.RESOURCE_NOT_FOUND.getCode(), response.getResults().get(3).getErrorCode());
+        assertEquals("INSUFFICIENT_INVENTORY", response.getResults().get(4).getErrorCode());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, response.getResults().get(i).getIndex());
+        }
+
+        // Rejected purchases left the shared aggregates untouched
+        assertEquals(1, product.getAvailableInventory());
+        assertEquals(Money.of("60.00", "USD"), alice.getBalance());
+        assertEquals(Money.of("10.00", "USD"), bob.getBalance());
+        assertEquals(Money.of("60.00", "USD"), merchant.getBalance());
+
+        // Each aggregate is loaded and saved once, with one call per aggregate type
+        verify(userService, times(1)).getUsersByIds(any());
+        verify(productService, times(1)).getProductsBySkus(any());
+        verify(merchantService, times(1)).getMerchantsByIds(any());
+        verify(userService, times(1)).saveUsers(argThat(users -> List.copyOf(users).equals(List.of(alice, bob))));
+        verify(productService, times(1)).saveProducts(argThat(products -> List.copyOf(products).equals(List.of(product))));
+        verify(merchantService, times(1)).saveMerchants(argThat(merchants -> List.copyOf(merchants).equals(List.of(merchant))));
+        verify(orderService, times(1)).saveOrders(argThat(orders -> orders.size() == 2));
+        verifyNoMoreInteractions(userService, productService, merchantService, orderService);
+    }
+
+    @Test
+    void shouldNotSaveAnythingWhenWholeBatchFails() {
+        when(productService.getProductsBySkus(Set.of("MISSING"))).thenReturn(Map.of());
+        User user = new User("john", "john@example.com", "123-456-7890", "USD");
+        user.setId(1L);
+        when(userService.getUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, user));
+
+        BatchPurchaseResponse response = ecommerceService.processBatchPurchase(new BatchPurchaseRequest(List.of(
+            new PurchaseRequest(1L, "MISSING", 1),
+            new PurchaseRequest(1L, "MISSING", 2))));
+
+        assertEquals(0, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals("Product not found with SKU: MISSING", response.getResults().get(0).getErrorMessage());
+        verify(productService, times(1)).getProductsBySkus(Set.of("MISSING"));
+        verifyNoInteractions(merchantService, orderService);
+        verify(userService, never()).saveUsers(any());
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> ecommerceService.processBatchPurchase(new BatchPurchaseRequest(List.of())));
+
+        assertEquals(ErrorCode.VALIDATION_ERROR, exception.getErrorCode());
+        verifyNoInteractions(userService, productService);
     }
-}
\ No newline at end of file
+}
@@ -13,7 +13,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -224,4 +226,26 @@ class MerchantServiceTest {
         assertEquals(testMerchant, result.get(0));
         verify(merchantRepository).findAllActive();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getMerchantsByIds_ShouldKeyFoundMerchantsById() {
+        // Arrange
+        testMerchant.setId(1L);
+        when(merchantRepository.findAllByIds(Set.of(1L, 2L))).thenReturn(List.of(testMerchant));
+
+        // Act
+        Map<Long, Merchant> merchants = merchantService.getMerchantsByIds(Set.of(1L, 2L));
+
+        // Assert
+        assertEquals(Map.of(1L, testMerchant), merchants);
+    }
+
+    @Test
+    void saveMerchants_ShouldSaveAllInOneCall() {
+        // Act
+        merchantService.saveMerchants(List.of(testMerchant));
+
+        // Assert
+        verify(merchantRepository).saveAll(List.of(testMerchant));
+    }
+}
@@ -1,6 +1,9 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.domain.Money;
 import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
 import com.ecommerce.infrastructure.repository.OrderRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -121,4 +126,34 @@ class OrderServiceTest {
         assertFalse(result);
         verify(orderRepository).existsByOrderNumber(orderNumber);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getCompletedOrderTotalsByMerchantAndDateRange_ShouldSumCompletedOrders() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 23, 59);
+        OrderTotals totals = new OrderTotals(3, Money.of("300.00", "CNY"));
+        when(orderRepository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(1L, OrderStatus.COMPLETED, start, end))
+            .thenReturn(totals);
+
+        // Act
+        OrderTotals result = orderService.getCompletedOrderTotalsByMerchantAndDateRange(1L, start, end);
+
+        // Assert
+        assertEquals(totals, result);
+        verify(orderRepository, never()).findByMerchantIdAndStatusAndOrderTimeBetween(any(), any(), any(), any());
+    }
+
+    @Test
+    void saveOrders_ShouldSaveAllInOneCall() {
+        // Arrange
+        Order first = new Order("ORDER-1", 1L, 1L);
+        Order second = new Order("ORDER-2", 1L, 1L);
+
+        // Act
+        orderService.saveOrders(List.of(first, second));
+
+        // Assert
+        verify(orderRepository).saveAll(List.of(first, second));
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.mock.MockProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential test: searchProductsByName through the search index against the catalog scan it replaced,
+ * over random catalogs and queries, including products created after the index was filled
+ */
+class ProductSearchDifferentialTest {
+
+    // Mixed case, separators, digits and characters whose lower case differs in length or is not ASCII
+    private static final String ALPHABET = "aAbBeEiInNoOpPrRsS0123 -,.()/İßÉéΣσ";
+    private static final String[] WORDS = {"iPhone", "Pro", "Max", "case", "USB-C", "cable", "15", "2m", "Σigma"};
+    private static final int SEEDS = 20;
+
+    private MockProductRepository productRepository;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new MockProductRepository();
+        productService = new ProductService(productRepository);
+    }
+
+    @Test
+    void searchProductsByName_ShouldMatchCatalogScan() {
+        for (long seed = 1; seed <= SEEDS; seed++) {
+            setUp();
+            Random random = new Random(seed);
+            List<String> texts = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                texts.addAll(createProduct(random, i));
+            }
+            assertSameAsScan(random, texts, seed);
+
+            for (int i = 200; i < 250; i++) {
+                texts.addAll(createProduct(random, i));
+            }
+            assertSameAsScan(random, texts, seed);
+        }
+    }
+
+    private void assertSameAsScan(Random random, List<String> texts, long seed) {
+        for (int i = 0; i < 300; i++) {
+            String query = query(random, texts);
+            assertEquals(scan(query), ids(productService.searchProductsByName(query)),
+                "seed " + seed + ", query \"" + query + "\"");
+        }
+    }
+
+    // The search as it was before the index
+    private List<Long> scan(String searchTerm) {
+        if (searchTerm.trim().isEmpty()) {
+            return ids(productRepository.findAll());
+        }
+        String lowerSearchTerm = searchTerm.toLowerCase();
+        return ids(productRepository.findAll().stream()
+                .filter(product -> product.getName().toLowerCase().contains(lowerSearchTerm) ||
+                                 product.getDescription().toLowerCase().contains(lowerSearchTerm))
+                .collect(Collectors.toList()));
+    }
+
+    private List<String> createProduct(Random random, int i) {
+        String name = text(random, 1 + random.nextInt(4));
+        String description = text(random, random.nextInt(8));
+        productService.createProduct(String.format("SKU-%04d", i), name, description,
+            Money.of("10.00", "CNY"), 1L + random.nextInt(3), 10);
+        return List.of(name, description);
+    }
+
+    private static String text(Random random, int parts) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < parts; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            if (random.nextBoolean()) {
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            } else {
+                text.append(randomString(random, 1 + random.nextInt(6)));
+            }
+        }
+        return text.toString();
+    }
+
+    // Substrings of catalog text with random case changes, or random strings
+    private static String query(Random random, List<String> texts) {
+        String text = texts.get(random.nextInt(texts.size()));
+        if (text.isEmpty() || random.nextInt(4) == 0) {
+            return randomString(random, 1 + random.nextInt(5));
+        }
+        int start = random.nextInt(text.length());
+        int end = Math.min(text.length(), start + 1 + random.nextInt(8));
+        StringBuilder query = new StringBuilder(text.substring(start, end));
+        for (int i = 0; i < query.length(); i++) {
+            if (random.nextInt(4) == 0) {
+                char c = query.charAt(i);
+                query.setCharAt(i, Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c));
+            }
+        }
+        return query.toString();
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
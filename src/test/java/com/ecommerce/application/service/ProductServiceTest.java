@@ -1,21 +1,34 @@
 package com.ecommerce.application.service;
 
 import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.domain.Money;
+import com.ecommerce.infrastructure.inventory.InventoryCounter;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
 import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import com.ecommerce.infrastructure.repository.mock.MockProductRepository;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex.Suggestion;
+import com.ecommerce.infrastructure.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,9 +37,24 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Spy
+    private AggregateLockManager lockManager = new AggregateLockManager(16);
+
+    @Spy
+    private InventoryCounter inventoryCounter = new InventoryCounter();
+
+    @Spy
+    private ProductSearchIndex searchIndex = new ProductSearchIndex();
+
+    @Spy
+    private ProductAutocompleteIndex autocompleteIndex = new ProductAutocompleteIndex();
+
     @InjectMocks
     private ProductService productService;
 
+    @TempDir
+    Path directory;
+
     private Product testProduct;
     private Product testProduct2;
     private Money testPrice;
@@ -36,6 +64,8 @@ class ProductServiceTest {
         testPrice = Money.of(100.00, "CNY");
         testProduct = new Product("IPHONE15", "iPhone 15", "Latest iPhone", testPrice, 1L, 50);
         testProduct2 = new Product("LAPTOP", "MacBook Pro", "Professional laptop", Money.of(8000.00, "CNY"), 1L, 10);
+        testProduct.setId(1L);
+        testProduct2.setId(2L);
     }
 
     @Test
@@ -138,14 +168,14 @@ class ProductServiceTest {
     void addInventory_Success() {
         // Given
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
 
         // When
         productService.addInventory("IPHONE15", 20);
 
         // Then
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAll(List.of(testProduct));
     }
 
     @Test
@@ -158,35 +188,35 @@ class ProductServiceTest {
             () -> productService.addInventory("UNKNOWN", 20));
         assertEquals("Product not found with SKU: UNKNOWN", exception.getMessage());
         verify(productRepository).findBySku("UNKNOWN");
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).saveAll(anyCollection());
     }
 
     @Test
     void addProductInventory_Success() {
         // Given
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
 
         // When
         productService.addProductInventory("IPHONE15", 20);
 
         // Then
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAll(List.of(testProduct));
     }
 
     @Test
     void reduceInventory_Success() {
         // Given
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
 
         // When
         productService.reduceInventory("IPHONE15", 10);
 
         // Then
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAll(List.of(testProduct));
     }
 
     @Test
@@ -199,21 +229,21 @@ class ProductServiceTest {
             () -> productService.reduceInventory("UNKNOWN", 10));
         assertEquals("Product not found with SKU: UNKNOWN", exception.getMessage());
         verify(productRepository).findBySku("UNKNOWN");
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).saveAll(anyCollection());
     }
 
     @Test
     void setInventory_Success() {
         // Given
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
 
         // When
         productService.setInventory("IPHONE15", 150);
 
         // Then
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAll(List.of(testProduct));
     }
 
     @Test
@@ -226,7 +256,7 @@ class ProductServiceTest {
             () -> productService.setInventory("UNKNOWN", 100));
         assertEquals("Product not found with SKU: UNKNOWN", exception.getMessage());
         verify(productRepository).findBySku("UNKNOWN");
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).saveAll(anyCollection());
     }
 
     @Test
@@ -279,13 +309,15 @@ class ProductServiceTest {
         // Given
         List<Product> products = Arrays.asList(testProduct, testProduct2);
         when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllByIds(List.of(1L))).thenReturn(List.of(testProduct));
 
         // When
         List<Product> result = productService.searchProductsByName("iPhone");
 
-        // Then
-        assertNotNull(result);
+        // Then - the index is filled from the catalog once, and only the match is loaded
+        assertEquals(List.of(testProduct), result);
         verify(productRepository).findAll();
+        verify(productRepository).findAllByIds(List.of(1L));
     }
 
     @Test
@@ -363,12 +395,13 @@ class ProductServiceTest {
         // Given
         List<Product> products = Arrays.asList(testProduct, testProduct2);
         when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllByIds(List.of(1L))).thenReturn(List.of(testProduct));
 
         // When
         List<Product> result = productService.searchAvailableProducts("iPhone");
 
         // Then
-        assertNotNull(result);
+        assertEquals(List.of(testProduct), result);
         verify(productRepository).findAll();
     }
 
@@ -390,50 +423,51 @@ class ProductServiceTest {
     void setInventory_ReduceInventory() {
         // Given - current inventory is 50, set to 30 (reduce by 20)
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
 
         // When
         productService.setInventory("IPHONE15", 30);
 
         // Then
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAll(List.of(testProduct));
     }
 
     @Test
     void setInventory_IncreaseInventory() {
         // Given - current inventory is 50, set to 100 (increase by 50)
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
 
         // When
         productService.setInventory("IPHONE15", 100);
 
         // Then
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAll(List.of(testProduct));
     }
 
     @Test
     void setInventory_SameInventory() {
         // Given - current inventory is 50, set to 50 (no change)
         when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
 
         // When
         productService.setInventory("IPHONE15", 50);
 
-        // Then
+        // Then - the product didn't change, so it isn't written
         verify(productRepository).findBySku("IPHONE15");
-        verify(productRepository).save(testProduct);
+        verify(productRepository, never()).saveAll(anyCollection());
     }
 
     @Test
     void searchProductsByName_WithDescriptionMatch() {
         // Given - create products with different descriptions
         Product productWithDescription = new Product("TABLET", "iPad Pro", "Professional tablet device", Money.of(3000.00, "CNY"), 1L, 20);
+        productWithDescription.setId(3L);
         List<Product> products = Arrays.asList(testProduct, testProduct2, productWithDescription);
         when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllByIds(List.of(3L))).thenReturn(List.of(productWithDescription));
 
         // When - search by description keyword
         List<Product> result = productService.searchProductsByName("tablet");
@@ -464,14 +498,16 @@ class ProductServiceTest {
     void searchAvailableProducts_WithDescriptionMatch() {
         // Given - create products with different descriptions
         Product productWithDescription = new Product("TABLET", "iPad Pro", "Professional tablet device", Money.of(3000.00, "CNY"), 1L, 20);
+        productWithDescription.setId(3L);
         List<Product> products = Arrays.asList(testProduct, testProduct2, productWithDescription);
         when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllByIds(List.of(3L))).thenReturn(List.of(productWithDescription));
 
         // When - search by description keyword
         List<Product> result = productService.searchAvailableProducts("tablet");
 
         // Then
-        assertNotNull(result);
+        assertEquals(List.of(productWithDescription), result);
         verify(productRepository).findAll();
     }
 
@@ -502,4 +538,384 @@ class ProductServiceTest {
         assertNotNull(result);
         verify(productRepository).findAll();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void setHotMode_Enable_ShouldMoveStockIntoBucketsWithoutSaving() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+
+        // When
+        productService.setHotMode("IPHONE15", true);
+
+        // Then
+        assertTrue(productService.isHotMode("IPHONE15"));
+        assertEquals(50, inventoryCounter.getAvailable("IPHONE15"));
+        verify(productRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void reduceInventory_HotSku_ShouldDeductFromBucketsAndSaveLevel() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        productService.setHotMode("IPHONE15", true);
+
+        // When
+        productService.reduceInventory("IPHONE15", 10);
+
+        // Then
+        assertEquals(40, inventoryCounter.getAvailable("IPHONE15"));
+        assertEquals(40, testProduct.getAvailableInventory());
+    }
+
+    @Test
+    void setHotMode_Disable_ShouldWriteRemainingStockToProduct() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        productService.setHotMode("IPHONE15", true);
+        inventoryCounter.deductHot("IPHONE15", 5);
+
+        // When
+        productService.setHotMode("IPHONE15", false);
+
+        // Then
+        assertFalse(productService.isHotMode("IPHONE15"));
+        assertEquals(45, testProduct.getAvailableInventory());
+        assertEquals(45, inventoryCounter.getAvailable("IPHONE15"));
+        verify(productRepository).saveAll(List.of(testProduct));
+    }
+
+    @Test
+    void flushHotInventory_ShouldSaveOnlyChangedHotSkus() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.findBySku("LAPTOP")).thenReturn(Optional.of(testProduct2));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        productService.setHotMode("IPHONE15", true);
+        productService.setHotMode("LAPTOP", true);
+        inventoryCounter.deductHot("IPHONE15", 3);
+
+        // When
+        int flushed = productService.flushHotInventory();
+
+        // Then
+        assertEquals(1, flushed);
+        assertEquals(47, testProduct.getAvailableInventory());
+        verify(productRepository, times(1)).saveAll(anyCollection());
+    }
+
+    @Test
+    void flushHotInventory_ShouldKeepStockAddedToTheRowElsewhere() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        productService.setHotMode("IPHONE15", true);
+        inventoryCounter.deductHot("IPHONE15", 3);
+        // Another instance restocks the row after the buckets were seeded
+        testProduct.addInventory(20);
+
+        // When
+        productService.flushHotInventory();
+
+        // Then
+        assertEquals(67, testProduct.getAvailableInventory());
+        assertEquals(47, inventoryCounter.getAvailable("IPHONE15"));
+    }
+
+    @Test
+    void restart_AfterHotSales_ShouldKeepSoldStockInTheJournal() {
+        WriteAheadJournal journal = new WriteAheadJournal(directory, 0, true);
+        InventoryCounter counter = new InventoryCounter();
+        ProductService beforeRestart = newProductService(new MockProductRepository(journal), counter);
+        beforeRestart.setHotMode("PHONE-001", true);
+        counter.deductHot("PHONE-001", 7);
+
+        // Shutdown runs before the journal closes, with no flush since the sale
+        beforeRestart.disableAllHotModes();
+        journal.close();
+        journal = new WriteAheadJournal(directory, 0, true);
+        try {
+            ProductService afterRestart = newProductService(new MockProductRepository(journal), new InventoryCounter());
+
+            assertEquals(43, afterRestart.getProductBySku("PHONE-001").getAvailableInventory());
+            assertFalse(afterRestart.isHotMode("PHONE-001"));
+            assertFalse(counter.isHotMode("PHONE-001"));
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void reserveInventory_ShouldMoveStockToReservedAndSyncCell() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+        // When
+        productService.reserveInventory("IPHONE15", 5);
+
+        // Then
+        assertEquals(45, testProduct.getAvailableInventory());
+        assertEquals(5, testProduct.getReservedInventory());
+        assertEquals(45, inventoryCounter.getAvailable("IPHONE15"));
+        verify(productRepository).saveAll(List.of(testProduct));
+    }
+
+    @Test
+    void releaseAndConfirmReservedInventory_ShouldSettleReservedStock() {
+        // Given
+        testProduct.reserveInventory(10);
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+        // When
+        productService.releaseReservedInventory("IPHONE15", 4);
+        productService.confirmReservedInventory("IPHONE15", 6);
+
+        // Then
+        assertEquals(44, testProduct.getAvailableInventory());
+        assertEquals(0, testProduct.getReservedInventory());
+        verify(productRepository, times(2)).saveAll(List.of(testProduct));
+    }
+
+    @Test
+    void reserveInventory_HotSku_ShouldDeductFromBuckets() {
+        // Given
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        productService.setHotMode("IPHONE15", true);
+
+        // When
+        productService.reserveInventory("IPHONE15", 20);
+        productService.releaseReservedInventory("IPHONE15", 5);
+
+        // Then
+        assertEquals(35, inventoryCounter.getAvailable("IPHONE15"));
+        assertEquals(35, testProduct.getAvailableInventory());
+        assertEquals(15, testProduct.getReservedInventory());
+    }
+
+    @Test
+    void getProductsBySkus_ShouldKeyFoundProductsBySku() {
+        // Arrange
+        Product phone = new Product("PHONE", "Phone", "Description", Money.of("10.00", "CNY"), 1L, 5);
+        when(productRepository.findAllBySkus(List.of("PHONE", "MISSING"))).thenReturn(List.of(phone));
+
+        // Act
+        Map<String, Product> products = productService.getProductsBySkus(List.of("PHONE", "MISSING"));
+
+        // Assert
+        assertEquals(Map.of("PHONE", phone), products);
+    }
+
+    @Test
+    void saveProducts_ShouldSaveAllInOneCall() {
+        // Arrange
+        Product phone = new Product("PHONE", "Phone", "Description", Money.of("10.00", "CNY"), 1L, 5);
+
+        // Act
+        productService.saveProducts(List.of(phone));
+
+        // Assert
+        verify(productRepository).saveAll(List.of(phone));
+    }
+
+    @Test
+    void searchProductsByName_ShouldMatchInsideWords() {
+        // Given
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2));
+        when(productRepository.findAllByIds(List.of(1L))).thenReturn(List.of(testProduct));
+
+        // When - "hone" is neither a word nor a prefix of one
+        List<Product> result = productService.searchProductsByName("hone");
+
+        // Then
+        assertEquals(List.of(testProduct), result);
+    }
+
+    @Test
+    void createProduct_ShouldBeFoundBySearchWithoutReloadingCatalog() {
+        // Given
+        when(productRepository.findAll()).thenReturn(List.of(testProduct2));
+        productService.searchProductsByName("MacBook");
+        Product tablet = new Product("TABLET", "iPad Pro", "Professional tablet device", testPrice, 1L, 20);
+        tablet.setId(3L);
+        when(productRepository.existsBySku("TABLET")).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenReturn(tablet);
+        when(productRepository.findAllByIds(List.of(3L))).thenReturn(List.of(tablet));
+
+        // When
+        productService.createProduct("TABLET", "iPad Pro", "Professional tablet device", testPrice, 1L, 20);
+        List<Product> result = productService.searchProductsByName("ipad");
+
+        // Then
+        assertEquals(List.of(tablet), result);
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void searchMerchantProducts_ShouldMatchSkuWithinMerchant() {
+        // Given
+        Product otherMerchant = new Product("LAPTOP-2", "ThinkPad", "Business laptop", testPrice, 2L, 5);
+        otherMerchant.setId(3L);
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2, otherMerchant));
+        when(productRepository.findAllByIds(List.of(1L))).thenReturn(List.of(testProduct));
+
+        // When - the SKU matches, the name and description don't
+        List<Product> result = productService.searchMerchantProducts(1L, "phone15", null);
+
+        // Then
+        assertEquals(List.of(testProduct), result);
+    }
+
+    @Test
+    void searchAvailableProducts_WithMerchant_ShouldNotLoadUnavailableMatches() {
+        // Given
+        Product soldOut = new Product("IPHONE14", "iPhone 14", "Previous iPhone", testPrice, 1L, 0);
+        soldOut.setId(3L);
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2, soldOut));
+        when(productRepository.findAllByIds(List.of(1L))).thenReturn(List.of(testProduct));
+
+        // When
+        List<Product> result = productService.searchAvailableProducts("iphone", 1L);
+
+        // Then
+        assertEquals(List.of(testProduct), result);
+    }
+
+    @Test
+    void autocomplete_ShouldSuggestByNameOrSkuPrefix() {
+        // Given
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2));
+
+        // When
+        List<Suggestion> byName = productService.autocomplete("mac", 10);
+        List<Suggestion> bySku = productService.autocomplete("LAP", 10);
+
+        // Then
+        assertEquals(List.of(new Suggestion(2L, "LAPTOP", "MacBook Pro")), byName);
+        assertEquals(byName, bySku);
+    }
+
+    @Test
+    void autocomplete_WithLimitOutOfRange_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> productService.autocomplete("mac", 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> productService.autocomplete("mac", ProductAutocompleteIndex.MAX_LIMIT + 1));
+        assertEquals(List.of(), productService.autocomplete(" ", 10));
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void setProductActive_Deactivate_ShouldDropProductFromAutocomplete() {
+        // Given
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2));
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        assertEquals(1, productService.autocomplete("iph", 10).size());
+
+        // When
+        Product result = productService.setProductActive("IPHONE15", false);
+
+        // Then
+        assertFalse(result.isActive());
+        assertEquals(List.of(), productService.autocomplete("iph", 10));
+        productService.setProductActive("IPHONE15", true);
+        assertEquals(1, productService.autocomplete("iph", 10).size());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getAvailableProducts_ShouldFollowSellOutAndRestock() {
+        // Given
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2));
+        when(productRepository.findBySku("IPHONE15")).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        when(productRepository.findAllByIds(any())).thenReturn(List.of());
+        productService.getAvailableProducts();
+
+        // When - sold out, then restocked
+        productService.setInventory("IPHONE15", 0);
+        productService.getAvailableProducts();
+        productService.addInventory("IPHONE15", 5);
+        productService.getAvailableProducts();
+
+        // Then - only the IDs the stock bitmap holds are loaded
+        verify(productRepository, times(2)).findAllByIds(List.of(1L, 2L));
+        verify(productRepository).findAllByIds(List.of(2L));
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void searchMerchantProducts_WithStatusOnly_ShouldLoadOnlyThatStatus() {
+        // Given
+        testProduct2.deactivate();
+        Product otherMerchant = new Product("LAPTOP-2", "ThinkPad", "Business laptop", testPrice, 2L, 5);
+        otherMerchant.setId(3L);
+        otherMerchant.deactivate();
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2, otherMerchant));
+        when(productRepository.findAllByIds(List.of(2L))).thenReturn(List.of(testProduct2));
+
+        // When
+        List<Product> result = productService.searchMerchantProducts(1L, " ", ProductStatus.INACTIVE);
+
+        // Then
+        assertEquals(List.of(testProduct2), result);
+        verify(productRepository, never()).findByMerchantId(any());
+    }
+
+    @Test
+    void getAvailableProductsPage_ShouldLoadOnlyPageInSortOrder() {
+        // Given - price order is 2, 3, 1; the repository hands rows back in any order
+        Product cheap = new Product("CABLE", "USB cable", "Cable", Money.of(5.00, "CNY"), 1L, 100);
+        cheap.setId(3L);
+        testProduct2.updatePrice(Money.of(1.00, "CNY"));
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2, cheap));
+        when(productRepository.findAllByIds(List.of(2L, 3L))).thenReturn(List.of(cheap, testProduct2));
+        when(productRepository.findAllByIds(List.of(1L))).thenReturn(List.of(testProduct));
+
+        // When
+        ProductService.ProductPage first = productService.getAvailableProductsPage(null, 1L, "price", null, 2);
+        ProductService.ProductPage last = productService.getAvailableProductsPage(
+            null, 1L, "price", first.nextCursor(), 2);
+
+        // Then
+        assertEquals(List.of(testProduct2, cheap), first.products());
+        assertEquals(3, first.totalCount());
+        assertEquals(List.of(testProduct), last.products());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void getAvailableProductsPage_WithUnknownSort_ShouldThrow() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> productService.getAvailableProductsPage(null, null, "rating", null, 20));
+
+        assertTrue(exception.getMessage().contains("rating"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getMerchantProductsPage_ShouldDropRowsNoLongerMatchingStatus() {
+        // Given - deactivated by another instance, so the index still holds it as active
+        when(productRepository.findAll()).thenReturn(Arrays.asList(testProduct, testProduct2));
+        Product deactivated = new Product("LAPTOP", "MacBook Pro", "Professional laptop", Money.of(8000.00, "CNY"), 1L, 10);
+        deactivated.setId(2L);
+        deactivated.deactivate();
+        when(productRepository.findAllByIds(List.of(2L, 1L))).thenReturn(List.of(testProduct, deactivated));
+
+        // When
+        ProductService.ProductPage page = productService.getMerchantProductsPage(
+            1L, null, ProductStatus.ACTIVE, "inventory", null, 10);
+
+        // Then
+        assertEquals(List.of(testProduct), page.products());
+        assertEquals(2, page.totalCount());
+    }
+
+    private static ProductService newProductService(MockProductRepository products, InventoryCounter counter) {
+        return new ProductService(products, new AggregateLockManager(16), counter,
+            new ProductSearchIndex(), new ProductAutocompleteIndex());
+    }
+}
@@ -0,0 +1,184 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.application.dto.PurchaseRequest;
+import com.ecommerce.application.dto.PurchaseResponse;
+import com.ecommerce.domain.Money;
+import com.ecommerce.infrastructure.idempotency.OutcomePendingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PurchasePipelineTest {
+
+    @Mock
+    private EcommerceService ecommerceService;
+
+    private PurchasePipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void purchase_ShouldReturnResponseFromWriterThread() {
+        // Given
+        when(ecommerceService.executePurchaseBatch(anyList())).thenAnswer(invocation -> {
+            List<PurchaseRequest> requests = invocation.getArgument(0);
+            assertTrue(Thread.currentThread().getName().startsWith("purchase-writer-"));
+            return requests.stream().map(request -> EcommerceService.PurchaseOutcome.success(response(request))).toList();
+        });
+        pipeline = startedPipeline(2, 16);
+
+        // When
+        PurchaseResponse response = pipeline.purchase(new PurchaseRequest(1L, "PHONE", 2));
+
+        // Then
+        assertEquals("PHONE", response.getSku());
+        assertEquals(2, response.getQuantity());
+    }
+
+    @Test
+    void purchase_WhenRejected_ShouldRethrowBusinessException() {
+        // Given
+        when(ecommerceService.executePurchaseBatch(anyList())).thenReturn(List.of(
+            EcommerceService.PurchaseOutcome.failure(new com.ecommerce.domain.product.InsufficientInventoryException("Sold out"))));
+        pipeline = startedPipeline(1, 16);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> pipeline.purchase(new PurchaseRequest(1L, "PHONE", 1)));
+        assertEquals(ErrorCode.INSUFFICIENT_INVENTORY, exception.getErrorCode());
+    }
+
+    @Test
+    void purchase_WhenNotAppliedInTime_ShouldHandOverPendingOutcome() throws Exception {
+        // Given - the writer is still applying the purchase when the caller stops waiting
+        CountDownLatch release = new CountDownLatch(1);
+        when(ecommerceService.executePurchaseBatch(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            List<PurchaseRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> EcommerceService.PurchaseOutcome.success(response(request))).toList();
+        });
+        pipeline = new PurchasePipeline(ecommerceService, true, 1, 16, 8, 50);
+        pipeline.start();
+
+        // When
+        OutcomePendingException exception = assertThrows(OutcomePendingException.class,
+            () -> pipeline.purchase(new PurchaseRequest(1L, "PHONE", 3)));
+
+        // Then
+        assertEquals(ErrorCode.INTERNAL_ERROR, exception.getErrorCode());
+        release.countDown();
+        assertEquals(3, ((PurchaseResponse) exception.getOutcome().get(5, TimeUnit.SECONDS)).getQuantity());
+    }
+
+    @Test
+    void submit_ShouldApplyPurchasesOfOneSkuInArrivalOrder() throws Exception {
+        // Given
+        List<Integer> applied = java.util.Collections.synchronizedList(new ArrayList<>());
+        when(ecommerceService.executePurchaseBatch(anyList())).thenAnswer(invocation -> {
+            List<PurchaseRequest> requests = invocation.getArgument(0);
+            requests.forEach(request -> applied.add(request.getQuantity()));
+            return requests.stream().map(request -> EcommerceService.PurchaseOutcome.success(response(request))).toList();
+        });
+        pipeline = startedPipeline(4, 256);
+
+        // When
+        List<CompletableFuture<PurchaseResponse>> futures = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            futures.add(pipeline.submit(new PurchaseRequest(1L, "PHONE", i)));
+        }
+        for (CompletableFuture<PurchaseResponse> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, applied.get(i));
+        }
+    }
+
+    @Test
+    void submit_WhenBatchFails_ShouldFailEveryPurchaseOfTheBatch() {
+        // Given
+        when(ecommerceService.executePurchaseBatch(anyList()))
+            .thenThrow(new BusinessException(ErrorCode.INTERNAL_ERROR, "Storage unavailable"));
+        pipeline = startedPipeline(1, 16);
+
+        // When
+        CompletableFuture<PurchaseResponse> future = pipeline.submit(new PurchaseRequest(1L, "PHONE", 1));
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("Storage unavailable", exception.getCause().getMessage());
+    }
+
+    @Test
+    void submit_WhenPartitionIsFull_ShouldRejectWithRateLimit() throws Exception {
+        // Given - the writer is stuck on the first purchase while the ring fills up
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ecommerceService.executePurchaseBatch(anyList())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<PurchaseRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> EcommerceService.PurchaseOutcome.success(response(request))).toList();
+        });
+        pipeline = startedPipeline(1, 2);
+        CompletableFuture<PurchaseResponse> first = pipeline.submit(new PurchaseRequest(1L, "PHONE", 1));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        pipeline.submit(new PurchaseRequest(1L, "PHONE", 1));
+        pipeline.submit(new PurchaseRequest(1L, "PHONE", 1));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> pipeline.submit(new PurchaseRequest(1L, "PHONE", 1)));
+        assertEquals(ErrorCode.RATE_LIMIT_EXCEEDED, exception.getErrorCode());
+
+        release.countDown();
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_WhenDisabled_ShouldBeRejected() {
+        pipeline = new PurchasePipeline(ecommerceService, false, 2, 16, 8, 1000);
+        pipeline.start();
+
+        assertFalse(pipeline.isEnabled());
+        assertEquals(0, pipeline.getPartitionCount());
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> pipeline.submit(new PurchaseRequest(1L, "PHONE", 1)));
+        assertEquals(ErrorCode.OPERATION_NOT_ALLOWED, exception.getErrorCode());
+        verifyNoInteractions(ecommerceService);
+    }
+
+    private PurchasePipeline startedPipeline(int partitions, int bufferSize) {
+        PurchasePipeline started = new PurchasePipeline(ecommerceService, true, partitions, bufferSize, 8, 5000);
+        started.start();
+        return started;
+    }
+
+    private static PurchaseResponse response(PurchaseRequest request) {
+        return new PurchaseResponse("ORD-" + request.getQuantity(), request.getUserId(), 1L, request.getSku(),
+            "Phone", request.getQuantity(), Money.of("10.00", "USD"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.domain.product.InsufficientInventoryException;
+import com.ecommerce.domain.product.InventoryReservation;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ReservationStatus;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import com.ecommerce.infrastructure.repository.mock.MockProductRepository;
+import com.ecommerce.infrastructure.timer.HierarchicalTimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @TempDir
+    Path directory;
+
+    private AtomicLong now;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(100, 64, now::get);
+        reservationService = new ReservationService(productService, new AggregateLockManager(16), wheel,
+            Duration.ofMinutes(15), Duration.ofHours(1));
+    }
+
+    @Test
+    void reserve_ShouldHoldStockAndTrackReservation() {
+        InventoryReservation reservation = reservationService.reserve("SKU-001", 2, null);
+
+        verify(productService).reserveInventory("SKU-001", 2);
+        assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+        assertEquals(Duration.ofMinutes(15), Duration.between(reservation.getCreatedAt(), reservation.getExpiresAt()));
+        assertSame(reservation, reservationService.getReservation(reservation.getReservationId()));
+        assertEquals(1, reservationService.getActiveReservationCount());
+    }
+
+    @Test
+    void reserve_WithInsufficientStock_ShouldNotTrackReservation() {
+        doThrow(new InsufficientInventoryException("Cannot reserve more than available inventory"))
+            .when(productService).reserveInventory("SKU-001", 5);
+
+        assertThrows(InsufficientInventoryException.class, () -> reservationService.reserve("SKU-001", 5, null));
+        assertEquals(0, reservationService.getActiveReservationCount());
+    }
+
+    @Test
+    void reserve_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserve("SKU-001", 0, null));
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserve("SKU-001", 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserve("SKU-001", 1, Duration.ofHours(2)));
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void confirm_ShouldMarkStockSoldAndCancelExpiry() {
+        InventoryReservation reservation = reservationService.reserve("SKU-001", 2, Duration.ofSeconds(5));
+
+        reservationService.confirm(reservation.getReservationId());
+
+        verify(productService).confirmReservedInventory("SKU-001", 2);
+        assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+        assertEquals(0, reservationService.getActiveReservationCount());
+
+        now.addAndGet(10_000);
+        assertEquals(0, reservationService.expireDueReservations());
+        verify(productService, never()).releaseReservedInventory(anyString(), anyInt());
+    }
+
+    @Test
+    void release_ShouldReturnStock() {
+        InventoryReservation reservation = reservationService.reserve("SKU-001", 2, null);
+
+        reservationService.release(reservation.getReservationId());
+
+        verify(productService).releaseReservedInventory("SKU-001", 2);
+        assertEquals(ReservationStatus.RELEASED, reservation.getStatus());
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> reservationService.release(reservation.getReservationId()));
+        assertEquals(ErrorCode.RESOURCE_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void expireDueReservations_ShouldReleaseOnlyTimedOutReservations() {
+        InventoryReservation shortHold = reservationService.reserve("SKU-001", 1, Duration.ofSeconds(5));
+        InventoryReservation longHold = reservationService.reserve("SKU-002", 3, Duration.ofMinutes(10));
+
+        now.addAndGet(4_900);
+        assertEquals(0, reservationService.expireDueReservations());
+
+        now.addAndGet(100);
+        assertEquals(1, reservationService.expireDueReservations());
+
+        verify(productService).releaseReservedInventory("SKU-001", 1);
+        verify(productService, never()).releaseReservedInventory("SKU-002", 3);
+        assertEquals(ReservationStatus.EXPIRED, shortHold.getStatus());
+        assertEquals(ReservationStatus.ACTIVE, longHold.getStatus());
+        assertThrows(BusinessException.class, () -> reservationService.confirm(shortHold.getReservationId()));
+    }
+
+    @Test
+    void expireDueReservations_WhenReleaseFails_ShouldRetryLater() {
+        InventoryReservation reservation = reservationService.reserve("SKU-001", 1, Duration.ofSeconds(1));
+        doThrow(new RuntimeException("Storage unavailable"))
+            .doNothing()
+            .when(productService).releaseReservedInventory("SKU-001", 1);
+
+        now.addAndGet(1_000);
+        reservationService.expireDueReservations();
+        assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+
+        now.addAndGet(1_000);
+        reservationService.expireDueReservations();
+        assertEquals(ReservationStatus.EXPIRED, reservation.getStatus());
+        verify(productService, times(2)).releaseReservedInventory("SKU-001", 1);
+    }
+
+    @Test
+    void getReservation_WithUnknownId_ShouldThrowNotFound() {
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> reservationService.getReservation("RSV-UNKNOWN"));
+
+        assertEquals(ErrorCode.RESOURCE_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void restart_WithOpenHold_ShouldReturnReservedStockOnStartup() {
+        WriteAheadJournal journal = new WriteAheadJournal(directory, 0, true);
+        MockProductRepository products = new MockProductRepository(journal);
+        ReservationService beforeRestart = startReservations(products);
+        InventoryReservation open = beforeRestart.reserve("PHONE-001", 3, Duration.ofMinutes(10));
+        assertEquals(3, products.findBySku("PHONE-001").orElseThrow().getReservedInventory());
+
+        // The process stops with the hold open; its timer is gone, the reserved stock is in the journal
+        journal.close();
+        journal = new WriteAheadJournal(directory, 0, true);
+        try {
+            MockProductRepository restored = new MockProductRepository(journal);
+            assertEquals(3, restored.findBySku("PHONE-001").orElseThrow().getReservedInventory());
+
+            ReservationService afterRestart = startReservations(restored);
+
+            Product phone = restored.findBySku("PHONE-001").orElseThrow();
+            assertEquals(0, phone.getReservedInventory());
+            assertEquals(50, phone.getAvailableInventory());
+            assertThrows(BusinessException.class, () -> afterRestart.getReservation(open.getReservationId()));
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void startup_WithoutReleaseOnStartup_ShouldKeepReservedStock() {
+        ReservationService service = new ReservationService(productService, new AggregateLockManager(16),
+            new HierarchicalTimingWheel(100, 64, now::get), Duration.ofMinutes(15), Duration.ofHours(1), false);
+
+        service.afterSingletonsInstantiated();
+
+        verify(productService, never()).releaseAllReservedInventory();
+    }
+
+    // A reservation service over real products, initialized as the application context would
+    private ReservationService startReservations(MockProductRepository products) {
+        ReservationService service = new ReservationService(new ProductService(products),
+            new AggregateLockManager(16), new HierarchicalTimingWheel(100, 64, now::get),
+            Duration.ofMinutes(15), Duration.ofHours(1));
+        service.afterSingletonsInstantiated();
+        return service;
+    }
+}
@@ -4,6 +4,7 @@ import com.ecommerce.domain.settlement.Settlement;
 import com.ecommerce.domain.Money;
 import com.ecommerce.domain.merchant.Merchant;
 import com.ecommerce.infrastructure.repository.SettlementRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -22,6 +23,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderTotals;
 
 @ExtendWith(MockitoExtension.class)
 class SettlementServiceTest {
@@ -38,6 +40,12 @@ class SettlementServiceTest {
     @InjectMocks
     private SettlementService settlementService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(orderService.getCompletedOrderTotalsByMerchantAndDateRange(any(), any(), any()))
+            .thenReturn(OrderTotals.none());
+    }
+
     @Test
     void executeSettlement_ShouldCompleteSuccessfully() {
         // Arrange
@@ -343,8 +351,8 @@ class SettlementServiceTest {
         merchant.receiveIncome(Money.of("100.00", "USD"));
         
         when(merchantService.getMerchantBalance(merchantId)).thenReturn(null); // Simulate null balance
-        when(orderService.getCompletedOrdersByMerchantAndDateRange(eq(merchantId), any(), any()))
-            .thenReturn(Collections.emptyList());
+        when(orderService.getCompletedOrderTotalsByMerchantAndDateRange(eq(merchantId), any(), any()))
+            .thenReturn(OrderTotals.none());
         when(settlementRepository.save(any(Settlement.class))).thenAnswer(invocation -> {
             Settlement settlement = invocation.getArgument(0);
             settlement.setId(1L);
@@ -427,8 +435,8 @@ class SettlementServiceTest {
         LocalDate settlementDate = LocalDate.of(2023, 12, 25);
         
         when(merchantService.getMerchantBalance(merchantId)).thenReturn(Money.zero("CNY"));
-        when(orderService.getCompletedOrdersByMerchantAndDateRange(eq(merchantId), any(), any()))
-            .thenReturn(Collections.emptyList());
+        when(orderService.getCompletedOrderTotalsByMerchantAndDateRange(eq(merchantId), any(), any()))
+            .thenReturn(OrderTotals.none());
         when(settlementRepository.save(any(Settlement.class))).thenAnswer(invocation -> {
             Settlement settlement = invocation.getArgument(0);
             settlement.setId(1L);
@@ -462,10 +470,12 @@ class SettlementServiceTest {
         order2.processPayment();
         order2.complete();
         
-        List<Order> completedOrders = Arrays.asList(order1, order2);
+        OrderTotals completedOrders = OrderTotals.none()
+            .add(1, order1.getTotalAmount())
+            .add(1, order2.getTotalAmount());
         
         when(merchantService.getMerchantBalance(merchantId)).thenReturn(Money.of("200.00", "CNY"));
-        when(orderService.getCompletedOrdersByMerchantAndDateRange(eq(merchantId), any(), any()))
+        when(orderService.getCompletedOrderTotalsByMerchantAndDateRange(eq(merchantId), any(), any()))
             .thenReturn(completedOrders);
         when(settlementRepository.save(any(Settlement.class))).thenAnswer(invocation -> {
             Settlement settlement = invocation.getArgument(0);
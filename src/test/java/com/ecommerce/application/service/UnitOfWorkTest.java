@@ -0,0 +1,145 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnitOfWorkTest {
+
+    private final Map<Long, User> storedUsers = new HashMap<>();
+    private final List<Collection<Long>> userLoads = new ArrayList<>();
+    private final List<List<User>> savedUsers = new ArrayList<>();
+    private final List<List<Order>> savedOrders = new ArrayList<>();
+    private final List<String> saves = new ArrayList<>();
+
+    private UnitOfWork work;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 3; id++) {
+            User user = new User("user" + id, "user" + id + "@example.com", "123-456-000" + id, "USD");
+            user.setId(id);
+            storedUsers.put(id, user);
+        }
+        work = new UnitOfWork()
+            .register(Order.class, orders -> {
+                savedOrders.add(List.copyOf(orders));
+                saves.add("orders");
+            })
+            .register(User.class, users -> {
+                savedUsers.add(List.copyOf(users));
+                saves.add("users");
+            });
+    }
+
+    private User loadUser(Long id) {
+        userLoads.add(List.of(id));
+        return storedUsers.get(id);
+    }
+
+    private Map<Long, User> loadUsers(Collection<Long> ids) {
+        userLoads.add(List.copyOf(ids));
+        Map<Long, User> found = new HashMap<>();
+        ids.stream().filter(storedUsers::containsKey).forEach(id -> found.put(id, storedUsers.get(id)));
+        return found;
+    }
+
+    @Test
+    void load_SameKeyTwice_ShouldReturnSameInstanceWithOneLoad() {
+        User first = work.load(User.class, 1L, this::loadUser);
+        User second = work.load(User.class, 1L, this::loadUser);
+
+        assertSame(first, second);
+        assertEquals(1, userLoads.size());
+    }
+
+    @Test
+    void loadAll_ShouldLoadOnlyUnseenKeysInOneCallAndKeepKeyOrder() {
+        User known = work.load(User.class, 2L, this::loadUser);
+
+        Map<Long, User> users = work.loadAll(User.class, List.of(3L, 2L, 9L, 1L), this::loadUsers);
+
+        assertEquals(List.of(3L, 2L, 1L), List.copyOf(users.keySet()));
+        assertSame(known, users.get(2L));
+        assertEquals(List.of(List.of(2L), List.of(3L, 9L, 1L)), userLoads);
+    }
+
+    @Test
+    void flush_ShouldSaveOnlyAggregatesWhoseVersionMoved() {
+        Map<Long, User> users = work.loadAll(User.class, Set.of(1L, 2L, 3L), this::loadUsers);
+        users.get(2L).recharge(Money.of("10.00", "USD"));
+
+        work.flush();
+
+        assertEquals(List.of(List.of(users.get(2L))), savedUsers);
+        assertTrue(savedOrders.isEmpty());
+    }
+
+    @Test
+    void flush_WithNothingChanged_ShouldSaveNothing() {
+        work.load(User.class, 1L, this::loadUser);
+
+        work.flush();
+
+        assertTrue(savedUsers.isEmpty());
+        assertTrue(saves.isEmpty());
+    }
+
+    @Test
+    void flush_ShouldSaveChangedAggregatesBeforeNewOnes() {
+        Order order = new Order("ORDER-1", 1L, 1L);
+        work.registerNew(order);
+        User user = work.load(User.class, 1L, this::loadUser);
+        user.recharge(Money.of("10.00", "USD"));
+
+        work.flush();
+
+        assertEquals(List.of("users", "orders"), saves);
+        assertEquals(List.of(List.of(order)), savedOrders);
+    }
+
+    @Test
+    void flush_Twice_ShouldOnlySaveChangesMadeSinceTheFirstFlush() {
+        User user = work.load(User.class, 1L, this::loadUser);
+        Order order = new Order("ORDER-1", 1L, 1L);
+        order.addOrderItem("SKU-1", "Product", Money.of("10.00", "USD"), 1);
+        work.registerNew(order);
+        user.recharge(Money.of("10.00", "USD"));
+        work.flush();
+
+        work.flush();
+        order.confirm();
+        work.flush();
+
+        assertEquals(1, savedUsers.size());
+        assertEquals(List.of(List.of(order), List.of(order)), savedOrders);
+    }
+
+    @Test
+    void flush_WithFailingSave_ShouldPropagate() {
+        UnitOfWork failing = new UnitOfWork().register(User.class, users -> {
+            throw new IllegalStateException("conflict");
+        });
+        failing.load(User.class, 1L, this::loadUser).recharge(Money.of("10.00", "USD"));
+
+        assertThrows(IllegalStateException.class, failing::flush);
+    }
+
+    @Test
+    void load_UnregisteredType_ShouldThrow() {
+        UnitOfWork empty = new UnitOfWork();
+
+        assertThrows(IllegalArgumentException.class, () -> empty.load(User.class, 1L, this::loadUser));
+    }
+}
@@ -3,14 +3,18 @@ package com.ecommerce.application.service;
 import com.ecommerce.domain.user.User;
 import com.ecommerce.domain.user.DuplicateUserException;
 import com.ecommerce.domain.Money;
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
 import com.ecommerce.infrastructure.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -24,6 +28,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private AggregateLockManager lockManager = new AggregateLockManager(16);
+
     @InjectMocks
     private UserService userService;
 
@@ -240,4 +247,30 @@ class UserServiceTest {
         assertEquals(5, result);
         verify(userRepository).count();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getUsersByIds_ShouldKeyFoundUsersById() {
+        // Arrange
+        testUser.setId(1L);
+        User other = new User("other", "other@example.com", "0987654321", "CNY");
+        other.setId(2L);
+        when(userRepository.findAllByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(testUser, other));
+
+        // Act
+        Map<Long, User> users = userService.getUsersByIds(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(Map.of(1L, testUser, 2L, other), users);
+        assertFalse(users.containsKey(3L));
+    }
+
+    @Test
+    void saveUsers_ShouldSaveAllInOneCall() {
+        // Act
+        userService.saveUsers(List.of(testUser));
+
+        // Assert
+        verify(userRepository).saveAll(List.of(testUser));
+        verify(userRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency benchmark: autocomplete lookups against a catalog of 1M products
+ * Prefixes of 1 to 8 characters are cut from random product names and SKUs; a tenth of the products is
+ * inactive, so the walk also has to skip them
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=AutocompleteBenchmarkTest -DargLine=-Xmx2g
+ *   -Dbenchmark.autocomplete.products=1000000 -Dbenchmark.autocomplete.lookups=200000
+ */
+@Tag("benchmark")
+class AutocompleteBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteBenchmarkTest.class);
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Lenovo", "Xiaomi", "Huawei", "Dell", "Asus"};
+    private static final String[] ITEMS = {"phone", "laptop", "tablet", "headphones", "monitor", "charger", "watch"};
+    private static final int LIMIT = 10;
+
+    @Test
+    void measureLookupLatency() {
+        int products = Integer.getInteger("benchmark.autocomplete.products", 1_000_000);
+        int lookups = Integer.getInteger("benchmark.autocomplete.lookups", 200_000);
+        Random random = new Random(42);
+
+        ProductAutocompleteIndex index = new ProductAutocompleteIndex();
+        List<String> keys = new ArrayList<>();
+        long start = System.nanoTime();
+        index.loadIfNeeded(() -> catalog(products, random, keys));
+        long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        String[] prefixes = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            prefixes[i] = key.substring(0, Math.min(key.length(), 1 + random.nextInt(8)));
+        }
+        // Warm up
+        for (int i = 0; i < lookups; i++) {
+            index.suggest(prefixes[i], LIMIT);
+        }
+
+        long[] nanos = new long[lookups];
+        long suggestions = 0;
+        for (int i = 0; i < lookups; i++) {
+            long lookupStart = System.nanoTime();
+            suggestions += index.suggest(prefixes[i], LIMIT).size();
+            nanos[i] = System.nanoTime() - lookupStart;
+        }
+        Arrays.sort(nanos);
+
+        logger.info("{} products indexed in {} ms; {} lookups, {} suggestions: p50 {} us, p99 {} us, p99.9 {} us, max {} us",
+            products, loadMillis, lookups, suggestions,
+            micros(nanos, 0.50), micros(nanos, 0.99), micros(nanos, 0.999), nanos[lookups - 1] / 1000);
+        assertTrue(suggestions > 0);
+        assertTrue(micros(nanos, 0.99) < 1000, "p99 should stay under a millisecond");
+    }
+
+    private static List<Product> catalog(int products, Random random, List<String> keys) {
+        List<Product> catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " " + ITEMS[random.nextInt(ITEMS.length)]
+                + " " + random.nextInt(100_000);
+            String sku = String.format("SKU-%07d", i);
+            Product product = new Product(sku, name, "", Money.of("10.00", "CNY"), 1L + i % 100, 10);
+            product.setId(i + 1L);
+            if (random.nextInt(10) == 0) {
+                product.deactivate();
+            }
+            catalog.add(product);
+            if (i % 100 == 0) {
+                keys.add(name.toLowerCase());
+                keys.add(sku.toLowerCase());
+            }
+        }
+        return catalog;
+    }
+
+    private static long micros(long[] sortedNanos, double quantile) {
+        return sortedNanos[(int) Math.min(sortedNanos.length - 1, sortedNanos.length * quantile)] / 1000;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.dto.BatchPurchaseRequest;
+import com.ecommerce.application.dto.BatchPurchaseResponse;
+import com.ecommerce.application.dto.PurchaseRequest;
+import com.ecommerce.application.service.EcommerceService;
+import com.ecommerce.application.service.MerchantService;
+import com.ecommerce.application.service.OrderService;
+import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.UserService;
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.mock.MockMerchantRepository;
+import com.ecommerce.infrastructure.repository.mock.MockOrderRepository;
+import com.ecommerce.infrastructure.repository.mock.MockProductRepository;
+import com.ecommerce.infrastructure.repository.mock.MockUserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark: purchases sent one by one vs the same purchases sent in batches
+ * Real services over the in-memory repositories, one caller thread
+ *
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class BatchPurchaseBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchPurchaseBenchmarkTest.class);
+
+    private static final int USERS = 50;
+    private static final int SKUS = 20;
+    private static final int BATCH_SIZE = 200;
+    private static final int WARMUP_PURCHASES = 400;
+    private static final int PURCHASES = 2_000;
+
+    @Test
+    void compareBatchWithSingleRequests() {
+        List<PurchaseRequest> warmup = purchases(WARMUP_PURCHASES, 1);
+        List<PurchaseRequest> measured = purchases(PURCHASES, 2);
+
+        Fixture singleFixture = new Fixture();
+        runSingle(singleFixture, warmup);
+        long single = runSingle(singleFixture, measured);
+
+        Fixture batchFixture = new Fixture();
+        runBatch(batchFixture, warmup);
+        long batch = runBatch(batchFixture, measured);
+
+        logger.info("Purchase throughput: batch of {}={} purchases/s, single={} purchases/s, speedup={}x",
+            BATCH_SIZE, batch, single, String.format("%.2f", (double) batch / single));
+        assertTrue(batch > 0 && single > 0);
+    }
+
+    private long runSingle(Fixture fixture, List<PurchaseRequest> purchases) {
+        long startTime = System.nanoTime();
+        for (PurchaseRequest purchase : purchases) {
+            fixture.ecommerceService.processPurchase(purchase);
+        }
+        return throughput(purchases.size(), System.nanoTime() - startTime);
+    }
+
+    private long runBatch(Fixture fixture, List<PurchaseRequest> purchases) {
+        long startTime = System.nanoTime();
+        for (int from = 0; from < purchases.size(); from += BATCH_SIZE) {
+            List<PurchaseRequest> chunk = purchases.subList(from, Math.min(from + BATCH_SIZE, purchases.size()));
+            BatchPurchaseResponse response = fixture.ecommerceService.processBatchPurchase(new BatchPurchaseRequest(chunk));
+            // Stock and balances are ample, so every purchase must go through
+            assertEquals(chunk.size(), response.getSucceeded());
+        }
+        return throughput(purchases.size(), System.nanoTime() - startTime);
+    }
+
+    private static long throughput(int purchases, long elapsedNanos) {
+        return purchases * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Random purchases over the fixture's users and SKUs; the same seed gives both paths the same load
+     */
+    private static List<PurchaseRequest> purchases(int count, long seed) {
+        Random random = new Random(seed);
+        List<PurchaseRequest> purchases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            purchases.add(new PurchaseRequest(Fixture.FIRST_USER_ID + random.nextInt(USERS),
+                "BENCH-" + random.nextInt(SKUS), 1 + random.nextInt(3)));
+        }
+        return purchases;
+    }
+
+    /**
+     * Services over fresh in-memory repositories holding USERS extra users and SKUS products of merchant 1
+     */
+    private static final class Fixture {
+
+        // The user repository seeds three demo users first
+        static final long FIRST_USER_ID = 4;
+
+        final EcommerceService ecommerceService;
+
+        Fixture() {
+            MockUserRepository userRepository = new MockUserRepository();
+            MockProductRepository productRepository = new MockProductRepository();
+            for (int i = 0; i < USERS; i++) {
+                User user = new User("bench" + i, "bench" + i + "@example.com", "1390000" + String.format("%04d", i), "CNY");
+                user.recharge(Money.of("1000000.00", "CNY"));
+                User saved = userRepository.save(user);
+                assertEquals(FIRST_USER_ID + i, saved.getId());
+            }
+            for (int i = 0; i < SKUS; i++) {
+                productRepository.save(new Product("BENCH-" + i, "Bench product " + i, "Benchmark product",
+                    Money.of("1.00", "CNY"), 1L, 1_000_000));
+            }
+            ecommerceService = new EcommerceService(new UserService(userRepository),
+                new MerchantService(new MockMerchantRepository()), new ProductService(productRepository),
+                new OrderService(new MockOrderRepository()));
+        }
+    }
+}
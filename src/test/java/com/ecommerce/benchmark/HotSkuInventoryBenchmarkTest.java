@@ -0,0 +1,79 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.inventory.InventoryCell;
+import com.ecommerce.infrastructure.inventory.ShardedStockCell;
+import com.ecommerce.infrastructure.inventory.StockCell;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention benchmark: one flash-sale SKU sold from a single CAS cell vs per-core buckets
+ * Every thread hammers the same SKU until it is sold out
+ *
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class HotSkuInventoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotSkuInventoryBenchmarkTest.class);
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int STOCK = 20_000_000;
+
+    @Test
+    void compareShardedCellWithSingleCell() throws Exception {
+        // Warm up both paths
+        run(new StockCell(STOCK / 10));
+        run(new ShardedStockCell(STOCK / 10, THREADS));
+
+        long single = run(new StockCell(STOCK));
+        long sharded = run(new ShardedStockCell(STOCK, THREADS));
+
+        logger.info("Hot SKU deduction throughput with {} threads: sharded={} ops/s, single={} ops/s, speedup={}x",
+            THREADS, sharded, single, String.format("%.2f", (double) sharded / single));
+        assertTrue(sharded > 0 && single > 0);
+    }
+
+    private long run(InventoryCell cell) throws Exception {
+        int stock = cell.get();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long sold = 0;
+                while (cell.tryDeduct(1)) {
+                    sold++;
+                }
+                return sold;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        long sold = 0;
+        for (Future<Long> future : futures) {
+            sold += future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        executor.shutdown();
+
+        // Sold out exactly: no unit left behind in a bucket and none oversold
+        assertEquals(stock, sold);
+        assertEquals(0, cell.get());
+        return sold * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
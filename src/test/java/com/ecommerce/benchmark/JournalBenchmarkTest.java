@@ -0,0 +1,170 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.dto.PurchaseRequest;
+import com.ecommerce.application.service.EcommerceService;
+import com.ecommerce.application.service.MerchantService;
+import com.ecommerce.application.service.OrderService;
+import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.UserService;
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import com.ecommerce.infrastructure.repository.mock.MockMerchantRepository;
+import com.ecommerce.infrastructure.repository.mock.MockOrderRepository;
+import com.ecommerce.infrastructure.repository.mock.MockProductRepository;
+import com.ecommerce.infrastructure.repository.mock.MockUserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark: purchases per second with the repositories journaled at each durability setting
+ * Real services over the in-memory repositories, concurrent caller threads
+ *
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class JournalBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int USERS = 200;
+    private static final int SKUS = 100;
+    private static final int WARMUP_PURCHASES = 400;
+    private static final int PURCHASES = 4_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void comparePurchaseThroughputByDurability() throws Exception {
+        logger.info("Purchase throughput, in memory only: {} purchases/s", run(null));
+        logger.info("Purchase throughput, async (fsync every 2ms, callers don't wait): {} purchases/s",
+            run(journal("async", 2_000, false)));
+        logger.info("Purchase throughput, fsync per commit, no window: {} purchases/s",
+            run(journal("window-0", 0, true)));
+        logger.info("Purchase throughput, fsync per commit, 1ms window: {} purchases/s",
+            run(journal("window-1ms", 1_000, true)));
+        logger.info("Purchase throughput, fsync per commit, 5ms window: {} purchases/s",
+            run(journal("window-5ms", 5_000, true)));
+    }
+
+    private WriteAheadJournal journal(String name, long commitWindowMicros, boolean waitForFsync) {
+        return new WriteAheadJournal(directory.resolve(name), commitWindowMicros, waitForFsync);
+    }
+
+    private long run(WriteAheadJournal journal) throws Exception {
+        try {
+            Fixture fixture = new Fixture(journal);
+            purchase(fixture, purchases(WARMUP_PURCHASES, 1));
+            long throughput = purchase(fixture, purchases(PURCHASES, 2));
+            if (journal != null) {
+                logger.info("  {} records in {} commits", journal.getCommittedRecords(), journal.getCommittedBatches());
+            }
+            return throughput;
+        } finally {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    private long purchase(Fixture fixture, List<PurchaseRequest> purchases) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int index;
+                    while ((index = next.getAndIncrement()) < purchases.size()) {
+                        try {
+                            PurchaseRequest purchase = purchases.get(index);
+                            // What JournalCommitAspect does around the service in the application
+                            fixture.inCommitScope(() -> fixture.ecommerceService.processPurchase(purchase));
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - startTime;
+            // Stock and balances are ample; only exhausted conflict retries may fail
+            assertTrue(failed.get() < purchases.size() / 10, failed.get() + " purchases failed");
+            return purchases.size() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<PurchaseRequest> purchases(int count, long seed) {
+        Random random = new Random(seed);
+        List<PurchaseRequest> purchases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            purchases.add(new PurchaseRequest(Fixture.FIRST_USER_ID + random.nextInt(USERS),
+                "BENCH-" + random.nextInt(SKUS), 1));
+        }
+        return purchases;
+    }
+
+    /**
+     * Services over fresh in-memory repositories, all journaled to the same journal when one is given
+     */
+    private static final class Fixture {
+
+        // The user repository seeds three demo users first
+        static final long FIRST_USER_ID = 4;
+
+        final EcommerceService ecommerceService;
+        final WriteAheadJournal journal;
+
+        Fixture(WriteAheadJournal journal) {
+            this.journal = journal;
+            MockUserRepository userRepository = new MockUserRepository(journal);
+            MockProductRepository productRepository = new MockProductRepository(journal);
+            for (int i = 0; i < USERS; i++) {
+                User user = new User("bench" + i, "bench" + i + "@example.com", "1390000" + String.format("%04d", i), "CNY");
+                user.recharge(Money.of("1000000.00", "CNY"));
+                assertEquals(FIRST_USER_ID + i, userRepository.save(user).getId());
+            }
+            for (int i = 0; i < SKUS; i++) {
+                productRepository.save(new Product("BENCH-" + i, "Bench product " + i, "Benchmark product",
+                    Money.of("1.00", "CNY"), 1L, 1_000_000));
+            }
+            ecommerceService = new EcommerceService(new UserService(userRepository),
+                new MerchantService(new MockMerchantRepository(journal)), new ProductService(productRepository),
+                new OrderService(new MockOrderRepository(journal)));
+        }
+
+        <T> T inCommitScope(Supplier<T> work) {
+            return journal != null ? journal.inCommitScope(work) : work.get();
+        }
+    }
+}
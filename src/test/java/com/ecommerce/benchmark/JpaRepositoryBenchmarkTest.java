@@ -0,0 +1,175 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.api.EcommercePlatformApplication;
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JPA repository benchmark on an embedded H2 database in MySQL mode
+ * - Writes: orders with three items each, in JDBC batches of 50 versus one statement per row
+ * - Settlement reads: completed orders with their items fetch-joined versus loaded lazily (N+1)
+ * - Settlement totals: grouped sum in the database versus loading and summing every order
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=JpaRepositoryBenchmarkTest
+ * Order count defaults to 5000: -Dbenchmark.jpa.orders=20000
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = EcommercePlatformApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("mysql")
+class JpaRepositoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaRepositoryBenchmarkTest.class);
+
+    private static final Long BATCHED_MERCHANT = 1L;
+    private static final Long UNBATCHED_MERCHANT = 2L;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareBatchingFetchJoinAndProjection() {
+        int orders = Integer.getInteger("benchmark.jpa.orders", 5000);
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+
+        // Warm up Hibernate's statement and entity metadata caches
+        insert(3L, 200, null);
+
+        Measurement unbatched = insert(UNBATCHED_MERCHANT, orders, 1);
+        Measurement batched = insert(BATCHED_MERCHANT, orders, null);
+        logger.info("Insert {} orders with {} items each: batched {} ms ({} statements), "
+                + "unbatched {} ms ({} statements)",
+            orders, ITEMS_PER_ORDER, batched.millis(), batched.statements(), unbatched.millis(), unbatched.statements());
+
+        Measurement lazy = read(() -> {
+            List<Order> loaded = entityManager.createQuery(
+                    "select o from Order o where o.merchantId = :merchantId and o.status = :status "
+                        + "and o.orderTime between :start and :end", Order.class)
+                .setParameter("merchantId", BATCHED_MERCHANT)
+                .setParameter("status", OrderStatus.COMPLETED)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getResultList();
+            return loaded.stream().mapToLong(order -> order.getItems().size()).sum();
+        }, (long) orders * ITEMS_PER_ORDER);
+        Measurement fetchJoin = read(() -> orderRepository
+            .findByMerchantIdAndStatusAndOrderTimeBetween(BATCHED_MERCHANT, OrderStatus.COMPLETED, start, end)
+            .stream().mapToLong(order -> order.getItems().size()).sum(), (long) orders * ITEMS_PER_ORDER);
+        logger.info("Load {} completed orders with items: fetch join {} ms ({} statements), "
+                + "lazy {} ms ({} statements)",
+            orders, fetchJoin.millis(), fetchJoin.statements(), lazy.millis(), lazy.statements());
+
+        Money expected = Money.of(BigDecimal.valueOf(orders * 60L), "CNY");
+        Measurement loadAndSum = read(() -> {
+            Money total = Money.zero("CNY");
+            for (Order order : orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
+                    BATCHED_MERCHANT, OrderStatus.COMPLETED, start, end)) {
+                total = total.add(order.getTotalAmount());
+            }
+            assertEquals(expected, total);
+            return (long) orders;
+        }, orders);
+        Measurement projection = read(() -> {
+            OrderTotals totals = orderRepository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(
+                BATCHED_MERCHANT, OrderStatus.COMPLETED, start, end);
+            assertEquals(expected, totals.totalAmount());
+            return totals.orderCount();
+        }, orders);
+        logger.info("Settlement totals over {} orders: sum projection {} ms, load and sum {} ms",
+            orders, projection.millis(), loadAndSum.millis());
+
+        assertTrue(batched.statements() < unbatched.statements());
+        assertEquals(1, fetchJoin.statements());
+        assertTrue(lazy.statements() > orders);
+    }
+
+    /**
+     * Insert completed orders for a merchant in one transaction; a null batch size keeps the configured one
+     */
+    private Measurement insert(Long merchantId, int orders, Integer batchSize) {
+        statistics().clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (batchSize != null) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            }
+            List<Order> chunk = new ArrayList<>();
+            for (int i = 0; i < orders; i++) {
+                Order order = new Order("BENCH-" + merchantId + "-" + i, 1L, merchantId);
+                for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+                    order.addOrderItem("SKU-" + item, "Product " + item, Money.of("10.00", "CNY"), 2);
+                }
+                order.confirm();
+                order.processPayment();
+                order.complete();
+                chunk.add(order);
+                if (chunk.size() == 1000 || i == orders - 1) {
+                    // Save in chunks and keep the persistence context small, as a bulk import would
+                    orderRepository.saveAll(chunk);
+                    entityManager.clear();
+                    chunk.clear();
+                }
+            }
+        });
+        return new Measurement(elapsedMillis(start), statistics().getPrepareStatementCount());
+    }
+
+    private Measurement read(LongSupplier work, long expected) {
+        statistics().clear();
+        long start = System.nanoTime();
+        Long result = transactionTemplate.execute(status -> work.getAsLong());
+        assertEquals(expected, result);
+        return new Measurement(elapsedMillis(start), statistics().getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private record Measurement(long millis, long statements) {
+    }
+}
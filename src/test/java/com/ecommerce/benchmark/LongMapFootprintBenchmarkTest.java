@@ -0,0 +1,127 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.collection.ConcurrentLongObjectMap;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Memory benchmark: heap taken by the ID-indexed row map of the in-memory repositories,
+ * ConcurrentHashMap with boxed Long keys against the primitive long-keyed map
+ * Every entry maps to the same value object, so only the map's own footprint is measured
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=LongMapFootprintBenchmarkTest -DargLine=-Xmx8g
+ * Sizes default to 1M, 10M and 50M entries; sizes that can't fit the heap are skipped and logged
+ *   -Dbenchmark.map.entries=1000000,10000000
+ */
+@Tag("benchmark")
+class LongMapFootprintBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LongMapFootprintBenchmarkTest.class);
+
+    // Upper bound of what a boxed ConcurrentHashMap entry costs, to skip sizes the heap can't hold
+    private static final long BOXED_BYTES_PER_ENTRY = 80;
+    private static final int LOOKUPS = 5_000_000;
+
+    private static final Object VALUE = new Object();
+
+    @Test
+    void compareFootprintByEntryCount() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("benchmark.map.entries", "1000000,10000000,50000000")
+                .split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        for (int entries : sizes) {
+            if (entries * BOXED_BYTES_PER_ENTRY > Runtime.getRuntime().maxMemory() * 3 / 4) {
+                logger.warn("{} entries skipped: needs a heap of about {} MB (-DargLine=-Xmx...)",
+                    entries, entries * BOXED_BYTES_PER_ENTRY * 4 / 3 >> 20);
+                continue;
+            }
+            run(entries);
+        }
+    }
+
+    private void run(int entries) {
+        Footprint boxed = measureBoxed(entries);
+        Footprint primitive = measurePrimitive(entries);
+        assertEquals(boxed.hits(), primitive.hits());
+
+        logger.info("{} entries: ConcurrentHashMap<Long> {} MB ({} B/entry, fill {} ms, {} lookups {} ms); "
+                + "ConcurrentLongObjectMap {} MB ({} B/entry, fill {} ms, {} lookups {} ms)",
+            entries,
+            boxed.bytes() >> 20, boxed.bytes() / entries, boxed.fillMillis(), LOOKUPS, boxed.lookupMillis(),
+            primitive.bytes() >> 20, primitive.bytes() / entries, primitive.fillMillis(), LOOKUPS,
+            primitive.lookupMillis());
+        assertTrue(primitive.bytes() < boxed.bytes());
+    }
+
+    // Each map is only reachable from its measuring method, so it is collected before the next one
+    private static Footprint measureBoxed(int entries) {
+        long before = usedHeap();
+        long start = System.nanoTime();
+        ConcurrentHashMap<Long, Object> map = new ConcurrentHashMap<>();
+        for (long id = 1; id <= entries; id++) {
+            map.put(id, VALUE);
+        }
+        long fillMillis = elapsedMillis(start);
+        long bytes = usedHeap() - before;
+        start = System.nanoTime();
+        long hits = lookups(id -> map.get(id) != null, entries);
+        long lookupMillis = elapsedMillis(start);
+        assertEquals(entries, map.size());
+        return new Footprint(bytes, fillMillis, lookupMillis, hits);
+    }
+
+    private static Footprint measurePrimitive(int entries) {
+        long before = usedHeap();
+        long start = System.nanoTime();
+        ConcurrentLongObjectMap<Object> map = new ConcurrentLongObjectMap<>();
+        for (long id = 1; id <= entries; id++) {
+            map.put(id, VALUE);
+        }
+        long fillMillis = elapsedMillis(start);
+        long bytes = usedHeap() - before;
+        start = System.nanoTime();
+        long hits = lookups(id -> map.get(id) != null, entries);
+        long lookupMillis = elapsedMillis(start);
+        assertEquals(entries, map.size());
+        return new Footprint(bytes, fillMillis, lookupMillis, hits);
+    }
+
+    private static long lookups(LongPredicate lookup, int entries) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long hits = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (lookup.test(1 + random.nextInt(entries))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private record Footprint(long bytes, long fillMillis, long lookupMillis, long hits) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.id.OrderNumberCodec;
+import com.ecommerce.infrastructure.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark: order numbers issued per second by concurrent callers
+ *
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class OrderNumberBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNumberBenchmarkTest.class);
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int PER_THREAD = 2_000_000;
+
+    @Test
+    void measureOrderNumberThroughput() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        // Warm up
+        run(generator, PER_THREAD / 10);
+
+        long throughput = run(generator, PER_THREAD);
+
+        logger.info("Order number throughput with {} threads: {} numbers/s", THREADS, throughput);
+        assertTrue(throughput > 0);
+    }
+
+    private long run(SnowflakeIdGenerator generator, int perThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                String last = null;
+                for (int i = 0; i < perThread; i++) {
+                    last = OrderNumberCodec.encode(generator.nextId());
+                }
+                return last;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<String> future : futures) {
+            assertTrue(OrderNumberCodec.isEncoded(future.get(5, TimeUnit.MINUTES)));
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        executor.shutdown();
+        return (long) THREADS * perThread * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
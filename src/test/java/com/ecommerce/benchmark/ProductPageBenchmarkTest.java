@@ -0,0 +1,102 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.search.ProductSearchIndex;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Field;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Filter;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Page;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Sort;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency benchmark: one page of 20 products sorted by price, through the search index's top-K heap,
+ * against sorting every matching product as the listing did before
+ * Lists the whole catalog, one merchant's available products and a text search
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ProductPageBenchmarkTest -DargLine=-Xmx4g
+ * Sizes default to 100K and 1M products: -Dbenchmark.page.products=100000,1000000
+ */
+@Tag("benchmark")
+class ProductPageBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPageBenchmarkTest.class);
+
+    private static final Set<Field> ALL_FIELDS = EnumSet.allOf(Field.class);
+    private static final String[] ITEMS = {"lamp", "desk", "chair", "shelf", "nightstand", "rug", "mirror"};
+    private static final int LIMIT = 20;
+    private static final int ROUNDS = 20;
+
+    @Test
+    void comparePageLatencyByCatalogSize() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("benchmark.page.products", "100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        for (int products : sizes) {
+            run(products);
+        }
+    }
+
+    private void run(int products) {
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            Product product = new Product(String.format("SKU-%07d", i), ITEMS[i % ITEMS.length] + " " + i, "",
+                Money.of(random.nextInt(100_000) / 100.0 + 1, "CNY"), 1L + i % 100, random.nextInt(20));
+            product.setId(i + 1L);
+            catalog.add(product);
+        }
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.loadIfNeeded(() -> catalog);
+
+        measure(index, catalog, products, "whole catalog", null, Filter.any());
+        measure(index, catalog, products, "available of merchant 7", null, Filter.available(7L));
+        measure(index, catalog, products, "\"nightstand\"", "nightstand", Filter.any());
+    }
+
+    private void measure(ProductSearchIndex index, List<Product> catalog, int products, String listing,
+                         String text, Filter filter) {
+        Page page = index.page(text, ALL_FIELDS, filter, Sort.PRICE, null, LIMIT);
+        assertEquals(sortAll(catalog, text, filter).subList(0, LIMIT), page.ids());
+
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            index.page(text, ALL_FIELDS, filter, Sort.PRICE, page.nextCursor(), LIMIT);
+        }
+        long pageMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            sortAll(catalog, text, filter);
+        }
+        long sortMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ROUNDS;
+        logger.info("{} products, {} ({} matches): top-K page {} us, full sort {} us",
+            products, listing, page.totalCount(), pageMicros, sortMicros);
+    }
+
+    // The listing as it was before paging: every match sorted, then cut
+    private static List<Long> sortAll(List<Product> catalog, String text, Filter filter) {
+        return catalog.stream()
+                .filter(product -> filter.merchantId() == null || filter.merchantId().equals(product.getMerchantId()))
+                .filter(product -> filter.status() == null || product.isAvailable())
+                .filter(product -> text == null || product.getName().toLowerCase().contains(text))
+                .sorted(Comparator.comparing((Product product) -> product.getPrice().getAmount())
+                        .thenComparing(Product::getId))
+                .map(Product::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.service.ProductService;
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.mock.MockProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency benchmark: product text search through the search index against the catalog scan it replaced
+ * Queries cover a whole word, a prefix, an inner fragment and a rare number; a merchant's available products
+ * are also listed through the facet bitmaps against the merchant scan they replaced
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ProductSearchBenchmarkTest -DargLine=-Xmx4g
+ * Sizes default to 100K and 500K products: -Dbenchmark.search.products=100000,500000
+ */
+@Tag("benchmark")
+class ProductSearchBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchBenchmarkTest.class);
+
+    private static final String[] QUERIES = {"walnut", "lamp", "ightsta", "4242"};
+    private static final String[] MATERIALS = {"walnut", "steel", "linen", "oak", "glass", "cotton", "brass"};
+    private static final String[] ITEMS = {"lamp", "desk", "chair", "shelf", "nightstand", "rug", "mirror"};
+    private static final int ROUNDS = 20;
+
+    @Test
+    void compareSearchLatencyByCatalogSize() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("benchmark.search.products", "100000,500000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        for (int products : sizes) {
+            run(products);
+        }
+    }
+
+    private void run(int products) {
+        MockProductRepository repository = new MockProductRepository();
+        for (int i = 0; i < products; i++) {
+            String material = MATERIALS[i % MATERIALS.length];
+            String item = ITEMS[(i / MATERIALS.length) % ITEMS.length];
+            repository.save(new Product(String.format("SKU-%07d", i), material + " " + item + " " + i,
+                "Hand-made " + item + " in " + material, Money.of("10.00", "CNY"), 1L + i % 100, 10));
+        }
+        ProductService productService = new ProductService(repository);
+        long start = System.nanoTime();
+        productService.searchProductsByName("warm-up");
+        long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        for (String query : QUERIES) {
+            List<Product> expected = scan(repository, query);
+            List<Product> found = productService.searchProductsByName(query);
+            assertEquals(expected.stream().map(Product::getId).toList(), found.stream().map(Product::getId).toList());
+
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                productService.searchProductsByName(query);
+            }
+            long indexMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ROUNDS;
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                scan(repository, query);
+            }
+            long scanMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ROUNDS;
+            logger.info("{} products, \"{}\" ({} matches): index {} us, scan {} us",
+                products, query, found.size(), indexMicros, scanMicros);
+        }
+
+        long merchantId = 7;
+        List<Product> expected = repository.findByMerchantId(merchantId).stream().filter(Product::isAvailable).toList();
+        assertEquals(expected.stream().map(Product::getId).sorted().toList(),
+            productService.getAvailableProductsByMerchant(merchantId).stream().map(Product::getId).toList());
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            productService.getAvailableProductsByMerchant(merchantId);
+        }
+        long facetMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            repository.findByMerchantId(merchantId).stream().filter(Product::isAvailable).toList();
+        }
+        long merchantScanMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ROUNDS;
+        logger.info("{} products, available of merchant {} ({} products): facets {} us, merchant scan {} us",
+            products, merchantId, expected.size(), facetMicros, merchantScanMicros);
+        logger.info("{} products: index filled in {} ms", products, loadMillis);
+    }
+
+    // The search as it was before the index
+    private static List<Product> scan(MockProductRepository repository, String query) {
+        String lower = query.toLowerCase();
+        return repository.findAll().stream()
+                .filter(product -> product.getName().toLowerCase().contains(lower)
+                        || product.getDescription().toLowerCase().contains(lower))
+                .toList();
+    }
+}
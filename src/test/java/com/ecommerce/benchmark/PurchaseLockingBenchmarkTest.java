@@ -0,0 +1,123 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.lock.AggregateLockManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark: striped aggregate locks vs a single global lock
+ * Simulates purchases that touch one user, one SKU and one merchant each
+ *
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class PurchaseLockingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseLockingBenchmarkTest.class);
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int PURCHASES_PER_THREAD = 200_000;
+    private static final int SKUS = 4_096;
+    // Approximates the validate/mutate/save work done while a purchase holds its locks
+    private static final int CRITICAL_SECTION_WORK = 200;
+
+    @Test
+    void compareStripedLocksWithGlobalLock() throws Exception {
+        AggregateLockManager stripedLocks = new AggregateLockManager(AggregateLockManager.DEFAULT_STRIPES);
+        ReentrantLock globalLock = new ReentrantLock();
+
+        // Warm up both paths
+        run((userId, sku, merchantId, action) -> stripedLocks.executeWithLocks(userId, sku, merchantId, action));
+        run((userId, sku, merchantId, action) -> withGlobalLock(globalLock, action));
+
+        long striped = run((userId, sku, merchantId, action) ->
+            stripedLocks.executeWithLocks(userId, sku, merchantId, action));
+        long global = run((userId, sku, merchantId, action) -> withGlobalLock(globalLock, action));
+
+        logger.info("Purchase locking throughput with {} threads: striped={} ops/s, global={} ops/s, speedup={}x",
+            THREADS, striped, global, String.format("%.2f", (double) striped / global));
+        assertTrue(striped > 0 && global > 0);
+    }
+
+    private long run(PurchaseLocking locking) throws Exception {
+        long[] inventory = new long[SKUS * 16];
+        String[] skus = new String[SKUS];
+        for (int i = 0; i < SKUS; i++) {
+            skus[i] = "SKU-" + i;
+            inventory[i * 16] = Long.MAX_VALUE;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PURCHASES_PER_THREAD; i++) {
+                    int index = (thread * 7919 + i * 31) % SKUS;
+                    long userId = index;
+                    long merchantId = index % 64;
+                    locking.execute(userId, skus[index], merchantId, () -> {
+                        // Padded slots keep the benchmark about locking, not false sharing
+                        inventory[index * 16]--;
+                        return simulateWork(index);
+                    });
+                }
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        executor.shutdown();
+
+        long totalPurchases = (long) THREADS * PURCHASES_PER_THREAD;
+        long sold = 0;
+        for (int i = 0; i < SKUS; i++) {
+            sold += Long.MAX_VALUE - inventory[i * 16];
+        }
+        assertEquals(totalPurchases, sold, "Lost inventory updates");
+        return totalPurchases * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private static Object simulateWork(int seed) {
+        long hash = seed;
+        for (int i = 0; i < CRITICAL_SECTION_WORK; i++) {
+            hash = hash * 31 + i;
+        }
+        return hash;
+    }
+
+    private static <T> T withGlobalLock(ReentrantLock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PurchaseLocking {
+        Object execute(Long userId, String sku, Long merchantId, Supplier<Object> action);
+    }
+}
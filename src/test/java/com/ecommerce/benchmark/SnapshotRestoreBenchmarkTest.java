@@ -0,0 +1,108 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import com.ecommerce.infrastructure.repository.mock.MockUserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup benchmark: time to rebuild the user repository from the journal alone and from a snapshot
+ * Users carry two unique indexes, so a restore rebuilds index entries as well as rows
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SnapshotRestoreBenchmarkTest -DargLine=-Xmx4g
+ * Sizes default to 1M users; 10M needs a heap of about 16 GB:
+ *   -Dbenchmark.snapshot.entities=1000000,10000000 -DargLine=-Xmx16g
+ */
+@Tag("benchmark")
+class SnapshotRestoreBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRestoreBenchmarkTest.class);
+
+    private static final int DEMO_USERS = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compareStartupTimeByEntityCount() throws IOException {
+        List<Integer> sizes = Arrays.stream(System.getProperty("benchmark.snapshot.entities", "1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        for (int entities : sizes) {
+            run(entities, directory.resolve("users-" + entities));
+        }
+    }
+
+    private void run(int entities, Path journalDirectory) throws IOException {
+        fill(entities, journalDirectory);
+        long journalBytes = size(journalDirectory);
+
+        long start = System.nanoTime();
+        WriteAheadJournal journal = new WriteAheadJournal(journalDirectory, 2_000, false);
+        MockUserRepository replayed = new MockUserRepository(journal);
+        long replayMillis = elapsedMillis(start);
+        assertEquals(entities + DEMO_USERS, replayed.count());
+
+        start = System.nanoTime();
+        journal.snapshot();
+        long snapshotMillis = elapsedMillis(start);
+        journal.close();
+        // Let the replayed copy be collected before the restore
+        replayed = null;
+        long snapshotBytes = size(journalDirectory);
+
+        start = System.nanoTime();
+        journal = new WriteAheadJournal(journalDirectory, 2_000, false);
+        MockUserRepository restored = new MockUserRepository(journal);
+        long restoreMillis = elapsedMillis(start);
+        assertEquals(entities + DEMO_USERS, restored.count());
+        assertTrue(restored.findByPhone(phone(entities - 1)).isPresent());
+        journal.close();
+
+        logger.info("{} users: startup from journal ({} MB) {} ms; snapshot write {} ms; "
+                + "startup from snapshot ({} MB) {} ms on {} cores",
+            entities, journalBytes >> 20, replayMillis, snapshotMillis, snapshotBytes >> 20, restoreMillis,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    private void fill(int entities, Path journalDirectory) {
+        WriteAheadJournal journal = new WriteAheadJournal(journalDirectory, 2_000, false);
+        try {
+            MockUserRepository users = new MockUserRepository(journal);
+            for (int i = 0; i < entities; i++) {
+                users.save(new User("user" + i, "user" + i + "@example.com", phone(i), "CNY"));
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static String phone(int i) {
+        return String.format("2%010d", i);
+    }
+
+    private static long size(Path journalDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
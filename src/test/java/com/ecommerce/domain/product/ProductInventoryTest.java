@@ -111,4 +111,41 @@ class ProductInventoryTest {
         assertTrue(result.contains("ProductInventory"));
         assertTrue(result.contains("100"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReserveReleaseAndConfirmInventory() {
+        ProductInventory inventory = new ProductInventory(100);
+
+        ProductInventory reserved = inventory.reserve(30);
+        assertEquals(70, reserved.getQuantity());
+        assertEquals(30, reserved.getReserved());
+
+        ProductInventory released = reserved.release(10);
+        assertEquals(80, released.getQuantity());
+        assertEquals(20, released.getReserved());
+
+        ProductInventory confirmed = released.confirm(20);
+        assertEquals(80, confirmed.getQuantity());
+        assertEquals(0, confirmed.getReserved());
+    }
+
+    @Test
+    void shouldKeepReservedInventoryWhenAddingOrReducing() {
+        ProductInventory inventory = new ProductInventory(100).reserve(10);
+
+        assertEquals(10, inventory.add(5).getReserved());
+        assertEquals(10, inventory.reduce(5).getReserved());
+    }
+
+    @Test
+    void shouldRejectInvalidReservationQuantities() {
+        ProductInventory inventory = new ProductInventory(10, 5);
+
+        assertThrows(InsufficientInventoryException.class, () -> inventory.reserve(11));
+        assertThrows(IllegalArgumentException.class, () -> inventory.reserve(0));
+        assertThrows(IllegalArgumentException.class, () -> inventory.release(6));
+        assertThrows(IllegalArgumentException.class, () -> inventory.confirm(6));
+        assertThrows(IllegalArgumentException.class, () -> new ProductInventory(10, -1));
+        assertNotEquals(new ProductInventory(10), inventory);
+    }
+}
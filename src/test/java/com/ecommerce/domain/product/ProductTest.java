@@ -268,4 +268,32 @@ class ProductTest {
         
         assertTrue(product instanceof com.ecommerce.domain.BaseEntity);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReserveAndReleaseInventory() {
+        Product product = new Product("SKU-R", "Phone", "Description", Money.of("10.00", "CNY"), 1L, 10);
+
+        product.reserveInventory(4);
+        assertEquals(6, product.getAvailableInventory());
+        assertEquals(4, product.getReservedInventory());
+
+        product.releaseReservedInventory(1);
+        product.confirmReservedInventory(3);
+        assertEquals(7, product.getAvailableInventory());
+        assertEquals(0, product.getReservedInventory());
+    }
+
+    @Test
+    void shouldRejectReservationOfInactiveOrInsufficientProduct() {
+        Product product = new Product("SKU-R", "Phone", "Description", Money.of("10.00", "CNY"), 1L, 2);
+
+        assertThrows(InsufficientInventoryException.class, () -> product.reserveInventory(3));
+
+        product.reserveInventory(1);
+        product.deactivate();
+        assertThrows(com.ecommerce.domain.ResourceInactiveException.class, () -> product.reserveInventory(1));
+        // Outstanding holds can still be returned
+        product.releaseReservedInventory(1);
+        assertEquals(2, product.getAvailableInventory());
+    }
+}
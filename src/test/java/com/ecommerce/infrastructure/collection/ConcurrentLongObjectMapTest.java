@@ -0,0 +1,161 @@
+package com.ecommerce.infrastructure.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongObjectMapTest {
+
+    @Test
+    void put_ShouldReplaceAndReturnPreviousValue() {
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+
+        assertNull(map.put(7L, "a"));
+        assertEquals("a", map.put(7L, "b"));
+
+        assertEquals("b", map.get(7L));
+        assertNull(map.get(8L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void remove_ShouldLeaveKeyAbsentAndAllowReinsert() {
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        map.put(1L, "a");
+
+        assertEquals("a", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertFalse(map.containsKey(1L));
+        assertTrue(map.isEmpty());
+
+        map.put(1L, "b");
+        assertEquals("b", map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void zeroAndNegativeKeys_ShouldBeStoredLikeAnyOther() {
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        map.put(0L, "zero");
+        map.put(-1L, "minus one");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertEquals("zero", map.get(0L));
+        assertEquals("minus one", map.get(-1L));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals(3, map.size());
+        Set<Long> keys = new HashSet<>();
+        map.forEachKey(keys::add);
+        assertEquals(Set.of(0L, -1L, Long.MIN_VALUE), keys);
+        assertEquals(Set.of("zero", "minus one", "min"), map.values().collect(Collectors.toSet()));
+
+        map.remove(0L);
+        assertNull(map.get(0L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void compute_ShouldInsertUpdateAndRemove() {
+        ConcurrentLongObjectMap<Integer> map = new ConcurrentLongObjectMap<>();
+
+        assertEquals(1, map.compute(5L, (key, value) -> value == null ? 1 : value + 1));
+        assertEquals(2, map.compute(5L, (key, value) -> value == null ? 1 : value + 1));
+        assertNull(map.compute(5L, (key, value) -> null));
+
+        assertFalse(map.containsKey(5L));
+        assertNull(map.computeIfPresent(5L, (key, value) -> fail("absent key must not be remapped")));
+    }
+
+    @Test
+    void compute_WhenRemappingThrows_ShouldLeaveValueUnchanged() {
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        map.put(3L, "kept");
+
+        assertThrows(IllegalStateException.class, () -> map.compute(3L, (key, value) -> {
+            throw new IllegalStateException("rejected");
+        }));
+
+        assertEquals("kept", map.get(3L));
+    }
+
+    @Test
+    void growthAndChurn_ShouldKeepEveryLiveEntry() {
+        ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+        int entries = 200_000;
+        for (long key = 1; key <= entries; key++) {
+            map.put(key, key);
+        }
+        // Remove every other key and reinsert under new keys, leaving tombstones to be rebuilt away
+        for (long key = 2; key <= entries; key += 2) {
+            map.remove(key);
+            map.put(key + entries, key + entries);
+        }
+
+        assertEquals(entries, map.size());
+        for (long key = 1; key <= entries; key++) {
+            assertEquals(key % 2 == 1 ? Long.valueOf(key) : null, map.get(key));
+        }
+        for (long key = 2; key <= entries; key += 2) {
+            assertEquals(key + entries, map.get(key + entries));
+        }
+        assertEquals(entries, map.values().count());
+        assertTrue(map.capacity() < entries * 4L);
+    }
+
+    @Test
+    void get_WithConcurrentWriters_ShouldAlwaysSeeWholeEntries() throws Exception {
+        ConcurrentLongObjectMap<long[]> map = new ConcurrentLongObjectMap<>();
+        int keys = 50_000;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        for (long key = 1; key <= keys; key += 97) {
+                            long[] value = map.get(key);
+                            if (value != null) {
+                                assertEquals(key, value[0]);
+                            }
+                        }
+                    }
+                }));
+            }
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                int first = w + 1;
+                writers.add(executor.submit(() -> {
+                    for (long key = first; key <= keys; key += 2) {
+                        map.put(key, new long[]{key});
+                        if (key % 3 == 0) {
+                            map.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(keys - keys / 3, map.size());
+    }
+}
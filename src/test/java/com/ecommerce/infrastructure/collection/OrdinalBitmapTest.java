@@ -0,0 +1,87 @@
+package com.ecommerce.infrastructure.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdinalBitmapTest {
+
+    @Test
+    void addRemoveContains_ShouldTrackValues() {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+
+        assertTrue(bitmap.add(3));
+        assertFalse(bitmap.add(3));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(-1));
+        assertEquals(2, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(3));
+        assertFalse(bitmap.remove(3));
+        assertArrayEquals(new int[] {70_000}, bitmap.toArray());
+
+        assertTrue(bitmap.remove(70_000));
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void add_WithNegativeValue_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new OrdinalBitmap().add(-1));
+    }
+
+    @Test
+    void denseChunk_ShouldKeepValuesAcrossConversions() {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            bitmap.add(value);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+
+        for (int value = 0; value < 9_000; value++) {
+            bitmap.remove(value);
+        }
+        assertEquals(1_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_500));
+        assertFalse(bitmap.contains(8_999));
+        assertEquals(9_000, bitmap.toArray()[0]);
+    }
+
+    @Test
+    void operations_ShouldMatchBitSetOverRandomValues() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            // Dense and sparse ranges, so both chunk layouts meet in and()
+            int range = random.nextBoolean() ? 200_000 : 20_000;
+            OrdinalBitmap left = new OrdinalBitmap();
+            OrdinalBitmap right = new OrdinalBitmap();
+            BitSet leftExpected = new BitSet();
+            BitSet rightExpected = new BitSet();
+            for (int i = 0; i < 30_000; i++) {
+                int value = random.nextInt(range);
+                if (random.nextInt(4) == 0) {
+                    assertEquals(leftExpected.get(value), left.remove(value));
+                    leftExpected.clear(value);
+                } else {
+                    assertEquals(!leftExpected.get(value), left.add(value));
+                    leftExpected.set(value);
+                }
+                int other = random.nextInt(range);
+                right.add(other);
+                rightExpected.set(other);
+            }
+
+            assertArrayEquals(leftExpected.stream().toArray(), left.toArray());
+            assertEquals(leftExpected.cardinality(), left.cardinality());
+            BitSet both = (BitSet) leftExpected.clone();
+            both.and(rightExpected);
+            assertArrayEquals(both.stream().toArray(), left.and(right).toArray());
+            assertArrayEquals(both.stream().toArray(), right.and(left).toArray());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.api.EcommercePlatformApplication;
+import com.ecommerce.infrastructure.repository.MerchantRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.repository.UserRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingMerchantRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingProductRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = EcommercePlatformApplication.class,
+    properties = "ecommerce.repository.cache.enabled=true")
+class RepositoryCacheConfigTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repositories_ShouldBeWrappedInCaches() {
+        assertInstanceOf(CachingProductRepository.class, productRepository);
+        assertInstanceOf(CachingMerchantRepository.class, merchantRepository);
+        assertInstanceOf(CachingUserRepository.class, userRepository);
+    }
+
+    @Test
+    void cacheLookups_ShouldBePublishedAsCacheMeters() {
+        productRepository.findBySku("PHONE-001");
+        productRepository.findBySku("PHONE-001");
+
+        double hits = meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+            .functionCounter().count();
+        assertTrue(hits >= 1);
+        assertNotNull(meterRegistry.get("cache.size").tag("cache", "merchants").gauge());
+        assertNotNull(meterRegistry.get("cache.hit.ratio").tag("cache", "users").gauge());
+    }
+}
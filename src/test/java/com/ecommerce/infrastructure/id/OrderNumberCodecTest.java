@@ -0,0 +1,61 @@
+package com.ecommerce.infrastructure.id;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderNumberCodecTest {
+
+    @Test
+    void encode_ShouldRoundTripThroughDecode() {
+        long[] ids = {0L, 1L, 31L, 32L, 123_456_789_012_345L, Long.MAX_VALUE, -1L};
+
+        for (long id : ids) {
+            String orderNumber = OrderNumberCodec.encode(id);
+            assertEquals(16, orderNumber.length());
+            assertTrue(orderNumber.startsWith("ORD"));
+            assertEquals(id, OrderNumberCodec.decode(orderNumber));
+        }
+    }
+
+    @Test
+    void encode_ShouldSortLikeIds() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5);
+        String previous = OrderNumberCodec.encode(generator.nextId());
+        for (int i = 0; i < 10_000; i++) {
+            String next = OrderNumberCodec.encode(generator.nextId());
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void timestampOf_ShouldDecodeCreationTime() {
+        long now = SnowflakeIdGenerator.EPOCH.toEpochMilli() + 86_400_000L;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(9, () -> now);
+
+        String orderNumber = OrderNumberCodec.encode(generator.nextId());
+
+        assertEquals(now, OrderNumberCodec.timestampOf(orderNumber).toEpochMilli());
+        assertEquals(9, SnowflakeIdGenerator.nodeIdOf(OrderNumberCodec.decode(orderNumber)));
+    }
+
+    @Test
+    void decode_ShouldTolerateLowerCaseAndAmbiguousCharacters() {
+        String orderNumber = OrderNumberCodec.encode(1L + 32L);
+        assertEquals("ORD0000000000011", orderNumber);
+
+        assertEquals(33L, OrderNumberCodec.decode("ord00000000000il"));
+        assertEquals(33L, OrderNumberCodec.decode("ORDOOOOOOOOOOO11"));
+    }
+
+    @Test
+    void decode_WithInvalidOrderNumber_ShouldThrowException() {
+        assertFalse(OrderNumberCodec.isEncoded(null));
+        assertFalse(OrderNumberCodec.isEncoded("ORD202507110001"));
+        assertFalse(OrderNumberCodec.isEncoded("ORD000000000000U"));
+        assertFalse(OrderNumberCodec.isEncoded("ORDZ000000000000"));
+        assertFalse(OrderNumberCodec.isEncoded("XYZ0000000000000"));
+        assertThrows(IllegalArgumentException.class, () -> OrderNumberCodec.decode("ORD202507110001"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.infrastructure.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH.toEpochMilli() + 1_000_000;
+
+    @Test
+    void nextId_ShouldEncodeTimestampNodeAndSequence() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> NOW);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(first).toEpochMilli());
+        assertEquals(7, SnowflakeIdGenerator.nodeIdOf(first));
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(first));
+        assertEquals(1, SnowflakeIdGenerator.sequenceOf(second));
+        assertEquals(7, generator.getNodeId());
+    }
+
+    @Test
+    void nextId_WhenSequenceRunsOut_ShouldCarryIntoNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+
+        long previous = -1;
+        for (int i = 0; i < 4096; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        long carried = generator.nextId();
+
+        assertTrue(carried > previous);
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(carried).toEpochMilli());
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(carried));
+        assertEquals(1, SnowflakeIdGenerator.nodeIdOf(carried));
+    }
+
+    @Test
+    void nextId_WhenClockStepsBack_ShouldStayMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock::get);
+
+        long before = generator.nextId();
+        clock.set(NOW - 5_000);
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(after).toEpochMilli());
+    }
+
+    @Test
+    void nextId_OnDifferentNodes_ShouldNotCollide() {
+        SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1, () -> NOW);
+        SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2, () -> NOW);
+
+        assertNotEquals(node1.nextId(), node2.nextId());
+    }
+
+    @Test
+    void constructor_WithInvalidNodeId_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void nextId_BeforeEpoch_ShouldThrowException() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> 0L);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void nextId_WithConcurrentCallers_ShouldIssueUniqueIncreasingIdsPerThread() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> unique = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < ids.length; i++) {
+                    assertTrue(i == 0 || ids[i] > ids[i - 1]);
+                    unique.add(ids[i]);
+                }
+            }
+            assertEquals(threads * perThread, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
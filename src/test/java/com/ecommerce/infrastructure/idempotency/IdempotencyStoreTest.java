@@ -0,0 +1,217 @@
+package com.ecommerce.infrastructure.idempotency;
+
+import com.ecommerce.api.dto.ErrorCode;
+import com.ecommerce.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final IdempotencyStore store = new IdempotencyStore(100, 60_000, 5_000, clock::get);
+
+    @Test
+    void execute_WithSameKey_ShouldRunOnceAndReplayResult() {
+        AtomicInteger runs = new AtomicInteger();
+
+        String first = store.execute("purchase", "key-1", "request", () -> "result-" + runs.incrementAndGet());
+        String second = store.execute("purchase", "key-1", "request", () -> "result-" + runs.incrementAndGet());
+
+        assertEquals("result-1", first);
+        assertEquals("result-1", second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldRunEveryTime() {
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("purchase", null, "request", runs::incrementAndGet);
+        store.execute("purchase", " ", "request", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void execute_WithSameKeyInOtherScope_ShouldRunAgain() {
+        assertEquals("a", store.execute("purchase", "key-1", "request", () -> "a"));
+        assertEquals("b", store.execute("recharge", "key-1", "request", () -> "b"));
+    }
+
+    @Test
+    void execute_WithDifferentFingerprint_ShouldBeRejected() {
+        store.execute("purchase", "key-1", List.of(1L, "PHONE", 1), () -> "result");
+
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> store.execute("purchase", "key-1", List.of(1L, "PHONE", 2), () -> "other"));
+        assertEquals(ErrorCode.OPERATION_NOT_ALLOWED, exception.getErrorCode());
+    }
+
+    @Test
+    void execute_AfterFailure_ShouldAllowRetryWithSameKey() {
+        assertThrows(BusinessException.class, () -> store.execute("purchase", "key-1", "request", () -> {
+            throw new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Insufficient balance");
+        }));
+
+        assertEquals("result", store.execute("purchase", "key-1", "request", () -> "result"));
+    }
+
+    @Test
+    void execute_AfterUnknownFailure_ShouldReplayFailureInsteadOfRunningAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> store.execute("purchase", "key-1", "request", () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("Connection reset");
+        }));
+
+        IllegalStateException replayed = assertThrows(IllegalStateException.class,
+            () -> store.execute("purchase", "key-1", "request", runs::incrementAndGet));
+        assertEquals("Connection reset", replayed.getMessage());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_WhenOutcomeIsPending_ShouldKeepKeyInFlightUntilOutcomeCompletes() {
+        IdempotencyStore shortWaitStore = new IdempotencyStore(100, 60_000, 10, clock::get);
+        CompletableFuture<String> outcome = new CompletableFuture<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(OutcomePendingException.class, () -> shortWaitStore.execute("purchase", "key-1", "request", () -> {
+            runs.incrementAndGet();
+            throw new OutcomePendingException("Not applied yet", outcome);
+        }));
+        BusinessException inFlight = assertThrows(BusinessException.class,
+            () -> shortWaitStore.execute("purchase", "key-1", "request", () -> "result-" + runs.incrementAndGet()));
+        assertEquals(ErrorCode.CONCURRENT_MODIFICATION, inFlight.getErrorCode());
+
+        outcome.complete("result-1");
+
+        assertEquals("result-1",
+            shortWaitStore.execute("purchase", "key-1", "request", () -> "result-" + runs.incrementAndGet()));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_WhenPendingOutcomeIsRejected_ShouldAllowRetryWithSameKey() {
+        CompletableFuture<String> outcome = new CompletableFuture<>();
+        assertThrows(OutcomePendingException.class, () -> store.execute("purchase", "key-1", "request", () -> {
+            throw new OutcomePendingException("Not applied yet", outcome);
+        }));
+
+        outcome.completeExceptionally(new BusinessException(ErrorCode.INSUFFICIENT_INVENTORY, "Sold out"));
+
+        assertEquals("result", store.execute("purchase", "key-1", "request", () -> "result"));
+    }
+
+    @Test
+    void execute_AfterTtl_ShouldRunAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        store.execute("purchase", "key-1", "request", runs::incrementAndGet);
+
+        clock.addAndGet(60_000);
+
+        assertEquals(2, store.execute("purchase", "key-1", "request", runs::incrementAndGet));
+    }
+
+    @Test
+    void execute_WhenFull_ShouldEvictOldestCompletedEntries() {
+        IdempotencyStore small = new IdempotencyStore(3, 60_000, 5_000, clock::get);
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            small.execute("purchase", "key-" + i, "request", () -> value);
+        }
+
+        // One over the bound at most: the newest entry is added before evicting
+        assertTrue(small.size() <= 4);
+        assertEquals(9, small.execute("purchase", "key-9", "request", () -> -1));
+        assertEquals(-1, small.execute("purchase", "key-0", "request", () -> -1));
+    }
+
+    @Test
+    void execute_WithTooLongKey_ShouldBeRejected() {
+        String key = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> store.execute("purchase", key, "request", () -> "result"));
+        assertEquals(ErrorCode.VALIDATION_ERROR, exception.getErrorCode());
+    }
+
+    @Test
+    void execute_WithConcurrentDuplicates_ShouldWaitForInFlightRequest() throws Exception {
+        int duplicates = 8;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(duplicates + 1);
+        try {
+            Future<Integer> first = executor.submit(() -> store.execute("purchase", "key-1", "request", () -> {
+                firstStarted.countDown();
+                await(releaseFirst);
+                return runs.incrementAndGet();
+            }));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<Integer>> waiting = new ArrayList<>();
+            for (int i = 0; i < duplicates; i++) {
+                waiting.add(executor.submit(() -> store.execute("purchase", "key-1", "request", runs::incrementAndGet)));
+            }
+            // Give the duplicates time to reach the in-flight entry
+            Thread.sleep(100);
+            releaseFirst.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> future : waiting) {
+                assertEquals(1, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenInFlightRequestFails_ShouldFailWaitingDuplicates() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> store.execute("purchase", "key-1", "request", () -> {
+                firstStarted.countDown();
+                await(releaseFirst);
+                throw new BusinessException(ErrorCode.INSUFFICIENT_INVENTORY, "Sold out");
+            }));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+            Future<Object> duplicate = executor.submit(() -> store.execute("purchase", "key-1", "request", () -> "second run"));
+            Thread.sleep(100);
+            releaseFirst.countDown();
+
+            assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+            Exception exception = assertThrows(Exception.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(BusinessException.class, exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
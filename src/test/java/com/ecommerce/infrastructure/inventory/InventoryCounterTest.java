@@ -0,0 +1,139 @@
+package com.ecommerce.infrastructure.inventory;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.VersionConflictException;
+import com.ecommerce.domain.product.InsufficientInventoryException;
+import com.ecommerce.domain.product.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryCounterTest {
+
+    private InventoryCounter inventoryCounter;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        inventoryCounter = new InventoryCounter();
+        product = new Product("SKU-001", "Phone", "Description", Money.of("10.00", "CNY"), 1L, 5);
+    }
+
+    @Test
+    void checkAvailable_WithUnknownSku_ShouldPass() {
+        assertDoesNotThrow(() -> inventoryCounter.checkAvailable("SKU-001", 100));
+        assertEquals(-1, inventoryCounter.getAvailable("SKU-001"));
+    }
+
+    @Test
+    void deduct_ShouldSeedCellFromProduct() {
+        inventoryCounter.deduct(product, 2);
+
+        assertEquals(3, inventoryCounter.getAvailable("SKU-001"));
+        // The aggregate is updated by the caller
+        assertEquals(5, product.getAvailableInventory());
+    }
+
+    @Test
+    void deduct_WithInsufficientStock_ShouldThrowAndKeepCell() {
+        assertThrows(InsufficientInventoryException.class, () -> inventoryCounter.deduct(product, 6));
+        assertEquals(5, inventoryCounter.getAvailable("SKU-001"));
+    }
+
+    @Test
+    void checkAvailable_WhenNormalCellIsTooLow_ShouldPassToLockedPath() {
+        inventoryCounter.deduct(product, 5);
+
+        // The row may have been restocked elsewhere; only the loaded product can tell
+        assertDoesNotThrow(() -> inventoryCounter.checkAvailable("SKU-001", 1));
+    }
+
+    @Test
+    void sync_ShouldOverwriteCellWithProductInventory() {
+        inventoryCounter.deduct(product, 5);
+        product.addInventory(7);
+
+        inventoryCounter.sync(product);
+
+        assertEquals(12, inventoryCounter.getAvailable("SKU-001"));
+    }
+
+    @Test
+    void invalidate_ShouldDropCell() {
+        inventoryCounter.sync(product);
+
+        inventoryCounter.invalidate("SKU-001");
+
+        assertEquals(-1, inventoryCounter.getAvailable("SKU-001"));
+        assertDoesNotThrow(() -> inventoryCounter.invalidate(null));
+    }
+
+    @Test
+    void enableHotMode_ShouldMoveStockIntoShardedCell() {
+        inventoryCounter.enableHotMode(product);
+
+        assertTrue(inventoryCounter.isHotMode("SKU-001"));
+        assertEquals(Set.of("SKU-001"), inventoryCounter.getHotSkus());
+        assertEquals(5, inventoryCounter.getAvailable("SKU-001"));
+    }
+
+    @Test
+    void deductHot_ShouldSellToZeroAndThenReject() {
+        inventoryCounter.enableHotMode(product);
+
+        inventoryCounter.deductHot("SKU-001", 3);
+        inventoryCounter.deductHot("SKU-001", 2);
+
+        assertEquals(0, inventoryCounter.getAvailable("SKU-001"));
+        assertThrows(InsufficientInventoryException.class, () -> inventoryCounter.deductHot("SKU-001", 1));
+        assertThrows(InsufficientInventoryException.class, () -> inventoryCounter.checkAvailable("SKU-001", 1));
+    }
+
+    @Test
+    void hotAndNormalDeductions_WhenModeDoesNotMatch_ShouldReportConflict() {
+        assertThrows(VersionConflictException.class, () -> inventoryCounter.deductHot("SKU-001", 1));
+
+        inventoryCounter.enableHotMode(product);
+
+        assertThrows(VersionConflictException.class, () -> inventoryCounter.deduct(product, 1));
+    }
+
+    @Test
+    void syncAndInvalidate_ShouldNotTouchHotCells() {
+        inventoryCounter.enableHotMode(product);
+        inventoryCounter.deductHot("SKU-001", 2);
+
+        inventoryCounter.sync(product);
+        inventoryCounter.invalidate("SKU-001");
+
+        assertTrue(inventoryCounter.isHotMode("SKU-001"));
+        assertEquals(3, inventoryCounter.getAvailable("SKU-001"));
+    }
+
+    @Test
+    void disableHotMode_ShouldReturnRemainingStockAndStopHotDeductions() {
+        inventoryCounter.enableHotMode(product);
+        inventoryCounter.deductHot("SKU-001", 1);
+
+        int remaining = inventoryCounter.disableHotMode("SKU-001");
+
+        assertEquals(4, remaining);
+        assertFalse(inventoryCounter.isHotMode("SKU-001"));
+        assertEquals(4, inventoryCounter.getAvailable("SKU-001"));
+        assertFalse(inventoryCounter.releaseHot("SKU-001", 1));
+        assertEquals(-1, inventoryCounter.disableHotMode("SKU-001"));
+    }
+
+    @Test
+    void releaseHot_ShouldReturnStockToBuckets() {
+        inventoryCounter.enableHotMode(product);
+        inventoryCounter.deductHot("SKU-001", 5);
+
+        assertTrue(inventoryCounter.releaseHot("SKU-001", 2));
+
+        assertEquals(2, inventoryCounter.getAvailable("SKU-001"));
+    }
+}
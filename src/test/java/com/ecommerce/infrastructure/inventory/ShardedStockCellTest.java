@@ -0,0 +1,149 @@
+package com.ecommerce.infrastructure.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedStockCellTest {
+
+    @Test
+    void constructor_ShouldRoundBucketCountUpToPowerOfTwo() {
+        ShardedStockCell cell = new ShardedStockCell(10, 3);
+
+        assertEquals(4, cell.getBucketCount());
+        assertEquals(10, cell.get());
+    }
+
+    @Test
+    void constructor_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedStockCell(-1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedStockCell(1, 0));
+    }
+
+    @Test
+    void tryDeduct_WhenNoSingleBucketCoversQuantity_ShouldConsolidate() {
+        // 4 buckets of 2 or 3 units each
+        ShardedStockCell cell = new ShardedStockCell(10, 4);
+
+        assertTrue(cell.tryDeduct(9));
+        assertEquals(1, cell.get());
+    }
+
+    @Test
+    void tryDeduct_ShouldSellToZeroExactly() {
+        ShardedStockCell cell = new ShardedStockCell(7, 4);
+
+        for (int i = 0; i < 7; i++) {
+            assertTrue(cell.tryDeduct(1));
+        }
+
+        assertFalse(cell.tryDeduct(1));
+        assertEquals(0, cell.get());
+    }
+
+    @Test
+    void tryDeduct_WithInsufficientTotal_ShouldLeaveStockUnchanged() {
+        ShardedStockCell cell = new ShardedStockCell(5, 4);
+
+        assertFalse(cell.tryDeduct(6));
+        assertEquals(5, cell.get());
+        assertThrows(IllegalArgumentException.class, () -> cell.tryDeduct(0));
+    }
+
+    @Test
+    void addAndSet_ShouldUpdateTotal() {
+        ShardedStockCell cell = new ShardedStockCell(5, 4);
+
+        cell.add(3);
+        assertEquals(8, cell.get());
+
+        cell.set(2);
+        assertEquals(2, cell.get());
+        assertThrows(IllegalArgumentException.class, () -> cell.set(-1));
+    }
+
+    @Test
+    void rebalance_ShouldKeepTotal() {
+        ShardedStockCell cell = new ShardedStockCell(100, 4);
+        for (int i = 0; i < 20; i++) {
+            cell.tryDeduct(1);
+        }
+
+        cell.rebalance();
+
+        assertEquals(80, cell.get());
+        assertTrue(cell.tryDeduct(80));
+    }
+
+    @Test
+    void close_ShouldReturnRemainingAndRejectFurtherChanges() {
+        ShardedStockCell cell = new ShardedStockCell(10, 4);
+        cell.tryDeduct(4);
+
+        assertEquals(6, cell.close());
+
+        assertTrue(cell.isClosed());
+        assertEquals(0, cell.get());
+        assertFalse(cell.tryDeduct(1));
+        assertFalse(cell.tryAdd(1));
+        assertThrows(IllegalStateException.class, () -> cell.add(1));
+        assertThrows(IllegalStateException.class, () -> cell.set(1));
+    }
+
+    @Test
+    void tryDeduct_WithConcurrentBuyersAndRebalancing_ShouldSellExactlyTheStock() throws Exception {
+        int stock = 2_000;
+        int threads = 8;
+        int attemptsPerThread = 400;
+        ShardedStockCell cell = new ShardedStockCell(stock, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int quantity = t % 2 == 0 ? 1 : 3;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int sold = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (cell.tryDeduct(quantity)) {
+                            sold += quantity;
+                        }
+                    }
+                    return sold;
+                }));
+            }
+            Future<?> rebalancer = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    cell.rebalance();
+                }
+                return null;
+            });
+            start.countDown();
+            int totalSold = 0;
+            for (Future<Integer> future : futures) {
+                totalSold += future.get(30, TimeUnit.SECONDS);
+            }
+            rebalancer.get(30, TimeUnit.SECONDS);
+
+            // Demand (6400 units) exceeds stock, so everything must be sold and nothing oversold
+            assertEquals(stock - cell.get(), totalSold);
+            assertTrue(cell.get() < 3, "Leftover stock must be too small for a 3-unit order");
+            if (cell.get() > 0) {
+                assertTrue(cell.tryDeduct(cell.get()));
+            }
+            assertEquals(0, cell.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
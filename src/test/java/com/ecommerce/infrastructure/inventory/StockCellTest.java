@@ -0,0 +1,107 @@
+package com.ecommerce.infrastructure.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockCellTest {
+
+    @Test
+    void tryDeduct_WithEnoughStock_ShouldDeduct() {
+        StockCell cell = new StockCell(10);
+
+        assertTrue(cell.tryDeduct(3));
+        assertEquals(7, cell.get());
+    }
+
+    @Test
+    void tryDeduct_WithExactStock_ShouldSellToZero() {
+        StockCell cell = new StockCell(5);
+
+        assertTrue(cell.tryDeduct(5));
+        assertFalse(cell.tryDeduct(1));
+        assertEquals(0, cell.get());
+    }
+
+    @Test
+    void tryDeduct_WithInsufficientStock_ShouldLeaveCellUnchanged() {
+        StockCell cell = new StockCell(2);
+
+        assertFalse(cell.tryDeduct(3));
+        assertEquals(2, cell.get());
+    }
+
+    @Test
+    void tryDeduct_WithNonPositiveQuantity_ShouldThrowException() {
+        StockCell cell = new StockCell(2);
+
+        assertThrows(IllegalArgumentException.class, () -> cell.tryDeduct(0));
+        assertThrows(IllegalArgumentException.class, () -> cell.tryDeduct(-1));
+    }
+
+    @Test
+    void add_ShouldIncreaseStock() {
+        StockCell cell = new StockCell(2);
+
+        cell.add(3);
+
+        assertEquals(5, cell.get());
+    }
+
+    @Test
+    void add_WithOverflow_ShouldThrowAndKeepStock() {
+        StockCell cell = new StockCell(Integer.MAX_VALUE - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> cell.add(2));
+        assertEquals(Integer.MAX_VALUE - 1, cell.get());
+    }
+
+    @Test
+    void constructorAndSet_WithNegativeQuantity_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockCell(-1));
+        assertThrows(IllegalArgumentException.class, () -> new StockCell(1).set(-1));
+    }
+
+    @Test
+    void tryDeduct_WithConcurrentBuyers_ShouldNeverOversell() throws Exception {
+        int stock = 1_000;
+        int threads = 8;
+        int attemptsPerThread = 500;
+        StockCell cell = new StockCell(stock);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int sold = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (cell.tryDeduct(1)) {
+                            sold++;
+                        }
+                    }
+                    return sold;
+                }));
+            }
+            start.countDown();
+            int totalSold = 0;
+            for (Future<Integer> future : futures) {
+                totalSold += future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(stock, totalSold);
+            assertEquals(0, cell.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.infrastructure.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateLockManagerTest {
+
+    private AggregateLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new AggregateLockManager(64);
+    }
+
+    @Test
+    void constructor_ShouldRoundStripesUpToPowerOfTwo() {
+        assertEquals(1, new AggregateLockManager(1).getStripesPerType());
+        assertEquals(64, new AggregateLockManager(50).getStripesPerType());
+        assertEquals(1024, new AggregateLockManager(1024).getStripesPerType());
+    }
+
+    @Test
+    void constructor_WithNonPositiveStripes_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new AggregateLockManager(0));
+    }
+
+    @Test
+    void executeWithLocks_ShouldReturnActionResult() {
+        String result = lockManager.executeWithLocks(1L, "PHONE-001", 1L, () -> "done");
+
+        assertEquals("done", result);
+    }
+
+    @Test
+    void executeWithLocks_WithNullKeys_ShouldStillExecute() {
+        Integer result = lockManager.executeWithLocks((Long) null, (String) null, (Long) null, () -> 42);
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    void executeWithLocks_WhenActionThrows_ShouldReleaseLocks() throws Exception {
+        assertThrows(IllegalStateException.class, () -> lockManager.executeWithLocks(1L, "SKU", 2L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        // Another thread must be able to take the same locks afterwards
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> future = executor.submit(() -> lockManager.executeWithLocks(1L, "SKU", 2L, () -> "ok"));
+            assertEquals("ok", future.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void resolveStripes_ShouldBeSortedAndDistinct() {
+        int[] stripes = lockManager.resolveStripes(
+            List.of(3L, 1L, 3L), List.of("B", "A", "B"), List.of(1L, 1L));
+
+        int[] sorted = stripes.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, stripes);
+        for (int i = 1; i < stripes.length; i++) {
+            assertNotEquals(stripes[i - 1], stripes[i]);
+        }
+    }
+
+    @Test
+    void resolveStripes_ShouldKeepAggregateTypesInSeparateRanges() {
+        int[] userStripe = lockManager.resolveStripes(List.of(7L), null, null);
+        int[] merchantStripe = lockManager.resolveStripes(null, null, List.of(7L));
+
+        assertEquals(1, userStripe.length);
+        assertEquals(1, merchantStripe.length);
+        assertTrue(userStripe[0] < lockManager.getStripesPerType());
+        assertTrue(merchantStripe[0] >= 2 * lockManager.getStripesPerType());
+    }
+
+    @Test
+    void executeWithLocks_WithContendingKeys_ShouldNotLoseUpdates() throws Exception {
+        int threads = 8;
+        int iterations = 2_000;
+        long[] counter = new long[1];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        lockManager.executeWithLocks(1L, "HOT-SKU", 1L, () -> counter[0]++);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * iterations, counter[0]);
+    }
+
+    @Test
+    void executeWithLocks_WithOverlappingKeysInOppositeOrder_ShouldNotDeadlock() throws Exception {
+        int iterations = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    lockManager.executeWithLocks(List.of(1L, 2L), List.of("A", "B"), List.of(1L, 2L), () -> null);
+                }
+            });
+            Future<?> second = executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    lockManager.executeWithLocks(List.of(2L, 1L), List.of("B", "A"), List.of(2L, 1L), () -> null);
+                }
+            });
+
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.infrastructure.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void constructor_ShouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(8, new RingBuffer<String>(5).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(1));
+    }
+
+    @Test
+    void offer_WhenFull_ShouldFailUntilDrained() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, ring.drain(drained::add, 1));
+        assertTrue(ring.offer(4));
+        assertEquals(List.of(0), drained);
+    }
+
+    @Test
+    void drain_ShouldReturnElementsInOrderAcrossLaps() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ring.offer(i);
+            if (i % 3 == 2) {
+                ring.drain(drained::add, Integer.MAX_VALUE);
+            }
+        }
+        ring.drain(drained::add, Integer.MAX_VALUE);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), drained);
+        assertTrue(ring.isEmpty());
+        assertThrows(NullPointerException.class, () -> ring.offer(null));
+    }
+
+    @Test
+    void drain_WithConcurrentProducers_ShouldDeliverEveryElementOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        RingBuffer<Long> ring = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            // Every value seen exactly once, and each producer's values in its own order
+            boolean[] seen = new boolean[producers * perProducer];
+            long[] lastPerProducer = new long[producers];
+            java.util.Arrays.fill(lastPerProducer, -1);
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < seen.length && System.nanoTime() < deadline) {
+                received += ring.drain(value -> {
+                    int index = value.intValue();
+                    assertFalse(seen[index]);
+                    seen[index] = true;
+                    int producer = index / perProducer;
+                    assertTrue(value > lastPerProducer[producer]);
+                    lastPerProducer[producer] = value;
+                }, 32);
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(seen.length, received);
+            assertTrue(ring.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductRepositoryTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private CachingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingProductRepository(delegate, 100);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void findBySku_ShouldReadThroughOnceThenServeFromCache() {
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product(1L, "SKU-1")));
+
+        Product first = repository.findBySku("SKU-1").orElseThrow();
+        Product second = repository.findBySku("SKU-1").orElseThrow();
+
+        assertEquals("SKU-1", second.getSku());
+        assertNotSame(first, second);
+        verify(delegate, times(1)).findBySku("SKU-1");
+        assertEquals(1, repository.getSkuCache().hitCount());
+    }
+
+    @Test
+    void findBySku_WhenMissing_ShouldNotCacheAbsence() {
+        when(delegate.findBySku("NONE")).thenReturn(Optional.empty());
+
+        assertTrue(repository.findBySku("NONE").isEmpty());
+        assertTrue(repository.findBySku("NONE").isEmpty());
+
+        verify(delegate, times(2)).findBySku("NONE");
+    }
+
+    @Test
+    void findAllBySkus_ShouldLoadOnlyMissesInKeyOrder() {
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product(1L, "SKU-1")));
+        repository.findBySku("SKU-1");
+        when(delegate.findAllBySkus(Set.of("SKU-3", "SKU-2", "SKU-4")))
+            .thenReturn(List.of(product(3L, "SKU-3"), product(2L, "SKU-2")));
+
+        List<Product> products = repository.findAllBySkus(List.of("SKU-3", "SKU-1", "SKU-2", "SKU-4"));
+
+        assertEquals(List.of("SKU-3", "SKU-1", "SKU-2"), products.stream().map(Product::getSku).toList());
+        assertEquals(3, repository.getSkuCache().size());
+    }
+
+    @Test
+    void save_ShouldInvalidateBothKeys() {
+        Product product = product(1L, "SKU-1");
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product));
+        when(delegate.findById(1L)).thenReturn(Optional.of(product));
+        repository.findBySku("SKU-1");
+        repository.findById(1L);
+        when(delegate.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        repository.save(product);
+
+        assertEquals(0, repository.getSkuCache().size());
+        assertEquals(0, repository.getIdCache().size());
+        repository.findBySku("SKU-1");
+        verify(delegate, times(2)).findBySku("SKU-1");
+    }
+
+    @Test
+    void save_WhenVersionConflict_ShouldStillInvalidate() {
+        Product product = product(1L, "SKU-1");
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product));
+        repository.findBySku("SKU-1");
+        when(delegate.save(any(Product.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.save(product));
+
+        assertEquals(0, repository.getSkuCache().size());
+    }
+
+    @Test
+    void deleteById_ShouldInvalidateSkuOfDeletedProduct() {
+        Product product = product(1L, "SKU-1");
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product));
+        when(delegate.findById(1L)).thenReturn(Optional.of(product));
+        repository.findBySku("SKU-1");
+
+        repository.deleteById(1L);
+
+        verify(delegate).deleteById(1L);
+        assertEquals(0, repository.getSkuCache().size());
+    }
+
+    @Test
+    void findBySku_InReadWriteTransaction_ShouldBypassCache() {
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product(1L, "SKU-1")));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        repository.findBySku("SKU-1");
+        repository.findBySku("SKU-1");
+
+        verify(delegate, times(2)).findBySku("SKU-1");
+        assertEquals(0, repository.getSkuCache().size());
+    }
+
+    @Test
+    void findBySku_InReadOnlyTransaction_ShouldUseCache() {
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product(1L, "SKU-1")));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        repository.findBySku("SKU-1");
+        repository.findBySku("SKU-1");
+
+        verify(delegate, times(1)).findBySku("SKU-1");
+    }
+
+    @Test
+    void save_InTransaction_ShouldInvalidateAgainAfterCompletion() {
+        Product product = product(1L, "SKU-1");
+        when(delegate.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(delegate.findBySku("SKU-1")).thenReturn(Optional.of(product));
+        TransactionSynchronizationManager.initSynchronization();
+
+        repository.save(product);
+        // A read that raced the commit cached the row before the transaction completed
+        repository.findBySku("SKU-1");
+        assertEquals(1, repository.getSkuCache().size());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(0, repository.getSkuCache().size());
+    }
+
+    private static Product product(Long id, String sku) {
+        Product product = new Product(sku, "Phone", "A phone", Money.of("999.00", "CNY"), 1L, 10);
+        product.setId(id);
+        product.markAsPersisted();
+        return product;
+    }
+}
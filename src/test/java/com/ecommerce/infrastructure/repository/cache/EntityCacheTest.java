@@ -0,0 +1,101 @@
+package com.ecommerce.infrastructure.repository.cache;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    @Test
+    void get_ShouldCountMissThenHitAndReturnCopies() {
+        EntityCache<String, Product> cache = new EntityCache<>("products", 100);
+        Product product = product(1L, "SKU-1");
+
+        assertNull(cache.get("SKU-1"));
+        cache.put("SKU-1", product, cache.stamp("SKU-1"));
+        Product first = cache.get("SKU-1");
+        Product second = cache.get("SKU-1");
+
+        assertEquals("SKU-1", first.getSku());
+        assertNotSame(product, first);
+        assertNotSame(first, second);
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.putCount());
+        assertEquals(2.0 / 3, cache.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void get_ShouldNotExposeChangesMadeToReturnedCopy() {
+        EntityCache<String, Product> cache = new EntityCache<>("products", 100);
+        cache.put("SKU-1", product(1L, "SKU-1"), cache.stamp("SKU-1"));
+
+        cache.get("SKU-1").reduceInventory(3);
+
+        assertEquals(10, cache.get("SKU-1").getInventory().getQuantity());
+    }
+
+    @Test
+    void put_AfterInvalidateSinceStamp_ShouldBeDropped() {
+        EntityCache<String, Product> cache = new EntityCache<>("products", 100);
+        long stamp = cache.stamp("SKU-1");
+
+        cache.invalidate("SKU-1");
+        cache.put("SKU-1", product(1L, "SKU-1"), stamp);
+
+        assertNull(cache.get("SKU-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WithOlderVersion_ShouldKeepNewerCachedVersion() {
+        EntityCache<String, Product> cache = new EntityCache<>("products", 100);
+        Product newer = product(1L, "SKU-1");
+        newer.reduceInventory(2);
+        Product older = product(1L, "SKU-1");
+
+        cache.put("SKU-1", newer, cache.stamp("SKU-1"));
+        cache.put("SKU-1", older, cache.stamp("SKU-1"));
+
+        assertEquals(8, cache.get("SKU-1").getInventory().getQuantity());
+    }
+
+    @Test
+    void put_WhenFull_ShouldAdmitOnlyKeysUsedMoreThanEldest() {
+        EntityCache<Long, Product> cache = new EntityCache<>("products-by-id", 1);
+        for (int i = 0; i < 3; i++) {
+            cache.get(1L);
+        }
+        cache.put(1L, product(1L, "SKU-1"), cache.stamp(1L));
+
+        // A one-off lookup can't displace the popular entry
+        cache.get(2L);
+        cache.put(2L, product(2L, "SKU-2"), cache.stamp(2L));
+        assertNotNull(cache.get(1L));
+        assertEquals(1, cache.rejectionCount());
+
+        // A key looked up more often than the eldest entry replaces it
+        for (int i = 0; i < 6; i++) {
+            cache.get(3L);
+        }
+        cache.put(3L, product(3L, "SKU-3"), cache.stamp(3L));
+        assertNotNull(cache.get(3L));
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.evictionCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void constructor_WithNonPositiveSize_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new EntityCache<>("products", 0));
+    }
+
+    private static Product product(Long id, String sku) {
+        Product product = new Product(sku, "Phone", "A phone", Money.of("999.00", "CNY"), 1L, 10);
+        product.setId(id);
+        product.markAsPersisted();
+        return product;
+    }
+}
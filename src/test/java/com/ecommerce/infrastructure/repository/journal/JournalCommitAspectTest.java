@@ -0,0 +1,54 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalCommitAspectTest {
+
+    @Mock
+    private WriteAheadJournal journal;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @InjectMocks
+    private JournalCommitAspect aspect;
+
+    @Test
+    void commitAfterTransaction_ShouldWaitForRecordsAfterSuccess() throws Throwable {
+        when(journal.openCommitScope()).thenReturn(true);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertEquals("result", aspect.commitAfterTransaction(joinPoint));
+
+        verify(journal).closeCommitScope(true);
+    }
+
+    @Test
+    void commitAfterTransaction_ShouldCloseWithoutWaitingAfterFailure() throws Throwable {
+        when(journal.openCommitScope()).thenReturn(true);
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("bad request"));
+
+        assertThrows(IllegalArgumentException.class, () -> aspect.commitAfterTransaction(joinPoint));
+
+        verify(journal).closeCommitScope(false);
+    }
+
+    @Test
+    void commitAfterTransaction_WhenNested_ShouldLeaveScopeToOuterCall() throws Throwable {
+        when(journal.openCommitScope()).thenReturn(false);
+        when(joinPoint.proceed()).thenReturn("inner");
+
+        assertEquals("inner", aspect.commitAfterTransaction(joinPoint));
+
+        verify(journal, never()).closeCommitScope(anyBoolean());
+    }
+}
@@ -0,0 +1,405 @@
+package com.ecommerce.infrastructure.repository.journal;
+
+import com.ecommerce.api.exception.BusinessException;
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<WriteAheadJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(WriteAheadJournal::close);
+    }
+
+    @Test
+    void replay_ShouldReturnCommittedRecordsInOrder() {
+        WriteAheadJournal journal = open(0, true);
+        User alice = user(1L, "alice");
+        journal.awaitDurable(journal.appendSave("users", 1L, journal.encode(alice)));
+        alice.recharge(Money.of("25.00", "CNY"));
+        journal.awaitDurable(journal.appendSave("users", 1L, journal.encode(alice)));
+        journal.awaitDurable(journal.appendSave("users", 2L, journal.encode(user(2L, "bob"))));
+        journal.awaitDurable(journal.appendDelete("users", 2L));
+        journal.close();
+
+        List<String> events = new ArrayList<>();
+        List<User> saved = new ArrayList<>();
+        int replayed = open(0, true).replay("users", User.class, user -> {
+            events.add("save " + user.getId());
+            saved.add(user);
+        }, id -> events.add("delete " + id));
+
+        assertEquals(4, replayed);
+        assertEquals(List.of("save 1", "save 1", "save 2", "delete 2"), events);
+        User restored = saved.get(1);
+        assertEquals("alice", restored.getUsername());
+        assertEquals(Money.of("25.00", "CNY"), restored.getBalance());
+        assertEquals(alice.getVersion(), restored.getVersion());
+    }
+
+    @Test
+    void replay_ShouldKeepTablesApartAndRunOncePerTable() {
+        WriteAheadJournal journal = open(0, true);
+        journal.awaitDurable(journal.appendDelete("orders", 7L));
+        journal.awaitDurable(journal.appendDelete("users", 8L));
+        journal.close();
+
+        WriteAheadJournal reopened = open(0, true);
+        List<Long> deleted = new ArrayList<>();
+
+        assertEquals(1, reopened.replay("orders", User.class, user -> fail("no saves"), deleted::add));
+        assertEquals(0, reopened.replay("orders", User.class, user -> fail("no saves"), deleted::add));
+        assertEquals(List.of(7L), deleted);
+    }
+
+    @Test
+    void open_WithTornTail_ShouldKeepIntactRecordsAndTruncate() throws IOException {
+        WriteAheadJournal journal = open(0, true);
+        journal.awaitDurable(journal.appendDelete("users", 1L));
+        journal.awaitDurable(journal.appendDelete("users", 2L));
+        journal.close();
+        Path file = WriteAheadJournal.segmentFile(directory, 1);
+        long intactSize = Files.size(file);
+        // A crash halfway through the next record: its length promises more bytes than were written
+        Files.write(file, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        WriteAheadJournal reopened = open(0, true);
+        List<Long> deleted = new ArrayList<>();
+        reopened.replay("users", User.class, user -> fail("no saves"), deleted::add);
+
+        assertEquals(List.of(1L, 2L), deleted);
+        assertEquals(intactSize, Files.size(file));
+        // Appends continue right after the last intact record
+        reopened.awaitDurable(reopened.appendDelete("users", 3L));
+        reopened.close();
+        List<Long> afterAppend = new ArrayList<>();
+        open(0, true).replay("users", User.class, user -> fail("no saves"), afterAppend::add);
+        assertEquals(List.of(1L, 2L, 3L), afterAppend);
+    }
+
+    @Test
+    void open_WithCorruptedRecord_ShouldStopAtLastValidRecord() throws IOException {
+        WriteAheadJournal journal = open(0, true);
+        journal.awaitDurable(journal.appendDelete("users", 1L));
+        long firstRecordEnd = Files.size(WriteAheadJournal.segmentFile(directory, 1));
+        journal.awaitDurable(journal.appendDelete("users", 2L));
+        journal.close();
+        Path file = WriteAheadJournal.segmentFile(directory, 1);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(file, bytes);
+
+        List<Long> deleted = new ArrayList<>();
+        open(0, true).replay("users", User.class, user -> fail("no saves"), deleted::add);
+
+        assertEquals(List.of(1L), deleted);
+        assertEquals(firstRecordEnd, Files.size(file));
+    }
+
+    @Test
+    void open_WithForeignFile_ShouldFail() throws IOException {
+        Files.write(WriteAheadJournal.segmentFile(directory, 1), "not a journal file".getBytes());
+
+        assertThrows(UncheckedIOException.class, () -> open(0, true));
+    }
+
+    @Test
+    void concurrentAppends_ShouldShareGroupCommits() throws Exception {
+        WriteAheadJournal journal = open(TimeUnit.MILLISECONDS.toMicros(5), true);
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long base = t * 1_000L;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        journal.awaitDurable(journal.appendDelete("users", base + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, journal.getCommittedRecords());
+        assertTrue(journal.getCommittedBatches() < journal.getCommittedRecords(),
+            "expected records to share fsyncs, got " + journal.getCommittedBatches() + " commits");
+    }
+
+    @Test
+    void append_WithoutWaitingForFsync_ShouldStillBeDurableAfterClose() {
+        WriteAheadJournal journal = open(TimeUnit.MILLISECONDS.toMicros(50), false);
+        CompletableFuture<Void> commit = journal.appendDelete("users", 5L);
+
+        journal.awaitDurable(commit);
+        journal.close();
+
+        assertTrue(commit.isDone());
+        List<Long> deleted = new ArrayList<>();
+        open(0, true).replay("users", User.class, user -> fail("no saves"), deleted::add);
+        assertEquals(List.of(5L), deleted);
+    }
+
+    @Test
+    void append_AfterClose_ShouldFailThroughFuture() {
+        WriteAheadJournal journal = open(0, true);
+        journal.close();
+
+        CompletableFuture<Void> commit = journal.appendDelete("users", 1L);
+
+        assertTrue(commit.isCompletedExceptionally());
+        assertThrows(BusinessException.class, () -> journal.awaitDurable(commit));
+    }
+
+    @Test
+    void disabledJournal_ShouldNotTouchDisk() {
+        WriteAheadJournal journal = new WriteAheadJournal(null, 0, true);
+
+        assertFalse(journal.isEnabled());
+        assertEquals(0, journal.replay("users", User.class, user -> fail("no saves"), id -> fail("no deletes")));
+        journal.close();
+    }
+
+    @Test
+    void commitScope_ShouldDeferWaitsUntilItEnds() {
+        WriteAheadJournal journal = open(TimeUnit.MILLISECONDS.toMicros(5), true);
+        List<CompletableFuture<Void>> commits = new ArrayList<>();
+
+        String result = journal.inCommitScope(() -> {
+            // Nested scopes join the outer one
+            assertFalse(journal.openCommitScope());
+            for (long id = 1; id <= 3; id++) {
+                CompletableFuture<Void> commit = journal.appendDelete("users", id);
+                journal.awaitDurable(commit);
+                commits.add(commit);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertTrue(commits.stream().allMatch(CompletableFuture::isDone));
+        // Outside a scope waits are immediate again
+        CompletableFuture<Void> single = journal.appendDelete("users", 4L);
+        journal.awaitDurable(single);
+        assertTrue(single.isDone());
+    }
+
+    @Test
+    void commitScope_WithFailingWork_ShouldRethrowWithoutWaiting() {
+        WriteAheadJournal journal = open(0, true);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> journal.inCommitScope(() -> {
+            journal.awaitDurable(journal.appendDelete("users", 1L));
+            throw new IllegalStateException("rejected");
+        }));
+
+        assertEquals("rejected", failure.getMessage());
+        assertTrue(journal.openCommitScope());
+        journal.closeCommitScope(true);
+    }
+
+    @Test
+    void commitScope_WithDisabledJournal_ShouldJustRunWork() {
+        WriteAheadJournal journal = new WriteAheadJournal(null, 0, true);
+
+        assertFalse(journal.openCommitScope());
+        assertEquals(7, journal.inCommitScope(() -> 7));
+    }
+
+    @Test
+    void snapshot_ShouldRestoreImageThenLaterRecordsAndDropOldSegments() {
+        WriteAheadJournal journal = open(0, true);
+        UserTable table = new UserTable();
+        journal.attach(table);
+        table.save(journal, user(1L, "alice"));
+        table.save(journal, user(2L, "bob"));
+        table.save(journal, user(9L, "temp"));
+        table.delete(journal, 9L);
+
+        assertEquals(2, journal.snapshot());
+        assertEquals(0, journal.getRecordsSinceSnapshot());
+        table.save(journal, user(3L, "carol"));
+        table.delete(journal, 1L);
+        journal.close();
+
+        assertFalse(Files.exists(WriteAheadJournal.segmentFile(directory, 1)));
+        assertTrue(Files.exists(WriteAheadJournal.snapshotFile(directory, 2)));
+        UserTable restored = new UserTable();
+        // Two rows from the image, then one save and one delete from segment 2
+        assertEquals(4, open(0, true).attach(restored));
+        assertEquals(List.of(2L, 3L), restored.rows.keySet().stream().sorted().toList());
+        assertEquals("bob", restored.rows.get(2L).getUsername());
+        // Ids of rows deleted before the snapshot are not handed out again
+        assertEquals(10L, restored.nextId());
+    }
+
+    @Test
+    void snapshot_Twice_ShouldKeepOnlyNewestImage() {
+        WriteAheadJournal journal = open(0, true);
+        UserTable table = new UserTable();
+        journal.attach(table);
+        table.save(journal, user(1L, "alice"));
+        journal.snapshot();
+        table.save(journal, user(2L, "bob"));
+        journal.snapshot();
+        journal.close();
+
+        assertFalse(Files.exists(WriteAheadJournal.snapshotFile(directory, 2)));
+        assertTrue(Files.exists(WriteAheadJournal.snapshotFile(directory, 3)));
+        UserTable restored = new UserTable();
+        assertEquals(2, open(0, true).attach(restored));
+        assertEquals(2, restored.rows.size());
+    }
+
+    @Test
+    void snapshot_WithCorruptChunk_ShouldFailRestore() throws IOException {
+        WriteAheadJournal journal = open(0, true);
+        UserTable table = new UserTable();
+        journal.attach(table);
+        table.save(journal, user(1L, "alice"));
+        journal.snapshot();
+        journal.close();
+        Path snapshot = WriteAheadJournal.snapshotFile(directory, 2);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        // First row payload, just after the header and the row length
+        bytes[24] ^= 0x7F;
+        Files.write(snapshot, bytes);
+
+        WriteAheadJournal reopened = open(0, true);
+
+        assertThrows(UncheckedIOException.class, () -> reopened.attach(new UserTable()));
+    }
+
+    @Test
+    void open_WithCorruptSegmentBeforeLast_ShouldFail() throws IOException {
+        WriteAheadJournal journal = open(0, true);
+        UserTable table = new UserTable();
+        journal.attach(table);
+        table.delete(journal, 1L);
+        journal.snapshot();
+        journal.close();
+        // Bring back an older tail that no longer matches: segment 2 is followed by segment 3
+        Files.write(WriteAheadJournal.segmentFile(directory, 3), Files.readAllBytes(WriteAheadJournal.segmentFile(directory, 2)));
+        Files.write(WriteAheadJournal.segmentFile(directory, 2), new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThrows(UncheckedIOException.class, () -> open(0, true));
+    }
+
+    @Test
+    void snapshot_WithDisabledJournal_ShouldFail() {
+        WriteAheadJournal journal = new WriteAheadJournal(null, 0, true);
+
+        assertEquals(0, journal.attach(new UserTable()));
+        assertThrows(IllegalStateException.class, journal::snapshot);
+    }
+
+    private WriteAheadJournal open(long commitWindowMicros, boolean waitForFsync) {
+        WriteAheadJournal journal = new WriteAheadJournal(directory, commitWindowMicros, waitForFsync);
+        opened.add(journal);
+        return journal;
+    }
+
+    private static User user(Long id, String name) {
+        User user = new User(name, name + "@example.com", "1380000" + String.format("%04d", id), "CNY");
+        user.setId(id);
+        return user;
+    }
+
+    /**
+     * Map-backed table applying changes the way the in-memory repositories do
+     */
+    private static final class UserTable implements JournaledTable<User> {
+        final Map<Long, User> rows = new ConcurrentHashMap<>();
+        final AtomicLong next = new AtomicLong(1);
+
+        void save(WriteAheadJournal journal, User user) {
+            byte[] payload = journal.encode(user);
+            CompletableFuture<Void> commit = journal.applyChange(() -> {
+                restore(user);
+                return journal.appendSave(name(), user.getId(), payload);
+            });
+            journal.awaitDurable(commit);
+        }
+
+        void delete(WriteAheadJournal journal, long id) {
+            journal.awaitDurable(journal.applyChange(() -> {
+                restoreRemoval(id);
+                return journal.appendDelete(name(), id);
+            }));
+        }
+
+        @Override
+        public String name() {
+            return "users";
+        }
+
+        @Override
+        public Class<User> type() {
+            return User.class;
+        }
+
+        @Override
+        public void forEachRow(Consumer<? super User> action) {
+            rows.values().forEach(action);
+        }
+
+        @Override
+        public long nextId() {
+            return next.get();
+        }
+
+        @Override
+        public void restore(User row) {
+            rows.put(row.getId(), row);
+            advanceIds(row.getId() + 1);
+        }
+
+        @Override
+        public void restoreRemoval(long id) {
+            rows.remove(id);
+            advanceIds(id + 1);
+        }
+
+        @Override
+        public void advanceIds(long nextId) {
+            next.accumulateAndGet(nextId, Math::max);
+        }
+    }
+}
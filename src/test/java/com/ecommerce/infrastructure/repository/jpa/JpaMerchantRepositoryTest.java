@@ -0,0 +1,27 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.merchant.Merchant;
+import com.ecommerce.infrastructure.repository.MerchantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaMerchantRepositoryTest extends JpaRepositoryTestSupport {
+
+    @Autowired
+    private MerchantRepository merchantRepository;
+
+    @Test
+    void save_ShouldPersistAndFindByUniqueKeys() {
+        Merchant merchant = merchantRepository.save(
+            new Merchant("Jpa Store", "LIC-JPA", "store@example.com", "13900001111"));
+        flushAndClear();
+
+        assertEquals(merchant.getId(), merchantRepository.findByBusinessLicense("LIC-JPA").orElseThrow().getId());
+        assertEquals(merchant.getId(), merchantRepository.findByContactEmail("store@example.com").orElseThrow().getId());
+        assertTrue(merchantRepository.existsByBusinessLicense("LIC-JPA"));
+        assertTrue(merchantRepository.existsByContactEmail("store@example.com"));
+        assertEquals(1, merchantRepository.findAllActive().size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.VersionConflictException;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.retry.OptimisticRetryExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent updates of one product committed from another thread; these tests commit, so they run
+ * outside the rolled-back test transaction and delete their product afterwards
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaOptimisticLockTest extends JpaRepositoryTestSupport {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long productId;
+
+    @AfterEach
+    void deleteProduct() {
+        if (productId != null) {
+            productRepository.deleteById(productId);
+        }
+    }
+
+    @Test
+    void save_WhenRowChangedAfterLoading_ShouldThrowVersionConflict() {
+        productId = productRepository.save(
+            new Product("JPA-LOCK-1", "Phone", "A phone", Money.of("999.00", "CNY"), 3L, 10)).getId();
+
+        assertThrows(VersionConflictException.class, () -> new TransactionTemplate(transactionManager).execute(status -> {
+            Product loaded = productRepository.findById(productId).orElseThrow();
+            reduceInOtherTransaction(1);
+            loaded.reduceInventory(2);
+            return productRepository.save(loaded);
+        }));
+
+        assertEquals(9, productRepository.findById(productId).orElseThrow().getInventory().getQuantity());
+    }
+
+    @Test
+    void execute_WhenRowChangedDuringAttempt_ShouldRetryInNewTransaction() {
+        productId = productRepository.save(
+            new Product("JPA-LOCK-2", "Phone", "A phone", Money.of("999.00", "CNY"), 3L, 10)).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        Product saved = retryExecutor.execute("jpa-lock-test", () -> {
+            Product loaded = productRepository.findById(productId).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                reduceInOtherTransaction(1);
+            }
+            loaded.reduceInventory(2);
+            return productRepository.save(loaded);
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(7, saved.getInventory().getQuantity());
+        assertEquals(7, productRepository.findById(productId).orElseThrow().getInventory().getQuantity());
+    }
+
+    // Commit a competing change from another thread, so it runs in its own transaction
+    private void reduceInOtherTransaction(int quantity) {
+        CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            product.reduceInventory(quantity);
+            productRepository.save(product);
+        })).orTimeout(5, TimeUnit.SECONDS).join();
+    }
+}
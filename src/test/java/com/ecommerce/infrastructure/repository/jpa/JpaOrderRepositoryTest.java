@@ -0,0 +1,160 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaOrderRepositoryTest extends JpaRepositoryTestSupport {
+
+    private static final Long MERCHANT_ID = 7L;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void repository_ShouldBeJpaImplementation() {
+        assertInstanceOf(JpaOrderRepository.class, orderRepository);
+    }
+
+    @Test
+    void findByOrderNumber_ShouldLoadItemsInOneQuery() {
+        orderRepository.save(order("ORD-1", OrderStatus.PENDING, 3));
+        flushAndClear();
+        statistics().clear();
+
+        Order loaded = orderRepository.findByOrderNumber("ORD-1").orElseThrow();
+
+        assertEquals(3, loaded.getItems().size());
+        assertEquals(Money.of("60.00", "CNY"), loaded.getTotalAmount());
+        assertEquals(1, statistics().getPrepareStatementCount());
+        assertTrue(orderRepository.existsByOrderNumber("ORD-1"));
+        assertTrue(orderRepository.findByOrderNumber("ORD-404").isEmpty());
+    }
+
+    @Test
+    void findById_ShouldLoadItemsInOneQuery() {
+        Order saved = orderRepository.save(order("ORD-2", OrderStatus.PENDING, 2));
+        flushAndClear();
+        statistics().clear();
+
+        Order loaded = orderRepository.findById(saved.getId()).orElseThrow();
+
+        assertEquals(2, loaded.getItems().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+        assertTrue(orderRepository.findById(null).isEmpty());
+    }
+
+    @Test
+    void findByMerchantIdAndStatusAndOrderTimeBetween_ShouldFetchItemsOfAllOrdersInOneQuery() {
+        for (int i = 0; i < 10; i++) {
+            orderRepository.save(order("ORD-C" + i, OrderStatus.COMPLETED, 2));
+        }
+        orderRepository.save(order("ORD-P", OrderStatus.PENDING, 1));
+        orderRepository.save(otherMerchantOrder("ORD-X"));
+        flushAndClear();
+        statistics().clear();
+
+        List<Order> completed = orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
+            MERCHANT_ID, OrderStatus.COMPLETED, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(10, completed.size());
+        assertEquals(20, completed.stream().mapToInt(order -> order.getItems().size()).sum());
+        assertEquals(1, statistics().getPrepareStatementCount());
+        assertEquals(11, orderRepository.findByMerchantIdAndOrderTimeBetween(
+            MERCHANT_ID, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)).size());
+    }
+
+    @Test
+    void sumTotalAmount_ShouldAggregateInDatabaseWithoutLoadingOrders() {
+        for (int i = 0; i < 4; i++) {
+            orderRepository.save(order("ORD-S" + i, OrderStatus.COMPLETED, 2));
+        }
+        orderRepository.save(order("ORD-SP", OrderStatus.PENDING, 5));
+        flushAndClear();
+        statistics().clear();
+
+        OrderTotals totals = orderRepository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(
+            MERCHANT_ID, OrderStatus.COMPLETED, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(4, totals.orderCount());
+        assertEquals(Money.of("160.00", "CNY"), totals.totalAmount());
+        assertEquals(0, statistics().getEntityLoadCount());
+        assertEquals(OrderTotals.none(), orderRepository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(
+            99L, OrderStatus.COMPLETED, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)));
+    }
+
+    @Test
+    void save_ShouldInsertOrdersAndItemsInBatches() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            orders.add(order("ORD-B" + i, OrderStatus.PENDING, 3));
+        }
+        statistics().clear();
+
+        orderRepository.saveAll(orders);
+
+        // 20 orders and 60 items flushed together: with ordered inserts and a batch size of 50, three batches
+        assertEquals(80, statistics().getEntityInsertCount());
+        assertTrue(statistics().getPrepareStatementCount() <= 3,
+            "statements: " + statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAll_AndFindAllByIds_ShouldLoadOrdersWithItemsInOneQuery() {
+        List<Order> saved = orderRepository.saveAll(List.of(
+            order("ORD-M1", OrderStatus.PENDING, 2), order("ORD-M2", OrderStatus.PENDING, 3)));
+        flushAndClear();
+        statistics().clear();
+
+        List<Order> loaded = orderRepository.findAllByIds(List.of(saved.get(0).getId(), saved.get(1).getId(), 404L));
+
+        assertEquals(2, loaded.size());
+        assertEquals(5, loaded.stream().mapToInt(order -> order.getItems().size()).sum());
+        assertEquals(1, statistics().getPrepareStatementCount());
+        assertTrue(orderRepository.findAllByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void cancel_ShouldPersistStatusChange() {
+        orderRepository.save(order("ORD-CXL", OrderStatus.PAID, 1));
+        flushAndClear();
+
+        Order order = orderRepository.findByOrderNumber("ORD-CXL").orElseThrow();
+        order.cancel("changed mind");
+        orderRepository.save(order);
+        flushAndClear();
+
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findByOrderNumber("ORD-CXL").orElseThrow().getStatus());
+    }
+
+    private static Order order(String orderNumber, OrderStatus status, int items) {
+        Order order = new Order(orderNumber, 1L, MERCHANT_ID);
+        for (int i = 0; i < items; i++) {
+            order.addOrderItem("SKU-" + i, "Product " + i, Money.of("10.00", "CNY"), 2);
+        }
+        if (status != OrderStatus.PENDING) {
+            order.confirm();
+            order.processPayment();
+            if (status == OrderStatus.COMPLETED) {
+                order.complete();
+            }
+        }
+        return order;
+    }
+
+    private static Order otherMerchantOrder(String orderNumber) {
+        Order order = new Order(orderNumber, 1L, MERCHANT_ID + 1);
+        order.addOrderItem("SKU-X", "Other", Money.of("5.00", "CNY"), 1);
+        return order;
+    }
+}
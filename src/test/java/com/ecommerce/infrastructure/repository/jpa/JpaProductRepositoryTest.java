@@ -0,0 +1,65 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaProductRepositoryTest extends JpaRepositoryTestSupport {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void save_ShouldPersistAndFindBySkuAndMerchant() {
+        productRepository.save(new Product("JPA-1", "Phone", "A phone", Money.of("999.00", "CNY"), 3L, 10));
+        productRepository.save(new Product("JPA-2", "Case", "A case", Money.of("19.90", "CNY"), 3L, 100));
+        productRepository.save(new Product("JPA-3", "Book", "A book", Money.of("45.00", "CNY"), 4L, 5));
+        flushAndClear();
+
+        Product phone = productRepository.findBySku("JPA-1").orElseThrow();
+        assertEquals(Money.of("999.00", "CNY"), phone.getPrice());
+        assertEquals(10, phone.getInventory().getQuantity());
+        assertEquals(2, productRepository.findByMerchantId(3L).size());
+        assertEquals(3, productRepository.findAll().size());
+        assertTrue(productRepository.existsBySku("JPA-3"));
+        assertFalse(productRepository.existsBySku("JPA-4"));
+    }
+
+    @Test
+    void save_ShouldPersistInventoryChange() {
+        Product product = productRepository.save(
+            new Product("JPA-5", "Laptop", "A laptop", Money.of("5999.00", "CNY"), 3L, 10));
+        flushAndClear();
+
+        Product loaded = productRepository.findById(product.getId()).orElseThrow();
+        loaded.reduceInventory(4);
+        productRepository.save(loaded);
+        flushAndClear();
+
+        assertEquals(6, productRepository.findBySku("JPA-5").orElseThrow().getInventory().getQuantity());
+    }
+
+    @Test
+    void findAllBySkus_ShouldLoadProductsInOneQuery() {
+        productRepository.saveAll(List.of(
+            new Product("JPA-6", "Mouse", "A mouse", Money.of("99.00", "CNY"), 3L, 10),
+            new Product("JPA-7", "Keyboard", "A keyboard", Money.of("199.00", "CNY"), 3L, 10)));
+        flushAndClear();
+        statistics().clear();
+
+        List<Product> products = productRepository.findAllBySkus(List.of("JPA-6", "JPA-7", "JPA-404"));
+
+        assertEquals(Set.of("JPA-6", "JPA-7"), products.stream().map(Product::getSku).collect(Collectors.toSet()));
+        assertEquals(1, statistics().getPrepareStatementCount());
+        assertEquals(2, productRepository.findAllByIds(
+            products.stream().map(Product::getId).toList()).size());
+    }
+}
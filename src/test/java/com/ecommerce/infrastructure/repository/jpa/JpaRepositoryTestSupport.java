@@ -0,0 +1,49 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.api.EcommercePlatformApplication;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The whole application on the mysql profile, with an in-memory H2 database in MySQL mode standing in
+ * for MySQL; each test runs in a transaction that is rolled back
+ */
+@SpringBootTest(classes = EcommercePlatformApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:ecommerce;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("mysql")
+@Transactional
+abstract class JpaRepositoryTestSupport {
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics().clear();
+    }
+
+    /**
+     * Write pending changes and forget loaded entities, so the next read goes to the database
+     */
+    protected void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    protected Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
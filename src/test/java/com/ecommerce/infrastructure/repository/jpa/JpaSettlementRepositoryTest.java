@@ -0,0 +1,32 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.settlement.Settlement;
+import com.ecommerce.infrastructure.repository.SettlementRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaSettlementRepositoryTest extends JpaRepositoryTestSupport {
+
+    @Autowired
+    private SettlementRepository settlementRepository;
+
+    @Test
+    void save_ShouldPersistAndFindById() {
+        Settlement settlement = settlementRepository.save(new Settlement(
+            5L, LocalDate.of(2024, 1, 31), Money.of("100.00", "CNY"), Money.of("90.00", "CNY")));
+        flushAndClear();
+
+        Settlement loaded = settlementRepository.findById(settlement.getId()).orElseThrow();
+        assertEquals(Money.of("-10.00", "CNY"), loaded.getDifference());
+        assertEquals(settlement.getStatus(), loaded.getStatus());
+
+        settlementRepository.deleteById(settlement.getId());
+        flushAndClear();
+        assertTrue(settlementRepository.findById(settlement.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.infrastructure.repository.jpa;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.UserRepository;
+import com.ecommerce.infrastructure.repository.cache.CachingUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaUserRepositoryTest extends JpaRepositoryTestSupport {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void repository_ShouldBeCachedOnMysqlProfile() {
+        // The mysql profile enables the repository caches, which wrap the JPA repository
+        assertInstanceOf(CachingUserRepository.class, userRepository);
+    }
+
+    @Test
+    void save_ShouldPersistAndFindByUniqueKeys() {
+        User alice = new User("alice", "alice@example.com", "13800001111", "CNY");
+        alice.recharge(Money.of("88.50", "CNY"));
+        userRepository.save(alice);
+        flushAndClear();
+
+        User byPhone = userRepository.findByPhone("13800001111").orElseThrow();
+        assertEquals(alice.getId(), byPhone.getId());
+        assertEquals(Money.of("88.50", "CNY"), byPhone.getBalance());
+        assertEquals(alice.getId(), userRepository.findByEmail("alice@example.com").orElseThrow().getId());
+        assertTrue(userRepository.existsByPhone("13800001111"));
+        assertTrue(userRepository.existsByEmail("alice@example.com"));
+        assertTrue(userRepository.existsById(alice.getId()));
+        assertFalse(userRepository.existsByEmail("nobody@example.com"));
+        assertEquals(Set.of(alice.getId()), userRepository.getAllUserIds());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void update_ShouldBumpVersion() {
+        User bob = userRepository.save(new User("bob", "bob@example.com", "13800002222", "CNY"));
+        flushAndClear();
+        User loaded = userRepository.findById(bob.getId()).orElseThrow();
+        long version = loaded.getVersion();
+
+        loaded.recharge(Money.of("10.00", "CNY"));
+        userRepository.save(loaded);
+        flushAndClear();
+
+        User reloaded = userRepository.findById(bob.getId()).orElseThrow();
+        assertEquals(version + 1, reloaded.getVersion());
+        assertEquals(Money.of("10.00", "CNY"), reloaded.getBalance());
+    }
+
+    @Test
+    void save_WithDuplicatePhone_ShouldBeRejectedByUniqueIndex() {
+        userRepository.save(new User("carol", "carol@example.com", "13800003333", "CNY"));
+
+        // Saves flush at once, so the unique index rejects the second row on save
+        assertThrows(DataIntegrityViolationException.class,
+            () -> userRepository.save(new User("carol2", "carol2@example.com", "13800003333", "CNY")));
+    }
+
+    @Test
+    void deleteById_ShouldRemoveUser() {
+        User dave = userRepository.save(new User("dave", "dave@example.com", "13800004444", "CNY"));
+        flushAndClear();
+
+        userRepository.deleteById(dave.getId());
+        flushAndClear();
+
+        assertFalse(userRepository.existsById(dave.getId()));
+        assertTrue(userRepository.findById(null).isEmpty());
+    }
+}
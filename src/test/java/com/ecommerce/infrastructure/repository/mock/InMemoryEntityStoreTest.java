@@ -0,0 +1,379 @@
+package com.ecommerce.infrastructure.repository.mock;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.VersionConflictException;
+import com.ecommerce.domain.user.DuplicateUserException;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.domain.user.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryEntityStoreTest {
+
+    private InMemoryEntityStore<User> store;
+    private InMemoryEntityStore.Index<User, String> emailIndex;
+    private InMemoryEntityStore.Index<User, UserStatus> statusIndex;
+    private InMemoryEntityStore.Index<User, String> phoneIndex;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryEntityStore<>();
+        emailIndex = store.addIndex(User::getEmail);
+        statusIndex = store.addIndex(User::getStatus);
+        phoneIndex = store.addUniqueIndex(User::getPhone, DuplicateUserException::forPhone);
+        User user = new User("alice", "alice@example.com", "13800001111", "CNY");
+        userId = store.save(user).getId();
+    }
+
+    @Test
+    void findById_ShouldReturnDetachedCopy() {
+        User first = store.findById(userId).orElseThrow();
+        User second = store.findById(userId).orElseThrow();
+
+        first.recharge(Money.of("10.00", "CNY"));
+
+        assertNotSame(first, second);
+        assertEquals(Money.zero("CNY"), second.getBalance());
+        assertEquals(Money.zero("CNY"), store.findById(userId).orElseThrow().getBalance());
+    }
+
+    @Test
+    void findAll_ShouldReturnRowsInIdOrder() {
+        for (int i = 0; i < 100; i++) {
+            store.save(new User("user" + i, "user" + i + "@example.com", String.format("139%08d", i), "CNY"));
+        }
+
+        List<Long> ids = store.findAll(user -> true).stream().map(User::getId).toList();
+
+        assertEquals(101, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void save_WithCurrentVersion_ShouldWrite() {
+        User user = store.findById(userId).orElseThrow();
+        user.recharge(Money.of("10.00", "CNY"));
+
+        store.save(user);
+
+        User stored = store.findById(userId).orElseThrow();
+        assertEquals(Money.of("10.00", "CNY"), stored.getBalance());
+        assertEquals(user.getVersion(), stored.getVersion());
+        assertEquals(user.getVersion(), user.getPersistedVersion());
+    }
+
+    @Test
+    void save_WithStaleVersion_ShouldThrowAndKeepStoredState() {
+        User winner = store.findById(userId).orElseThrow();
+        User loser = store.findById(userId).orElseThrow();
+        winner.recharge(Money.of("10.00", "CNY"));
+        loser.recharge(Money.of("99.00", "CNY"));
+        store.save(winner);
+
+        assertThrows(VersionConflictException.class, () -> store.save(loser));
+        assertEquals(Money.of("10.00", "CNY"), store.findById(userId).orElseThrow().getBalance());
+    }
+
+    @Test
+    void save_AfterRemoval_ShouldThrowForLoadedEntity() {
+        User user = store.findById(userId).orElseThrow();
+        store.remove(userId);
+
+        assertThrows(VersionConflictException.class, () -> store.save(user));
+        assertFalse(store.existsById(userId));
+    }
+
+    @Test
+    void save_WithEntityNeverLoaded_ShouldWriteUnconditionally() {
+        User replacement = new User("bob", "bob@example.com", "13800002222", "CNY");
+        replacement.setId(userId);
+
+        store.save(replacement);
+
+        assertEquals("bob", store.findById(userId).orElseThrow().getUsername());
+    }
+
+    @Test
+    void saveAll_ShouldSaveEveryEntityInOrder() {
+        User bob = new User("bob", "bob@example.com", "13800002222", "CNY");
+        User carol = new User("carol", "carol@example.com", "13800003333", "CNY");
+
+        List<User> saved = store.saveAll(List.of(bob, carol));
+
+        assertEquals(List.of(bob, carol), saved);
+        assertTrue(bob.getId() < carol.getId());
+        assertEquals("carol", store.findById(carol.getId()).orElseThrow().getUsername());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void saveAll_WithStaleEntity_ShouldKeepEarlierSavesAndStopAtConflict() {
+        User winner = store.findById(userId).orElseThrow();
+        User stale = store.findById(userId).orElseThrow();
+        winner.recharge(Money.of("10.00", "CNY"));
+        store.save(winner);
+        User bob = new User("bob", "bob@example.com", "13800002222", "CNY");
+        User carol = new User("carol", "carol@example.com", "13800003333", "CNY");
+
+        assertThrows(VersionConflictException.class, () -> store.saveAll(List.of(bob, stale, carol)));
+
+        assertTrue(store.existsById(bob.getId()));
+        assertNull(carol.getId());
+        assertEquals(Money.of("10.00", "CNY"), store.findById(userId).orElseThrow().getBalance());
+    }
+
+    @Test
+    void findAllByIds_ShouldReturnDetachedCopiesInRequestOrder() {
+        User bob = store.save(new User("bob", "bob@example.com", "13800002222", "CNY"));
+
+        List<User> found = store.findAllByIds(Arrays.asList(bob.getId(), 404L, userId, null, bob.getId()));
+
+        assertEquals(List.of(bob.getId(), userId), found.stream().map(User::getId).toList());
+        assertNotSame(bob, found.get(0));
+        assertTrue(store.findAllByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void index_FindFirstOfEach_ShouldSkipMissingKeys() {
+        store.save(new User("bob", "bob@example.com", "13800002222", "CNY"));
+
+        List<User> found = phoneIndex.findFirstOfEach(List.of("13800002222", "13800009999", "13800001111"));
+
+        assertEquals(List.of("bob", "alice"), found.stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    void nullIds_ShouldBeTreatedAsAbsent() {
+        assertTrue(store.findById(null).isEmpty());
+        assertFalse(store.existsById(null));
+        assertNull(store.remove(null));
+    }
+
+    @Test
+    void index_ShouldFindRowsByKey() {
+        User other = store.save(new User("bob", "bob@example.com", "13800002222", "CNY"));
+
+        assertEquals(userId, emailIndex.findFirst("alice@example.com").orElseThrow().getId());
+        assertEquals(other.getId(), emailIndex.find("bob@example.com").get(0).getId());
+        assertTrue(emailIndex.contains("alice@example.com"));
+        assertFalse(emailIndex.contains("nobody@example.com"));
+        assertTrue(emailIndex.findFirst(null).isEmpty());
+        assertFalse(emailIndex.contains(null));
+    }
+
+    @Test
+    void index_WithSharedKey_ShouldReturnRowsInIdOrder() {
+        User second = new User("alice2", "alice@example.com", "13800002222", "CNY");
+        store.save(second);
+
+        List<User> rows = emailIndex.find("alice@example.com");
+
+        assertEquals(List.of(userId, second.getId()), rows.stream().map(User::getId).toList());
+        assertEquals(userId, emailIndex.findFirst("alice@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void index_ShouldFollowKeyChangesAndRemovals() {
+        User user = store.findById(userId).orElseThrow();
+        user.deactivate();
+        store.save(user);
+
+        assertFalse(statusIndex.contains(UserStatus.ACTIVE));
+        assertEquals(userId, statusIndex.findFirst(UserStatus.INACTIVE).orElseThrow().getId());
+
+        store.remove(userId);
+
+        assertFalse(statusIndex.contains(UserStatus.INACTIVE));
+        assertFalse(emailIndex.contains("alice@example.com"));
+        assertTrue(statusIndex.find(UserStatus.INACTIVE).isEmpty());
+    }
+
+    @Test
+    void index_WithRejectedSave_ShouldKeepOldKey() {
+        User winner = store.findById(userId).orElseThrow();
+        User loser = store.findById(userId).orElseThrow();
+        winner.recharge(Money.of("10.00", "CNY"));
+        loser.deactivate();
+        store.save(winner);
+
+        assertThrows(VersionConflictException.class, () -> store.save(loser));
+        assertTrue(statusIndex.contains(UserStatus.ACTIVE));
+        assertFalse(statusIndex.contains(UserStatus.INACTIVE));
+    }
+
+    @Test
+    void addIndex_AfterRowsSaved_ShouldThrow() {
+        assertThrows(IllegalStateException.class, () -> store.addIndex(User::getPhone));
+    }
+
+    @Test
+    void index_UnderConcurrentWrites_ShouldStayConsistentWithRows() throws Exception {
+        int writers = 8;
+        int rounds = 2_000;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            ids.add(store.save(new User("user" + i, "user" + i + "@example.com", "1390000000" + i, "CNY")).getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            // Writers flip their own row between the two status keys
+            for (int i = 0; i < writers; i++) {
+                Long id = ids.get(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; round++) {
+                        User user = store.findById(id).orElseThrow();
+                        if (round % 2 == 0) {
+                            user.deactivate();
+                        } else {
+                            user.activate();
+                        }
+                        store.save(user);
+                    }
+                    return null;
+                }));
+            }
+            // Readers must never get a row filed under a key it does not hold
+            for (int r = 0; r < 2; r++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        for (User user : statusIndex.find(UserStatus.INACTIVE)) {
+                            assertEquals(UserStatus.INACTIVE, user.getStatus());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < writers; i++) {
+                futures.get(i).get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every writer ended active after an even number of rounds
+        assertTrue(statusIndex.find(UserStatus.INACTIVE).isEmpty());
+        assertEquals(writers + 1, statusIndex.find(UserStatus.ACTIVE).size());
+        for (int i = 0; i < writers; i++) {
+            assertEquals(ids.get(i), emailIndex.findFirst("user" + i + "@example.com").orElseThrow().getId());
+        }
+    }
+
+    @Test
+    void uniqueIndex_WithDuplicateKey_ShouldRejectSaveAndLeaveIndexesUntouched() {
+        User duplicate = new User("mallory", "mallory@example.com", "13800001111", "CNY");
+
+        DuplicateUserException exception = assertThrows(DuplicateUserException.class, () -> store.save(duplicate));
+
+        assertTrue(exception.getMessage().contains("13800001111"));
+        assertEquals(1, store.size());
+        assertFalse(emailIndex.contains("mallory@example.com"));
+        assertEquals(userId, phoneIndex.findFirst("13800001111").orElseThrow().getId());
+    }
+
+    @Test
+    void uniqueIndex_ShouldAllowResavingSameRowAndReusingFreedKey() {
+        User user = store.findById(userId).orElseThrow();
+        user.recharge(Money.of("10.00", "CNY"));
+        store.save(user);
+        store.remove(userId);
+
+        User successor = store.save(new User("bob", "bob@example.com", "13800001111", "CNY"));
+
+        assertEquals(successor.getId(), phoneIndex.findFirst("13800001111").orElseThrow().getId());
+    }
+
+    @Test
+    void uniqueIndex_UnderConcurrentInserts_ShouldAcceptExactlyOne() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                String username = "racer" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        store.save(new User(username, username + "@example.com", "13900009999", "CNY"));
+                        accepted.incrementAndGet();
+                    } catch (DuplicateUserException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, accepted.get());
+        assertEquals(threads - 1, rejected.get());
+        assertEquals(1, phoneIndex.find("13900009999").size());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void sortedIndex_ShouldReturnInclusiveRangeInKeyOrder() {
+        InMemoryEntityStore<User> users = new InMemoryEntityStore<>();
+        InMemoryEntityStore.SortedIndex<User, String> byName =
+            users.addSortedIndex(User::getUsername, Comparator.naturalOrder());
+        for (String name : List.of("dave", "bob", "carol", "alice", "bob")) {
+            users.save(new User(name, name + users.size() + "@example.com", "1380000000" + users.size(), "CNY"));
+        }
+
+        List<String> names = byName.range("bob", "carol").stream().map(User::getUsername).toList();
+
+        assertEquals(List.of("bob", "bob", "carol"), names);
+        assertTrue(byName.range("carol", "bob").isEmpty());
+    }
+
+    @Test
+    void sortedIndex_ShouldFollowKeyChangesAndRemovals() {
+        InMemoryEntityStore<User> users = new InMemoryEntityStore<>();
+        InMemoryEntityStore.SortedIndex<User, UserStatus> byStatus =
+            users.addSortedIndex(User::getStatus, Comparator.naturalOrder());
+        User user = users.save(new User("alice", "alice@example.com", "13800001111", "CNY"));
+
+        User loaded = users.findById(user.getId()).orElseThrow();
+        loaded.deactivate();
+        users.save(loaded);
+
+        assertTrue(byStatus.range(UserStatus.ACTIVE, UserStatus.ACTIVE).isEmpty());
+        assertEquals(1, byStatus.range(UserStatus.INACTIVE, UserStatus.INACTIVE).size());
+
+        users.remove(user.getId());
+
+        assertTrue(byStatus.range(UserStatus.ACTIVE, UserStatus.INACTIVE).isEmpty());
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecommerce.infrastructure.repository.mock;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderItem;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.settlement.Settlement;
+import com.ecommerce.domain.user.DuplicateUserException;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mock repositories over a write-ahead journal, restarted by reopening the journal directory
+ */
+class JournaledRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private WriteAheadJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void restart_ShouldRestoreUsersWithoutReseedingDemoData() {
+        journal = new WriteAheadJournal(directory, 0, true);
+        MockUserRepository users = new MockUserRepository(journal);
+        User dave = new User("dave", "dave@example.com", "13800004444", "CNY");
+        dave.recharge(Money.of("42.00", "CNY"));
+        users.save(dave);
+        users.deleteById(2L);
+
+        MockUserRepository restarted = new MockUserRepository(restart());
+
+        assertEquals(3, restarted.count());
+        assertFalse(restarted.existsById(2L));
+        User restored = restarted.findByEmail("dave@example.com").orElseThrow();
+        assertEquals(dave.getId(), restored.getId());
+        assertEquals(Money.of("42.00", "CNY"), restored.getBalance());
+        assertEquals(dave.getVersion(), restored.getPersistedVersion());
+        // Unique indexes and the id sequence are rebuilt as well
+        assertThrows(DuplicateUserException.class,
+            () -> restarted.save(new User("dave2", "dave@example.com", "13800005555", "CNY")));
+        assertTrue(restarted.save(new User("erin", "erin@example.com", "13800006666", "CNY")).getId() > dave.getId());
+    }
+
+    @Test
+    void restart_ShouldRestoreOrdersWithItemsAndIndexes() {
+        journal = new WriteAheadJournal(directory, 0, true);
+        MockOrderRepository orders = new MockOrderRepository(journal);
+        Order order = new Order("ORD-J1", 1L, 2L);
+        order.addOrderItem("PHONE-001", "iPhone 16 Pro", Money.of("7999.00", "CNY"), 2);
+        order.confirm();
+        order.processPayment();
+        order.complete();
+        orders.save(order);
+
+        MockOrderRepository restarted = new MockOrderRepository(restart());
+
+        Order restored = restarted.findByOrderNumber("ORD-J1").orElseThrow();
+        assertEquals(OrderStatus.COMPLETED, restored.getStatus());
+        assertEquals(Money.of("15998.00", "CNY"), restored.getTotalAmount());
+        OrderItem item = restored.getItems().get(0);
+        assertEquals(2, item.getQuantity());
+        assertSame(restored, item.getOrder());
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> completed = restarted.findByMerchantIdAndStatusAndOrderTimeBetween(
+            2L, OrderStatus.COMPLETED, now.minusHours(1), now.plusHours(1));
+        assertEquals(1, completed.size());
+    }
+
+    @Test
+    void restart_ShouldRestoreProductsAndSettlements() {
+        journal = new WriteAheadJournal(directory, 0, true);
+        MockProductRepository products = new MockProductRepository(journal);
+        MockSettlementRepository settlements = new MockSettlementRepository(journal);
+        Product phone = products.findBySku("PHONE-001").orElseThrow();
+        phone.reduceInventory(5);
+        products.save(phone);
+        Settlement settlement = new Settlement(1L, LocalDate.of(2025, 3, 1),
+            Money.of("100.00", "CNY"), Money.of("100.00", "CNY"));
+        settlements.save(settlement);
+
+        WriteAheadJournal reopened = restart();
+        MockProductRepository restartedProducts = new MockProductRepository(reopened);
+        MockSettlementRepository restartedSettlements = new MockSettlementRepository(reopened);
+
+        assertEquals(6, restartedProducts.findAll().size());
+        assertEquals(45, restartedProducts.findBySku("PHONE-001").orElseThrow().getAvailableInventory());
+        assertEquals(LocalDate.of(2025, 3, 1),
+            restartedSettlements.findById(settlement.getId()).orElseThrow().getSettlementDate());
+    }
+
+    @Test
+    void saveAll_ShouldJournalEveryProductForRestart() {
+        journal = new WriteAheadJournal(directory, 0, true);
+        MockProductRepository products = new MockProductRepository(journal);
+        List<Product> restocked = products.findAllBySkus(List.of("PHONE-001", "BOOK-001", "HEADPHONE-001"));
+        restocked.forEach(product -> product.addInventory(7));
+
+        products.saveAll(restocked);
+
+        MockProductRepository restarted = new MockProductRepository(restart());
+        assertEquals(57, restarted.findBySku("PHONE-001").orElseThrow().getAvailableInventory());
+        assertEquals(107, restarted.findBySku("BOOK-001").orElseThrow().getAvailableInventory());
+        assertEquals(67, restarted.findBySku("HEADPHONE-001").orElseThrow().getAvailableInventory());
+    }
+
+    @Test
+    void restart_FromSnapshot_ShouldRestoreImageAndLaterChanges() throws IOException {
+        journal = new WriteAheadJournal(directory, 0, true);
+        MockUserRepository users = new MockUserRepository(journal);
+        User dave = users.save(new User("dave", "dave@example.com", "13800004444", "CNY"));
+        User temp = users.save(new User("temp", "temp@example.com", "13800007777", "CNY"));
+        users.deleteById(temp.getId());
+        journal.snapshot();
+        dave.recharge(Money.of("42.00", "CNY"));
+        users.save(dave);
+        users.deleteById(1L);
+
+        MockUserRepository restarted = new MockUserRepository(restart());
+
+        assertEquals(3, restarted.count());
+        assertFalse(restarted.existsById(1L));
+        assertEquals(Money.of("42.00", "CNY"), restarted.findByPhone("13800004444").orElseThrow().getBalance());
+        assertTrue(restarted.save(new User("erin", "erin@example.com", "13800006666", "CNY")).getId() > temp.getId());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("journal-00000000000000000002.wal", "snapshot-00000000000000000002.snap"),
+                files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    void snapshot_WhileUsersAreUpdated_ShouldRestoreFinalState() throws Exception {
+        journal = new WriteAheadJournal(directory, 0, false);
+        MockUserRepository users = new MockUserRepository(journal);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(users.save(new User("user" + i, "user" + i + "@example.com",
+                String.format("1390000%04d", i), "CNY")).getId());
+        }
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                List<Long> own = ids.subList(t * 10, t * 10 + 10);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 50; round++) {
+                        for (Long id : own) {
+                            User user = users.findById(id).orElseThrow();
+                            user.recharge(Money.of("1.00", "CNY"));
+                            users.save(user);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            journal.snapshot();
+            journal.snapshot();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        MockUserRepository restarted = new MockUserRepository(restart());
+
+        for (Long id : ids) {
+            User restored = restarted.findById(id).orElseThrow();
+            assertEquals(Money.of("50.00", "CNY"), restored.getBalance());
+            assertEquals(users.findById(id).orElseThrow().getVersion(), restored.getVersion());
+        }
+    }
+
+    private WriteAheadJournal restart() {
+        journal.close();
+        journal = new WriteAheadJournal(directory, 0, true);
+        return journal;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.infrastructure.repository.mock;
+
+import com.ecommerce.domain.merchant.DuplicateMerchantException;
+import com.ecommerce.domain.merchant.Merchant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockMerchantRepositoryTest {
+
+    private MockMerchantRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MockMerchantRepository();
+    }
+
+    @Test
+    void findByBusinessLicenseAndContactEmail_ShouldReturnDemoMerchants() {
+        assertEquals("Apple Store", repository.findByBusinessLicense("LICENSE-001").orElseThrow().getMerchantName());
+        assertEquals("Tech Books Store", repository.findByContactEmail("books@tech.com").orElseThrow().getMerchantName());
+        assertTrue(repository.existsByBusinessLicense("LICENSE-002"));
+        assertTrue(repository.existsByContactEmail("apple@store.com"));
+        assertFalse(repository.existsByBusinessLicense("LICENSE-999"));
+        assertTrue(repository.findByContactEmail(null).isEmpty());
+    }
+
+    @Test
+    void save_WithDuplicateBusinessLicense_ShouldThrow() {
+        Merchant duplicate = new Merchant("Copy Store", "LICENSE-001", "copy@store.com", "400-000-0000");
+
+        assertThrows(DuplicateMerchantException.class, () -> repository.save(duplicate));
+        assertFalse(repository.existsByContactEmail("copy@store.com"));
+    }
+
+    @Test
+    void save_WithDuplicateContactEmail_ShouldThrow() {
+        Merchant duplicate = new Merchant("Copy Store", "LICENSE-003", "apple@store.com", "400-000-0000");
+
+        assertThrows(DuplicateMerchantException.class, () -> repository.save(duplicate));
+        assertFalse(repository.existsByBusinessLicense("LICENSE-003"));
+    }
+
+    @Test
+    void save_WithUpdatedMerchant_ShouldKeepItsOwnKeys() {
+        Merchant merchant = repository.findByBusinessLicense("LICENSE-001").orElseThrow();
+        merchant.deactivate();
+
+        repository.save(merchant);
+
+        assertFalse(repository.findByBusinessLicense("LICENSE-001").orElseThrow().isActive());
+        assertEquals(1, repository.findAllActive().size());
+    }
+}
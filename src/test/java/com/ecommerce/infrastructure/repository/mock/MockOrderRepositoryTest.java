@@ -2,6 +2,7 @@ package com.ecommerce.infrastructure.repository.mock;
 
 import com.ecommerce.domain.order.Order;
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderTotals;
 import com.ecommerce.domain.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -234,6 +235,33 @@ class MockOrderRepositoryTest {
         assertTrue(completedOrders.isEmpty());
     }
 
+    @Test
+    void sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween_ShouldCountAndSumMatchingOrders() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order("ORD-SUM-" + i, 1L, 5L);
+            order.addOrderItem("SKU001", "Product", Money.of("100.00", "CNY"), i + 1);
+            order.confirm();
+            order.processPayment();
+            order.complete();
+            repository.save(order);
+        }
+        Order pending = new Order("ORD-SUM-P", 1L, 5L);
+        pending.addOrderItem("SKU001", "Product", Money.of("100.00", "CNY"), 9);
+        repository.save(pending);
+
+        // When
+        OrderTotals totals = repository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(
+            5L, OrderStatus.COMPLETED, now.minusHours(1), now.plusHours(1));
+
+        // Then
+        assertEquals(3, totals.orderCount());
+        assertEquals(Money.of("600.00", "CNY"), totals.totalAmount());
+        assertEquals(OrderTotals.none(), repository.sumTotalAmountByMerchantIdAndStatusAndOrderTimeBetween(
+            6L, OrderStatus.COMPLETED, now.minusHours(1), now.plusHours(1)));
+    }
+
     @Test
     void deleteById_WithExistingId_ShouldRemoveOrder() {
         // Given
@@ -583,4 +611,91 @@ class MockOrderRepositoryTest {
         assertTrue(repository.existsByOrderNumber("ORD-029"));
         assertTrue(repository.existsByOrderNumber("ORD-030"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findByMerchantIdAndStatusAndOrderTimeBetween_ShouldFollowStatusChanges() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Order order = new Order("ORD-101", 1L, 2L);
+        order.addOrderItem("SKU001", "Product", Money.of("100.00", "CNY"), 1);
+        order.confirm();
+        order.processPayment();
+        repository.save(order);
+        assertEquals(1, repository.findByMerchantIdAndStatusAndOrderTimeBetween(
+            2L, OrderStatus.PAID, now.minusHours(1), now.plusHours(1)).size());
+
+        // When
+        Order loaded = repository.findById(order.getId()).orElseThrow();
+        loaded.complete();
+        repository.save(loaded);
+
+        // Then
+        assertTrue(repository.findByMerchantIdAndStatusAndOrderTimeBetween(
+            2L, OrderStatus.PAID, now.minusHours(1), now.plusHours(1)).isEmpty());
+        assertEquals(List.of("ORD-101"), repository.findByMerchantIdAndStatusAndOrderTimeBetween(
+            2L, OrderStatus.COMPLETED, now.minusHours(1), now.plusHours(1)).stream()
+            .map(Order::getOrderNumber).toList());
+    }
+
+    @Test
+    void findByMerchantIdAndStatusAndOrderTimeBetween_ShouldIncludeBoundsAndExcludeOtherMerchants() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+        repository.save(orderAt("ORD-201", 2L, base.minusSeconds(1)));
+        repository.save(orderAt("ORD-202", 2L, base));
+        repository.save(orderAt("ORD-203", 2L, base.plusHours(12)));
+        repository.save(orderAt("ORD-204", 2L, base.plusDays(1)));
+        repository.save(orderAt("ORD-205", 2L, base.plusDays(1).plusSeconds(1)));
+        repository.save(orderAt("ORD-206", 3L, base.plusHours(12)));
+
+        // When
+        List<Order> orders = repository.findByMerchantIdAndStatusAndOrderTimeBetween(
+            2L, OrderStatus.PENDING, base, base.plusDays(1));
+
+        // Then
+        assertEquals(List.of("ORD-202", "ORD-203", "ORD-204"),
+            orders.stream().map(Order::getOrderNumber).toList());
+    }
+
+    @Test
+    void findByMerchantIdAndOrderTimeBetween_ShouldMergeStatusesInTimeOrder() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+        Order cancelled = orderAt("ORD-301", 2L, base.plusHours(3));
+        cancelled.cancel("Changed mind");
+        repository.save(cancelled);
+        repository.save(orderAt("ORD-302", 2L, base.plusHours(1)));
+        Order confirmed = orderAt("ORD-303", 2L, base.plusHours(2));
+        confirmed.confirm();
+        repository.save(confirmed);
+
+        // When
+        List<Order> orders = repository.findByMerchantIdAndOrderTimeBetween(2L, base, base.plusDays(1));
+
+        // Then
+        assertEquals(List.of("ORD-302", "ORD-303", "ORD-301"),
+            orders.stream().map(Order::getOrderNumber).toList());
+    }
+
+    @Test
+    void findByMerchantIdAndStatusAndOrderTimeBetween_WithInvertedRange_ShouldReturnEmptyList() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(orderAt("ORD-401", 2L, now));
+
+        assertTrue(repository.findByMerchantIdAndStatusAndOrderTimeBetween(
+            2L, OrderStatus.PENDING, now.plusHours(1), now.minusHours(1)).isEmpty());
+    }
+
+    private static Order orderAt(String orderNumber, Long merchantId, LocalDateTime orderTime) {
+        Order order = new Order(orderNumber, 1L, merchantId);
+        order.addOrderItem("SKU001", "Product", Money.of("100.00", "CNY"), 1);
+        try {
+            java.lang.reflect.Field field = Order.class.getDeclaredField("orderTime");
+            field.setAccessible(true);
+            field.set(order, orderTime);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return order;
+    }
+}
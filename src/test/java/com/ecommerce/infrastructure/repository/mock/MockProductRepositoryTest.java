@@ -61,6 +61,30 @@ class MockProductRepositoryTest {
         assertEquals(6, repository.findAll().size()); // Count should remain the same
     }
 
+    @Test
+    void findAllBySkus_ShouldReturnExistingProductsInRequestOrder() {
+        // When
+        List<Product> products = repository.findAllBySkus(List.of("BOOK-001", "MISSING", "PHONE-001"));
+        
+        // Then
+        assertEquals(List.of("BOOK-001", "PHONE-001"), products.stream().map(Product::getSku).toList());
+    }
+
+    @Test
+    void saveAll_AndFindAllByIds_ShouldRoundTripProducts() {
+        // Given
+        Product first = new Product("BULK-001", "Bulk One", "Description", Money.of("10.00", "CNY"), 1L, 5);
+        Product second = new Product("BULK-002", "Bulk Two", "Description", Money.of("20.00", "CNY"), 1L, 5);
+        
+        // When
+        repository.saveAll(List.of(first, second));
+        List<Product> found = repository.findAllByIds(List.of(second.getId(), first.getId()));
+        
+        // Then
+        assertEquals(List.of("BULK-002", "BULK-001"), found.stream().map(Product::getSku).toList());
+        assertEquals(8, repository.findAll().size());
+    }
+
     @Test
     void findById_WithExistingId_ShouldReturnProduct() {
         // When
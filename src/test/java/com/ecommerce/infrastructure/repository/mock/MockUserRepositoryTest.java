@@ -1,5 +1,6 @@
 package com.ecommerce.infrastructure.repository.mock;
 
+import com.ecommerce.domain.user.DuplicateUserException;
 import com.ecommerce.domain.user.User;
 import com.ecommerce.domain.Money;
 import org.junit.jupiter.api.BeforeEach;
@@ -152,4 +153,24 @@ class MockUserRepositoryTest {
         assertTrue(MockUserRepository.class.isAnnotationPresent(org.springframework.stereotype.Repository.class));
         assertTrue(MockUserRepository.class.isAnnotationPresent(org.springframework.context.annotation.Profile.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findByPhoneAndEmail_ShouldUseIndexes() {
+        assertEquals("alice", repository.findByPhone("13800001111").orElseThrow().getUsername());
+        assertEquals("bob", repository.findByEmail("bob@example.com").orElseThrow().getUsername());
+        assertTrue(repository.existsByPhone("13800003333"));
+        assertFalse(repository.existsByEmail("nobody@example.com"));
+        assertTrue(repository.findByPhone(null).isEmpty());
+    }
+
+    @Test
+    void save_WithDuplicatePhoneOrEmail_ShouldThrow() {
+        assertThrows(DuplicateUserException.class,
+            () -> repository.save(new User("alice2", "alice2@example.com", "13800001111", "CNY")));
+        assertThrows(DuplicateUserException.class,
+            () -> repository.save(new User("alice3", "alice@example.com", "13800009999", "CNY")));
+
+        assertEquals(3, repository.count());
+        assertFalse(repository.existsByPhone("13800009999"));
+    }
+}
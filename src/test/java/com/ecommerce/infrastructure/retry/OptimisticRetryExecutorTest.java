@@ -0,0 +1,110 @@
+package com.ecommerce.infrastructure.retry;
+
+import com.ecommerce.domain.VersionConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryExecutor = new OptimisticRetryExecutor(meterRegistry, 3, 0, 0, 0.2);
+    }
+
+    @Test
+    void execute_WithoutConflict_ShouldRunOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute("test", () -> {
+            calls.incrementAndGet();
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, calls.get());
+        assertEquals(0.0, count("ecommerce.optimistic.conflicts"));
+    }
+
+    @Test
+    void execute_WithTransientConflict_ShouldRetryAndSucceed() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new VersionConflictException("conflict");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, count("ecommerce.optimistic.conflicts"));
+        assertEquals(2.0, count("ecommerce.optimistic.retries"));
+        assertEquals(0.0, count("ecommerce.optimistic.exhausted"));
+    }
+
+    @Test
+    void execute_WithPersistentConflict_ShouldStopAtMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(VersionConflictException.class, () -> retryExecutor.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new VersionConflictException("conflict");
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, count("ecommerce.optimistic.exhausted"));
+    }
+
+    @Test
+    void execute_WithOtherException_ShouldNotRetry() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retryExecutor.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, count("ecommerce.optimistic.conflicts"));
+    }
+
+    @Test
+    void execute_WhenBudgetIsSpent_ShouldFailFast() {
+        OptimisticRetryExecutor noBudget = new OptimisticRetryExecutor(meterRegistry, 5, 0, 0, 0.0);
+        // Drain the initial budget
+        while (noBudget.getAvailableRetryBudget() > 0) {
+            assertThrows(VersionConflictException.class, () -> noBudget.execute("drain", () -> {
+                throw new VersionConflictException("conflict");
+            }));
+        }
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(VersionConflictException.class, () -> noBudget.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new VersionConflictException("conflict");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void constructor_WithInvalidMaxAttempts_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new OptimisticRetryExecutor(meterRegistry, 0, 1, 1, 0.1));
+    }
+
+    private double count(String name) {
+        var counter = meterRegistry.find(name).tag("operation", "test").counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+}
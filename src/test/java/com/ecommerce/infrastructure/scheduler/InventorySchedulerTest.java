@@ -0,0 +1,101 @@
+package com.ecommerce.infrastructure.scheduler;
+
+import com.ecommerce.application.service.ProductService;
+import com.ecommerce.application.service.ReservationService;
+import com.ecommerce.infrastructure.inventory.InventoryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventorySchedulerTest {
+
+    @Mock
+    private InventoryCounter inventoryCounter;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    private InventoryScheduler inventoryScheduler;
+
+    @BeforeEach
+    void setUp() {
+        inventoryScheduler = new InventoryScheduler(inventoryCounter, productService, reservationService);
+    }
+
+    @Test
+    void rebalanceHotSkus_ShouldRebalanceCells() {
+        inventoryScheduler.rebalanceHotSkus();
+
+        verify(inventoryCounter, times(1)).rebalanceHotCells();
+    }
+
+    @Test
+    void rebalanceHotSkus_WithException_ShouldHandleException() {
+        doThrow(new RuntimeException("Rebalance failed")).when(inventoryCounter).rebalanceHotCells();
+
+        assertDoesNotThrow(() -> inventoryScheduler.rebalanceHotSkus());
+    }
+
+    @Test
+    void flushHotSkus_ShouldFlushThroughProductService() {
+        when(productService.flushHotInventory()).thenReturn(2);
+
+        inventoryScheduler.flushHotSkus();
+
+        verify(productService, times(1)).flushHotInventory();
+    }
+
+    @Test
+    void flushHotSkus_WithException_ShouldHandleException() {
+        when(productService.flushHotInventory()).thenThrow(new RuntimeException("Flush failed"));
+
+        assertDoesNotThrow(() -> inventoryScheduler.flushHotSkus());
+    }
+
+    @Test
+    void expireReservations_ShouldAdvanceExpiryWheel() {
+        when(reservationService.expireDueReservations()).thenReturn(3);
+
+        inventoryScheduler.expireReservations();
+
+        verify(reservationService, times(1)).expireDueReservations();
+    }
+
+    @Test
+    void expireReservations_WithException_ShouldHandleException() {
+        when(reservationService.expireDueReservations()).thenThrow(new RuntimeException("Expiry failed"));
+
+        assertDoesNotThrow(() -> inventoryScheduler.expireReservations());
+    }
+
+    @Test
+    void scheduledMethods_ShouldHaveScheduledAnnotation() throws NoSuchMethodException {
+        assertTrue(InventoryScheduler.class.getMethod("rebalanceHotSkus").isAnnotationPresent(Scheduled.class));
+        assertTrue(InventoryScheduler.class.getMethod("flushHotSkus").isAnnotationPresent(Scheduled.class));
+        assertTrue(InventoryScheduler.class.getMethod("expireReservations").isAnnotationPresent(Scheduled.class));
+    }
+
+    @Test
+    void scheduler_ShouldOnlyBeCreatedWhenEnabled() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withBean(InventoryCounter.class, () -> inventoryCounter)
+                .withBean(ProductService.class, () -> productService)
+                .withBean(ReservationService.class, () -> reservationService)
+                .withUserConfiguration(InventoryScheduler.class);
+
+        contextRunner.run(context -> assertEquals(1, context.getBeansOfType(InventoryScheduler.class).size()));
+        contextRunner.withPropertyValues("ecommerce.inventory.scheduler.enabled=false")
+                .run(context -> assertTrue(context.getBeansOfType(InventoryScheduler.class).isEmpty()));
+    }
+}
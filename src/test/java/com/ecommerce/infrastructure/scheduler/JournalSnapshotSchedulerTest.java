@@ -0,0 +1,63 @@
+package com.ecommerce.infrastructure.scheduler;
+
+import com.ecommerce.infrastructure.repository.journal.WriteAheadJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalSnapshotSchedulerTest {
+
+    @Mock
+    private WriteAheadJournal journal;
+
+    private JournalSnapshotScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new JournalSnapshotScheduler(journal, 1000);
+    }
+
+    @Test
+    void takeSnapshot_WithEnoughNewRecords_ShouldSnapshot() {
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.getRecordsSinceSnapshot()).thenReturn(1000L);
+
+        scheduler.takeSnapshot();
+
+        verify(journal).snapshot();
+    }
+
+    @Test
+    void takeSnapshot_WithFewNewRecords_ShouldSkip() {
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.getRecordsSinceSnapshot()).thenReturn(999L);
+
+        scheduler.takeSnapshot();
+
+        verify(journal, never()).snapshot();
+    }
+
+    @Test
+    void takeSnapshot_WithDisabledJournal_ShouldSkip() {
+        when(journal.isEnabled()).thenReturn(false);
+
+        scheduler.takeSnapshot();
+
+        verify(journal, never()).snapshot();
+    }
+
+    @Test
+    void takeSnapshot_WithException_ShouldHandleException() {
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.getRecordsSinceSnapshot()).thenReturn(5000L);
+        when(journal.snapshot()).thenThrow(new IllegalStateException("disk full"));
+
+        assertDoesNotThrow(() -> scheduler.takeSnapshot());
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.infrastructure.scheduler;
+
+import com.ecommerce.application.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexSchedulerTest {
+
+    @Mock
+    private ProductService productService;
+
+    private SearchIndexScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SearchIndexScheduler(productService);
+    }
+
+    @Test
+    void reloadSearchIndexes_ShouldReloadFromCatalog() {
+        scheduler.reloadSearchIndexes();
+
+        verify(productService).reloadSearchIndexes();
+    }
+
+    @Test
+    void reloadSearchIndexes_WithException_ShouldHandleException() {
+        doThrow(new IllegalStateException("database down")).when(productService).reloadSearchIndexes();
+
+        assertDoesNotThrow(() -> scheduler.reloadSearchIndexes());
+    }
+}
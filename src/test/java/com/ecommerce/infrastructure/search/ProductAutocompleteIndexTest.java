@@ -0,0 +1,196 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.infrastructure.search.ProductAutocompleteIndex.Suggestion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductAutocompleteIndexTest {
+
+    private ProductAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductAutocompleteIndex();
+        index.loadIfNeeded(() -> List.of(
+            product(1L, "PHONE-001", "iPhone 15 Pro"),
+            product(2L, "PHONE-002", "iPhone 15"),
+            product(3L, "IPAD-001", "iPad Air"),
+            product(4L, "BOOK-001", "Java Programming")));
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void suggest_ShouldReturnNamesAndSkusStartingWithPrefixInKeyOrder() {
+        assertEquals(List.of(3L, 2L, 1L), ids(index.suggest("IP", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.suggest("phone-", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.suggest("iphone 15", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("iphone 15 p", 10)));
+    }
+
+    @Test
+    void suggest_ShouldStopAtLimit() {
+        assertEquals(List.of(3L, 2L), ids(index.suggest("i", 2)));
+    }
+
+    @Test
+    void suggest_ShouldListProductMatchingByNameAndSkuOnce() {
+        index.index(product(5L, "JAVA-002", "Java Concurrency"));
+
+        assertEquals(List.of(5L, 4L), ids(index.suggest("java", 10)));
+    }
+
+    @Test
+    void suggest_WithUnknownPrefix_ShouldReturnNothing() {
+        assertEquals(List.of(), index.suggest("iphone 16", 10));
+        assertEquals(List.of(), index.suggest("x", 10));
+        assertEquals(List.of(), index.suggest("ipad", 0));
+    }
+
+    @Test
+    void suggest_ShouldReturnNameAndSkuAsSaved() {
+        assertEquals(List.of(new Suggestion(3L, "IPAD-001", "iPad Air")), index.suggest("ipad-", 10));
+    }
+
+    @Test
+    void index_Deactivated_ShouldDropProductUntilReactivated() {
+        Product ipad = product(3L, "IPAD-001", "iPad Air");
+        ipad.deactivate();
+        index.index(ipad);
+
+        assertEquals(List.of(2L, 1L), ids(index.suggest("i", 10)));
+        assertEquals(3, index.activeCount());
+
+        ipad.activate();
+        index.index(ipad);
+        assertEquals(List.of(3L, 2L, 1L), ids(index.suggest("i", 10)));
+        assertEquals(4, index.activeCount());
+    }
+
+    @Test
+    void loadIfNeeded_WhenProductSavedWhileReadingCatalog_ShouldKeepNewerState() {
+        ProductAutocompleteIndex loading = new ProductAutocompleteIndex();
+        Product inactive = product(3L, "IPAD-001", "iPad Air");
+        inactive.deactivate();
+
+        loading.loadIfNeeded(() -> {
+            // The reactivation commits after the catalog row was read as inactive
+            loading.index(product(3L, "IPAD-001", "iPad Air"));
+            return List.of(inactive);
+        });
+
+        assertEquals(List.of(3L), ids(loading.suggest("ipad", 10)));
+        assertEquals(1, loading.activeCount());
+    }
+
+    @Test
+    void reload_ShouldApplyProductsChangedByAnotherInstance() {
+        Product deactivated = product(3L, "IPAD-001", "iPad Air");
+        deactivated.deactivate();
+
+        index.reload(() -> List.of(
+            product(1L, "PHONE-001", "iPhone 15 Pro"),
+            product(2L, "PHONE-002", "iPhone 15"),
+            deactivated,
+            product(4L, "BOOK-001", "Java Programming"),
+            product(5L, "IPOD-001", "iPod Touch")));
+
+        assertEquals(List.of(5L), ids(index.suggest("ipo", 10)));
+        assertEquals(List.of(), ids(index.suggest("ipad", 10)));
+        assertEquals(4, index.activeCount());
+    }
+
+    @Test
+    void index_InsideTransaction_ShouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.index(product(5L, "TAB-001", "Tablet"));
+        assertEquals(List.of(), index.suggest("tab", 10));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(5L), ids(index.suggest("tab", 10)));
+    }
+
+    @Test
+    void suggest_ShouldMatchSortedScanOverRandomKeys() {
+        ProductAutocompleteIndex randomIndex = new ProductAutocompleteIndex();
+        Random random = new Random(7);
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            Product product = product(id, "S" + randomKey(random), randomKey(random));
+            if (random.nextInt(5) == 0) {
+                product.deactivate();
+            }
+            products.add(product);
+        }
+        randomIndex.loadIfNeeded(() -> products);
+
+        for (int i = 0; i < 500; i++) {
+            String prefix = randomKey(random).substring(0, 1 + random.nextInt(3));
+            assertEquals(scan(products, prefix, 8), ids(randomIndex.suggest(prefix, 8)), prefix);
+        }
+    }
+
+    // First limit active products by their smallest matching key, as the trie walk orders them
+    private static List<Long> scan(List<Product> products, String prefix, int limit) {
+        return products.stream()
+                .filter(Product::isActive)
+                .filter(product -> product.getName().toLowerCase().startsWith(prefix)
+                        || product.getSku().toLowerCase().startsWith(prefix))
+                .sorted(Comparator.comparing((Product product) -> smallestKey(product, prefix))
+                        .thenComparing(Product::getId, Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Product::getId)
+                .toList();
+    }
+
+    private static String smallestKey(Product product, String prefix) {
+        String name = product.getName().toLowerCase();
+        String sku = product.getSku().toLowerCase();
+        if (!name.startsWith(prefix)) {
+            return sku;
+        }
+        if (!sku.startsWith(prefix)) {
+            return name;
+        }
+        return name.compareTo(sku) <= 0 ? name : sku;
+    }
+
+    // Keys over a small alphabet, so they share long prefixes and split edges often
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            key.append("abs".charAt(random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+
+    private static Product product(Long id, String sku, String name) {
+        Product product = new Product(sku, name, "Description", Money.of("10.00", "CNY"), 1L, 10);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,338 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.Money;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Field;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Filter;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Page;
+import com.ecommerce.infrastructure.search.ProductSearchIndex.Sort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private static final Set<Field> NAME_AND_DESCRIPTION = EnumSet.of(Field.NAME, Field.DESCRIPTION);
+    private static final Set<Field> ALL_FIELDS = EnumSet.allOf(Field.class);
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.loadIfNeeded(() -> List.of(
+            product(1L, "PHONE-001", "iPhone 15 Pro", "Latest iPhone with advanced features", 1L),
+            product(2L, "BOOK-001", "Java Programming", "Comprehensive Java guide", 2L),
+            product(3L, "LAPTOP-001", "MacBook Pro", "Apple laptop, 16-inch display", 1L),
+            product(4L, "CASE-002", "Phone case", "Fits iPhone 15 (all models)", 2L)));
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_ShouldMatchWholeWordsIgnoringCase() {
+        assertEquals(List.of(2L), index.search("JAVA", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void search_ShouldMatchInsideWords() {
+        assertEquals(List.of(1L, 4L), index.search("hone", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(2L), index.search("rogram", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void search_ShouldMatchAcrossWordsAndPunctuation() {
+        assertEquals(List.of(1L), index.search("e 15 p", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(3L), index.search("p, 16-in", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(4L), index.search("15 (all", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void search_WithShortQuery_ShouldCheckEveryProduct() {
+        assertEquals(List.of(1L, 4L), index.search("15", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(3L), index.search(", ", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(4L), index.search("(", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void search_ShouldVerifyCandidatesHoldingEveryTrigram() {
+        // Product 3 holds "lap" (laptop) and "app", "ppl", "ple" (apple) but not "lapple"
+        assertEquals(List.of(), index.search("lapple", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(3L), index.search("apple lap", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void search_ShouldNotMatchAcrossFields() {
+        // Name of product 2 ends in "ing", its description starts with "com"
+        assertEquals(List.of(), index.search("ingcom", ALL_FIELDS, Filter.any()));
+    }
+
+    @Test
+    void search_ShouldOnlyMatchRequestedFields() {
+        assertEquals(List.of(), index.search("laptop-0", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(3L), index.search("laptop-0", ALL_FIELDS, Filter.any()));
+        assertEquals(List.of(3L), index.search("laptop", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void search_WithMerchant_ShouldOnlyReturnItsProducts() {
+        assertEquals(List.of(1L, 3L), index.search("pro", NAME_AND_DESCRIPTION, Filter.merchant(1L)));
+        assertEquals(List.of(2L, 4L), index.search("o", ALL_FIELDS, Filter.merchant(2L)));
+    }
+
+    @Test
+    void filter_ShouldIntersectFacets() {
+        Product soldOut = product(5L, "PHONE-003", "iPhone 14", "Previous iPhone", 1L);
+        soldOut.reduceInventory(10);
+        Product inactive = product(6L, "PHONE-004", "iPhone 13", "Older iPhone", 1L);
+        inactive.deactivate();
+        index.index(soldOut);
+        index.index(inactive);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), index.filter(Filter.any()));
+        assertEquals(List.of(1L, 3L, 5L, 6L), index.filter(Filter.merchant(1L)));
+        assertEquals(List.of(1L, 3L), index.filter(Filter.available(1L)));
+        assertEquals(List.of(6L), index.filter(new Filter(1L, ProductStatus.INACTIVE, null)));
+        assertEquals(List.of(5L), index.filter(new Filter(null, null, false)));
+        assertEquals(List.of(), index.filter(Filter.merchant(9L)));
+    }
+
+    @Test
+    void search_WithFilter_ShouldOnlyReturnMatchingFacets() {
+        Product soldOut = product(5L, "PHONE-003", "iPhone 14", "Previous iPhone", 1L);
+        soldOut.reduceInventory(10);
+        index.index(soldOut);
+
+        assertEquals(List.of(1L, 4L, 5L), index.search("iphone", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(List.of(1L, 4L), index.search("iphone", NAME_AND_DESCRIPTION, Filter.available(null)));
+        assertEquals(List.of(1L), index.search("ip", NAME_AND_DESCRIPTION, Filter.available(1L)));
+    }
+
+    @Test
+    void index_ShouldMoveSavedProductBetweenFacets() {
+        Product phone = product(1L, "PHONE-001", "iPhone 15 Pro", "Latest iPhone with advanced features", 1L);
+        phone.reduceInventory(10);
+        index.index(phone);
+        assertEquals(List.of(3L), index.filter(Filter.available(1L)));
+
+        phone.addInventory(5);
+        index.index(phone);
+        assertEquals(List.of(1L, 3L), index.filter(Filter.available(1L)));
+
+        phone.deactivate();
+        index.index(phone);
+        assertEquals(List.of(3L), index.filter(Filter.available(1L)));
+        assertEquals(List.of(1L), index.filter(new Filter(null, ProductStatus.INACTIVE, true)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void page_ShouldWalkPagesInSortOrderWithTiesById() {
+        ProductSearchIndex sorted = new ProductSearchIndex();
+        sorted.loadIfNeeded(() -> List.of(
+            product(1L, "Walnut desk", "199.00", 5),
+            product(2L, "oak chair", "49.50", 0),
+            product(3L, "Glass lamp", "49.50", 12),
+            product(4L, "Brass mirror", "89.00", 5),
+            product(5L, "linen rug", "120.00", 5)));
+
+        Page first = sorted.page(null, ALL_FIELDS, Filter.any(), Sort.PRICE, null, 2);
+        assertEquals(List.of(2L, 3L), first.ids());
+        assertEquals(5, first.totalCount());
+        Page second = sorted.page(null, ALL_FIELDS, Filter.any(), Sort.PRICE, first.nextCursor(), 2);
+        assertEquals(List.of(4L, 5L), second.ids());
+        Page last = sorted.page(null, ALL_FIELDS, Filter.any(), Sort.PRICE, second.nextCursor(), 2);
+        assertEquals(List.of(1L), last.ids());
+        assertNull(last.nextCursor());
+
+        assertEquals(List.of(4L, 3L, 5L, 2L, 1L), sorted.page(null, ALL_FIELDS, Filter.any(), Sort.NAME, null, 10).ids());
+        assertEquals(List.of(2L, 1L, 4L, 5L, 3L),
+            sorted.page(null, ALL_FIELDS, Filter.any(), Sort.INVENTORY, null, 10).ids());
+        assertEquals(List.of(1L, 4L, 5L, 3L), sorted.page(null, ALL_FIELDS, Filter.available(null), Sort.INVENTORY, null, 10).ids());
+        Page lamps = sorted.page("la", ALL_FIELDS, Filter.any(), Sort.ID, null, 1);
+        assertEquals(List.of(3L), lamps.ids());
+        assertEquals(1, lamps.totalCount());
+        assertNull(lamps.nextCursor());
+    }
+
+    @Test
+    void page_ShouldFollowSavedPriceAndInventory() {
+        Product phone = product(1L, "PHONE-001", "iPhone 15 Pro", "Latest iPhone with advanced features", 1L);
+        phone.updatePrice(Money.of("5.00", "CNY"));
+        phone.reduceInventory(7);
+        index.index(phone);
+
+        assertEquals(1L, index.page(null, ALL_FIELDS, Filter.any(), Sort.PRICE, null, 1).ids().get(0));
+        assertEquals(1L, index.page(null, ALL_FIELDS, Filter.any(), Sort.INVENTORY, null, 1).ids().get(0));
+    }
+
+    @Test
+    void page_WithBadLimitOrCursor_ShouldThrow() {
+        String cursor = index.page(null, ALL_FIELDS, Filter.any(), Sort.PRICE, null, 1).nextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> index.page(null, ALL_FIELDS, Filter.any(), Sort.ID, null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.page(null, ALL_FIELDS, Filter.any(), Sort.ID, null, ProductSearchIndex.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.page(null, ALL_FIELDS, Filter.any(), Sort.NAME, cursor, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.page(null, ALL_FIELDS, Filter.any(), Sort.ID, "not a cursor!", 1));
+    }
+
+    @Test
+    void page_ShouldMatchFullSortOverRandomCatalog() {
+        Random random = new Random(5);
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 600; id++) {
+            Product product = new Product("SKU-" + id, "item " + (char) ('a' + random.nextInt(5)) + random.nextInt(20),
+                "", Money.of(random.nextInt(30) + ".50", "CNY"), 1L + random.nextInt(3), random.nextInt(4));
+            product.setId(id);
+            if (random.nextInt(5) == 0) {
+                product.deactivate();
+            }
+            products.add(product);
+        }
+        ProductSearchIndex randomIndex = new ProductSearchIndex();
+        randomIndex.loadIfNeeded(() -> products);
+
+        for (int round = 0; round < 40; round++) {
+            Sort sort = Sort.values()[random.nextInt(Sort.values().length)];
+            Filter filter = random.nextBoolean() ? Filter.available(1L + random.nextInt(3)) : Filter.any();
+            String text = random.nextBoolean() ? "item " + (char) ('a' + random.nextInt(5)) : null;
+            List<Long> expected = products.stream()
+                    .filter(product -> filter.merchantId() == null || filter.merchantId().equals(product.getMerchantId()))
+                    .filter(product -> filter.status() == null || product.isAvailable())
+                    .filter(product -> text == null || product.getName().contains(text))
+                    .sorted(order(sort).thenComparing(Product::getId))
+                    .map(Product::getId)
+                    .toList();
+
+            int limit = 1 + random.nextInt(25);
+            List<Long> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                Page page = randomIndex.page(text, ALL_FIELDS, filter, sort, cursor, limit);
+                assertEquals(expected.size(), page.totalCount());
+                assertTrue(page.ids().size() <= limit);
+                walked.addAll(page.ids());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertEquals(expected, walked, sort + " " + filter + " " + text);
+        }
+    }
+
+    @Test
+    void search_WithUnknownText_ShouldReturnNothing() {
+        assertEquals(List.of(), index.search("tablet", ALL_FIELDS, Filter.any()));
+    }
+
+    @Test
+    void index_ShouldAddNewProductsOnce() {
+        index.index(product(5L, "TAB-001", "iPad Air", "Light tablet", 3L));
+        index.index(product(5L, "TAB-001", "iPad Air", "Light tablet", 3L));
+
+        assertEquals(List.of(5L), index.search("tablet", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void index_InsideTransaction_ShouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.index(product(5L, "TAB-001", "iPad Air", "Light tablet", 3L));
+        assertEquals(List.of(), index.search("tablet", NAME_AND_DESCRIPTION, Filter.any()));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(5L), index.search("tablet", NAME_AND_DESCRIPTION, Filter.any()));
+    }
+
+    @Test
+    void loadIfNeeded_ShouldReadSourceOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        index.loadIfNeeded(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertTrue(index.isLoaded());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void loadIfNeeded_WhenProductSavedWhileReadingCatalog_ShouldKeepNewerState() {
+        ProductSearchIndex loading = new ProductSearchIndex();
+        Product soldOut = product(1L, "PHONE-001", "iPhone 15 Pro", "Latest iPhone with advanced features", 1L);
+        soldOut.reduceInventory(10);
+        Product restocked = product(1L, "PHONE-001", "iPhone 15 Pro", "Latest iPhone with advanced features", 1L);
+
+        loading.loadIfNeeded(() -> {
+            // The restock commits after the catalog row was read as sold out
+            loading.index(restocked);
+            return List.of(soldOut);
+        });
+
+        assertEquals(List.of(1L), loading.filter(Filter.available(1L)));
+        loading.index(soldOut);
+        assertEquals(List.of(), loading.filter(Filter.available(1L)));
+    }
+
+    @Test
+    void reload_ShouldApplyProductsChangedByAnotherInstance() {
+        Product soldOut = product(1L, "PHONE-001", "iPhone 15 Pro", "Latest iPhone with advanced features", 1L);
+        soldOut.reduceInventory(10);
+        Product created = product(5L, "TABLET-001", "iPad Air", "Apple tablet", 1L);
+
+        index.reload(() -> List.of(soldOut,
+            product(2L, "BOOK-001", "Java Programming", "Comprehensive Java guide", 2L),
+            product(3L, "LAPTOP-001", "MacBook Pro", "Apple laptop, 16-inch display", 1L),
+            product(4L, "CASE-002", "Phone case", "Fits iPhone 15 (all models)", 2L),
+            created));
+
+        assertEquals(List.of(3L, 5L), index.filter(Filter.available(1L)));
+        assertEquals(List.of(5L), index.search("tablet", NAME_AND_DESCRIPTION, Filter.any()));
+        assertEquals(5, index.page(null, ALL_FIELDS, Filter.any(), Sort.ID, null, 10).totalCount());
+    }
+
+    // Sort key order of a page, before the ID tie-break
+    private static Comparator<Product> order(Sort sort) {
+        return switch (sort) {
+            case ID -> Comparator.comparing(Product::getId);
+            case PRICE -> Comparator.comparing(product -> product.getPrice().getAmount());
+            case NAME -> Comparator.comparing(product -> product.getName().toLowerCase());
+            case INVENTORY -> Comparator.comparingInt(Product::getAvailableInventory);
+        };
+    }
+
+    private static Product product(Long id, String name, String price, int inventory) {
+        Product product = new Product("SKU-" + id, name, "", Money.of(price, "CNY"), 1L, inventory);
+        product.setId(id);
+        return product;
+    }
+
+    private static Product product(Long id, String sku, String name, String description, Long merchantId) {
+        Product product = new Product(sku, name, description, Money.of("10.00", "CNY"), merchantId, 10);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.infrastructure.timer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private AtomicLong now;
+    private HierarchicalTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000);
+        // 10 ms ticks, 8 slots per level: level 0 spans 80 ms, level 1 spans 640 ms
+        wheel = new HierarchicalTimingWheel(10, 8, now::get);
+    }
+
+    @Test
+    void constructor_ShouldRoundWheelSizeUpToPowerOfTwo() {
+        assertEquals(16, new HierarchicalTimingWheel(10, 9, now::get).getWheelSize());
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel(10, 1));
+    }
+
+    @Test
+    void advance_ShouldRunTaskOnlyOnceDeadlineHasPassed() {
+        AtomicInteger runs = new AtomicInteger();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 35, TimeUnit.MILLISECONDS);
+
+        now.addAndGet(34);
+        assertEquals(0, wheel.advance());
+        assertEquals(0, runs.get());
+        assertEquals(1, wheel.getPendingTimeouts());
+
+        now.addAndGet(6);
+        assertEquals(1, wheel.advance());
+        assertEquals(1, runs.get());
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.getPendingTimeouts());
+
+        now.addAndGet(1_000);
+        assertEquals(0, wheel.advance());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void advance_WithZeroDelay_ShouldRunOnNextAdvance() {
+        AtomicInteger runs = new AtomicInteger();
+        wheel.schedule(runs::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, wheel.advance());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void advance_ShouldCascadeLongDelaysThroughHigherLevels() {
+        List<Long> firedAt = new ArrayList<>();
+        long start = now.get();
+        long[] delays = {5, 79, 80, 81, 639, 640, 5_000, 123_456};
+        for (long delay : delays) {
+            wheel.schedule(() -> firedAt.add(now.get() - start), delay, TimeUnit.MILLISECONDS);
+        }
+
+        // Step one tick at a time, as the scheduler would
+        while (now.get() - start < 130_000) {
+            now.addAndGet(10);
+            wheel.advance();
+        }
+
+        assertEquals(delays.length, firedAt.size());
+        for (int i = 0; i < delays.length; i++) {
+            long fired = firedAt.get(i);
+            assertTrue(fired >= delays[i], "Fired early: delay " + delays[i] + " at " + fired);
+            assertTrue(fired < delays[i] + 20, "Fired late: delay " + delays[i] + " at " + fired);
+        }
+    }
+
+    @Test
+    void advance_AfterLongPause_ShouldCatchUpWithAllDueTasks() {
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 1; i <= 1_000; i++) {
+            wheel.schedule(runs::incrementAndGet, i * 7L, TimeUnit.MILLISECONDS);
+        }
+        wheel.advance();
+
+        now.addAndGet(3_500);
+        int expired = wheel.advance();
+
+        assertEquals(500, expired);
+        assertEquals(500, runs.get());
+        assertEquals(500, wheel.getPendingTimeouts());
+    }
+
+    @Test
+    void cancel_ShouldPreventTaskFromRunning() {
+        AtomicInteger runs = new AtomicInteger();
+        HierarchicalTimingWheel.Timeout pendingInQueue = wheel.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        HierarchicalTimingWheel.Timeout linkedInWheel = wheel.schedule(runs::incrementAndGet, 900, TimeUnit.MILLISECONDS);
+        wheel.advance();
+
+        assertTrue(pendingInQueue.cancel());
+        assertTrue(linkedInWheel.cancel());
+        assertFalse(linkedInWheel.cancel());
+
+        now.addAndGet(2_000);
+        assertEquals(0, wheel.advance());
+        assertEquals(0, runs.get());
+        assertTrue(linkedInWheel.isCancelled());
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    @Test
+    void cancel_AfterExpiry_ShouldReturnFalse() {
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(() -> { }, 10, TimeUnit.MILLISECONDS);
+        now.addAndGet(10);
+        wheel.advance();
+
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void advance_WhenTaskThrows_ShouldStillRunOtherTasks() {
+        AtomicInteger runs = new AtomicInteger();
+        wheel.schedule(() -> { throw new IllegalStateException("boom"); }, 10, TimeUnit.MILLISECONDS);
+        wheel.schedule(runs::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+
+        now.addAndGet(10);
+
+        assertEquals(2, wheel.advance());
+        assertEquals(1, runs.get());
+    }
+}